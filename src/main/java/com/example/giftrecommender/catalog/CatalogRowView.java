@@ -0,0 +1,10 @@
+package com.example.giftrecommender.catalog;
+
+/** 카탈로그 스냅샷 적재용 컬럼(title = displayName, 없으면 originalName) */
+public interface CatalogRowView {
+    Long getId();
+    Integer getPrice();
+    Integer getScore();
+    String getTitle();
+    String getCategory();
+}
@@ -0,0 +1,499 @@
+package com.example.giftrecommender.catalog;
+
+import com.example.giftrecommender.util.LongHashSet;
+import com.example.giftrecommender.util.RecommendationUtil;
+
+import java.util.*;
+
+/**
+ * 추천 후보 풀용 읽기 전용 카탈로그 스냅샷
+ * - 가격 오름차순(같으면 id 오름차순) 정렬된 열 배열(id/가격/점수): 가격 범위는 이진 탐색
+ * - 제목은 소문자로 1회 변환해 보관, 카테고리/키워드/토큰은 사전에 한 번만 두고 행은 int 참조만 가짐
+ * - 제목/카테고리 bigram 역색인(NgramIndex)으로 부분 문자열 검색 후보를 좁힘
+ * - 불변: 변경은 withChanges로 새 스냅샷을 만들어 통째로 교체(읽는 쪽은 잠금 없음)
+ */
+public final class CatalogSnapshot {
+
+    private static final int[] NO_REFS = new int[0];
+
+    public static final CatalogSnapshot EMPTY = build(List.of());
+
+    /** 적재 입력 한 행(title = displayName, 없으면 originalName) */
+    public record Row(long id, int price, int score, String title, String category, List<String> keywords) {}
+
+    /** 키워드 토큰의 사전 참조(사전에 없는 토큰은 size에만 반영) */
+    public record TokenQuery(int[] tokenRefs, int size) {}
+
+    private final long[] ids;
+    private final int[] prices;
+    private final int[] scores;
+    private final String[] titles;
+    private final int[] categoryRefs;
+    private final int[][] keywordRefs;
+    private final int[][] tokenRefs;
+
+    private final Dictionary categories;
+    private final Dictionary keywords;
+    private final Dictionary tokens;
+
+    private final NgramIndex index;
+    /** id 오름차순 id와 그 행 번호(id → 행 이진 탐색) */
+    private final long[] sortedIds;
+    private final int[] rowsBySortedId;
+
+    private final long estimatedBytes;
+
+    private CatalogSnapshot(long[] ids, int[] prices, int[] scores, String[] titles, int[] categoryRefs,
+                            int[][] keywordRefs, int[][] tokenRefs,
+                            Dictionary categories, Dictionary keywords, Dictionary tokens, NgramIndex index) {
+        this.ids = ids;
+        this.prices = prices;
+        this.scores = scores;
+        this.titles = titles;
+        this.categoryRefs = categoryRefs;
+        this.keywordRefs = keywordRefs;
+        this.tokenRefs = tokenRefs;
+        this.categories = categories;
+        this.keywords = keywords;
+        this.tokens = tokens;
+        this.index = index;
+
+        this.sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        this.rowsBySortedId = new int[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            rowsBySortedId[Arrays.binarySearch(sortedIds, ids[row])] = row;
+        }
+        this.estimatedBytes = estimateBytes();
+    }
+
+    /** 전체 적재 */
+    public static CatalogSnapshot build(Collection<Row> rows) {
+        Dictionary categories = new Dictionary();
+        Dictionary keywords = new Dictionary();
+        Dictionary tokens = new Dictionary();
+
+        List<Encoded> encoded = new ArrayList<>(rows.size());
+        for (Row row : rows) encoded.add(Encoded.of(row, categories, keywords, tokens));
+        encoded.sort(Encoded.ORDER);
+
+        NgramIndex.Builder index = NgramIndex.builder();
+        Columns c = new Columns(encoded.size());
+        for (Encoded e : encoded) {
+            c.add(e);
+            index.add(e.id, NgramIndex.terms(e.title, categories.value(e.category)));
+        }
+        return c.toSnapshot(categories, keywords, tokens, index.build());
+    }
+
+    /**
+     * 변경분 반영한 새 스냅샷
+     * - changedIds(삭제/수정된 상품)를 빼고 upserts를 정렬 위치에 병합, O(n) 복사 1회
+     * - 사전은 복사 후 새 값만 추가(삭제된 값은 다음 전체 적재 때 정리)
+     */
+    public CatalogSnapshot withChanges(Collection<Long> changedIds, Collection<Row> upserts) {
+        LongHashSet drop = new LongHashSet(changedIds.size() + upserts.size());
+        for (Long id : changedIds) if (id != null) drop.add(id);
+        for (Row row : upserts) drop.add(row.id());
+
+        Dictionary categories = this.categories.copy();
+        Dictionary keywords = this.keywords.copy();
+        Dictionary tokens = this.tokens.copy();
+
+        List<Encoded> added = new ArrayList<>(upserts.size());
+        for (Row row : upserts) added.add(Encoded.of(row, categories, keywords, tokens));
+        added.sort(Encoded.ORDER);
+
+        // 역색인: 기존 행의 키에서 빼고 새 행의 키에 추가
+        Map<String, LongHashSet> removedTerms = new HashMap<>();
+        Map<String, List<Long>> addedTerms = new HashMap<>();
+        for (long id : drop.toSortedArray()) {
+            int row = rowOf(id);
+            if (row < 0) continue;
+            for (String term : NgramIndex.terms(titles[row], category(row))) {
+                removedTerms.computeIfAbsent(term, k -> new LongHashSet()).add(id);
+            }
+        }
+        for (Encoded e : added) {
+            for (String term : NgramIndex.terms(e.title, categories.value(e.category))) {
+                addedTerms.computeIfAbsent(term, k -> new ArrayList<>()).add(e.id);
+            }
+        }
+
+        int kept = 0;
+        for (long id : ids) if (!drop.contains(id)) kept++;
+
+        Columns c = new Columns(kept + added.size());
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < added.size()) {
+            if (i < ids.length && drop.contains(ids[i])) {
+                i++;
+                continue;
+            }
+            boolean takeOld = j >= added.size()
+                    || (i < ids.length && compare(prices[i], ids[i], added.get(j).price, added.get(j).id) < 0);
+            if (takeOld) {
+                c.add(ids[i], prices[i], scores[i], titles[i], categoryRefs[i], keywordRefs[i], tokenRefs[i]);
+                i++;
+            } else {
+                c.add(added.get(j++));
+            }
+        }
+        return c.toSnapshot(categories, keywords, tokens, index.withChanges(removedTerms, addedTerms));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public int price(int row) {
+        return prices[row];
+    }
+
+    public int score(int row) {
+        return scores[row];
+    }
+
+    /** 소문자 제목 */
+    public String title(int row) {
+        return titles[row];
+    }
+
+    /** 소문자 카테고리(없으면 빈 문자열) */
+    public String category(int row) {
+        return categories.value(categoryRefs[row]);
+    }
+
+    /** 소문자 키워드 */
+    public List<String> keywords(int row) {
+        int[] refs = keywordRefs[row];
+        List<String> out = new ArrayList<>(refs.length);
+        for (int ref : refs) out.add(keywords.value(ref));
+        return out;
+    }
+
+    /** id의 행 번호, 없으면 -1 */
+    public int rowOf(long id) {
+        int i = Arrays.binarySearch(sortedIds, id);
+        return (i >= 0) ? rowsBySortedId[i] : -1;
+    }
+
+    /** 역색인 키(bigram) 수 */
+    public int ngramCount() {
+        return index.termCount();
+    }
+
+    /** 토큰 사전 크기 */
+    public int tokenCount() {
+        return tokens.size();
+    }
+
+    /** 배열/문자열/사전 기준 대략적 힙 사용량(byte) */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /** price >= minPrice 인 첫 행 */
+    public int lowerBound(int minPrice) {
+        int lo = 0;
+        int hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] < minPrice) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** price > maxPrice 인 첫 행 */
+    public int upperBound(int maxPrice) {
+        int lo = 0;
+        int hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] <= maxPrice) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * 가격 범위 [minPrice, maxPrice] 안에서 id가 큰(최근) 순으로 최대 limit개의 행 번호
+     * - 범위는 이진 탐색, 상위 limit개는 크기 limit 최소 힙으로 선택(O(m log limit))
+     */
+    public int[] newestInRange(int minPrice, int maxPrice, int limit) {
+        int from = lowerBound(minPrice);
+        int to = upperBound(maxPrice);
+        if (from >= to || limit <= 0) return NO_REFS;
+
+        TopRows top = new TopRows(Math.min(limit, to - from), (a, b) -> Long.compare(ids[a], ids[b]));
+        for (int row = from; row < to; row++) top.offer(row);
+        return top.drain();
+    }
+
+    /**
+     * 제목 또는 카테고리에 keyword가 포함된(대소문자 무시) 가격 범위 내 상품 중 점수 내림차순(같으면 id 내림차순) 최대 limit개 id
+     * - lower(displayName) like '%kw%' or lower(category) like '%kw%' 와 같은 판정
+     * - bigram 포스팅 교집합으로 후보를 좁힌 뒤 contains로 확정, bigram이 없는 1글자 질의는 가격 범위 전체 검사
+     */
+    public long[] topByNameOrCategory(String keyword, int minPrice, int maxPrice, int limit) {
+        if (limit <= 0) return new long[0];
+        String k = Optional.ofNullable(keyword).orElse("").toLowerCase(Locale.ROOT);
+        TopRows top = new TopRows(limit, (a, b) -> {
+            int c = Integer.compare(scores[a], scores[b]);
+            return (c != 0) ? c : Long.compare(ids[a], ids[b]);
+        });
+
+        long[] candidates = index.candidates(NgramIndex.queryTerms(k));
+        if (candidates == null) {
+            for (int row = lowerBound(minPrice), to = upperBound(maxPrice); row < to; row++) {
+                if (nameOrCategoryContains(row, k)) top.offer(row);
+            }
+        } else {
+            for (long id : candidates) {
+                int row = rowOf(id);
+                if (row < 0 || prices[row] < minPrice || prices[row] > maxPrice) continue;
+                if (nameOrCategoryContains(row, k)) top.offer(row);
+            }
+        }
+
+        int[] rows = top.drain();
+        long[] out = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) out[i] = ids[rows[i]];
+        return out;
+    }
+
+    private boolean nameOrCategoryContains(int row, String keywordLower) {
+        return titles[row].contains(keywordLower) || category(row).contains(keywordLower);
+    }
+
+    public TokenQuery tokenQuery(String keyword) {
+        Set<String> distinct = new LinkedHashSet<>(RecommendationUtil.tokenize(keyword));
+        int[] refs = new int[distinct.size()];
+        int n = 0;
+        for (String t : distinct) {
+            int ref = tokens.indexOf(t);
+            if (ref >= 0) refs[n++] = ref;
+        }
+        return new TokenQuery(Arrays.copyOf(refs, n), distinct.size());
+    }
+
+    /** 키워드 vs 상품(제목+태그) 토큰 코사인 근사: 교집합 / sqrt(|A|*|B|) */
+    public double cosine(TokenQuery query, int row) {
+        int[] b = tokenRefs[row];
+        if (query.size() == 0 || b.length == 0) return 0.0;
+        int inter = 0;
+        for (int ref : query.tokenRefs()) if (Arrays.binarySearch(b, ref) >= 0) inter++;
+        return inter / Math.sqrt((double) query.size() * (double) b.length);
+    }
+
+    private static int compare(int priceA, long idA, int priceB, long idB) {
+        int c = Integer.compare(priceA, priceB);
+        return (c != 0) ? c : Long.compare(idA, idB);
+    }
+
+    /** 행 순위 비교: 양수면 a가 더 앞 */
+    @FunctionalInterface
+    private interface RowRank {
+        int compare(int a, int b);
+    }
+
+    /** 상위 capacity개 행 선택(루트가 가장 뒤 순위인 최소 힙) */
+    private static final class TopRows {
+        private final int[] heap;
+        private final RowRank rank;
+        private int size;
+
+        TopRows(int capacity, RowRank rank) {
+            this.heap = new int[Math.max(0, capacity)];
+            this.rank = rank;
+        }
+
+        void offer(int row) {
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (size > 0 && rank.compare(row, heap[0]) > 0) {
+                heap[0] = row;
+                siftDown();
+            }
+        }
+
+        /** 순위 순서(앞 → 뒤) */
+        int[] drain() {
+            // 최소 힙에서 꺼낸 순서(뒤 순위부터)를 뒤에서부터 채움
+            int[] out = new int[size];
+            for (int k = size - 1; k >= 0; k--) {
+                out[k] = heap[0];
+                heap[0] = heap[--size];
+                siftDown();
+            }
+            return out;
+        }
+
+        private void siftUp(int k) {
+            int row = heap[k];
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (rank.compare(heap[parent], row) <= 0) break;
+                heap[k] = heap[parent];
+                k = parent;
+            }
+            heap[k] = row;
+        }
+
+        private void siftDown() {
+            if (size == 0) return;
+            int row = heap[0];
+            int k = 0;
+            int half = size >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < size && rank.compare(heap[child + 1], heap[child]) < 0) child++;
+                if (rank.compare(row, heap[child]) <= 0) break;
+                heap[k] = heap[child];
+                k = child;
+            }
+            heap[k] = row;
+        }
+    }
+
+    private long estimateBytes() {
+        int n = ids.length;
+        // 열 배열 + 행별 참조(title/keywordRefs/tokenRefs)
+        long bytes = 8L * n + 4L * n + 4L * n + 4L * n + 3L * (16L + 4L * n);
+        for (int i = 0; i < n; i++) {
+            bytes += stringBytes(titles[i]);
+            bytes += 16L + 4L * keywordRefs[i].length;
+            bytes += 16L + 4L * tokenRefs[i].length;
+        }
+        // id → 행 보조 배열
+        bytes += 2L * 16L + 8L * n + 4L * n;
+        return bytes + categories.estimatedBytes() + keywords.estimatedBytes() + tokens.estimatedBytes()
+                + index.estimatedBytes();
+    }
+
+    /** 헤더 + UTF-16 기준(한글 위주라 보수적으로) */
+    private static long stringBytes(String s) {
+        return 40L + 2L * s.length();
+    }
+
+    /** 인코딩된 한 행 */
+    private record Encoded(long id, int price, int score, String title, int category, int[] keywords, int[] tokens) {
+
+        static final Comparator<Encoded> ORDER = (a, b) -> compare(a.price, a.id, b.price, b.id);
+
+        static Encoded of(Row row, Dictionary categories, Dictionary keywords, Dictionary tokens) {
+            String title = Optional.ofNullable(row.title()).orElse("").toLowerCase(Locale.ROOT);
+            String category = Optional.ofNullable(row.category()).orElse("").toLowerCase(Locale.ROOT);
+
+            List<String> tags = Optional.ofNullable(row.keywords()).orElse(List.of());
+            int[] keywordRefs = new int[tags.size()];
+            int n = 0;
+            Set<Integer> tokenSet = new TreeSet<>();
+            for (String t : RecommendationUtil.tokenize(title)) tokenSet.add(tokens.intern(t));
+            for (String tag : tags) {
+                if (tag == null) continue;
+                keywordRefs[n++] = keywords.intern(tag.toLowerCase(Locale.ROOT));
+                for (String t : RecommendationUtil.tokenize(tag)) tokenSet.add(tokens.intern(t));
+            }
+
+            int[] tokenRefs = tokenSet.isEmpty() ? NO_REFS : tokenSet.stream().mapToInt(Integer::intValue).toArray();
+            return new Encoded(row.id(), row.price(), row.score(), title, categories.intern(category),
+                    n == 0 ? NO_REFS : Arrays.copyOf(keywordRefs, n), tokenRefs);
+        }
+    }
+
+    /** 정렬된 행을 열 배열로 채우는 버퍼 */
+    private static final class Columns {
+        private final long[] ids;
+        private final int[] prices;
+        private final int[] scores;
+        private final String[] titles;
+        private final int[] categoryRefs;
+        private final int[][] keywordRefs;
+        private final int[][] tokenRefs;
+        private int size;
+
+        Columns(int capacity) {
+            this.ids = new long[capacity];
+            this.prices = new int[capacity];
+            this.scores = new int[capacity];
+            this.titles = new String[capacity];
+            this.categoryRefs = new int[capacity];
+            this.keywordRefs = new int[capacity][];
+            this.tokenRefs = new int[capacity][];
+        }
+
+        void add(Encoded e) {
+            add(e.id, e.price, e.score, e.title, e.category, e.keywords, e.tokens);
+        }
+
+        void add(long id, int price, int score, String title, int category, int[] keywords, int[] tokens) {
+            ids[size] = id;
+            prices[size] = price;
+            scores[size] = score;
+            titles[size] = title;
+            categoryRefs[size] = category;
+            keywordRefs[size] = keywords;
+            tokenRefs[size] = tokens;
+            size++;
+        }
+
+        CatalogSnapshot toSnapshot(Dictionary categories, Dictionary keywords, Dictionary tokens, NgramIndex index) {
+            return new CatalogSnapshot(ids, prices, scores, titles, categoryRefs, keywordRefs, tokenRefs,
+                    categories, keywords, tokens, index);
+        }
+    }
+
+    /** 문자열 사전(값 ↔ int 참조), 스냅샷 공개 후에는 읽기만 함 */
+    private static final class Dictionary {
+        private final List<String> values;
+        private final Map<String, Integer> index;
+
+        Dictionary() {
+            this(new ArrayList<>(), new HashMap<>());
+        }
+
+        private Dictionary(List<String> values, Map<String, Integer> index) {
+            this.values = values;
+            this.index = index;
+        }
+
+        Dictionary copy() {
+            return new Dictionary(new ArrayList<>(values), new HashMap<>(index));
+        }
+
+        int intern(String value) {
+            Integer ref = index.get(value);
+            if (ref != null) return ref;
+            values.add(value);
+            index.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        int indexOf(String value) {
+            return index.getOrDefault(value, -1);
+        }
+
+        String value(int ref) {
+            return values.get(ref);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        /** 문자열 + 목록 슬롯 + HashMap 엔트리(약 48byte) */
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String v : values) bytes += stringBytes(v) + 4L + 48L;
+            return bytes;
+        }
+    }
+}
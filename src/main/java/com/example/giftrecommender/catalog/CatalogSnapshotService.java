@@ -0,0 +1,206 @@
+package com.example.giftrecommender.catalog;
+
+import com.example.giftrecommender.catalog.event.ProductChangedEvent;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.vector.ProductKeywordView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 카탈로그 스냅샷 적재/갱신
+ * - 기동 후 백그라운드로 전체 적재(id keyset 청크, 필요한 컬럼 + 키워드만 조회)
+ * - 상품 변경 이벤트는 커밋 후 id만 모아 두고 apply-interval-ms마다 변경분만 다시 읽어 새 스냅샷으로 교체
+ * - 이벤트를 거치지 않는 변경(직접 SQL 등)은 full-refresh-cron 전체 재적재로 보정
+ * - 적재 전에는 current()가 empty(호출 측은 DB 조회로 대체)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "recommendation.catalog-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogSnapshotService {
+
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final int pageSize;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CatalogSnapshot snapshot;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-snapshot").daemon(true).factory());
+
+    private final Timer fullRefresh;
+    private final Timer incrementalRefresh;
+    private final Counter changedProducts;
+
+    public CatalogSnapshotService(CrawlingProductRepository crawlingProductRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${recommendation.catalog-snapshot.page-size:2000}") int pageSize) {
+        this.crawlingProductRepository = crawlingProductRepository;
+        this.pageSize = Math.max(1, pageSize);
+
+        this.fullRefresh = Timer.builder("catalog.snapshot.refresh")
+                .description("카탈로그 스냅샷 갱신 시간")
+                .tag("type", "full")
+                .register(meterRegistry);
+        this.incrementalRefresh = Timer.builder("catalog.snapshot.refresh")
+                .description("카탈로그 스냅샷 갱신 시간")
+                .tag("type", "incremental")
+                .register(meterRegistry);
+        this.changedProducts = meterRegistry.counter("catalog.snapshot.changed_products");
+
+        Gauge.builder("catalog.snapshot.entries", this, s -> s.snapshotOrEmpty().size())
+                .description("스냅샷 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.bytes", this, s -> s.snapshotOrEmpty().estimatedBytes())
+                .description("스냅샷 추정 힙 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.tokens", this, s -> s.snapshotOrEmpty().tokenCount())
+                .description("토큰 사전 크기")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.ngrams", this, s -> s.snapshotOrEmpty().ngramCount())
+                .description("제목/카테고리 bigram 역색인 키 수")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.pending", pending, Set::size)
+                .description("반영 대기 중인 변경 상품 수")
+                .register(meterRegistry);
+    }
+
+    /** 적재된 스냅샷, 아직 적재 전이면 empty */
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        loader.submit(this::refreshAll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /** 커밋된 변경만 반영 대기열에 기록(트랜잭션 밖 호출도 그대로 기록) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productIds() == null) return;
+        for (Long id : event.productIds()) if (id != null) pending.add(id);
+    }
+
+    @Scheduled(cron = "${recommendation.catalog-snapshot.full-refresh-cron:0 0 5 * * *}", zone = "Asia/Seoul")
+    public void scheduledRefresh() {
+        loader.submit(this::refreshAll);
+    }
+
+    /** 전체 재적재(사전 정리 포함), 진행 중 들어온 변경은 pending에 남아 다음 apply에서 반영 */
+    public void refreshAll() {
+        refreshLock.lock();
+        try {
+            CatalogSnapshot next = fullRefresh.recordCallable(this::loadAll);
+            snapshot = next;
+            log.info("[CATALOG][SNAPSHOT] loaded. entries={}, tokens={}, ngrams={}, bytes={}",
+                    next.size(), next.tokenCount(), next.ngramCount(), next.estimatedBytes());
+        } catch (Exception e) {
+            log.error("[CATALOG][SNAPSHOT] full refresh failed. cause={}", e.toString(), e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.catalog-snapshot.apply-interval-ms:2000}",
+            initialDelayString = "${recommendation.catalog-snapshot.apply-interval-ms:2000}")
+    public void applyPending() {
+        if (pending.isEmpty()) return;
+        // 전체 적재 중이면 스케줄러 스레드를 붙잡지 않고 다음 주기로
+        if (!refreshLock.tryLock()) return;
+        try {
+            CatalogSnapshot base = snapshot;
+            // 첫 적재 전이면 적재가 끝난 뒤 반영
+            if (base == null) return;
+
+            List<Long> ids = new ArrayList<>(pending);
+            pending.removeAll(ids);
+            try {
+                snapshot = incrementalRefresh.recordCallable(() -> base.withChanges(ids, loadRows(ids)));
+                changedProducts.increment(ids.size());
+                log.debug("[CATALOG][SNAPSHOT] applied. changed={}, entries={}", ids.size(), snapshot.size());
+            } catch (Exception e) {
+                // 실패한 id는 다음 주기에 다시 시도
+                pending.addAll(ids);
+                log.warn("[CATALOG][SNAPSHOT] incremental refresh failed. changed={}, cause={}", ids.size(), e.toString());
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private CatalogSnapshot snapshotOrEmpty() {
+        CatalogSnapshot s = snapshot;
+        return (s != null) ? s : CatalogSnapshot.EMPTY;
+    }
+
+    private CatalogSnapshot loadAll() {
+        List<CatalogSnapshot.Row> rows = new ArrayList<>();
+        long lastId = 0L;
+        while (true) {
+            List<CatalogRowView> page = crawlingProductRepository.findCatalogRowsAfter(lastId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) break;
+            rows.addAll(toRows(page));
+            lastId = page.get(page.size() - 1).getId();
+            if (page.size() < pageSize) break;
+        }
+        return CatalogSnapshot.build(rows);
+    }
+
+    /** 변경된 상품의 현재 상태(삭제된 상품은 결과에 없음) */
+    private List<CatalogSnapshot.Row> loadRows(List<Long> ids) {
+        List<CatalogSnapshot.Row> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + pageSize));
+            rows.addAll(toRows(crawlingProductRepository.findCatalogRowsByIdIn(chunk)));
+        }
+        return rows;
+    }
+
+    private List<CatalogSnapshot.Row> toRows(List<CatalogRowView> page) {
+        if (page.isEmpty()) return List.of();
+        List<Long> ids = page.stream().map(CatalogRowView::getId).toList();
+
+        Map<Long, List<String>> keywords = new HashMap<>();
+        for (ProductKeywordView row : crawlingProductRepository.findKeywordsByIdIn(ids)) {
+            keywords.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getKeyword());
+        }
+
+        List<CatalogSnapshot.Row> rows = new ArrayList<>(page.size());
+        for (CatalogRowView v : page) {
+            rows.add(new CatalogSnapshot.Row(
+                    v.getId(),
+                    Optional.ofNullable(v.getPrice()).orElse(0),
+                    Optional.ofNullable(v.getScore()).orElse(0),
+                    v.getTitle(),
+                    v.getCategory(),
+                    keywords.getOrDefault(v.getId(), List.of())));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.giftrecommender.catalog;
+
+import com.example.giftrecommender.util.LongHashSet;
+import com.example.giftrecommender.util.RecommendationUtil;
+
+import java.util.*;
+
+/**
+ * 제목/카테고리 문자 bigram → 상품 id 역색인
+ * - 토큰(영/숫/한글 연속) 안의 2글자 조각을 키로, 포스팅은 id 오름차순 delta + varint로 압축(byte[])
+ * - 부분 문자열 kw를 포함하는 문서는 kw 토큰의 bigram을 모두 가지므로 교집합 = 후보 상위집합(최종 판정은 호출 측 contains)
+ * - 불변: 변경은 withChanges로 바뀐 키의 포스팅만 다시 인코딩한 새 인덱스
+ */
+final class NgramIndex {
+
+    static final NgramIndex EMPTY = new NgramIndex(Map.of());
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<String, byte[]> postings;
+    private final long estimatedBytes;
+
+    private NgramIndex(Map<String, byte[]> postings) {
+        this.postings = postings;
+        long bytes = 0;
+        for (Map.Entry<String, byte[]> e : postings.entrySet()) {
+            // 키 문자열 + 포스팅 배열 + HashMap 엔트리
+            bytes += 40L + 2L * e.getKey().length() + 16L + e.getValue().length + 48L;
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    /** 문서(제목/카테고리) 색인 키 */
+    static Set<String> terms(String... texts) {
+        Set<String> out = new HashSet<>();
+        for (String text : texts) {
+            for (String token : RecommendationUtil.tokenize(text)) addBigrams(token, out);
+        }
+        return out;
+    }
+
+    /** 질의 키(kw 토큰의 bigram), 1글자 토큰만 있으면 비어 있음 */
+    static Set<String> queryTerms(String keyword) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String token : RecommendationUtil.tokenize(keyword)) addBigrams(token, out);
+        return out;
+    }
+
+    private static void addBigrams(String token, Set<String> out) {
+        for (int i = 0; i + 2 <= token.length(); i++) out.add(token.substring(i, i + 2));
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param removed 키별로 빠질 id
+     * @param added   키별로 추가될 id
+     */
+    NgramIndex withChanges(Map<String, LongHashSet> removed, Map<String, List<Long>> added) {
+        if (removed.isEmpty() && added.isEmpty()) return this;
+
+        Set<String> touched = new HashSet<>(removed.keySet());
+        touched.addAll(added.keySet());
+
+        Map<String, byte[]> next = new HashMap<>(postings);
+        for (String term : touched) {
+            long[] ids = decode(postings.get(term));
+            LongHashSet drop = removed.get(term);
+            List<Long> add = added.getOrDefault(term, List.of());
+
+            long[] merged = new long[ids.length + add.size()];
+            int n = 0;
+            for (long id : ids) if (drop == null || !drop.contains(id)) merged[n++] = id;
+            for (Long id : add) merged[n++] = id;
+
+            if (n == 0) {
+                next.remove(term);
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(merged, n);
+            Arrays.sort(sorted);
+            next.put(term, encode(sorted));
+        }
+        return new NgramIndex(next);
+    }
+
+    /**
+     * 모든 키를 가진 id(오름차순)
+     * @return 키가 없으면 null(색인으로 좁힐 수 없음 → 호출 측 전체 범위 검사)
+     */
+    long[] candidates(Collection<String> terms) {
+        if (terms.isEmpty()) return null;
+
+        List<byte[]> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            byte[] p = postings.get(term);
+            if (p == null) return NO_IDS;
+            lists.add(p);
+        }
+        // 짧은 포스팅부터 교집합
+        lists.sort(Comparator.comparingInt(NgramIndex::count));
+
+        long[] acc = decode(lists.get(0));
+        for (int i = 1; i < lists.size() && acc.length > 0; i++) {
+            acc = intersect(acc, lists.get(i));
+        }
+        return acc;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /** 정렬된 acc와 압축 포스팅의 교집합(포스팅은 배열로 풀지 않고 순차 복호화) */
+    private static long[] intersect(long[] acc, byte[] posting) {
+        long[] out = new long[acc.length];
+        int n = 0;
+        int[] pos = {0};
+        int remaining = readVarint(posting, pos);
+        long current = 0;
+        int i = 0;
+        boolean has = remaining > 0;
+        if (has) {
+            current = readVarLong(posting, pos);
+            remaining--;
+        }
+        while (has && i < acc.length) {
+            if (acc[i] == current) {
+                out[n++] = acc[i++];
+            } else if (acc[i] < current) {
+                i++;
+                continue;
+            }
+            if (remaining == 0) {
+                has = false;
+            } else {
+                current += readVarLong(posting, pos);
+                remaining--;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** [개수][첫 id][차이]... varint */
+    static byte[] encode(long[] sortedIds) {
+        byte[] buf = new byte[5 + sortedIds.length * 10];
+        int[] pos = {0};
+        writeVarLong(buf, pos, sortedIds.length);
+        long prev = 0;
+        for (long id : sortedIds) {
+            writeVarLong(buf, pos, id - prev);
+            prev = id;
+        }
+        return Arrays.copyOf(buf, pos[0]);
+    }
+
+    static long[] decode(byte[] posting) {
+        if (posting == null) return NO_IDS;
+        int[] pos = {0};
+        int n = readVarint(posting, pos);
+        long[] out = new long[n];
+        long prev = 0;
+        for (int i = 0; i < n; i++) {
+            prev += readVarLong(posting, pos);
+            out[i] = prev;
+        }
+        return out;
+    }
+
+    private static int count(byte[] posting) {
+        return readVarint(posting, new int[]{0});
+    }
+
+    private static void writeVarLong(byte[] buf, int[] pos, long v) {
+        while ((v & ~0x7FL) != 0) {
+            buf[pos[0]++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos[0]++] = (byte) v;
+    }
+
+    private static long readVarLong(byte[] buf, int[] pos) {
+        long v = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buf[pos[0]++];
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return v;
+            shift += 7;
+        }
+    }
+
+    private static int readVarint(byte[] buf, int[] pos) {
+        return (int) readVarLong(buf, pos);
+    }
+
+    /** 전체 적재용: 키별 id를 모았다가 정렬/압축 */
+    static final class Builder {
+        private final Map<String, long[]> buffers = new HashMap<>();
+        private final Map<String, Integer> sizes = new HashMap<>();
+
+        void add(long id, Set<String> terms) {
+            for (String term : terms) {
+                long[] buf = buffers.get(term);
+                int size = sizes.getOrDefault(term, 0);
+                if (buf == null) {
+                    buf = new long[4];
+                } else if (size == buf.length) {
+                    buf = Arrays.copyOf(buf, size << 1);
+                }
+                buf[size] = id;
+                buffers.put(term, buf);
+                sizes.put(term, size + 1);
+            }
+        }
+
+        NgramIndex build() {
+            Map<String, byte[]> postings = new HashMap<>(buffers.size() * 2);
+            for (Map.Entry<String, long[]> e : buffers.entrySet()) {
+                long[] ids = Arrays.copyOf(e.getValue(), sizes.get(e.getKey()));
+                Arrays.sort(ids);
+                postings.put(e.getKey(), encode(ids));
+            }
+            return new NgramIndex(postings);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.giftrecommender.catalog.event;
+
+import java.util.List;
+
+/**
+ * 상품 생성/수정/삭제 이벤트(가격/점수/제목/카테고리/키워드가 바뀔 수 있는 변경)
+ * - CatalogSnapshotService가 커밋 후 id만 모아 두었다가 주기적으로 스냅샷에 반영
+ */
+public record ProductChangedEvent(List<Long> productIds) { }
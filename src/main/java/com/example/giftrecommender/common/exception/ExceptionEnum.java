@@ -20,7 +20,14 @@ public enum ExceptionEnum {
     QUOTA_DAILY_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS.value(), "오늘은 더 이상 호출할 수 없습니다."),
     INVALID_REQUEST(HttpStatus.BAD_REQUEST.value(), "요청 파라미터가 올바르지 않습니다."),
     PRODUCT_NOT_FOUND(HttpStatus.BAD_REQUEST.value(), "상품을 찾을 수 없습니다."),
-    VECTOR_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR.value(), "상품 벡터 삭제에 실패했습니다.");
+    VECTOR_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR.value(), "상품 벡터 삭제에 실패했습니다."),
+    VECTOR_REINDEX_RUNNING(HttpStatus.CONFLICT.value(), "이미 벡터 재색인 작업이 진행 중입니다."),
+    VECTOR_REINDEX_CHECKPOINT_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "재개할 벡터 재색인 체크포인트가 없습니다."),
+    VECTOR_ALIAS_CONFLICT(HttpStatus.CONFLICT.value(), "alias와 같은 이름의 컬렉션이 있어 전환할 수 없습니다."),
+    VECTOR_DIMENSION_MISMATCH(HttpStatus.BAD_REQUEST.value(), "컬렉션 차원이 검색 임베딩 차원과 다릅니다."),
+    VECTOR_RECONCILE_RUNNING(HttpStatus.CONFLICT.value(), "이미 벡터 정합성 점검 작업이 진행 중입니다."),
+    SEARCH_SYNTHETIC_DISABLED(HttpStatus.FORBIDDEN.value(), "합성 상품 데이터 적재가 비활성화되어 있습니다. (벤치마크 전용 DB에서 vector.enabled=false로만 허용)"),
+    SEARCH_SYNTHETIC_RUNNING(HttpStatus.CONFLICT.value(), "이미 합성 상품 데이터 작업이 진행 중입니다.");
 
 
     private final int statusCode;
@@ -0,0 +1,68 @@
+package com.example.giftrecommender.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "embedding")
+@Getter @Setter
+public class EmbeddingProps {
+
+    private String model = "text-embedding-3-small";
+
+    /** 임베딩 차원(text-embedding-3-* 는 dimensions 파라미터로 축소 가능, 기본 1536) */
+    private int dimensions = 1536;
+
+    private final Batch batch = new Batch();
+    private final Cache cache = new Cache();
+    private final Redis redis = new Redis();
+    private final Snapshot snapshot = new Snapshot();
+    private final Reindex reindex = new Reindex();
+
+    /** 동시 embed 요청 마이크로 배칭 */
+    @Getter @Setter
+    public static class Batch {
+        private boolean enabled = true;
+        private long windowMs = 5;
+        private int maxSize = 64;
+        private int maxTokens = 100_000;
+        private int maxInFlight = 4;
+    }
+
+    /** L1(프로세스 내) 캐시 */
+    @Getter @Setter
+    public static class Cache {
+        /** float32 | float16 | int8 */
+        private String encoding = "float32";
+        private long maxBytes = 256L * 1024 * 1024;
+    }
+
+    /** L2(Redis) 캐시 */
+    @Getter @Setter
+    public static class Redis {
+        private boolean enabled = true;
+        /** float32 | int8 */
+        private String encoding = "float32";
+        private long ttlHours = 24 * 7;
+    }
+
+    /** 종료 시 L1 스냅샷 저장, 기동 시 재적재 */
+    @Getter @Setter
+    public static class Snapshot {
+        private boolean enabled = true;
+        private String path = "data/embedding-cache.bin";
+        /** 저장할 최대 항목 수(자주 쓰인 순) */
+        private int maxEntries = 20_000;
+    }
+
+    /** 전체 재색인(재임베딩) 작업 기본값 */
+    @Getter @Setter
+    public static class Reindex {
+        /** 한 번에 읽고 임베딩/업서트하는 상품 수 */
+        private int pageSize = 512;
+        /** 동시에 처리하는 페이지 수 */
+        private int parallelism = 4;
+        /** 분당 임베딩 입력 수 상한(OpenAI rate limit 여유분) */
+        private int maxInputsPerMinute = 10_000;
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
-@EnableConfigurationProperties(QdrantProps.class)
+@EnableConfigurationProperties({QdrantProps.class, EmbeddingProps.class})
 @ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
 public class QdrantConfig {
 
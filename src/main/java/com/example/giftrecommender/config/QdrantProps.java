@@ -13,6 +13,8 @@ public class QdrantProps {
     private double defaultScoreThreshold = 0.75;
 
     private final Grpc grpc = new Grpc();
+    private final Search search = new Search();
+    private final Index index = new Index();
 
     @Getter @Setter
     public static class Grpc {
@@ -24,5 +26,39 @@ public class QdrantProps {
     public static class Search {
         private double threshold = 0.75;
         private int limit = 10;
+
+        /** 검색 전송 방식: rest(JSON) | grpc(protobuf) */
+        private String transport = "rest";
+
+        /** 검색 시 HNSW 탐색 폭(hnsw_ef), 없으면 서버 기본값(ef_construct) */
+        private Integer hnswEf;
+
+        /** 양자화 컬렉션에서 원본 벡터로 재채점할지, 없으면 서버 기본값 */
+        private Boolean rescore;
+
+        /** 양자화 후보 배수(limit * oversampling 만큼 뽑아 재채점), 없으면 서버 기본값 */
+        private Double oversampling;
+    }
+
+    /** 컬렉션 생성 시 인덱스/저장 설정(값이 없으면 서버 기본값, 이미 있는 컬렉션에는 적용하지 않음) */
+    @Getter @Setter
+    public static class Index {
+        /** HNSW 그래프 이웃 수 */
+        private Integer m;
+
+        /** HNSW 색인 시 탐색 폭 */
+        private Integer efConstruct;
+
+        /** payload를 디스크에 둘지 */
+        private Boolean onDiskPayload;
+
+        /** 벡터 양자화: none | int8 */
+        private String quantization = "none";
+
+        /** int8 양자화 시 잘라낼 분위수(예: 0.99) */
+        private Float quantile;
+
+        /** 양자화 벡터를 항상 RAM에 둘지 */
+        private Boolean quantizationAlwaysRam;
     }
 }
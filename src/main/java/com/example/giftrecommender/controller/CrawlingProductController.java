@@ -3,6 +3,7 @@ package com.example.giftrecommender.controller;
 import com.example.giftrecommender.common.BasicResponseDto;
 import com.example.giftrecommender.domain.enums.Age;
 import com.example.giftrecommender.domain.enums.Gender;
+import com.example.giftrecommender.domain.enums.ProductSearchMode;
 import com.example.giftrecommender.dto.request.*;
 import com.example.giftrecommender.dto.request.age.AgeBulkRequestDto;
 import com.example.giftrecommender.dto.request.age.AgeRequestDto;
@@ -65,7 +66,14 @@ public class CrawlingProductController {
         );
     }
 
-    @Operation(summary = "크롤링 상품 목록 조회 (필터/정렬/페이징)")
+    @Operation(
+            summary = "크롤링 상품 목록 조회 (필터/정렬/페이징)",
+            description = """
+        - searchMode=LIKE(기본): 상품명/판매자/카테고리/플랫폼/키워드 부분 일치, 지정한 정렬 적용
+        - searchMode=PREFIX: 상품명/카테고리/키워드가 검색어로 시작(공백/대소문자 무시), 지정한 정렬 적용
+        - searchMode=FULLTEXT: 상품명/카테고리/키워드 ngram FULLTEXT 매칭, 관련도순 정렬(sort 무시)
+        """
+    )
     @GetMapping
     public ResponseEntity<BasicResponseDto<Page<CrawlingProductResponseDto>>> getProducts(
             @RequestParam(name = "keyword",     required = false) String keyword,
@@ -77,10 +85,11 @@ public class CrawlingProductController {
             @RequestParam(name = "gender",      required = false) Gender gender,
             @RequestParam(name = "age",         required = false) Age age,
             @RequestParam(name = "isConfirmed", required = false) Boolean isConfirmed,
+            @RequestParam(name = "searchMode",  required = false, defaultValue = "LIKE") ProductSearchMode searchMode,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         Page<CrawlingProductResponseDto> page = crawlingProductService.getProducts(
-                keyword, minPrice, maxPrice, category, platform, sellerName, gender, age, isConfirmed, pageable
+                keyword, minPrice, maxPrice, category, platform, sellerName, gender, age, isConfirmed, searchMode, pageable
         );
         return ResponseEntity.ok(
                 BasicResponseDto.success("크롤링 상품 목록 조회 완료.", page)
@@ -0,0 +1,54 @@
+package com.example.giftrecommender.controller;
+
+import com.example.giftrecommender.common.BasicResponseDto;
+import com.example.giftrecommender.dto.request.product.ProductSearchBenchmarkRequestDto;
+import com.example.giftrecommender.dto.response.product.ProductSearchBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.product.ProductSyntheticStatusResponseDto;
+import com.example.giftrecommender.search.ProductSearchBenchmarkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "상품 검색 벤치마크", description = "상품 목록 검색 방식(LIKE/PREFIX/FULLTEXT) 비교와 합성 상품 데이터 API")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/products/search-benchmark")
+public class ProductSearchBenchmarkController {
+
+    private final ProductSearchBenchmarkService productSearchBenchmarkService;
+
+    @Operation(summary = "검색 방식 비교", description = "같은 검색어로 LIKE/PREFIX/FULLTEXT 목록 조회를 반복 실행해 지연 분포, 매칭 건수, LIKE 대비 첫 페이지 겹침 비율을 비교합니다.")
+    @PostMapping
+    public ResponseEntity<BasicResponseDto<ProductSearchBenchmarkResponseDto>> compare(
+            @RequestBody ProductSearchBenchmarkRequestDto request
+    ) {
+        return ResponseEntity.ok(BasicResponseDto.success("검색 방식 비교 완료.",
+                productSearchBenchmarkService.compare(request)));
+    }
+
+    @Operation(summary = "합성 상품 적재 시작", description = "벤치마크용 합성 상품을 지정 건수만큼 적재합니다. product.search.synthetic.enabled=true, vector.enabled=false 환경에서만 허용됩니다. (비동기)")
+    @PostMapping("/synthetic")
+    public ResponseEntity<BasicResponseDto<ProductSyntheticStatusResponseDto>> seedSynthetic(
+            @RequestParam(defaultValue = "1000000") int rows,
+            @RequestParam(defaultValue = "42") long seed
+    ) {
+        return ResponseEntity.ok(BasicResponseDto.success("합성 상품 적재 시작.",
+                ProductSyntheticStatusResponseDto.from(productSearchBenchmarkService.seedSynthetic(rows, seed))));
+    }
+
+    @Operation(summary = "합성 상품 삭제 시작", description = "합성 상품과 키워드를 모두 삭제합니다. (비동기)")
+    @DeleteMapping("/synthetic")
+    public ResponseEntity<BasicResponseDto<ProductSyntheticStatusResponseDto>> clearSynthetic() {
+        return ResponseEntity.ok(BasicResponseDto.success("합성 상품 삭제 시작.",
+                ProductSyntheticStatusResponseDto.from(productSearchBenchmarkService.clearSynthetic())));
+    }
+
+    @Operation(summary = "합성 상품 작업 진행 상황 조회")
+    @GetMapping("/synthetic/status")
+    public ResponseEntity<BasicResponseDto<ProductSyntheticStatusResponseDto>> syntheticStatus() {
+        return ResponseEntity.ok(BasicResponseDto.success("합성 상품 작업 진행 상황 조회 완료.",
+                ProductSyntheticStatusResponseDto.from(productSearchBenchmarkService.syntheticStatus())));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.giftrecommender.controller;
+
+import com.example.giftrecommender.common.BasicResponseDto;
+import com.example.giftrecommender.dto.request.vector.VectorAliasSwapRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorBenchmarkRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorCollectBenchmarkRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorReindexRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorTransportBenchmarkRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorTuningBenchmarkRequestDto;
+import com.example.giftrecommender.dto.response.vector.VectorAliasResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorCollectBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorOutboxStatusResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorReconcileStatusResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorReindexStatusResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorTransportBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorTuningBenchmarkResponseDto;
+import com.example.giftrecommender.service.RecommendationVectorService;
+import com.example.giftrecommender.vector.QdrantCollectionService;
+import com.example.giftrecommender.vector.VectorBenchmarkService;
+import com.example.giftrecommender.vector.VectorCollectionVersions;
+import com.example.giftrecommender.vector.VectorOutboxDrainer;
+import com.example.giftrecommender.vector.VectorReconciler;
+import com.example.giftrecommender.vector.VectorReindexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "벡터 관리", description = "벡터 컬렉션 재색인/alias 전환/정합성 점검/벤치마크 API")
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/vector")
+public class VectorAdminController {
+
+    private final VectorReindexService vectorReindexService;
+    private final VectorBenchmarkService vectorBenchmarkService;
+    private final VectorCollectionVersions collectionVersions;
+    private final VectorReconciler vectorReconciler;
+    private final RecommendationVectorService recommendationVectorService;
+    private final VectorOutboxDrainer vectorOutboxDrainer;
+
+    @Operation(summary = "벡터 재색인 시작", description = "전체 상품을 병렬로 다시 임베딩해 업서트합니다. 컬렉션을 비우면 다음 버전 컬렉션을 채운 뒤 검색 alias를 전환합니다. 새 컬렉션이면 HNSW/양자화 설정을 지정할 수 있고, resume이면 마지막 체크포인트부터 이어서 실행합니다. (비동기)")
+    @PostMapping("/reindex")
+    public ResponseEntity<BasicResponseDto<VectorReindexStatusResponseDto>> reindex(
+            @RequestBody @Valid VectorReindexRequestDto request
+    ) throws Exception {
+        boolean swap = (request.swap() != null)
+                ? request.swap()
+                : (request.collection() == null || request.collection().isBlank());
+        VectorReindexService.Status status = vectorReindexService.start(new VectorReindexService.Options(
+                request.collection(), request.dimensions(), request.pageSize(),
+                request.parallelism(), request.maxInputsPerMinute(),
+                new QdrantCollectionService.IndexSettings(request.hnswM(), request.hnswEfConstruct(),
+                        request.onDiskPayload(), request.quantization(), null, null),
+                swap, Boolean.TRUE.equals(request.dropLegacyCollection()), Boolean.TRUE.equals(request.resume())));
+        return ResponseEntity.ok(BasicResponseDto.success("벡터 재색인 시작.", VectorReindexStatusResponseDto.from(status)));
+    }
+
+    @Operation(summary = "벡터 재색인 진행 상황 조회", description = "처리 건수, 체크포인트, 처리량과 남은 예상 시간을 반환합니다.")
+    @GetMapping("/reindex/status")
+    public ResponseEntity<BasicResponseDto<VectorReindexStatusResponseDto>> reindexStatus() {
+        return ResponseEntity.ok(BasicResponseDto.success("벡터 재색인 진행 상황 조회 완료.",
+                VectorReindexStatusResponseDto.from(vectorReindexService.status())));
+    }
+
+    @Operation(summary = "검색 alias 상태 조회")
+    @GetMapping("/alias")
+    public ResponseEntity<BasicResponseDto<VectorAliasResponseDto>> alias() {
+        return ResponseEntity.ok(BasicResponseDto.success("검색 alias 상태 조회 완료.",
+                VectorAliasResponseDto.from(collectionVersions)));
+    }
+
+    @Operation(summary = "검색 alias 전환", description = "검색 alias를 지정 컬렉션으로 원자적으로 전환합니다. 이전 버전으로 롤백할 때 사용합니다.")
+    @PostMapping("/alias/swap")
+    public ResponseEntity<BasicResponseDto<VectorAliasResponseDto>> swapAlias(
+            @RequestBody @Valid VectorAliasSwapRequestDto request
+    ) throws Exception {
+        collectionVersions.swap(request.collection(), Boolean.TRUE.equals(request.dropLegacyCollection()));
+        return ResponseEntity.ok(BasicResponseDto.success("검색 alias 전환 완료.",
+                VectorAliasResponseDto.from(collectionVersions)));
+    }
+
+    @Operation(summary = "벡터 정합성 점검 시작", description = "Qdrant 포인트 id와 상품 id를 비교해 포인트가 없는 상품은 다시 임베딩 대상으로 기록하고, 상품이 없는 포인트는 삭제합니다. dryRun이면 건수만 집계합니다. (비동기)")
+    @PostMapping("/reconcile")
+    public ResponseEntity<BasicResponseDto<VectorReconcileStatusResponseDto>> reconcile(
+            @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        return ResponseEntity.ok(BasicResponseDto.success("벡터 정합성 점검 시작.",
+                VectorReconcileStatusResponseDto.from(vectorReconciler.start(dryRun))));
+    }
+
+    @Operation(summary = "벡터 정합성 점검 결과 조회")
+    @GetMapping("/reconcile/status")
+    public ResponseEntity<BasicResponseDto<VectorReconcileStatusResponseDto>> reconcileStatus() {
+        return ResponseEntity.ok(BasicResponseDto.success("벡터 정합성 점검 결과 조회 완료.",
+                VectorReconcileStatusResponseDto.from(vectorReconciler.status())));
+    }
+
+    @Operation(summary = "벡터 outbox 상태 조회", description = "배출 대기 중인 행 수와 재시도 한도를 넘겨 보류된 행 수를 반환합니다.")
+    @GetMapping("/outbox/status")
+    public ResponseEntity<BasicResponseDto<VectorOutboxStatusResponseDto>> outboxStatus() {
+        vectorOutboxDrainer.refreshGauges();
+        return ResponseEntity.ok(BasicResponseDto.success("벡터 outbox 상태 조회 완료.",
+                new VectorOutboxStatusResponseDto(vectorOutboxDrainer.pendingRows(), vectorOutboxDrainer.exhaustedRows(), 0)));
+    }
+
+    @Operation(summary = "보류된 outbox 행 재시도", description = "재시도 한도를 넘겨 보류된 outbox 행의 시도 횟수를 초기화해 다시 배출합니다.")
+    @PostMapping("/outbox/requeue")
+    public ResponseEntity<BasicResponseDto<VectorOutboxStatusResponseDto>> requeueOutbox() {
+        int requeued = vectorOutboxDrainer.requeueExhausted();
+        return ResponseEntity.ok(BasicResponseDto.success("보류된 outbox 행 재시도 시작.",
+                new VectorOutboxStatusResponseDto(vectorOutboxDrainer.pendingRows(), vectorOutboxDrainer.exhaustedRows(), requeued)));
+    }
+
+    @Operation(summary = "임베딩 차원 비교", description = "기준 컬렉션의 정확 검색을 정답으로 두 컬렉션의 recall@k와 검색 지연을 비교합니다.")
+    @PostMapping("/benchmark/dimensions")
+    public ResponseEntity<BasicResponseDto<VectorBenchmarkResponseDto>> benchmarkDimensions(
+            @RequestBody @Valid VectorBenchmarkRequestDto request
+    ) throws Exception {
+        return ResponseEntity.ok(BasicResponseDto.success("임베딩 차원 비교 완료.",
+                vectorBenchmarkService.compareDimensions(request)));
+    }
+
+    @Operation(summary = "검색 전송 방식 비교", description = "REST/gRPC 검색 구현에 같은 동시 부하를 걸어 지연, 처리량, 요청당 CPU 시간을 비교합니다.")
+    @PostMapping("/benchmark/transport")
+    public ResponseEntity<BasicResponseDto<VectorTransportBenchmarkResponseDto>> benchmarkTransport(
+            @RequestBody VectorTransportBenchmarkRequestDto request
+    ) throws Exception {
+        return ResponseEntity.ok(BasicResponseDto.success("검색 전송 방식 비교 완료.",
+                vectorBenchmarkService.compareTransports(request)));
+    }
+
+    @Operation(summary = "인덱스 설정 비교", description = "기준 컬렉션의 정확 검색을 정답으로 컬렉션(HNSW m/ef_construct, 양자화)과 검색 파라미터(hnsw_ef, rescore, oversampling) 조합별 recall@k와 지연 분포를 비교합니다.")
+    @PostMapping("/benchmark/tuning")
+    public ResponseEntity<BasicResponseDto<VectorTuningBenchmarkResponseDto>> benchmarkTuning(
+            @RequestBody @Valid VectorTuningBenchmarkRequestDto request
+    ) throws Exception {
+        return ResponseEntity.ok(BasicResponseDto.success("인덱스 설정 비교 완료.",
+                vectorBenchmarkService.compareIndexSettings(request)));
+    }
+
+    @Operation(summary = "후보 수집 방식 비교", description = "같은 추천 요청으로 키워드별 후보 수집을 sequential/concurrent 방식으로 번갈아 반복 실행해 지연 분포와 후보 일치 여부를 비교합니다. 기본은 외부(네이버) 단계를 제외합니다.")
+    @PostMapping("/benchmark/collect")
+    public ResponseEntity<BasicResponseDto<VectorCollectBenchmarkResponseDto>> benchmarkCollect(
+            @RequestBody @Valid VectorCollectBenchmarkRequestDto request
+    ) {
+        return ResponseEntity.ok(BasicResponseDto.success("후보 수집 방식 비교 완료.",
+                recommendationVectorService.compareCollectModes(request)));
+    }
+}
@@ -3,20 +3,38 @@ package com.example.giftrecommender.domain.entity;
 import com.example.giftrecommender.domain.enums.Age;
 import com.example.giftrecommender.domain.enums.Gender;
 import com.example.giftrecommender.dto.response.product.CrawlingRecommendedProductResponseDto;
+import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleFingerprint;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "crawling_product")
+@Table(name = "crawling_product", indexes = {
+        @Index(name = "idx_crawling_product_original_name_norm", columnList = "original_name_norm"),
+        @Index(name = "idx_crawling_product_display_name_norm", columnList = "display_name_norm"),
+        @Index(name = "idx_crawling_product_category_norm", columnList = "category_norm"),
+        @Index(name = "idx_crawling_product_search_copy_version", columnList = "search_copy_version")
+})
 @Getter
 @NoArgsConstructor
 public class CrawlingProduct {
 
+    public static final int NAME_NORM_LENGTH = 255;
+    public static final int CATEGORY_NORM_LENGTH = 100;
+    /** 검색용 정규화 사본 규칙 버전(규칙이 바뀌면 올려서 다시 백필) */
+    public static final int SEARCH_COPY_VERSION = 1;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "crawling_product_id")
@@ -56,6 +74,40 @@ public class CrawlingProduct {
     @Column(name = "keyword")
     private List<String> keywords;
 
+    // FULLTEXT 검색용 키워드 공백 연결 사본(keywords 변경 시 함께 갱신)
+    @Column(name = "keywords_text", columnDefinition = "TEXT")
+    private String keywordsText;
+
+    // 검색용 정규화 사본(소문자 + 공백 제거, normalize), 원본 변경 시 함께 갱신
+    @Column(name = "original_name_norm", length = 255)
+    private String originalNameNorm;
+
+    @Column(name = "display_name_norm", length = 255)
+    private String displayNameNorm;
+
+    @Column(name = "category_norm", length = 100)
+    private String categoryNorm;
+
+    // 정규화 사본을 모두 채운 규칙 버전, null이면 백필 전(검색은 원본 컬럼으로 대체 매칭)
+    @Column(name = "search_copy_version")
+    private Integer searchCopyVersion;
+
+    // 중복 억제용 제목 전처리 결과(extractBaseTitle)와 64비트 SimHash, 상품명 변경 시 함께 갱신
+    @Column(name = "base_title", length = 255)
+    private String baseTitle;
+
+    @Column(name = "title_simhash")
+    private Long titleSimhash;
+
+    @ElementCollection
+    @CollectionTable(
+            name = "crawling_product_keyword_norms",
+            joinColumns = @JoinColumn(name = "crawling_product_id"),
+            indexes = @Index(name = "idx_crawling_product_keyword_norm", columnList = "keyword_norm")
+    )
+    @Column(name = "keyword_norm")
+    private List<String> keywordNorms = new ArrayList<>();
+
     // 리뷰 개수
     @Column(name = "review_count")
     private Integer reviewCount;
@@ -96,6 +148,13 @@ public class CrawlingProduct {
     @Column(name = "embedding_ready")
     private Boolean embeddingReady = false;
 
+    // 포인트에 반영된 임베딩 입력 텍스트/payload의 sha256(hex), 같으면 재임베딩 생략
+    @Column(name = "embedding_hash", length = 64)
+    private String embeddingHash;
+
+    @Column(name = "payload_hash", length = 64)
+    private String payloadHash;
+
     // 성별 태그
     @Enumerated(EnumType.STRING)
     @Column(length = 10)
@@ -131,6 +190,7 @@ public class CrawlingProduct {
 
     public void addKeywords(List<String> keywords) {
         this.keywords = keywords;
+        refreshKeywordCopies();
     }
 
     public void addShortDescription(String shortDescription) {
@@ -153,13 +213,27 @@ public class CrawlingProduct {
         this.gender = gender;
     }
 
-    public void changeOriginalName(String originalName) { this.originalName = originalName; }
-    public void changeDisplayName(String displayName) { this.displayName = displayName; }
+    public void changeOriginalName(String originalName) {
+        this.originalName = originalName;
+        this.originalNameNorm = normalize(originalName, NAME_NORM_LENGTH);
+        refreshTitleFingerprint();
+    }
+    public void changeDisplayName(String displayName) {
+        this.displayName = displayName;
+        this.displayNameNorm = normalize(displayName, NAME_NORM_LENGTH);
+        refreshTitleFingerprint();
+    }
     public void changePrice(Integer price) { this.price = price; }
     public void changeImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     public void changeProductUrl(String productUrl) { this.productUrl = productUrl; }
-    public void changeCategory(String category) { this.category = category; }
-    public void changeKeywords(List<String> keywords) { this.keywords = keywords; }
+    public void changeCategory(String category) {
+        this.category = category;
+        this.categoryNorm = normalize(category, CATEGORY_NORM_LENGTH);
+    }
+    public void changeKeywords(List<String> keywords) {
+        this.keywords = keywords;
+        refreshKeywordCopies();
+    }
     public void changeSellerName(String sellerName) { this.sellerName = sellerName; }
     public void changePlatform(String platform) { this.platform = platform; }
 
@@ -172,6 +246,34 @@ public class CrawlingProduct {
         this.shortDescription = trimmed.isEmpty() ? null : trimmed;
     }
 
+    /** 호출자가 같은 규칙으로 이미 계산한 base title/SimHash가 있으면 그대로 쓰고(추출 재실행 생략), 없으면 계산 */
+    private void refreshSearchCopies(String precomputedBaseTitle, Long precomputedSimhash) {
+        this.originalNameNorm = normalize(originalName, NAME_NORM_LENGTH);
+        this.displayNameNorm = normalize(displayName, NAME_NORM_LENGTH);
+        this.categoryNorm = normalize(category, CATEGORY_NORM_LENGTH);
+        refreshKeywordCopies();
+        if (precomputedBaseTitle != null && precomputedSimhash != null
+                && precomputedBaseTitle.length() <= NAME_NORM_LENGTH) {
+            this.baseTitle = precomputedBaseTitle;
+            this.titleSimhash = precomputedSimhash;
+        } else {
+            refreshTitleFingerprint();
+        }
+        this.searchCopyVersion = SEARCH_COPY_VERSION;
+    }
+
+    /** 노출명(없으면 원본명) 기준 base title + SimHash */
+    private void refreshTitleFingerprint() {
+        String base = baseTitleOf(originalName, displayName);
+        this.baseTitle = base;
+        this.titleSimhash = TitleFingerprint.of(base);
+    }
+
+    private void refreshKeywordCopies() {
+        this.keywordsText = joinKeywords(keywords);
+        this.keywordNorms = normalizeKeywords(keywords);
+    }
+
     public void markEmbedding(Long pointId, String model, boolean ready) {
         this.vectorPointId = pointId;
         this.embeddingModel = model;
@@ -198,7 +300,9 @@ public class CrawlingProduct {
                            String platform,
                            Gender gender,
                            Age age,
-                           Boolean isAdvertised) {
+                           Boolean isAdvertised,
+                           String baseTitle,
+                           Long titleSimhash) {
 
         this.originalName = originalName;
         this.displayName = displayName;
@@ -221,6 +325,7 @@ public class CrawlingProduct {
         this.gender = (gender != null) ? gender : Gender.ANY;
         this.age = (age != null) ? age : Age.NONE;
         this.isAdvertised = Boolean.TRUE.equals(isAdvertised);
+        refreshSearchCopies(baseTitle, titleSimhash);
     }
 
     public static CrawlingRecommendedProductResponseDto from(CrawlingProduct p) {
@@ -248,4 +353,42 @@ public class CrawlingProduct {
     public static List<CrawlingRecommendedProductResponseDto> from(List<CrawlingProduct> products) {
         return products.stream().map(CrawlingRecommendedProductResponseDto::from).toList();
     }
+
+    /** 검색 비교용 정규화(소문자 + 모든 공백 제거), 검색어도 같은 규칙으로 정규화해 비교 */
+    public static String normalize(String value) {
+        if (value == null) return null;
+        return WHITESPACE.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /** 중복 억제 기준 제목(노출명 우선)의 extractBaseTitle, 컬럼 길이만큼 자름 */
+    public static String baseTitleOf(String originalName, String displayName) {
+        String base = RecommendationUtil.extractBaseTitle(displayName != null ? displayName : originalName);
+        return base.length() > NAME_NORM_LENGTH ? base.substring(0, NAME_NORM_LENGTH) : base;
+    }
+
+    /** 키워드 정규화(빈 값/중복 제외) */
+    public static List<String> normalizeKeywords(List<String> keywords) {
+        List<String> norms = new ArrayList<>();
+        if (keywords == null) return norms;
+        for (String keyword : keywords) {
+            String norm = normalize(keyword, NAME_NORM_LENGTH);
+            if (norm != null && !norm.isEmpty() && !norms.contains(norm)) norms.add(norm);
+        }
+        return norms;
+    }
+
+    public static String normalize(String value, int maxLength) {
+        String norm = normalize(value);
+        return (norm != null && norm.length() > maxLength) ? norm.substring(0, maxLength) : norm;
+    }
+
+    /** 키워드 공백 연결(null/빈 값 제외), 없으면 빈 문자열(null은 백필 전 행만) */
+    public static String joinKeywords(List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) return "";
+        return keywords.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(k -> !k.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.giftrecommender.domain.entity;
+
+import com.example.giftrecommender.domain.enums.VectorOutboxOp;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벡터 인덱스(Qdrant) 반영 대기열
+ * - 상품 변경과 같은 DB 트랜잭션에서 기록, 롤백되면 함께 사라짐
+ * - VectorOutboxDrainer가 상품 id별로 합쳐 일괄 임베딩/업서트/삭제 후 행 삭제
+ */
+@Entity
+@Table(name = "vector_outbox", indexes = {
+        @Index(name = "idx_vector_outbox_next_attempt", columnList = "next_attempt_at, vector_outbox_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VectorOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "vector_outbox_id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private VectorOutboxOp op;
+
+    // 실패한 반영 시도 횟수
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    // 이 시각 이후에 다시 처리(재시도 backoff)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public VectorOutbox(Long productId, VectorOutboxOp op) {
+        this.productId = productId;
+        this.op = op;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        if (this.nextAttemptAt == null) this.nextAttemptAt = now;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.giftrecommender.domain.enums;
+
+/** 관리자 상품 목록 검색어 매칭 방식 */
+public enum ProductSearchMode {
+    /** 상품명/판매자/카테고리/플랫폼/키워드 부분 일치(LIKE, 최신순 등 지정 정렬) */
+    LIKE,
+    /** 상품명/카테고리/키워드가 검색어로 시작(공백/대소문자 무시, 정규화 사본 B-tree 인덱스 사용) */
+    PREFIX,
+    /** 상품명/카테고리/키워드 ngram FULLTEXT 매칭(관련도순) */
+    FULLTEXT
+}
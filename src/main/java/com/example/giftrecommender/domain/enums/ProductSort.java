@@ -7,18 +7,20 @@ import java.util.EnumSet;
 
 @Getter
 public enum ProductSort {
-    SCORE("score"),
-    PRICE("price"),
-    REVIEW_COUNT("reviewCount"),
-    RATING("rating"),
-    IS_CONFIRMED("isConfirmed"),
-    CREATED_AT("createdAt"),
-    UPDATED_AT("updatedAt");
+    SCORE("score", "score"),
+    PRICE("price", "price"),
+    REVIEW_COUNT("reviewCount", "review_count"),
+    RATING("rating", "rating"),
+    IS_CONFIRMED("isConfirmed", "is_confirmed"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
 
     private final String field;
+    private final String column;
 
-    ProductSort(String field) {
+    ProductSort(String field, String column) {
         this.field = field;
+        this.column = column;
     }
 
     public static boolean isAllowed(String property) {
@@ -28,6 +30,19 @@ public enum ProductSort {
         return false;
     }
 
+    /** 엔티티 정렬(허용 속성만)을 native 쿼리용 컬럼명 정렬로 변환 */
+    public static Sort toColumnSort(Sort sort) {
+        Sort columns = Sort.unsorted();
+        for (Sort.Order order : sort) {
+            for (ProductSort ps : EnumSet.allOf(ProductSort.class)) {
+                if (ps.field.equals(order.getProperty())) {
+                    columns = columns.and(Sort.by(order.withProperty(ps.column)));
+                }
+            }
+        }
+        return columns;
+    }
+
     public static Sort defaultSort() {
         return Sort.by(Sort.Order.desc(CREATED_AT.field));
     }
@@ -0,0 +1,7 @@
+package com.example.giftrecommender.domain.enums;
+
+/** 벡터 인덱스 반영 작업 종류 */
+public enum VectorOutboxOp {
+    UPSERT,
+    DELETE
+}
@@ -7,6 +7,7 @@ import com.example.giftrecommender.domain.enums.Gender;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -67,7 +68,7 @@ public class CrawlingProductQueryRepository {
     /**
      * 검색 API용:
      * - query / queryNoSpace 둘 중 하나라도 keywords/title/category에 매칭되면 포함
-     * - (queryNoSpace) 는 "전기 포트" -> "전기포트" 처럼 공백 제거한 검색을 커버하기 위함
+     * - (queryNoSpace) 는 "전기 포트" -> "전기포트" 처럼 공백 제거한 검색을 커버하기 위함(정규화 사본으로 매칭)
      * - limit으로 과도한 fetch 방지
      */
     public List<CrawlingProduct> searchByKeywordOrNameOrCategory(
@@ -111,77 +112,28 @@ public class CrawlingProductQueryRepository {
     }
 
     /**
-     * keywords/title/category에 대해:
-     * 1. 일반 containsIgnoreCase(query)
-     * 2. 공백 제거 후 contains(queryNoSpace)
-     *
-     * Querydsl에서 REPLACE 등을 쓰기 위해 stringTemplate 사용
-     * - MySQL 기준: replace(col, ' ', '')
-     *
-     * 주의: 공백 제거는 lower() 적용도 같이 하는게 안정적이라
-     * lower(replace(col,' ','')) like %queryNoSpaceLower%
+     * keywords/title/category의 정규화 사본(소문자 + 공백 제거, 저장 시 계산)에 대해 contains(정규화 검색어)
+     * - 원문에 query가 포함되면 정규화 사본에도 정규화 query가 포함되므로 일반/공백 제거 매칭을 한 번에 커버
+     * - 행마다 lower/replace를 계산하지 않음(백필 전 행만 원본 컬럼을 정규화해 대체 매칭)
      */
     private BooleanExpression buildKeywordMatchExpr(QCrawlingProduct p, String query, String queryNoSpace) {
-        boolean hasQuery = (query != null && !query.isBlank());
-        boolean hasNoSpace = (queryNoSpace != null && !queryNoSpace.isBlank());
-
-        if (!hasQuery && !hasNoSpace) return null;
-
-        BooleanExpression expr = null;
-
-        if (hasQuery) {
-            String q = query.trim();
-
-            // 기본 매칭
-            BooleanExpression base =
-                    p.keywords.any().containsIgnoreCase(q)
-                            .or(p.displayName.containsIgnoreCase(q))
-                            .or(p.originalName.containsIgnoreCase(q))
-                            .or(p.category.containsIgnoreCase(q));
-
-            expr = base;
-        }
-
-        if (hasNoSpace) {
-            String qns = queryNoSpace.trim().toLowerCase();
-
-            // title 공백 제거 매칭
-            BooleanExpression titleNoSpace = likeNoSpaceLower(p.displayName, qns)
-                    .or(likeNoSpaceLower(p.originalName, qns))
-                    .or(likeNoSpaceLower(p.category, qns));
-
-            BooleanExpression keywordsNoSpace = likeNoSpaceLower(p.keywords.any(), qns);
-
-            BooleanExpression noSpaceExpr = keywordsNoSpace.or(titleNoSpace);
-
-            expr = (expr == null) ? noSpaceExpr : expr.or(noSpaceExpr);
-        }
-
-        return expr;
-    }
-
-    /**
-     * lower(replace(target,' ','')) like %qns%
-     *
-     * - Querydsl stringTemplate로 DB 함수 호출
-     * - target이 null이면 결과는 null이 될 수 있으므로 coalesce로 방어
-     */
-    private BooleanExpression likeNoSpaceLower(com.querydsl.core.types.dsl.StringPath target, String qnsLowerNoSpace) {
-        // coalesce(target,'') → replace(...,' ','') → lower(...) → like '%qns%'
-        return Expressions.stringTemplate(
-                "lower(replace(coalesce({0}, ''), ' ', ''))",
-                target
-        ).like("%" + escapeLike(qnsLowerNoSpace) + "%");
+        String source = (queryNoSpace != null && !queryNoSpace.isBlank()) ? queryNoSpace : query;
+        String norm = CrawlingProduct.normalize(source);
+        if (norm == null || norm.isEmpty()) return null;
+
+        return p.keywordNorms.any().contains(norm)
+                .or(p.displayNameNorm.contains(norm))
+                .or(p.originalNameNorm.contains(norm))
+                .or(p.categoryNorm.contains(norm))
+                .or(p.searchCopyVersion.isNull().and(
+                        noSpaceLower(p.keywords.any()).contains(norm)
+                                .or(noSpaceLower(p.displayName).contains(norm))
+                                .or(noSpaceLower(p.originalName).contains(norm))
+                                .or(noSpaceLower(p.category).contains(norm))));
     }
 
-    /**
-     * LIKE 특수문자(%, _)가 query에 들어올 때 오동작 방지용
-     * - MySQL 기본 ESCAPE 미지정이면 완전한 방어는 어렵지만 최소한 \로 치환해서 안전도를 올림
-     */
-    private String escapeLike(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("%", "\\%")
-                .replace("_", "\\_");
+    /** lower(replace(coalesce(target,''),' ','')): 백필 전 행의 대체 매칭용 */
+    private StringExpression noSpaceLower(StringExpression target) {
+        return Expressions.stringTemplate("lower(replace(coalesce({0}, ''), ' ', ''))", target);
     }
 }
@@ -1,9 +1,12 @@
 package com.example.giftrecommender.domain.repository;
 
+import com.example.giftrecommender.catalog.CatalogRowView;
 import com.example.giftrecommender.domain.entity.CrawlingProduct;
 import com.example.giftrecommender.domain.enums.Age;
 import com.example.giftrecommender.domain.enums.Gender;
-import com.example.giftrecommender.vector.BackfillIdView;
+import com.example.giftrecommender.search.SearchCopySourceView;
+import com.example.giftrecommender.vector.BackfillRowView;
+import com.example.giftrecommender.vector.ProductKeywordView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,27 +19,36 @@ import java.util.List;
 
 public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct, Long> {
 
+    /**
+     * 관리자 목록 검색(LIKE, 검색어 없는 목록)
+     * - pattern: 정규화 사본(상품명/노출명/카테고리/키워드)에 적용할 LIKE 패턴('%q%', q는 CrawlingProduct.normalize)
+     * - keyword/keywordNoSpace: 판매자/플랫폼 부분 일치용
+     * - 백필 전 행(search_copy_version null)은 원본 컬럼을 행마다 정규화해 같은 pattern으로 매칭
+     */
     @Query(
             value = """
-        SELECT DISTINCT p
+        SELECT p
         FROM CrawlingProduct p
-        LEFT JOIN p.keywords k
         WHERE (
-            :keyword IS NULL OR
-            p.originalName LIKE CONCAT('%', :keyword, '%') OR
-            p.displayName  LIKE CONCAT('%', :keyword, '%') OR
-            p.sellerName   LIKE CONCAT('%', :keyword, '%') OR
-            p.category     LIKE CONCAT('%', :keyword, '%') OR
-            p.platform     LIKE CONCAT('%', :keyword, '%') OR
-            k              LIKE CONCAT('%', :keyword, '%') OR
+            :pattern IS NULL OR
+            p.originalNameNorm LIKE :pattern OR
+            p.displayNameNorm  LIKE :pattern OR
+            p.categoryNorm     LIKE :pattern OR
+            p.id IN (SELECT p2.id FROM CrawlingProduct p2 JOIN p2.keywordNorms kn WHERE kn LIKE :pattern) OR
             (
-            :keywordNoSpace IS NOT NULL AND (
-                function('replace', p.originalName, ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.displayName,  ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.sellerName,   ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.category,     ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.platform,     ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', k,              ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%')
+            p.searchCopyVersion IS NULL AND :pattern IS NOT NULL AND (
+                lower(function('replace', coalesce(p.originalName, ''), ' ', '')) LIKE :pattern OR
+                lower(function('replace', coalesce(p.displayName, ''),  ' ', '')) LIKE :pattern OR
+                lower(function('replace', coalesce(p.category, ''),     ' ', '')) LIKE :pattern OR
+                p.id IN (SELECT p3.id FROM CrawlingProduct p3 JOIN p3.keywords k3
+                         WHERE p3.searchCopyVersion IS NULL AND lower(function('replace', k3, ' ', '')) LIKE :pattern)
+            )) OR
+            (
+            :keyword IS NOT NULL AND (
+                p.sellerName LIKE CONCAT('%', :keyword, '%') OR
+                p.platform   LIKE CONCAT('%', :keyword, '%') OR
+                function('replace', p.sellerName, ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
+                function('replace', p.platform,   ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%')
             ))
         )
         AND (:minPrice IS NULL OR p.price >= :minPrice)
@@ -49,24 +61,28 @@ public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct
         AND (:isConfirmed IS NULL OR p.isConfirmed = :isConfirmed)
         """,
             countQuery = """
-        SELECT COUNT(DISTINCT p)
+        SELECT COUNT(p)
         FROM CrawlingProduct p
-        LEFT JOIN p.keywords k
         WHERE (
-            :keyword IS NULL OR
-            p.originalName LIKE CONCAT('%', :keyword, '%') OR
-            p.displayName  LIKE CONCAT('%', :keyword, '%') OR
-            p.sellerName   LIKE CONCAT('%', :keyword, '%') OR
-            p.category     LIKE CONCAT('%', :keyword, '%') OR
-            p.platform     LIKE CONCAT('%', :keyword, '%') OR
-            k              LIKE CONCAT('%', :keyword, '%') OR
-            (:keywordNoSpace IS NOT NULL AND (
-                function('replace', p.originalName, ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.displayName,  ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.sellerName,   ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.category,     ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', p.platform,     ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
-                function('replace', k,              ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%')
+            :pattern IS NULL OR
+            p.originalNameNorm LIKE :pattern OR
+            p.displayNameNorm  LIKE :pattern OR
+            p.categoryNorm     LIKE :pattern OR
+            p.id IN (SELECT p2.id FROM CrawlingProduct p2 JOIN p2.keywordNorms kn WHERE kn LIKE :pattern) OR
+            (
+            p.searchCopyVersion IS NULL AND :pattern IS NOT NULL AND (
+                lower(function('replace', coalesce(p.originalName, ''), ' ', '')) LIKE :pattern OR
+                lower(function('replace', coalesce(p.displayName, ''),  ' ', '')) LIKE :pattern OR
+                lower(function('replace', coalesce(p.category, ''),     ' ', '')) LIKE :pattern OR
+                p.id IN (SELECT p3.id FROM CrawlingProduct p3 JOIN p3.keywords k3
+                         WHERE p3.searchCopyVersion IS NULL AND lower(function('replace', k3, ' ', '')) LIKE :pattern)
+            )) OR
+            (
+            :keyword IS NOT NULL AND (
+                p.sellerName LIKE CONCAT('%', :keyword, '%') OR
+                p.platform   LIKE CONCAT('%', :keyword, '%') OR
+                function('replace', p.sellerName, ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%') OR
+                function('replace', p.platform,   ' ', '') LIKE CONCAT('%', :keywordNoSpace, '%')
             ))
         )
         AND (:minPrice IS NULL OR p.price >= :minPrice)
@@ -80,6 +96,7 @@ public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct
         """
     )
     Page<CrawlingProduct> search(
+            @Param("pattern") String pattern,
             @Param("keyword") String keyword,
             @Param("keywordNoSpace") String keywordNoSpace,
             @Param("minPrice") Integer minPrice,
@@ -93,6 +110,143 @@ public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct
             Pageable pageable
     );
 
+    /**
+     * 관리자 목록 PREFIX 검색(정규화 사본이 검색어로 시작)
+     * - 'q%' 범위 검색 4개(original/display/category_norm, keyword_norm 인덱스)를 UNION으로 id만 모은 뒤 상품에 조인하고
+     *   필터는 조인 후 적용(한 WHERE에 OR로 묶으면 range/index_merge를 못 타 풀스캔)
+     * - 백필 전 행(search_copy_version null)은 search_copy_version 인덱스로 그 행만 읽어 원본 컬럼을 정규화해 매칭
+     * - native라 정렬 속성은 컬럼명(p.created_at 등)으로 전달
+     */
+    @Query(
+            value = """
+        SELECT p.*
+        FROM crawling_product p
+        JOIN (
+            SELECT crawling_product_id FROM crawling_product WHERE original_name_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product WHERE display_name_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product WHERE category_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product_keyword_norms WHERE keyword_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product
+             WHERE search_copy_version IS NULL
+               AND (LOWER(REPLACE(COALESCE(original_name, ''), ' ', '')) LIKE :prefix OR
+                    LOWER(REPLACE(COALESCE(display_name, ''),  ' ', '')) LIKE :prefix OR
+                    LOWER(REPLACE(COALESCE(category, ''),      ' ', '')) LIKE :prefix)
+            UNION
+            SELECT k.crawling_product_id FROM crawling_product_keywords k
+              JOIN crawling_product c ON c.crawling_product_id = k.crawling_product_id
+             WHERE c.search_copy_version IS NULL AND LOWER(REPLACE(k.keyword, ' ', '')) LIKE :prefix
+        ) m ON m.crawling_product_id = p.crawling_product_id
+        WHERE (:minPrice IS NULL OR p.price >= :minPrice)
+          AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+          AND (:category IS NULL OR p.category = :category)
+          AND (:platform IS NULL OR p.platform = :platform)
+          AND (:sellerName IS NULL OR p.seller_name = :sellerName)
+          AND (:gender IS NULL OR p.gender = :gender)
+          AND (:age IS NULL OR p.age = :age)
+          AND (:isConfirmed IS NULL OR p.is_confirmed = :isConfirmed)
+        """,
+            countQuery = """
+        SELECT COUNT(*)
+        FROM crawling_product p
+        JOIN (
+            SELECT crawling_product_id FROM crawling_product WHERE original_name_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product WHERE display_name_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product WHERE category_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product_keyword_norms WHERE keyword_norm LIKE :prefix
+            UNION
+            SELECT crawling_product_id FROM crawling_product
+             WHERE search_copy_version IS NULL
+               AND (LOWER(REPLACE(COALESCE(original_name, ''), ' ', '')) LIKE :prefix OR
+                    LOWER(REPLACE(COALESCE(display_name, ''),  ' ', '')) LIKE :prefix OR
+                    LOWER(REPLACE(COALESCE(category, ''),      ' ', '')) LIKE :prefix)
+            UNION
+            SELECT k.crawling_product_id FROM crawling_product_keywords k
+              JOIN crawling_product c ON c.crawling_product_id = k.crawling_product_id
+             WHERE c.search_copy_version IS NULL AND LOWER(REPLACE(k.keyword, ' ', '')) LIKE :prefix
+        ) m ON m.crawling_product_id = p.crawling_product_id
+        WHERE (:minPrice IS NULL OR p.price >= :minPrice)
+          AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+          AND (:category IS NULL OR p.category = :category)
+          AND (:platform IS NULL OR p.platform = :platform)
+          AND (:sellerName IS NULL OR p.seller_name = :sellerName)
+          AND (:gender IS NULL OR p.gender = :gender)
+          AND (:age IS NULL OR p.age = :age)
+          AND (:isConfirmed IS NULL OR p.is_confirmed = :isConfirmed)
+        """,
+            nativeQuery = true
+    )
+    Page<CrawlingProduct> searchPrefix(
+            @Param("prefix") String prefix,
+            @Param("minPrice") Integer minPrice,
+            @Param("maxPrice") Integer maxPrice,
+            @Param("category") String category,
+            @Param("platform") String platform,
+            @Param("sellerName") String sellerName,
+            @Param("gender") String gender,
+            @Param("age") String age,
+            @Param("isConfirmed") Boolean isConfirmed,
+            Pageable pageable
+    );
+
+    /**
+     * ngram FULLTEXT 검색(관련도 내림차순, 동점은 최신 id 우선)
+     * - query는 FulltextQuery.booleanMode 결과, 판매자/플랫폼은 매칭 대상이 아니고 필터로만 사용
+     * - 키워드 조인/DISTINCT 없이 keywords_text 사본으로 매칭(기존 행은 ProductSearchCopyBackfill이 채움)
+     * - 인덱스는 기동 시 만들지 않고 배포 전 수동 DDL로 생성(없으면 이 쿼리는 DB 오류):
+     *   ALTER TABLE crawling_product ADD FULLTEXT INDEX ft_crawling_product_search
+     *     (original_name, display_name, category, keywords_text) WITH PARSER ngram, ALGORITHM=INPLACE, LOCK=SHARED;
+     */
+    @Query(
+            value = """
+        SELECT p.*
+        FROM crawling_product p
+        WHERE MATCH(p.original_name, p.display_name, p.category, p.keywords_text) AGAINST (:query IN BOOLEAN MODE)
+          AND (:minPrice IS NULL OR p.price >= :minPrice)
+          AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+          AND (:category IS NULL OR p.category = :category)
+          AND (:platform IS NULL OR p.platform = :platform)
+          AND (:sellerName IS NULL OR p.seller_name = :sellerName)
+          AND (:gender IS NULL OR p.gender = :gender)
+          AND (:age IS NULL OR p.age = :age)
+          AND (:isConfirmed IS NULL OR p.is_confirmed = :isConfirmed)
+        ORDER BY MATCH(p.original_name, p.display_name, p.category, p.keywords_text) AGAINST (:query IN BOOLEAN MODE) DESC,
+                 p.crawling_product_id DESC
+        """,
+            countQuery = """
+        SELECT COUNT(*)
+        FROM crawling_product p
+        WHERE MATCH(p.original_name, p.display_name, p.category, p.keywords_text) AGAINST (:query IN BOOLEAN MODE)
+          AND (:minPrice IS NULL OR p.price >= :minPrice)
+          AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+          AND (:category IS NULL OR p.category = :category)
+          AND (:platform IS NULL OR p.platform = :platform)
+          AND (:sellerName IS NULL OR p.seller_name = :sellerName)
+          AND (:gender IS NULL OR p.gender = :gender)
+          AND (:age IS NULL OR p.age = :age)
+          AND (:isConfirmed IS NULL OR p.is_confirmed = :isConfirmed)
+        """,
+            nativeQuery = true
+    )
+    Page<CrawlingProduct> searchFulltext(
+            @Param("query") String query,
+            @Param("minPrice") Integer minPrice,
+            @Param("maxPrice") Integer maxPrice,
+            @Param("category") String category,
+            @Param("platform") String platform,
+            @Param("sellerName") String sellerName,
+            @Param("gender") String gender,
+            @Param("age") String age,
+            @Param("isConfirmed") Boolean isConfirmed,
+            Pageable pageable
+    );
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
       UPDATE CrawlingProduct p
@@ -110,26 +264,50 @@ public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct
     @Query("update CrawlingProduct p set p.gender = :gender where p.id in :ids")
     int bulkUpdateGender(@Param("ids") List<Long> ids, @Param("gender") Gender gender);
 
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update CrawlingProduct p set p.embeddingModel = :model where p.id in :ids")
+    int bulkUpdateEmbeddingModel(@Param("ids") List<Long> ids, @Param("model") String model);
+
     @Modifying(clearAutomatically = true)
     @Query("update CrawlingProduct p set p.embeddingReady = true where p.id = :id")
     int markEmbeddingReady(@Param("id") Long id);
 
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update CrawlingProduct p
+           set p.embeddingReady = true,
+               p.embeddingHash = :embeddingHash,
+               p.payloadHash = :payloadHash
+         where p.id = :id
+    """)
+    int markEmbedded(@Param("id") Long id,
+                     @Param("embeddingHash") String embeddingHash,
+                     @Param("payloadHash") String payloadHash);
+
     @Query("select p.embeddingReady from CrawlingProduct p where p.id = :id")
     Boolean isEmbeddingReady(@Param("id") Long id);
 
-    // keywords 존재 & 비어있지 않고 vectorPointId도 존재하는 것만
+    // keywords 존재 & 비어있지 않고 vectorPointId도 존재하는 것만, id 기준 keyset 청크(payload 컬럼 함께 조회)
     @Query("""
-      select p.id as id, p.vectorPointId as vectorPointId
+      select p.id as id, p.vectorPointId as vectorPointId,
+             p.category as category, p.shortDescription as shortDescription
       from CrawlingProduct p
-      where p.vectorPointId is not null
+      where p.id > :lastId
+        and p.vectorPointId is not null
         and p.vectorPointId <> 0
         and p.keywords is not empty
+      order by p.id asc
     """)
-    List<BackfillIdView> findAllIdsForQdrantKeywordBackfill();
+    List<BackfillRowView> findKeywordBackfillChunk(@Param("lastId") Long lastId, Pageable pageable);
 
-    // 카테고리만 가져오는 간단한 쿼리
-    @Query("select c.category from CrawlingProduct c where c.id = :id")
-    String findCategoryById(@Param("id") Long id);
+    // 여러 상품의 키워드를 한 번에 조회(id, keyword 행)
+    @Query("""
+        select p.id as id, kw as keyword
+        from CrawlingProduct p
+        join p.keywords kw
+        where p.id in :ids
+    """)
+    List<ProductKeywordView> findKeywordsByIdIn(@Param("ids") List<Long> ids);
 
     // 단건 키워드만 조회
     @Query("""
@@ -168,11 +346,69 @@ public interface CrawlingProductRepository extends JpaRepository<CrawlingProduct
     """)
     List<CrawlingProduct> findByKeyword(@Param("keyword") String keyword);
 
-    @Query("select p.shortDescription from CrawlingProduct p where p.id = :id")
-    String findShortDescriptionById(@Param("id") Long id);
-
     Page<CrawlingProduct> findByShortDescriptionIsNull(Pageable pageable);
 
     List<CrawlingProduct> findByIdGreaterThanOrderByIdAsc(Long lastId, Pageable pageable);
 
+    long countByIdGreaterThan(Long id);
+
+    @Query("select max(p.id) from CrawlingProduct p")
+    Long findMaxId();
+
+    // (lastId, maxId] 구간 id만 keyset 청크로
+    @Query("""
+        select p.id from CrawlingProduct p
+        where p.id > :lastId and p.id <= :maxId
+        order by p.id asc
+    """)
+    List<Long> findIdsInRange(@Param("lastId") Long lastId, @Param("maxId") Long maxId, Pageable pageable);
+
+    // 검색용 정규화 사본이 없는(백필 전) 상품 keyset 청크
+    @Query("""
+        select p.id as id, p.originalName as originalName, p.displayName as displayName, p.category as category
+        from CrawlingProduct p
+        where p.searchCopyVersion is null and p.id > :lastId
+        order by p.id asc
+    """)
+    List<SearchCopySourceView> findSearchCopySourcesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 제목 지문(base_title/title_simhash)이 없는(백필 전) 상품 keyset 청크
+    @Query("""
+        select p.id as id, p.originalName as originalName, p.displayName as displayName, p.category as category
+        from CrawlingProduct p
+        where p.titleSimhash is null and p.id > :lastId
+        order by p.id asc
+    """)
+    List<SearchCopySourceView> findTitleFingerprintSourcesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 카탈로그 스냅샷 전체 적재(id keyset 청크, 엔티티 대신 필요한 컬럼만)
+    @Query("""
+        select p.id as id, p.price as price, p.score as score,
+               coalesce(p.displayName, p.originalName) as title, p.category as category
+        from CrawlingProduct p
+        where p.id > :lastId
+        order by p.id asc
+    """)
+    List<CatalogRowView> findCatalogRowsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 카탈로그 스냅샷 변경분 적재
+    @Query("""
+        select p.id as id, p.price as price, p.score as score,
+               coalesce(p.displayName, p.originalName) as title, p.category as category
+        from CrawlingProduct p
+        where p.id in :ids
+    """)
+    List<CatalogRowView> findCatalogRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 벡터가 없는 상품을 다시 임베딩 대상으로(해시 비교로 건너뛰지 않도록 초기화)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update CrawlingProduct p
+           set p.embeddingReady = false,
+               p.embeddingHash = null,
+               p.payloadHash = null
+         where p.id in :ids
+    """)
+    int resetEmbedding(@Param("ids") Collection<Long> ids);
+
 }
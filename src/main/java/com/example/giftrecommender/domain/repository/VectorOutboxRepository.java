@@ -0,0 +1,67 @@
+package com.example.giftrecommender.domain.repository;
+
+import com.example.giftrecommender.domain.entity.VectorOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface VectorOutboxRepository extends JpaRepository<VectorOutbox, Long> {
+
+    // 처리 시각이 된 행을 기록 순서대로(재시도 한도를 넘긴 행은 제외)
+    @Query("""
+        select o from VectorOutbox o
+        where o.nextAttemptAt <= :now
+          and o.attempts < :maxAttempts
+        order by o.id asc
+    """)
+    List<VectorOutbox> findDue(@Param("now") LocalDateTime now,
+                               @Param("maxAttempts") int maxAttempts,
+                               Pageable pageable);
+
+    @Modifying
+    @Query("delete from VectorOutbox o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        update VectorOutbox o
+           set o.attempts = o.attempts + 1,
+               o.nextAttemptAt = :nextAttemptAt,
+               o.lastError = :error
+         where o.id in :ids
+    """)
+    int markFailed(@Param("ids") Collection<Long> ids,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    // 아직 배출 대기 중인(재시도 한도 전) 상품 id
+    @Query("""
+        select distinct o.productId from VectorOutbox o
+        where o.productId in :productIds
+          and o.attempts < :maxAttempts
+    """)
+    List<Long> findPendingProductIds(@Param("productIds") Collection<Long> productIds,
+                                     @Param("maxAttempts") int maxAttempts);
+
+    @Query("select count(o) from VectorOutbox o where o.attempts < :maxAttempts")
+    long countPending(@Param("maxAttempts") int maxAttempts);
+
+    @Query("select count(o) from VectorOutbox o where o.attempts >= :maxAttempts")
+    long countExhausted(@Param("maxAttempts") int maxAttempts);
+
+    // 재시도 한도를 넘겨 보류된 행을 다시 배출 대상으로(시도 횟수 초기화, last_error는 확인용으로 유지)
+    @Modifying
+    @Query("""
+        update VectorOutbox o
+           set o.attempts = 0,
+               o.nextAttemptAt = :now
+         where o.attempts >= :maxAttempts
+    """)
+    int requeueExhausted(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,20 @@
+package com.example.giftrecommender.dto.request.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "상품 목록 검색 방식(LIKE/PREFIX/FULLTEXT) 비교 벤치마크 요청")
+public record ProductSearchBenchmarkRequestDto(
+        @Schema(description = "쿼리별 반복 횟수(기본 5, 최대 50)", example = "5")
+        Integer repeats,
+
+        @Schema(description = "페이지 크기(기본 20, 최대 100)", example = "20")
+        Integer pageSize,
+
+        @Schema(description = "쿼리를 주지 않을 때 상품명에서 뽑을 샘플 수(기본 30, 최대 200)", example = "30")
+        Integer sampleSize,
+
+        @Schema(description = "직접 지정할 검색어", example = "[\"텀블러\", \"캠핑 의자\"]")
+        List<String> queries
+) {}
@@ -0,0 +1,13 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "검색 alias 전환 요청(롤백 포함)")
+public record VectorAliasSwapRequestDto(
+        @Schema(description = "alias가 가리킬 컬렉션", example = "products_v2")
+        @NotBlank String collection,
+
+        @Schema(description = "alias와 같은 이름의 기존 컬렉션을 삭제하고 전환할지", example = "false")
+        Boolean dropLegacyCollection
+) {}
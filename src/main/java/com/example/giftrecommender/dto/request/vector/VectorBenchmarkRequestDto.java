@@ -0,0 +1,31 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+@Schema(description = "임베딩 차원 비교 벤치마크 요청(기준 컬렉션의 정확 검색을 정답으로 사용)")
+public record VectorBenchmarkRequestDto(
+        @Schema(description = "기준 컬렉션", example = "products")
+        @NotBlank String baselineCollection,
+
+        @Schema(description = "기준 차원", example = "1536")
+        @Positive int baselineDimensions,
+
+        @Schema(description = "비교 컬렉션", example = "products_d512")
+        @NotBlank String candidateCollection,
+
+        @Schema(description = "비교 차원", example = "512")
+        @Positive int candidateDimensions,
+
+        @Schema(description = "recall@k의 k(기본 20)", example = "20")
+        Integer topK,
+
+        @Schema(description = "쿼리를 주지 않을 때 상품명에서 뽑을 샘플 수(기본 50)", example = "50")
+        Integer sampleSize,
+
+        @Schema(description = "직접 지정할 검색 쿼리", example = "[\"향수 선물\", \"캠핑 용품\"]")
+        List<String> queries
+) {}
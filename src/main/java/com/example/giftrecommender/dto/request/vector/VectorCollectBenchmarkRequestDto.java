@@ -0,0 +1,18 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import com.example.giftrecommender.dto.request.RecommendationRequestDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "추천 후보 수집 방식(sequential/concurrent) 비교 벤치마크 요청")
+public record VectorCollectBenchmarkRequestDto(
+        @Schema(description = "비교에 쓸 추천 요청(키워드/가격/컨텍스트)")
+        @NotNull @Valid RecommendationRequestDto request,
+
+        @Schema(description = "방식별 반복 횟수(기본 10, 최대 100)", example = "10")
+        Integer repeats,
+
+        @Schema(description = "외부(네이버) 단계 포함 여부(기본 false, 유료 호출 발생)", example = "false")
+        Boolean includeNaver
+) {}
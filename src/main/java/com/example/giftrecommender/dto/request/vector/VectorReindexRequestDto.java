@@ -0,0 +1,44 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "벡터 재색인 요청(비우면 다음 버전 컬렉션을 만들어 채운 뒤 alias 전환, resume이면 체크포인트부터 이어서 실행)")
+public record VectorReindexRequestDto(
+        @Schema(description = "재색인 대상 컬렉션(없으면 다음 버전 products_v{n})", example = "products_d512")
+        String collection,
+
+        @Schema(description = "임베딩 차원(없으면 검색 임베딩 차원, alias 전환 시 같아야 함)", example = "512")
+        @Positive Integer dimensions,
+
+        @Schema(description = "마지막 체크포인트부터 이어서 실행(대상 컬렉션/차원/버전은 체크포인트 값 사용)", example = "false")
+        Boolean resume,
+
+        @Schema(description = "페이지 크기(기본 512, 최대 1000)", example = "512")
+        Integer pageSize,
+
+        @Schema(description = "동시에 처리하는 페이지 수(기본 4, 최대 16)", example = "4")
+        Integer parallelism,
+
+        @Schema(description = "분당 임베딩 입력 수 상한(기본 embedding.reindex.max-inputs-per-minute)", example = "10000")
+        @Positive Integer maxInputsPerMinute,
+
+        @Schema(description = "완료 후 alias 전환 여부(기본: 컬렉션을 비우면 true, 지정하면 false)", example = "true")
+        Boolean swap,
+
+        @Schema(description = "alias와 같은 이름의 기존 컬렉션을 삭제하고 전환할지(alias 도입 후 첫 전환에만 필요)", example = "false")
+        Boolean dropLegacyCollection,
+
+        @Schema(description = "HNSW m(새 컬렉션에만 적용, 없으면 설정값)", example = "32")
+        @Positive Integer hnswM,
+
+        @Schema(description = "HNSW ef_construct(새 컬렉션에만 적용, 없으면 설정값)", example = "200")
+        @Positive Integer hnswEfConstruct,
+
+        @Schema(description = "payload 디스크 저장 여부(새 컬렉션에만 적용, 없으면 설정값)", example = "true")
+        Boolean onDiskPayload,
+
+        @Schema(description = "양자화 none | int8(새 컬렉션에만 적용, 없으면 설정값)", example = "int8")
+        @Pattern(regexp = "none|int8") String quantization
+) {}
@@ -0,0 +1,23 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "검색 전송 방식(REST/gRPC) 비교 벤치마크 요청")
+public record VectorTransportBenchmarkRequestDto(
+        @Schema(description = "동시 요청 수(기본 16, 최대 128)", example = "16")
+        Integer concurrency,
+
+        @Schema(description = "전송 방식별 총 검색 횟수(기본 1000, 최대 20000)", example = "1000")
+        Integer requests,
+
+        @Schema(description = "검색 topK(기본 30)", example = "30")
+        Integer topK,
+
+        @Schema(description = "쿼리를 주지 않을 때 상품명에서 뽑을 샘플 수(기본 50)", example = "50")
+        Integer sampleSize,
+
+        @Schema(description = "직접 지정할 검색 쿼리", example = "[\"향수 선물\", \"캠핑 용품\"]")
+        List<String> queries
+) {}
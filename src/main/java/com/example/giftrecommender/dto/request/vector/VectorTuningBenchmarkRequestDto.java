@@ -0,0 +1,48 @@
+package com.example.giftrecommender.dto.request.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+@Schema(description = "HNSW/양자화 설정 비교 벤치마크 요청(기준 컬렉션의 정확 검색을 정답으로 사용)")
+public record VectorTuningBenchmarkRequestDto(
+        @Schema(description = "정답(정확 검색)용 기준 컬렉션", example = "products")
+        @NotBlank String baselineCollection,
+
+        @Schema(description = "쿼리 임베딩 차원(비교 컬렉션 모두 같은 차원)", example = "1536")
+        @Positive int dimensions,
+
+        @Schema(description = "비교할 설정(없으면 기준 컬렉션을 현재 검색 설정으로 측정)")
+        List<@Valid Config> configs,
+
+        @Schema(description = "recall@k의 k(기본 20)", example = "20")
+        Integer topK,
+
+        @Schema(description = "쿼리별 반복 측정 횟수(기본 3, 최대 20)", example = "3")
+        Integer repeats,
+
+        @Schema(description = "쿼리를 주지 않을 때 상품명에서 뽑을 샘플 수(기본 50)", example = "50")
+        Integer sampleSize,
+
+        @Schema(description = "직접 지정할 검색 쿼리", example = "[\"향수 선물\", \"캠핑 용품\"]")
+        List<String> queries
+) {
+
+    @Schema(description = "비교 설정(컬렉션 + 검색 시점 파라미터)")
+    public record Config(
+            @Schema(description = "컬렉션(m/ef_construct/양자화는 재색인 시 지정)", example = "products_m32_int8")
+            @NotBlank String collection,
+
+            @Schema(description = "검색 hnsw_ef(없으면 서버 기본값)", example = "128")
+            @Positive Integer hnswEf,
+
+            @Schema(description = "양자화 재채점 여부(없으면 서버 기본값)", example = "true")
+            Boolean rescore,
+
+            @Schema(description = "양자화 oversampling(없으면 서버 기본값)", example = "2.0")
+            @Positive Double oversampling
+    ) {}
+}
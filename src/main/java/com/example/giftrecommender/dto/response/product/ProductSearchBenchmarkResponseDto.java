@@ -0,0 +1,48 @@
+package com.example.giftrecommender.dto.response.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "상품 목록 검색 방식(LIKE/PREFIX/FULLTEXT) 비교 벤치마크 결과")
+public record ProductSearchBenchmarkResponseDto(
+        @Schema(description = "전체 상품 수", example = "1000000")
+        long catalogSize,
+
+        @Schema(description = "사용한 쿼리 종류 수", example = "30")
+        int queries,
+
+        @Schema(description = "쿼리별 반복 횟수", example = "5")
+        int repeats,
+
+        @Schema(description = "검색 방식별 측정값")
+        List<Result> results
+) {
+
+    @Schema(description = "검색 방식별 측정값")
+    public record Result(
+            @Schema(description = "검색 방식", example = "FULLTEXT")
+            String mode,
+
+            @Schema(description = "평균 지연(ms, 목록 + 건수 조회)", example = "12.4")
+            double avgMs,
+
+            @Schema(description = "p50 지연(ms)", example = "10.8")
+            double p50Ms,
+
+            @Schema(description = "p95 지연(ms)", example = "25.1")
+            double p95Ms,
+
+            @Schema(description = "p99 지연(ms)", example = "40.3")
+            double p99Ms,
+
+            @Schema(description = "쿼리당 평균 매칭 건수", example = "1830.5")
+            double avgTotalHits,
+
+            @Schema(description = "매칭 0건 쿼리 수", example = "1")
+            int emptyQueries,
+
+            @Schema(description = "첫 페이지 상품 중 LIKE 결과와 겹치는 비율 평균(0~1)", example = "0.35")
+            double firstPageOverlapWithLike
+    ) {}
+}
@@ -0,0 +1,35 @@
+package com.example.giftrecommender.dto.response.product;
+
+import com.example.giftrecommender.search.ProductSearchBenchmarkService;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "벤치마크용 합성 상품 적재/삭제 진행 상황")
+public record ProductSyntheticStatusResponseDto(
+        @Schema(description = "작업 종류(SEED/CLEAR), 실행 전이면 null", example = "SEED")
+        String operation,
+
+        @Schema(description = "상태(IDLE/RUNNING/COMPLETED/FAILED)", example = "RUNNING")
+        String state,
+
+        @Schema(description = "목표 건수(SEED)", example = "1000000")
+        long requested,
+
+        @Schema(description = "처리한 상품 수", example = "240000")
+        long processed,
+
+        @Schema(description = "시작 시각")
+        Instant startedAt,
+
+        @Schema(description = "종료 시각")
+        Instant finishedAt,
+
+        @Schema(description = "실패 사유")
+        String error
+) {
+    public static ProductSyntheticStatusResponseDto from(ProductSearchBenchmarkService.SyntheticStatus s) {
+        return new ProductSyntheticStatusResponseDto(
+                s.operation(), s.state(), s.requested(), s.processed(), s.startedAt(), s.finishedAt(), s.error());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import com.example.giftrecommender.vector.VectorCollectionVersions;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "검색 alias 상태")
+public record VectorAliasResponseDto(
+        @Schema(description = "alias(qdrant.collection)", example = "products")
+        String alias,
+
+        @Schema(description = "alias가 가리키는 컬렉션", example = "products_v3")
+        String activeCollection,
+
+        @Schema(description = "현재 버전의 embedding_model 값", example = "text-embedding-3-small#v3")
+        String activeVersion,
+
+        @Schema(description = "재색인 중이라 실시간 쓰기를 함께 받는 컬렉션", example = "products_v4")
+        String dualWriteCollection
+) {
+    public static VectorAliasResponseDto from(VectorCollectionVersions v) {
+        return new VectorAliasResponseDto(v.alias(), v.activeCollection(), v.activeVersionLabel(), v.dualWriteCollection());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "임베딩 차원 비교 벤치마크 결과")
+public record VectorBenchmarkResponseDto(
+        @Schema(description = "측정한 쿼리 수", example = "50")
+        int queries,
+
+        @Schema(description = "recall@k의 k", example = "20")
+        int topK,
+
+        @Schema(description = "기준 설정(HNSW 검색 vs 정확 검색)")
+        Setting baseline,
+
+        @Schema(description = "비교 설정(HNSW 검색 vs 기준 정확 검색)")
+        Setting candidate
+) {
+
+    @Schema(description = "설정별 측정값")
+    public record Setting(
+            @Schema(description = "컬렉션", example = "products_d512")
+            String collection,
+
+            @Schema(description = "차원", example = "512")
+            int dimensions,
+
+            @Schema(description = "기준 정확 검색 top-k 대비 재현율", example = "0.93")
+            double recallAtK,
+
+            @Schema(description = "평균 검색 지연(ms)", example = "4.2")
+            double avgMs,
+
+            @Schema(description = "p50 검색 지연(ms)", example = "3.9")
+            double p50Ms,
+
+            @Schema(description = "p95 검색 지연(ms)", example = "7.1")
+            double p95Ms,
+
+            @Schema(description = "요청 본문 크기(byte, 쿼리 벡터 포함)", example = "6500")
+            long requestBytes
+    ) {}
+}
@@ -0,0 +1,45 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "추천 후보 수집 방식(sequential/concurrent) 비교 벤치마크 결과")
+public record VectorCollectBenchmarkResponseDto(
+        @Schema(description = "정규화된 키워드 수", example = "5")
+        int keywords,
+
+        @Schema(description = "방식별 반복 횟수", example = "10")
+        int repeats,
+
+        @Schema(description = "외부(네이버) 단계 포함 여부", example = "false")
+        boolean includeNaver,
+
+        @Schema(description = "모든 반복에서 두 방식의 후보 id 순서가 같았는지", example = "true")
+        boolean sameCandidates,
+
+        @Schema(description = "수집 방식별 측정값")
+        List<Result> results
+) {
+
+    @Schema(description = "수집 방식별 측정값")
+    public record Result(
+            @Schema(description = "수집 방식", example = "concurrent")
+            String mode,
+
+            @Schema(description = "평균 지연(ms)", example = "120.4")
+            double avgMs,
+
+            @Schema(description = "p50 지연(ms)", example = "110.2")
+            double p50Ms,
+
+            @Schema(description = "p95 지연(ms)", example = "180.7")
+            double p95Ms,
+
+            @Schema(description = "p99 지연(ms)", example = "210.3")
+            double p99Ms,
+
+            @Schema(description = "평균 후보 수", example = "15.0")
+            double avgCandidates
+    ) {}
+}
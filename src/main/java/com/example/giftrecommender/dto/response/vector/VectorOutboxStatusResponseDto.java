@@ -0,0 +1,15 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "벡터 outbox 상태")
+public record VectorOutboxStatusResponseDto(
+        @Schema(description = "배출 대기 중인 행 수", example = "120")
+        long pending,
+
+        @Schema(description = "재시도 한도를 넘겨 보류된 행 수", example = "3")
+        long exhausted,
+
+        @Schema(description = "이번 요청으로 다시 대기열에 넣은 행 수", example = "3")
+        int requeued
+) {}
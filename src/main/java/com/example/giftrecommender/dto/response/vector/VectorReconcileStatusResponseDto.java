@@ -0,0 +1,44 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import com.example.giftrecommender.vector.VectorReconciler;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "벡터 정합성 점검 결과")
+public record VectorReconcileStatusResponseDto(
+        @Schema(description = "상태(IDLE/RUNNING/COMPLETED/FAILED)", example = "COMPLETED")
+        String state,
+
+        @Schema(description = "집계만 하고 복구하지 않았는지 여부", example = "false")
+        boolean dryRun,
+
+        @Schema(description = "비교한 상품 수", example = "52000")
+        long products,
+
+        @Schema(description = "비교한 포인트 수", example = "51990")
+        long points,
+
+        @Schema(description = "포인트가 없는 상품 수", example = "14")
+        long missing,
+
+        @Schema(description = "상품이 없는 포인트 수", example = "4")
+        long orphans,
+
+        @Schema(description = "outbox에 다시 기록한 상품 수", example = "12")
+        long requeued,
+
+        @Schema(description = "삭제한 고아 포인트 수", example = "4")
+        long deleted,
+
+        Instant startedAt,
+        Instant finishedAt,
+
+        @Schema(description = "실패 사유")
+        String error
+) {
+    public static VectorReconcileStatusResponseDto from(VectorReconciler.Status s) {
+        return new VectorReconcileStatusResponseDto(s.state(), s.dryRun(), s.products(), s.points(),
+                s.missing(), s.orphans(), s.requeued(), s.deleted(), s.startedAt(), s.finishedAt(), s.error());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import com.example.giftrecommender.vector.VectorReindexService;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "벡터 재색인 진행 상황")
+public record VectorReindexStatusResponseDto(
+        @Schema(description = "상태(IDLE/RUNNING/COMPLETED/FAILED)", example = "RUNNING")
+        String state,
+
+        @Schema(description = "대상 컬렉션", example = "products_v4")
+        String collection,
+
+        @Schema(description = "임베딩 차원", example = "512")
+        int dimensions,
+
+        @Schema(description = "완료 후 alias 전환 여부", example = "true")
+        boolean swap,
+
+        @Schema(description = "embedding_model에 기록하는 버전", example = "text-embedding-3-small#v4")
+        String version,
+
+        @Schema(description = "시작 시점 전체 상품 수(추정)", example = "52000")
+        long total,
+
+        @Schema(description = "처리한 상품 수(재개 전 건수 포함)", example = "1200")
+        long scanned,
+
+        @Schema(description = "업서트한 상품 수", example = "1180")
+        long upserted,
+
+        @Schema(description = "체크포인트(앞선 페이지가 모두 끝난 마지막 상품 ID)", example = "1532")
+        long lastId,
+
+        @Schema(description = "이번 실행의 초당 처리 상품 수", example = "180.5")
+        double throughputPerSecond,
+
+        @Schema(description = "남은 예상 시간(초)", example = "281")
+        Long etaSeconds,
+
+        @Schema(description = "alias 전환 완료 여부", example = "false")
+        boolean swapped,
+
+        Instant startedAt,
+        Instant finishedAt,
+
+        @Schema(description = "실패 사유")
+        String error
+) {
+    public static VectorReindexStatusResponseDto from(VectorReindexService.Status s) {
+        return new VectorReindexStatusResponseDto(s.state(), s.collection(), s.dimensions(), s.swap(), s.label(),
+                s.total(), s.scanned(), s.upserted(), s.lastId(),
+                Math.round(s.throughputPerSecond() * 10) / 10.0, s.etaSeconds(),
+                s.swapped(), s.startedAt(), s.finishedAt(), s.error());
+    }
+}
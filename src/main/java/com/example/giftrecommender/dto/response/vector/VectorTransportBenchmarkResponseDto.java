@@ -0,0 +1,48 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "검색 전송 방식(REST/gRPC) 비교 벤치마크 결과")
+public record VectorTransportBenchmarkResponseDto(
+        @Schema(description = "사용한 쿼리 종류 수", example = "50")
+        int queries,
+
+        @Schema(description = "동시 요청 수", example = "16")
+        int concurrency,
+
+        @Schema(description = "전송 방식별 총 검색 횟수", example = "1000")
+        int requests,
+
+        @Schema(description = "전송 방식별 측정값")
+        List<Result> results
+) {
+
+    @Schema(description = "전송 방식별 측정값")
+    public record Result(
+            @Schema(description = "전송 방식", example = "grpc")
+            String transport,
+
+            @Schema(description = "초당 처리량", example = "850.2")
+            double throughputRps,
+
+            @Schema(description = "평균 지연(ms)", example = "18.3")
+            double avgMs,
+
+            @Schema(description = "p50 지연(ms)", example = "16.9")
+            double p50Ms,
+
+            @Schema(description = "p95 지연(ms)", example = "29.4")
+            double p95Ms,
+
+            @Schema(description = "p99 지연(ms)", example = "41.0")
+            double p99Ms,
+
+            @Schema(description = "요청당 프로세스 CPU 시간(ms)", example = "0.42")
+            double cpuMsPerRequest,
+
+            @Schema(description = "빈 결과(실패 포함) 수", example = "0")
+            int emptyResults
+    ) {}
+}
@@ -0,0 +1,63 @@
+package com.example.giftrecommender.dto.response.vector;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "HNSW/양자화 설정 비교 벤치마크 결과")
+public record VectorTuningBenchmarkResponseDto(
+        @Schema(description = "측정한 쿼리 수", example = "50")
+        int queries,
+
+        @Schema(description = "recall@k의 k", example = "20")
+        int topK,
+
+        @Schema(description = "쿼리별 반복 측정 횟수", example = "3")
+        int repeats,
+
+        @Schema(description = "설정별 측정값")
+        List<Result> results
+) {
+
+    @Schema(description = "설정별 측정값")
+    public record Result(
+            @Schema(description = "컬렉션", example = "products_m32_int8")
+            String collection,
+
+            @Schema(description = "컬렉션 HNSW m(서버 기본값이면 null)", example = "32")
+            Integer m,
+
+            @Schema(description = "컬렉션 HNSW ef_construct(서버 기본값이면 null)", example = "200")
+            Integer efConstruct,
+
+            @Schema(description = "컬렉션 양자화", example = "int8")
+            String quantization,
+
+            @Schema(description = "payload 디스크 저장 여부", example = "true")
+            Boolean onDiskPayload,
+
+            @Schema(description = "검색 hnsw_ef", example = "128")
+            Integer hnswEf,
+
+            @Schema(description = "양자화 재채점 여부", example = "true")
+            Boolean rescore,
+
+            @Schema(description = "양자화 oversampling", example = "2.0")
+            Double oversampling,
+
+            @Schema(description = "기준 정확 검색 top-k 대비 재현율", example = "0.97")
+            double recallAtK,
+
+            @Schema(description = "평균 검색 지연(ms)", example = "3.1")
+            double avgMs,
+
+            @Schema(description = "p50 검색 지연(ms)", example = "2.8")
+            double p50Ms,
+
+            @Schema(description = "p95 검색 지연(ms)", example = "5.2")
+            double p95Ms,
+
+            @Schema(description = "p99 검색 지연(ms)", example = "7.9")
+            double p99Ms
+    ) {}
+}
@@ -0,0 +1,369 @@
+package com.example.giftrecommender.search;
+
+import com.example.giftrecommender.common.exception.ErrorException;
+import com.example.giftrecommender.common.exception.ExceptionEnum;
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.enums.Age;
+import com.example.giftrecommender.domain.enums.Gender;
+import com.example.giftrecommender.domain.enums.ProductSearchMode;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.dto.request.product.ProductSearchBenchmarkRequestDto;
+import com.example.giftrecommender.dto.response.product.CrawlingProductResponseDto;
+import com.example.giftrecommender.dto.response.product.ProductSearchBenchmarkResponseDto;
+import com.example.giftrecommender.service.CrawlingProductService;
+import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleFingerprint;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.giftrecommender.util.LatencyStats.percentile;
+import static com.example.giftrecommender.util.LatencyStats.round;
+
+/**
+ * 상품 목록 검색 방식(LIKE / PREFIX / FULLTEXT) 비교
+ * - 같은 검색어를 방식별로 반복 실행해 목록 + 건수 조회 지연 분포, 매칭 건수, LIKE 대비 첫 페이지 겹침 비율 측정(워밍업 1회 제외)
+ * - 합성 상품 적재: 어휘 조합으로 만든 상품명/카테고리/키워드를 JDBC 배치로 직접 INSERT(platform=SYNTHETIC_PLATFORM)
+ *   이벤트/outbox를 거치지 않으므로 벡터 정합성 점검이 임베딩 대상으로 잡지 않도록 vector.enabled=false인 벤치마크 DB에서만 허용
+ * - 합성 상품 삭제: platform 표식으로 id 구간 청크 삭제(키워드/정규화 키워드 포함)
+ */
+@Slf4j
+@Service
+public class ProductSearchBenchmarkService {
+
+    public static final String SYNTHETIC_PLATFORM = "SYNTHETIC_BENCH";
+
+    private static final int DEFAULT_REPEATS = 5;
+    private static final int MAX_REPEATS = 50;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SAMPLE_SIZE = 30;
+    private static final int MAX_QUERIES = 200;
+    private static final int MAX_SYNTHETIC_ROWS = 2_000_000;
+    private static final int INSERT_BATCH = 2_000;
+    private static final int DELETE_CHUNK = 5_000;
+
+    private static final String[] BRANDS = {
+            "모닝글로리", "한울", "소담", "루미에르", "그린하우스", "데일리랩", "브라운필드", "포근", "코지룸", "오롯",
+            "nordic", "urban", "lumen", "artisan", "everyday"
+    };
+    private static final String[] ADJECTIVES = {
+            "프리미엄", "미니", "대용량", "휴대용", "무선", "원목", "스테인리스", "핸드메이드", "접이식", "빈티지",
+            "고급", "심플", "컬러", "저소음", "보온"
+    };
+    private static final String[] NOUNS = {
+            "텀블러", "머그컵", "향수", "디퓨저", "캔들", "무드등", "가습기", "블루투스스피커", "이어폰", "키보드",
+            "마우스", "지갑", "카드지갑", "백팩", "토트백", "목도리", "장갑", "양말", "잠옷", "담요",
+            "쿠션", "베개", "화분", "다이어리", "만년필", "볼펜", "필통", "보조배터리", "충전기", "스마트워치",
+            "손목시계", "반지", "목걸이", "귀걸이", "립밤", "핸드크림", "바디로션", "샴푸", "캠핑의자", "랜턴",
+            "텐트", "요가매트", "아령", "줄넘기", "보드게임", "퍼즐", "레고", "인형", "커피머신", "전기포트",
+            "와인잔", "위스키", "초콜릿", "쿠키", "홍삼", "비타민", "꽃다발", "케이크", "앨범", "액자"
+    };
+    private static final String[] CATEGORIES = {
+            "주방용품", "생활용품", "디지털", "패션잡화", "뷰티", "캠핑", "스포츠", "문구", "완구", "식품",
+            "건강식품", "인테리어", "주얼리", "가전", "반려동물"
+    };
+
+    private static final String INSERT_PRODUCT_SQL = """
+            INSERT INTO crawling_product
+              (crawling_product_id, original_name, display_name, price, image_url, product_url, category, keywords_text,
+               original_name_norm, display_name_norm, category_norm, search_copy_version, base_title, title_simhash,
+               seller_name, platform, score, admin_check, is_confirmed, is_advertised, embedding_ready,
+               gender, age, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_KEYWORD_SQL =
+            "INSERT INTO crawling_product_keywords (crawling_product_id, keyword) VALUES (?, ?)";
+    private static final String INSERT_KEYWORD_NORM_SQL =
+            "INSERT INTO crawling_product_keyword_norms (crawling_product_id, keyword_norm) VALUES (?, ?)";
+
+    private final CrawlingProductService crawlingProductService;
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean syntheticEnabled;
+    private final boolean vectorEnabled;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("search-synthetic").daemon(true).factory());
+
+    private final AtomicReference<SyntheticStatus> syntheticStatus = new AtomicReference<>(SyntheticStatus.idle());
+
+    public ProductSearchBenchmarkService(CrawlingProductService crawlingProductService,
+                                         CrawlingProductRepository crawlingProductRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         @Value("${product.search.synthetic.enabled:false}") boolean syntheticEnabled,
+                                         @Value("${vector.enabled:false}") boolean vectorEnabled) {
+        this.crawlingProductService = crawlingProductService;
+        this.crawlingProductRepository = crawlingProductRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.syntheticEnabled = syntheticEnabled;
+        this.vectorEnabled = vectorEnabled;
+    }
+
+    public record SyntheticStatus(String operation,
+                                  String state,
+                                  long requested,
+                                  long processed,
+                                  Instant startedAt,
+                                  Instant finishedAt,
+                                  String error) {
+
+        static SyntheticStatus idle() {
+            return new SyntheticStatus(null, "IDLE", 0, 0, null, null, null);
+        }
+
+        boolean running() {
+            return "RUNNING".equals(state);
+        }
+
+        SyntheticStatus progress(long delta) {
+            return new SyntheticStatus(operation, state, requested, processed + delta, startedAt, finishedAt, error);
+        }
+
+        SyntheticStatus finish(String state, String error) {
+            return new SyntheticStatus(operation, state, requested, processed, startedAt, Instant.now(), error);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public ProductSearchBenchmarkResponseDto compare(ProductSearchBenchmarkRequestDto req) {
+        int repeats = clamp(req.repeats(), DEFAULT_REPEATS, MAX_REPEATS);
+        int pageSize = clamp(req.pageSize(), DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<String> queries = sampleQueries(req.queries(), req.sampleSize());
+        PageRequest pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Order.desc("createdAt")));
+
+        ProductSearchMode[] modes = ProductSearchMode.values();
+        long[][] nanos = new long[modes.length][queries.size() * repeats];
+        long[] hits = new long[modes.length];
+        int[] empty = new int[modes.length];
+        double[] overlapSum = new double[modes.length];
+
+        for (int q = 0; q < queries.size(); q++) {
+            String query = queries.get(q);
+            List<Set<Long>> firstPages = new ArrayList<>(modes.length);
+
+            for (int m = 0; m < modes.length; m++) {
+                // 워밍업(버퍼 풀/쿼리 캐시 상태를 두 방식에 같게)
+                Page<CrawlingProductResponseDto> page = search(query, modes[m], pageable);
+                for (int r = 0; r < repeats; r++) {
+                    long started = System.nanoTime();
+                    page = search(query, modes[m], pageable);
+                    nanos[m][q * repeats + r] = System.nanoTime() - started;
+                }
+                hits[m] += page.getTotalElements();
+                if (page.getTotalElements() == 0) empty[m]++;
+
+                Set<Long> ids = new HashSet<>();
+                for (CrawlingProductResponseDto dto : page.getContent()) ids.add(dto.id());
+                firstPages.add(ids);
+            }
+            for (int m = 0; m < modes.length; m++) {
+                overlapSum[m] += overlap(firstPages.get(ProductSearchMode.LIKE.ordinal()), firstPages.get(m));
+            }
+        }
+
+        List<ProductSearchBenchmarkResponseDto.Result> results = new ArrayList<>(modes.length);
+        for (int m = 0; m < modes.length; m++) {
+            long[] sorted = nanos[m];
+            Arrays.sort(sorted);
+            results.add(new ProductSearchBenchmarkResponseDto.Result(
+                    modes[m].name(),
+                    round(Arrays.stream(sorted).average().orElse(0) / 1_000_000.0),
+                    round(percentile(sorted, 0.50) / 1_000_000.0),
+                    round(percentile(sorted, 0.95) / 1_000_000.0),
+                    round(percentile(sorted, 0.99) / 1_000_000.0),
+                    queries.isEmpty() ? 0.0 : round((double) hits[m] / queries.size()),
+                    empty[m],
+                    queries.isEmpty() ? 0.0 : round(overlapSum[m] / queries.size())));
+        }
+
+        ProductSearchBenchmarkResponseDto result = new ProductSearchBenchmarkResponseDto(
+                crawlingProductRepository.count(),
+                queries.size(),
+                repeats,
+                results);
+        log.info("[SEARCH][BENCH] done. queries={}, repeats={}, results={}", queries.size(), repeats, results);
+        return result;
+    }
+
+    public SyntheticStatus syntheticStatus() {
+        return syntheticStatus.get();
+    }
+
+    /** 합성 상품 적재 시작(비동기) */
+    public SyntheticStatus seedSynthetic(int rows, long seed) {
+        int target = Math.max(1, Math.min(rows, MAX_SYNTHETIC_ROWS));
+        SyntheticStatus started = startSynthetic("SEED", target);
+        worker.execute(() -> runSynthetic(() -> seed(target, seed)));
+        return started;
+    }
+
+    /** 합성 상품 삭제 시작(비동기) */
+    public SyntheticStatus clearSynthetic() {
+        SyntheticStatus started = startSynthetic("CLEAR", 0);
+        worker.execute(() -> runSynthetic(this::clear));
+        return started;
+    }
+
+    private SyntheticStatus startSynthetic(String operation, long requested) {
+        if (!syntheticEnabled || vectorEnabled) {
+            throw new ErrorException(ExceptionEnum.SEARCH_SYNTHETIC_DISABLED);
+        }
+        SyntheticStatus current = syntheticStatus.get();
+        SyntheticStatus started = new SyntheticStatus(operation, "RUNNING", requested, 0, Instant.now(), null, null);
+        if (current.running() || !syntheticStatus.compareAndSet(current, started)) {
+            throw new ErrorException(ExceptionEnum.SEARCH_SYNTHETIC_RUNNING);
+        }
+        return started;
+    }
+
+    private void runSynthetic(Runnable job) {
+        try {
+            job.run();
+            SyntheticStatus done = syntheticStatus.updateAndGet(s -> s.finish("COMPLETED", null));
+            log.info("[SEARCH][SYNTHETIC] done. operation={}, processed={}", done.operation(), done.processed());
+        } catch (Exception e) {
+            syntheticStatus.updateAndGet(s -> s.finish("FAILED", e.toString()));
+            log.error("[SEARCH][SYNTHETIC] failed. cause={}", e.toString(), e);
+        }
+    }
+
+    private void seed(int rows, long seed) {
+        Long max = crawlingProductRepository.findMaxId();
+        long nextId = (max == null) ? 1L : max + 1;
+        Random random = new Random(seed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> products = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> keywords = new ArrayList<>(INSERT_BATCH * 3);
+        List<Object[]> keywordNorms = new ArrayList<>(INSERT_BATCH * 3);
+        for (int i = 0; i < rows; i++) {
+            long id = nextId + i;
+            String noun = pick(random, NOUNS);
+            String title = pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + noun
+                    + (random.nextBoolean() ? " " + pick(random, NOUNS) : "")
+                    + " " + (char) ('A' + random.nextInt(26)) + (100 + random.nextInt(900));
+            List<String> kws = List.of(noun, pick(random, NOUNS), pick(random, ADJECTIVES));
+            String displayName = random.nextInt(3) == 0 ? title : null;
+            String category = pick(random, CATEGORIES);
+            String baseTitle = CrawlingProduct.baseTitleOf(title, displayName);
+
+            products.add(new Object[]{
+                    id, title, displayName, 5_000 + random.nextInt(300) * 1_000,
+                    "https://synthetic.invalid/img/" + id + ".jpg", "https://synthetic.invalid/p/" + seed + "/" + id,
+                    category, CrawlingProduct.joinKeywords(kws),
+                    CrawlingProduct.normalize(title, CrawlingProduct.NAME_NORM_LENGTH),
+                    CrawlingProduct.normalize(displayName, CrawlingProduct.NAME_NORM_LENGTH),
+                    CrawlingProduct.normalize(category, CrawlingProduct.CATEGORY_NORM_LENGTH),
+                    CrawlingProduct.SEARCH_COPY_VERSION, baseTitle, TitleFingerprint.of(baseTitle),
+                    "seller" + random.nextInt(500), SYNTHETIC_PLATFORM, random.nextInt(5),
+                    false, random.nextInt(4) != 0, false, false,
+                    pick(random, Gender.values()).name(), pick(random, Age.values()).name(), now, now
+            });
+            for (String kw : kws) keywords.add(new Object[]{id, kw});
+            for (String norm : CrawlingProduct.normalizeKeywords(kws)) keywordNorms.add(new Object[]{id, norm});
+
+            if (products.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, products);
+                jdbcTemplate.batchUpdate(INSERT_KEYWORD_SQL, keywords);
+                jdbcTemplate.batchUpdate(INSERT_KEYWORD_NORM_SQL, keywordNorms);
+                long inserted = products.size();
+                syntheticStatus.updateAndGet(s -> s.progress(inserted));
+                products.clear();
+                keywords.clear();
+                keywordNorms.clear();
+            }
+        }
+    }
+
+    private void clear() {
+        Long minId = jdbcTemplate.queryForObject(
+                "SELECT MIN(crawling_product_id) FROM crawling_product WHERE platform = ?", Long.class, SYNTHETIC_PLATFORM);
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(crawling_product_id) FROM crawling_product WHERE platform = ?", Long.class, SYNTHETIC_PLATFORM);
+        if (minId == null || maxId == null) return;
+
+        for (long from = minId - 1; from < maxId; from += DELETE_CHUNK) {
+            long to = Math.min(maxId, from + DELETE_CHUNK);
+            jdbcTemplate.update("""
+                    DELETE k FROM crawling_product_keywords k
+                    JOIN crawling_product p ON p.crawling_product_id = k.crawling_product_id
+                    WHERE p.platform = ? AND p.crawling_product_id > ? AND p.crawling_product_id <= ?
+                    """, SYNTHETIC_PLATFORM, from, to);
+            jdbcTemplate.update("""
+                    DELETE k FROM crawling_product_keyword_norms k
+                    JOIN crawling_product p ON p.crawling_product_id = k.crawling_product_id
+                    WHERE p.platform = ? AND p.crawling_product_id > ? AND p.crawling_product_id <= ?
+                    """, SYNTHETIC_PLATFORM, from, to);
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM crawling_product WHERE platform = ? AND crawling_product_id > ? AND crawling_product_id <= ?",
+                    SYNTHETIC_PLATFORM, from, to);
+            syntheticStatus.updateAndGet(s -> s.progress(deleted));
+        }
+    }
+
+    private Page<CrawlingProductResponseDto> search(String query, ProductSearchMode mode, PageRequest pageable) {
+        return crawlingProductService.getProducts(
+                query, null, null, null, null, null, null, null, null, mode, pageable);
+    }
+
+    /** 관리자 검색어처럼 상품명 앞쪽 1~2개 토큰(2글자 이상) */
+    private List<String> sampleQueries(List<String> given, Integer sampleSize) {
+        if (given != null && !given.isEmpty()) {
+            return given.stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .limit(MAX_QUERIES)
+                    .toList();
+        }
+
+        int size = clamp(sampleSize, DEFAULT_SAMPLE_SIZE, MAX_QUERIES);
+        Random random = new Random(42L);
+        LinkedHashSet<String> queries = new LinkedHashSet<>();
+        for (CrawlingProduct p : crawlingProductRepository.findTop200ByOrderByIdDesc()) {
+            String title = (p.getDisplayName() != null && !p.getDisplayName().isBlank())
+                    ? p.getDisplayName() : p.getOriginalName();
+            List<String> tokens = RecommendationUtil.tokenize(title).stream().filter(t -> t.length() >= 2).toList();
+            if (tokens.isEmpty()) continue;
+            int from = random.nextInt(tokens.size());
+            int to = Math.min(tokens.size(), from + 1 + random.nextInt(2));
+            queries.add(String.join(" ", tokens.subList(from, to)));
+        }
+        List<String> shuffled = new ArrayList<>(queries);
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(size, shuffled.size()));
+    }
+
+    private static double overlap(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() && b.isEmpty()) return 1.0;
+        int common = 0;
+        for (Long id : a) if (b.contains(id)) common++;
+        return (double) common / Math.max(a.size(), b.size());
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int clamp(Integer value, int defaultValue, int max) {
+        return (value == null || value <= 0) ? defaultValue : Math.min(value, max);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.giftrecommender.search;
+
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.util.TitleFingerprint;
+import com.example.giftrecommender.vector.ProductKeywordView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 검색용 정규화 사본(original/display/category_norm, keywords_text, crawling_product_keyword_norms)과
+ * 중복 억제용 제목 지문(base_title, title_simhash) 백필
+ * - 새로 저장되는 상품은 엔티티가 함께 계산하므로 각각 search_copy_version / title_simhash가 null인 기존 행만 대상
+ *   (상품명이 null인 행도 버전이 기록되므로 기동마다 다시 읽지 않음)
+ * - 정규화 규칙이 검색어와 같아야 하므로 SQL 함수 대신 CrawlingProduct.normalize로 계산해 JDBC 배치 UPDATE
+ *   (엔티티 변경 감지를 거치지 않아 updated_at/이벤트는 그대로)
+ * - id keyset 청크 단위 트랜잭션, 중간에 멈춰도 다음 기동 때 남은 행부터 이어서 처리
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.search.normalized", name = "backfill-on-startup", havingValue = "true")
+public class ProductSearchCopyBackfill {
+
+    private static final String UPDATE_SQL = """
+            UPDATE crawling_product
+               SET original_name_norm = ?, display_name_norm = ?, category_norm = ?, keywords_text = ?,
+                   search_copy_version = ?
+             WHERE crawling_product_id = ?
+            """;
+    private static final String UPDATE_FINGERPRINT_SQL =
+            "UPDATE crawling_product SET base_title = ?, title_simhash = ? WHERE crawling_product_id = ?";
+    private static final String DELETE_KEYWORD_NORMS_SQL =
+            "DELETE FROM crawling_product_keyword_norms WHERE crawling_product_id = ?";
+    private static final String INSERT_KEYWORD_NORM_SQL =
+            "INSERT INTO crawling_product_keyword_norms (crawling_product_id, keyword_norm) VALUES (?, ?)";
+
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int pageSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("search-copy-backfill").daemon(true).factory());
+
+    public ProductSearchCopyBackfill(CrawlingProductRepository crawlingProductRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate tx,
+                                     @Value("${product.search.normalized.backfill-page-size:1000}") int pageSize) {
+        this.crawlingProductRepository = crawlingProductRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = tx;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        worker.submit(this::backfill);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /** @return 백필한 상품 수(정규화 사본 + 제목 지문) */
+    public long backfill() {
+        long filled = run("[SEARCH][NORMALIZED]", this::fillPage);
+        return filled + run("[SEARCH][TITLE_FINGERPRINT]", this::fillFingerprintPage);
+    }
+
+    private long run(String tag, Function<Long, List<SearchCopySourceView>> pageFiller) {
+        long started = System.nanoTime();
+        long filled = 0L;
+        long lastId = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long after = lastId;
+                List<SearchCopySourceView> page = tx.execute(s -> pageFiller.apply(after));
+                if (page == null || page.isEmpty()) break;
+                filled += page.size();
+                lastId = page.get(page.size() - 1).getId();
+                if (page.size() < pageSize) break;
+            }
+            if (filled > 0) {
+                log.info("{} backfilled. products={}, tookMs={}",
+                        tag, filled, (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("{} backfill failed. filled={}, lastId={}, cause={}", tag, filled, lastId, e.toString(), e);
+        }
+        return filled;
+    }
+
+    private List<SearchCopySourceView> fillPage(long lastId) {
+        List<SearchCopySourceView> page = crawlingProductRepository.findSearchCopySourcesAfter(lastId, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) return page;
+
+        List<Long> ids = page.stream().map(SearchCopySourceView::getId).toList();
+        Map<Long, List<String>> keywords = new HashMap<>();
+        for (ProductKeywordView row : crawlingProductRepository.findKeywordsByIdIn(ids)) {
+            keywords.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getKeyword());
+        }
+
+        List<Object[]> updates = new ArrayList<>(page.size());
+        List<Object[]> deletes = new ArrayList<>(page.size());
+        List<Object[]> inserts = new ArrayList<>();
+        for (SearchCopySourceView v : page) {
+            List<String> kws = keywords.getOrDefault(v.getId(), List.of());
+            updates.add(new Object[]{
+                    CrawlingProduct.normalize(v.getOriginalName(), CrawlingProduct.NAME_NORM_LENGTH),
+                    CrawlingProduct.normalize(v.getDisplayName(), CrawlingProduct.NAME_NORM_LENGTH),
+                    CrawlingProduct.normalize(v.getCategory(), CrawlingProduct.CATEGORY_NORM_LENGTH),
+                    CrawlingProduct.joinKeywords(kws),
+                    CrawlingProduct.SEARCH_COPY_VERSION,
+                    v.getId()
+            });
+            deletes.add(new Object[]{v.getId()});
+            for (String norm : CrawlingProduct.normalizeKeywords(kws)) inserts.add(new Object[]{v.getId(), norm});
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_KEYWORD_NORMS_SQL, deletes);
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_KEYWORD_NORM_SQL, inserts);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        return page;
+    }
+
+    private List<SearchCopySourceView> fillFingerprintPage(long lastId) {
+        List<SearchCopySourceView> page =
+                crawlingProductRepository.findTitleFingerprintSourcesAfter(lastId, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) return page;
+
+        List<Object[]> updates = new ArrayList<>(page.size());
+        for (SearchCopySourceView v : page) {
+            String baseTitle = CrawlingProduct.baseTitleOf(v.getOriginalName(), v.getDisplayName());
+            updates.add(new Object[]{baseTitle, TitleFingerprint.of(baseTitle), v.getId()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_FINGERPRINT_SQL, updates);
+        return page;
+    }
+}
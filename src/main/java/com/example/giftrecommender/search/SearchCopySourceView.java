@@ -0,0 +1,9 @@
+package com.example.giftrecommender.search;
+
+/** 검색용 정규화 사본 백필 원본 컬럼 */
+public interface SearchCopySourceView {
+    Long getId();
+    String getOriginalName();
+    String getDisplayName();
+    String getCategory();
+}
@@ -7,6 +7,8 @@ import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
 import com.example.giftrecommender.dto.response.ProductResponseDto;
 import com.example.giftrecommender.infra.naver.NaverApiClient;
 import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleDedup;
+import com.example.giftrecommender.util.TitleFingerprint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -37,13 +39,14 @@ public class CrawlingProductImportService {
         if (keyword == null || keyword.isBlank() || neededCount <= 0) return List.of();
 
         Set<String> seenKeys = new HashSet<>();
+        TitleDedup seen = new TitleDedup(0.90);
         List<CrawlingProduct> result = new ArrayList<>();
 
         // 이미 저장된 최근 200건 기준 중복 키
         Set<String> existKeys = crawlingProductRepository.findTop200ByOrderByIdDesc()
                 .stream()
-                .map(p -> RecommendationUtil.extractBaseTitle(
-                        Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName()))
+                .map(p -> Optional.ofNullable(p.getBaseTitle())
+                        .orElseGet(() -> CrawlingProduct.baseTitleOf(p.getOriginalName(), p.getDisplayName()))
                         + "::" + Optional.ofNullable(p.getImageUrl()).orElse(""))
                 .collect(Collectors.toSet());
 
@@ -66,11 +69,9 @@ public class CrawlingProductImportService {
                 String key = baseTitle + "::" + Optional.ofNullable(dto.image()).orElse("");
                 if (existKeys.contains(key)) continue;
 
-                boolean similar = seenKeys.stream().anyMatch(ex -> {
-                    String exTitle = ex.split("::", 2)[0];
-                    return RecommendationUtil.jaccardSimilarityByWords(exTitle, baseTitle) >= 0.90;
-                });
-                if (seenKeys.contains(key) || similar) continue;
+                // 수집 시점에 한 번만 계산해 엔티티에 그대로 넘김(빌더에서 base title 추출을 다시 하지 않음)
+                long fingerprint = TitleFingerprint.of(baseTitle);
+                if (seenKeys.contains(key) || seen.isDuplicate(fingerprint, baseTitle)) continue;
 
                 CrawlingProduct p = CrawlingProduct.builder()
                         .originalName(dto.title())
@@ -88,9 +89,12 @@ public class CrawlingProductImportService {
                         .gender(Gender.ANY)
                         .age(Age.NONE)
                         .isAdvertised(Boolean.FALSE)
+                        .baseTitle(baseTitle)
+                        .titleSimhash(fingerprint)
                         .build();
 
                 seenKeys.add(key);
+                seen.add(fingerprint, baseTitle);
                 result.add(p);
                 if (result.size() >= neededCount) break;
             }
@@ -1,19 +1,21 @@
 package com.example.giftrecommender.service;
 
+import com.example.giftrecommender.catalog.event.ProductChangedEvent;
 import com.example.giftrecommender.domain.entity.CrawlingProduct;
 import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
 import com.example.giftrecommender.dto.request.product.CrawlingProductRequestDto;
 import com.example.giftrecommender.dto.response.product.CrawlingProductResponseDto;
 import com.example.giftrecommender.mapper.CrawlingProductMapper;
 import com.example.giftrecommender.util.RecommendationUtil;
-import com.example.giftrecommender.vector.ProductVectorService;
-import com.example.giftrecommender.vector.event.ProductCreatedEvent;
+import com.example.giftrecommender.vector.VectorCollectionVersions;
+import com.example.giftrecommender.vector.VectorOutboxWriter;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -29,8 +31,15 @@ public class CrawlingProductSaver {
 
     private final CrawlingProductRepository crawlingProductRepository;
     private final Validator validator;
-    private final ApplicationEventPublisher publisher;
-    private final ObjectProvider<ProductVectorService> productVectorServiceProvider;
+    private final ObjectProvider<VectorOutboxWriter> outboxWriterProvider;
+    private final ObjectProvider<VectorCollectionVersions> collectionVersionsProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${embedding.model:text-embedding-3-small}")
+    private String embeddingModel;
+
+    @Value("${embedding.dimensions:1536}")
+    private int embeddingDimensions;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CrawlingProductResponseDto save(CrawlingProductRequestDto requestDto) {
@@ -67,67 +76,25 @@ public class CrawlingProductSaver {
 
         // 임베딩 정보 마킹
         Long pointId = savedProduct.getId();
-        String model = "text-embedding-3-small";
-        savedProduct.markEmbedding(pointId, model, false);
+        savedProduct.markEmbedding(pointId, embeddingVersion(), false);
 
-        syncProductVectorSafely(savedProduct, requestDto.keywords());
+        // 같은 트랜잭션에서 벡터 반영 작업 기록(임베딩/업서트는 커밋 후 outbox 배출기가 일괄 처리)
+        VectorOutboxWriter outboxWriter = outboxWriterProvider.getIfAvailable();
+        if (outboxWriter != null) outboxWriter.enqueueUpsert(pointId);
 
-        publisher.publishEvent(new ProductCreatedEvent(
-                savedProduct.getId(),
-                savedProduct.getDisplayName(),
-                savedProduct.getPrice(),
-                savedProduct.getCategory(),
-                savedProduct.getShortDescription()
-        ));
+        // 커밋 후 카탈로그 스냅샷에 반영
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(pointId)));
 
         return CrawlingProductMapper.toDto(savedProduct);
     }
 
     /**
-     * 저장 시점에서 바로 Qdrant 벡터 스토어에 업서트
-     * - ProductVectorService가 비활성(vector.enabled=false)이면 그냥 스킵
-     * - 예외가 터져도 상품 저장 자체는 실패하지 않도록 try-catch
+     * embedding_model 값: 검색 alias가 가리키는 버전(예: text-embedding-3-small#v3)
+     * - 벡터 비활성이면 모델명, 기본 차원(1536)이 아니면 차원을 함께 기록해 재색인 대상 구분
      */
-    private void syncProductVectorSafely(CrawlingProduct product, List<String> rawKeywords) {
-        try {
-            ProductVectorService vectorService = productVectorServiceProvider.getIfAvailable();
-            if (vectorService == null) {
-                log.info("[VECTOR] disabled (vector.enabled=false). skip sync. id={}", product.getId());
-                return;
-            }
-
-            if (product == null || product.getId() == null) return;
-
-            String title = product.getDisplayName();
-            if (title == null || title.isBlank()) {
-                title = product.getOriginalName();
-            }
-            if (title == null || title.isBlank()) {
-                log.warn("[VECTOR] skip sync - no title. id={}", product.getId());
-                return;
-            }
-
-            long price = product.getPrice() != null ? product.getPrice().longValue() : 0L;
-
-            String category = product.getCategory();
-            String shortDescription = product.getShortDescription();
-
-            List<String> keywords = (rawKeywords == null) ? List.of() : rawKeywords;
-
-            vectorService.upsertProduct(
-                    product.getId(),
-                    title,
-                    price,
-                    category,
-                    shortDescription,
-                    keywords
-            );
-
-            log.info("[VECTOR] direct sync ok. id={}, keywords.size={}", product.getId(), keywords.size());
-
-        } catch (Exception e) {
-            log.warn("[VECTOR] direct sync failed. id={}, cause={}", product.getId(), e.toString(), e);
-        }
+    private String embeddingVersion() {
+        VectorCollectionVersions versions = collectionVersionsProvider.getIfAvailable();
+        if (versions != null) return versions.activeVersionLabel();
+        return (embeddingDimensions == 1536) ? embeddingModel : embeddingModel + "@" + embeddingDimensions;
     }
-
 }
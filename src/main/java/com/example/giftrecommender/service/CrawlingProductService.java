@@ -1,11 +1,13 @@
 package com.example.giftrecommender.service;
 
+import com.example.giftrecommender.catalog.event.ProductChangedEvent;
 import com.example.giftrecommender.common.exception.ErrorException;
 import com.example.giftrecommender.common.exception.ExceptionEnum;
 import com.example.giftrecommender.domain.entity.CrawlingProduct;
 import com.example.giftrecommender.domain.enums.Age;
 import com.example.giftrecommender.domain.enums.BulkStatus;
 import com.example.giftrecommender.domain.enums.Gender;
+import com.example.giftrecommender.domain.enums.ProductSearchMode;
 import com.example.giftrecommender.domain.enums.ProductSort;
 import com.example.giftrecommender.domain.repository.CrawlingProductQueryRepository;
 import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
@@ -29,9 +31,10 @@ import com.example.giftrecommender.dto.response.gender.GenderBulkResponseDto;
 import com.example.giftrecommender.dto.response.gender.GenderResponseDto;
 import com.example.giftrecommender.dto.response.product.*;
 import com.example.giftrecommender.mapper.CrawlingProductMapper;
-import com.example.giftrecommender.vector.ProductVectorService;
+import com.example.giftrecommender.util.FulltextQuery;
+import com.example.giftrecommender.vector.VectorOutboxWriter;
 import com.example.giftrecommender.vector.VectorProductSearch;
-import com.example.giftrecommender.vector.event.ProductDeletedEvent;
+import com.example.giftrecommender.vector.event.ProductAttributesChangedEvent;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -61,12 +64,13 @@ public class CrawlingProductService {
     private final CrawlingProductRepository crawlingProductRepository;
     private final CrawlingProductQueryRepository crawlingProductQueryRepository;
     private final CrawlingProductSaver crawlingProductSaver;
-    private final ObjectProvider<ProductVectorService> productVectorServiceProvider;
+    private final ObjectProvider<VectorOutboxWriter> outboxWriterProvider;
     private final ObjectProvider<VectorProductSearch> vectorProductSearchProvider;
     private final ApplicationEventPublisher eventPublisher;
 
-    // 벡터 후보 풀 크기
+    // 벡터 후보 풀 크기(가격/성별/연령/컨펌은 Qdrant 필터로 적용, 카테고리/플랫폼/판매자는 DB 후처리라 여유 확보)
     private static final int SIMILARITY_CANDIDATE_LIMIT = 80;
+    private static final int SIMILARITY_CANDIDATE_LIMIT_PUSHED = 40;
 
     // 검색용 similarity threshold
     private static final double SIMILARITY_THRESHOLD = 0.7;
@@ -195,6 +199,8 @@ public class CrawlingProductService {
 
     /*
      * 페이징 조회 + 동적 검색 (기본)
+     * - FULLTEXT 모드 + 검색어가 있으면 ngram FULLTEXT 관련도순(요청 정렬 무시)
+     * - LIKE는 정규화 사본에 '%q%' 매칭, PREFIX는 'q%' 인덱스 범위 검색 UNION(판매자/플랫폼 제외)
      */
     @Transactional(readOnly = true)
     public Page<CrawlingProductResponseDto> getProducts(
@@ -207,14 +213,44 @@ public class CrawlingProductService {
             Gender gender,
             Age age,
             Boolean isConfirmed,
+            ProductSearchMode searchMode,
             Pageable pageable
     ) {
+        String fulltextQuery = (searchMode == ProductSearchMode.FULLTEXT) ? FulltextQuery.booleanMode(keyword) : null;
+        if (fulltextQuery != null) {
+            Page<CrawlingProduct> page = crawlingProductRepository.searchFulltext(
+                    fulltextQuery,
+                    minPrice, maxPrice, category, platform, sellerName,
+                    (gender != null) ? gender.name() : null,
+                    (age != null) ? age.name() : null,
+                    isConfirmed,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+            return page.map(CrawlingProductMapper::toDto);
+        }
+
         Pageable safePageable = normalizeSort(pageable);
 
         KeywordNormalized kn = normalizeKeyword(keyword);
+        if (searchMode == ProductSearchMode.PREFIX && kn.hasKeyword()) {
+            Page<CrawlingProduct> page = crawlingProductRepository.searchPrefix(
+                    escapeLike(kn.noSpaceLower()) + "%",
+                    minPrice, maxPrice, category, platform, sellerName,
+                    (gender != null) ? gender.name() : null,
+                    (age != null) ? age.name() : null,
+                    isConfirmed,
+                    PageRequest.of(safePageable.getPageNumber(), safePageable.getPageSize(),
+                            ProductSort.toColumnSort(safePageable.getSort()))
+            );
+            return page.map(CrawlingProductMapper::toDto);
+        }
+
+        String pattern = kn.hasKeyword() ? "%" + escapeLike(kn.noSpaceLower()) + "%" : null;
 
         Page<CrawlingProduct> page = crawlingProductRepository.search(
-                kn.rawLower(), kn.noSpaceLower(),
+                pattern,
+                kn.rawLower(),
+                kn.noSpaceLower(),
                 minPrice, maxPrice, category, platform, sellerName, gender, age, isConfirmed,
                 safePageable
         );
@@ -248,7 +284,7 @@ public class CrawlingProductService {
         // 검색어가 없다면 기존 검색만 사용
         if (!kn.hasKeyword()) {
             Page<CrawlingProduct> page = crawlingProductRepository.search(
-                    null, null,
+                    null, null, null,
                     minPrice, maxPrice, category, platform, sellerName, gender, age, isConfirmed,
                     safePageable
             );
@@ -291,15 +327,32 @@ public class CrawlingProductService {
 
         if (useVector) {
             try {
-                hits = vectorSearch.searchWithScores(
-                        query,
-                        effectiveMinPrice,
-                        effectiveMaxPrice,
-                        (age != null) ? age.name() : null,
-                        (gender != null) ? gender.name() : null,
-                        SIMILARITY_CANDIDATE_LIMIT,
-                        SIMILARITY_THRESHOLD
-                );
+                // 공백 제거형이 다르면(예: "전기 포트" / "전기포트") 두 쿼리를 한 번의 일괄 검색으로 수행
+                List<String> texts = query.equals(queryNoSpace) || queryNoSpace.isBlank()
+                        ? List.of(query)
+                        : List.of(query, queryNoSpace);
+
+                boolean dbOnlyFilters = (category != null && !category.isBlank())
+                        || (platform != null && !platform.isBlank())
+                        || (sellerName != null && !sellerName.isBlank());
+                int candidateLimit = dbOnlyFilters ? SIMILARITY_CANDIDATE_LIMIT : SIMILARITY_CANDIDATE_LIMIT_PUSHED;
+
+                List<VectorProductSearch.Query> queries = texts.stream()
+                        .map(t -> new VectorProductSearch.Query(
+                                t,
+                                effectiveMinPrice,
+                                effectiveMaxPrice,
+                                (age != null) ? age.name() : null,
+                                (gender != null) ? gender.name() : null,
+                                candidateLimit,
+                                SIMILARITY_THRESHOLD,
+                                isConfirmed
+                        ))
+                        .toList();
+
+                hits = vectorSearch.searchBatch(queries).stream()
+                        .flatMap(List::stream)
+                        .toList();
             } catch (Exception e) {
                 log.warn("[VECTOR][SEARCH][ERROR] q='{}', cause={}", query, e.toString());
                 hits = List.of();
@@ -313,6 +366,7 @@ public class CrawlingProductService {
             List<Long> hitIds = hits.stream()
                     .map(VectorProductSearch.ScoredId::productId)
                     .filter(id -> !usedIds.contains(id))
+                    .distinct()
                     .toList();
 
             if (!hitIds.isEmpty()) {
@@ -447,6 +501,7 @@ public class CrawlingProductService {
 
         boolean keywordsChanged = false;
         boolean textChanged = false;
+        boolean priceChanged = false;
 
         if (requestDto.displayName() != null) {
             String displayName = requestDto.displayName().trim();
@@ -458,6 +513,7 @@ public class CrawlingProductService {
         if (requestDto.price() != null) {
             if (requestDto.price() < 0) throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
             product.changePrice(requestDto.price());
+            priceChanged = true;
         }
 
         if (requestDto.imageUrl() != null) product.changeImageUrl(requestDto.imageUrl().trim());
@@ -491,8 +547,13 @@ public class CrawlingProductService {
 
         validatePrice(product.getPrice());
 
-        if (keywordsChanged || textChanged) {
-            syncProductVectorSafely(product);
+        if (keywordsChanged || textChanged || priceChanged) {
+            // 입력 텍스트가 그대로면 배출기가 해시 비교로 임베딩 없이 payload만 교체
+            recordProductChanges(List.of(product.getId()));
+        } else if (requestDto.gender() != null || requestDto.age() != null || requestDto.isConfirmed() != null) {
+            // 재임베딩이 필요 없는 필터 속성 변경은 payload만 갱신
+            recordAttributeChanges(List.of(product.getId()),
+                    product.getGender(), product.getAge(), product.getIsConfirmed());
         }
 
         return CrawlingProductMapper.toDto(product);
@@ -509,6 +570,8 @@ public class CrawlingProductService {
         product.addScore(requestDto.score());
         product.changeAdminCheck(true);
 
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
+
         return new ScoreResponseDto(
                 product.getId(),
                 product.getScore(),
@@ -527,6 +590,7 @@ public class CrawlingProductService {
                 .orElseThrow(() -> new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND));
 
         product.changeConfirmed(requestDto.isConfirmed());
+        recordAttributeChanges(List.of(product.getId()), null, null, product.getIsConfirmed());
 
         return new ConfirmResponseDto(
                 product.getId(),
@@ -549,6 +613,9 @@ public class CrawlingProductService {
             throw new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND);
         }
 
+        // 커밋 후 Qdrant payload 일괄 반영(청크 단위 set_payload) + outbox로 배출기 업서트와의 순서 보정
+        recordAttributeChanges(List.copyOf(ids), null, null, toConfirm);
+
         return new ConfirmBulkResponseDto(affected, ids);
     }
 
@@ -561,6 +628,7 @@ public class CrawlingProductService {
                 .orElseThrow(() -> new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND));
 
         product.changeAge(request.age());
+        recordAttributeChanges(List.of(product.getId()), null, product.getAge(), null);
 
         return new AgeResponseDto(product.getId(), product.getAge());
     }
@@ -576,6 +644,8 @@ public class CrawlingProductService {
             throw new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND);
         }
 
+        recordAttributeChanges(List.copyOf(request.ids()), null, request.age(), null);
+
         return new AgeBulkResponseDto(affected, request.ids(), request.age());
     }
 
@@ -588,6 +658,7 @@ public class CrawlingProductService {
                 .orElseThrow(() -> new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND));
 
         product.changeGender(request.gender());
+        recordAttributeChanges(List.of(product.getId()), product.getGender(), null, null);
         return new GenderResponseDto(product.getId(), product.getGender());
     }
 
@@ -602,6 +673,8 @@ public class CrawlingProductService {
             throw new ErrorException(ExceptionEnum.PRODUCT_NOT_FOUND);
         }
 
+        recordAttributeChanges(List.copyOf(request.ids()), request.gender(), null, null);
+
         return new GenderBulkResponseDto(affected, request.ids(), request.gender());
     }
 
@@ -641,12 +714,12 @@ public class CrawlingProductService {
             product.changeKeywords(new ArrayList<>(merged));
         }
 
-        syncProductVectorSafely(products);
-
         List<Long> ids = products.stream()
                 .map(CrawlingProduct::getId)
                 .toList();
 
+        recordProductChanges(ids);
+
         log.info("CrawlingProduct 키워드 일괄 추가 완료. affected={}", ids.size());
 
         return new ProductKeywordBulkSaveResponse(ids.size(), ids, normalizedNewKeywords);
@@ -682,12 +755,12 @@ public class CrawlingProductService {
             product.changeKeywords(new ArrayList<>(normalized));
         }
 
-        syncProductVectorSafely(products);
-
         List<Long> ids = products.stream()
                 .map(CrawlingProduct::getId)
                 .toList();
 
+        recordProductChanges(ids);
+
         log.info("CrawlingProduct 키워드 일괄 수정 완료. affected={}", ids.size());
 
         return new ProductKeywordBulkSaveResponse(ids.size(), ids, normalized);
@@ -739,8 +812,10 @@ public class CrawlingProductService {
                 ));
 
         crawlingProductRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
 
-        eventPublisher.publishEvent(new ProductDeletedEvent(product.getId()));
+        VectorOutboxWriter outboxWriter = outboxWriterProvider.getIfAvailable();
+        if (outboxWriter != null) outboxWriter.enqueueDelete(product.getId());
     }
 
     // =========================
@@ -760,8 +835,14 @@ public class CrawlingProductService {
         if (trimmed.isBlank()) return KeywordNormalized.empty();
 
         String lower = trimmed.toLowerCase();
-        String noSpace = lower.replaceAll("\\s+", "");
-        return new KeywordNormalized(lower, noSpace);
+        return new KeywordNormalized(lower, CrawlingProduct.normalize(trimmed));
+    }
+
+    /** LIKE 특수문자(%, _) 이스케이프(MySQL 기본 이스케이프 문자 \) */
+    private String escapeLike(String s) {
+        return s.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     /**
@@ -780,13 +861,19 @@ public class CrawlingProductService {
             }
         }
 
-        if (containsNormalized(p.getDisplayName(), q, qNoSpace)) return true;
-        if (containsNormalized(p.getCategory(), q, qNoSpace)) return true;
-        if (containsNormalized(p.getOriginalName(), q, qNoSpace)) return true;
+        if (containsNormalized(p.getDisplayNameNorm(), p.getDisplayName(), q, qNoSpace)) return true;
+        if (containsNormalized(p.getCategoryNorm(), p.getCategory(), q, qNoSpace)) return true;
+        if (containsNormalized(p.getOriginalNameNorm(), p.getOriginalName(), q, qNoSpace)) return true;
 
         return false;
     }
 
+    /** 저장된 정규화 사본이 있으면 그대로 비교, 백필 전이면 원문을 정규화 */
+    private boolean containsNormalized(String norm, String target, String q, String qNoSpace) {
+        if (norm != null) return norm.contains(qNoSpace);
+        return containsNormalized(target, q, qNoSpace);
+    }
+
     private boolean containsNormalized(String target, String q, String qNoSpace) {
         if (target == null) return false;
         String t = target.toLowerCase();
@@ -910,44 +997,31 @@ public class CrawlingProductService {
                 .collect(Collectors.joining("; "));
     }
 
-    private void syncProductVectorSafely(CrawlingProduct product) {
-        try {
-            ProductVectorService vectorService = productVectorServiceProvider.getIfAvailable();
-            if (vectorService == null) {
-                log.info("[INFO] Vector feature disabled (vector.enabled=false), Qdrant sync will be skipped.");
-                return;
-            }
-
-            if (product == null || product.getId() == null) return;
-
-            String title = product.getDisplayName();
-            if (title == null || title.isBlank()) title = product.getOriginalName();
-            if (title == null || title.isBlank()) {
-                log.warn("Qdrant 동기화 스킵 - title 없음. productId={}", product.getId());
-                return;
-            }
-
-            long price = (product.getPrice() != null) ? product.getPrice().longValue() : 0L;
+    /**
+     * 제목/가격/카테고리/키워드 변경 기록
+     * - 카탈로그 스냅샷: 커밋 후 이벤트로 변경분만 갱신
+     * - 벡터: 같은 트랜잭션에서 outbox에 기록(벡터 비활성이면 스킵), 임베딩/업서트는 커밋 후 VectorOutboxDrainer가 상품별로 합쳐 일괄 처리
+     */
+    private void recordProductChanges(List<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
 
-            vectorService.upsertProduct(
-                    product.getId(),
-                    title,
-                    price,
-                    product.getCategory(),
-                    product.getShortDescription(),
-                    product.getKeywords()
-            );
-        } catch (Exception e) {
-            Long productId = (product == null) ? null : product.getId();
-            log.warn("Qdrant 벡터 동기화 실패. productId={}, cause={}", productId, e.getMessage(), e);
-        }
+        VectorOutboxWriter outboxWriter = outboxWriterProvider.getIfAvailable();
+        if (outboxWriter != null) outboxWriter.enqueueUpserts(productIds);
     }
 
-    private void syncProductVectorSafely(List<CrawlingProduct> products) {
-        if (products == null || products.isEmpty()) return;
-        for (CrawlingProduct product : products) {
-            syncProductVectorSafely(product);
-        }
+    /**
+     * 성별/연령/컨펌 변경 기록
+     * - 커밋 후 이벤트로 lane set_payload(빠른 경로)
+     * - 같은 트랜잭션에서 outbox에도 기록: 이전 상태를 읽은 배출기 업서트가 set_payload 뒤에 덮어써도
+     *   다음 배출에서 payload 해시 비교로 임베딩 없이 payload만 다시 맞춤(벡터 비활성이면 스킵)
+     */
+    private void recordAttributeChanges(List<Long> productIds, Gender gender, Age age, Boolean isConfirmed) {
+        if (productIds.isEmpty()) return;
+        eventPublisher.publishEvent(new ProductAttributesChangedEvent(productIds, gender, age, isConfirmed));
+
+        VectorOutboxWriter outboxWriter = outboxWriterProvider.getIfAvailable();
+        if (outboxWriter != null) outboxWriter.enqueueUpserts(productIds);
     }
 
     private List<String> normalizeKeywords(List<String> kws) {
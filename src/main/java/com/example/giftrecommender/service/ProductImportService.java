@@ -8,6 +8,8 @@ import com.example.giftrecommender.domain.repository.keyword.KeywordGroupReposit
 import com.example.giftrecommender.dto.response.ProductResponseDto;
 import com.example.giftrecommender.infra.naver.NaverApiClient;
 import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleDedup;
+import com.example.giftrecommender.util.TitleFingerprint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -43,6 +45,7 @@ public class ProductImportService {
         Set<String> seenTitles = new HashSet<>();
         Set<String> seenKeys = new HashSet<>();
         Set<String> seenBrands = new HashSet<>();
+        TitleDedup similarTitles = new TitleDedup(0.9);
         List<Product> toSave = new ArrayList<>();
 
         for (int page = 1; page <= 10; page++) {
@@ -82,15 +85,12 @@ public class ProductImportService {
                 String baseTitle = RecommendationUtil.extractBaseTitle(p.getTitle());
                 String key = baseTitle + "::" + p.getImageUrl();
                 String brand = RecommendationUtil.extractBrand(p.getBrand());
-
-                boolean isSimilar = seenKeys.stream().anyMatch(existingKey -> {
-                    String existingTitle = existingKey.split("::")[0];
-                    return RecommendationUtil.jaccardSimilarityByWords(existingTitle, baseTitle) >= 0.9;
-                });
-                if (seenKeys.contains(key) || seenBrands.contains(brand) || isSimilar) continue;
+                long fingerprint = TitleFingerprint.of(baseTitle);
+                if (seenKeys.contains(key) || seenBrands.contains(brand) || similarTitles.isDuplicate(fingerprint, baseTitle)) continue;
 
                 seenKeys.add(key);
                 seenBrands.add(brand);
+                similarTitles.add(fingerprint, baseTitle);
                 toSave.add(p);
 
                 if (toSave.size() >= neededCount) break;
@@ -8,6 +8,8 @@ import com.example.giftrecommender.dto.request.RecommendationRequestDto;
 import com.example.giftrecommender.dto.response.RecommendationResponseDto;
 import com.example.giftrecommender.dto.response.RecommendedProductResponseDto;
 import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleDedup;
+import com.example.giftrecommender.util.TitleFingerprint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -126,6 +128,7 @@ public class RecommendationService {
         List<Product> result = new ArrayList<>();
         Set<String> seenKeys = new HashSet<>();
         Set<String> seenBrands = new HashSet<>();
+        TitleDedup seenTitles = new TitleDedup(0.9);
 
         for (String keyword : keywords) {
             List<Product> candidates = productRepository.findTopByKeywordAndPriceRange(keyword, minPrice, maxPrice);
@@ -135,11 +138,10 @@ public class RecommendationService {
                         String baseTitle = RecommendationUtil.extractBaseTitle(p.getTitle());
                         String key = baseTitle + "::" + p.getImageUrl();
                         String brand = RecommendationUtil.extractBrand(p.getBrand());
-                        boolean isSimilar = seenKeys.stream().anyMatch(existingKey -> {
-                            String existingTitle = existingKey.split("::")[0];
-                            return RecommendationUtil.jaccardSimilarityByWords(existingTitle, baseTitle) >= 0.9;
-                        });
-                        if (seenKeys.contains(key) || seenBrands.contains(brand) || isSimilar) return false;
+                        long fingerprint = TitleFingerprint.of(baseTitle);
+                        if (seenKeys.contains(key) || seenBrands.contains(brand) || seenTitles.isDuplicate(fingerprint, baseTitle)) {
+                            return false;
+                        }
 
                         if (!RecommendationUtil.allowBabyProduct(p.getTitle(), age, reason, preference)) {
                             return false;
@@ -147,6 +149,7 @@ public class RecommendationService {
 
                         seenKeys.add(key);
                         seenBrands.add(brand);
+                        seenTitles.add(fingerprint, baseTitle);
                         return true;
                     })
                     .limit(2)
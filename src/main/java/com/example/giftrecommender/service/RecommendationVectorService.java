@@ -1,5 +1,7 @@
 package com.example.giftrecommender.service;
 
+import com.example.giftrecommender.catalog.CatalogSnapshot;
+import com.example.giftrecommender.catalog.CatalogSnapshotService;
 import com.example.giftrecommender.common.exception.ErrorException;
 import com.example.giftrecommender.common.exception.ExceptionEnum;
 import com.example.giftrecommender.domain.entity.CrawlingProduct;
@@ -10,21 +12,44 @@ import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
 import com.example.giftrecommender.domain.repository.GuestRepository;
 import com.example.giftrecommender.domain.repository.RecommendationSessionRepository;
 import com.example.giftrecommender.dto.request.RecommendationRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorCollectBenchmarkRequestDto;
 import com.example.giftrecommender.dto.response.CrawlingProductRecommendationResponseDto;
 import com.example.giftrecommender.dto.response.product.CrawlingProductResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorCollectBenchmarkResponseDto;
+import com.example.giftrecommender.util.LongHashSet;
 import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleDedup;
 import com.example.giftrecommender.vector.VectorProductSearch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import static com.example.giftrecommender.util.LatencyStats.percentile;
+import static com.example.giftrecommender.util.LatencyStats.round;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -39,8 +64,8 @@ public class RecommendationVectorService {
     /** 키워드 버퍼(여분까지 쌓아뒀다가 부족 버킷에 양도) */
     private static final int PER_KEYWORD_BUFFER = 4;
 
-    /** 후보 풀 상한(과도한 메모리/정렬 방지) */
-    private static final int CANDIDATE_POOL_LIMIT = 1200;
+    /** 전역 보충 풀 크기(가격 범위 내 최근 상품 수) */
+    private static final int CATALOG_POOL_SIZE = 500;
 
     /** 벡터 유사도 임계값(Qdrant 등 검색 필터) */
     private static final double VECTOR_THRESHOLD_DEFAULT = 0.78;
@@ -54,6 +79,12 @@ public class RecommendationVectorService {
     /** 사용자 입력 키워드 수 제한(안전장치) */
     private static final int MAX_KEYWORDS = 10;
 
+    /** 키워드 확인용 벡터 검색 topK */
+    private static final int CONFIRM_TOPK = 30;
+
+    /** 키워드별 유사 검색 일괄 조회 topK(키워드당 필요 수 × 배수보다 크게) */
+    private static final int SIMILAR_TOPK = 20;
+
     /** 토큰 단위 코사인 근사 매칭 임계값(라이트한 보조 판정) */
     private static final double COSINE_SIM_THRESHOLD = 0.35;
 
@@ -62,10 +93,37 @@ public class RecommendationVectorService {
     private final VectorProductSearch vectorProductSearch;
     private final CrawlingProductRepository crawlingProductRepository;
     private final CrawlingProductImportService crawlingProductImportService;
+    private final ObjectProvider<CatalogSnapshotService> catalogSnapshotProvider;
+
+    /** 키워드별 후보 수집 방식(sequential | concurrent) */
+    @Value("${recommendation.vector.collect-mode:sequential}")
+    private String collectMode;
+
+    /** concurrent 모드에서 동시에 선조회할 키워드 수 상한 */
+    @Value("${recommendation.vector.collect-parallelism:4}")
+    private int collectParallelism;
+
+    /** concurrent 모드 선조회 대기 상한(초과 키워드는 순차 조회로 대체) */
+    @Value("${recommendation.vector.collect-timeout-ms:8000}")
+    private long collectTimeoutMs;
+
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 키워드별 선조회 작업용(가상 스레드, I/O 대기 위주) */
+    private final ExecutorService collectExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     /** 후보 + 내부 점수 전달용 경량 DTO */
     private record Scored(CrawlingProduct p, double s) {}
 
+    /**
+     * 키워드 단위 선조회 결과(concurrent 모드, DB/벡터만)
+     * - vector가 null이면 선조회하지 않았다는 뜻(병합 시 필요하면 즉시 조회)
+     * - vectorNeed: 벡터 선조회 시 요청한 개수(병합 시 필요 수가 더 크면 다시 조회)
+     * - 외부(네이버)는 유료 호출이라 선조회하지 않고 병합 단계에서 실제로 필요한 키워드만 조회
+     */
+    private record KeywordHarvest(List<Scored> db, List<Scored> vector, int vectorNeed) {}
+
     /**
      * 벡터+DB+외부를 결합한 추천 진입점
      * - 키워드별 2개 우선 확보 → 재분배 → 부족 시 전역 보충 → DTO 변환
@@ -98,16 +156,20 @@ public class RecommendationVectorService {
                 Math.max(PER_KEYWORD_PRIMARY, keywords.size() * PER_KEYWORD_PRIMARY)
         );
 
+        // 요청 범위 벡터 조회 묶음(키워드 확인/유사 검색을 각각 1회 일괄 검색)
+        VectorLookups vectorLookups = new VectorLookups(keywords, request, minPrice, maxPrice);
+
         // 1. 키워드별 후보 수집(DB → 벡터(DB존재만) → 외부)
         List<CrawlingProduct> candidates = collectCandidates(
-                keywords, minPrice, maxPrice, expectedCount, request, babyContext
+                keywords, minPrice, maxPrice, expectedCount, request, babyContext, vectorLookups
         );
 
         // 2. 재분배(키워드별 2개 보장) + 성별/가격/도메인 가드 반영
         List<CrawlingProduct> balanced = applyFinalFiltersWithRebalance(
                 candidates, minPrice, maxPrice, keywords, reqGender,
-                expectedCount, PER_KEYWORD_PRIMARY, PER_KEYWORD_BUFFER, babyContext
+                expectedCount, PER_KEYWORD_PRIMARY, PER_KEYWORD_BUFFER, babyContext, vectorLookups
         );
+        vectorLookups.record();
 
         // 3. 8개 미만이면 전역 보충(DB 근사→외부)
         if (balanced.size() < TARGET_RESULT_SIZE) {
@@ -123,76 +185,179 @@ public class RecommendationVectorService {
         return new CrawlingProductRecommendationResponseDto(items);
     }
 
+    /**
+     * 후보 수집 방식 비교(sequential vs concurrent)
+     * - 같은 요청을 두 방식으로 반복 실행, 매 반복마다 실행 순서를 바꿔 캐시 편향을 줄임
+     * - 반복마다 새 VectorLookups를 써서 요청 범위 캐시를 공유하지 않음
+     * - includeNaver=false(기본)면 외부 단계를 빼고 DB/벡터 단계만 비교
+     */
+    @Transactional(readOnly = true)
+    public VectorCollectBenchmarkResponseDto compareCollectModes(VectorCollectBenchmarkRequestDto benchmark) {
+        RecommendationRequestDto request = benchmark.request();
+        List<String> keywords = normalizeKeywords(request.keywords());
+        if (keywords.isEmpty()) throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+
+        int repeats = Math.max(1, Math.min(100, Optional.ofNullable(benchmark.repeats()).orElse(10)));
+        boolean includeNaver = Boolean.TRUE.equals(benchmark.includeNaver());
+        boolean babyContext = isBabyContext(request);
+        int expectedCount = Math.min(
+                TARGET_RESULT_SIZE,
+                Math.max(PER_KEYWORD_PRIMARY, keywords.size() * PER_KEYWORD_PRIMARY)
+        );
+
+        long[][] nanos = new long[2][repeats];
+        long[] candidates = new long[2];
+        boolean same = true;
+
+        for (int i = 0; i < repeats; i++) {
+            List<List<Long>> ids = new ArrayList<>(List.of(List.of(), List.of()));
+            for (int k = 0; k < 2; k++) {
+                int mode = (i % 2 == 0) ? k : 1 - k; // 0 = sequential, 1 = concurrent
+                VectorLookups lookups = new VectorLookups(keywords, request, request.minPrice(), request.maxPrice());
+                long t0 = System.nanoTime();
+                List<CrawlingProduct> collected = collectCandidates(
+                        keywords, request.minPrice(), request.maxPrice(), expectedCount, request, babyContext,
+                        lookups, mode == 1, includeNaver);
+                nanos[mode][i] = System.nanoTime() - t0;
+                candidates[mode] += collected.size();
+                ids.set(mode, collected.stream().map(CrawlingProduct::getId).toList());
+            }
+            same &= ids.get(0).equals(ids.get(1));
+        }
+
+        List<VectorCollectBenchmarkResponseDto.Result> results = new ArrayList<>(2);
+        String[] modes = {"sequential", "concurrent"};
+        for (int mode = 0; mode < 2; mode++) {
+            long[] sorted = nanos[mode].clone();
+            Arrays.sort(sorted);
+            results.add(new VectorCollectBenchmarkResponseDto.Result(
+                    modes[mode],
+                    round(Arrays.stream(sorted).average().orElse(0) / 1_000_000.0),
+                    round(percentile(sorted, 0.50) / 1_000_000.0),
+                    round(percentile(sorted, 0.95) / 1_000_000.0),
+                    round(percentile(sorted, 0.99) / 1_000_000.0),
+                    round((double) candidates[mode] / repeats)));
+        }
+        log.info("[VECTOR][COLLECT] benchmark. keywords={}, repeats={}, includeNaver={}, same={}, results={}",
+                keywords.size(), repeats, includeNaver, same, results);
+
+        return new VectorCollectBenchmarkResponseDto(keywords.size(), repeats, includeNaver, same, results);
+    }
+
     /**
      * 후보 수집
      * - 각 키워드별로 우선 2개 확보: DB → 벡터(DB 존재만) → 외부(네이버)
      * - 그래도 부족하면 전역 풀에서 보충(후단 재분배에서 키워드 균형)
+     * - concurrent 모드면 키워드별 DB/벡터 조회를 병렬로 미리 수행하고, 적재는 키워드 순서대로 동일 규칙으로 병합
      */
     @Transactional(readOnly = true)
     protected List<CrawlingProduct> collectCandidates(
             List<String> keywords, int minPrice, int maxPrice,
-            int targetSize, RecommendationRequestDto request, boolean babyContext) {
+            int targetSize, RecommendationRequestDto request, boolean babyContext,
+            VectorLookups vectorLookups) {
+
+        boolean concurrent = "concurrent".equalsIgnoreCase(collectMode);
+        return collectCandidates(keywords, minPrice, maxPrice, targetSize, request, babyContext,
+                vectorLookups, concurrent, true);
+    }
+
+    private List<CrawlingProduct> collectCandidates(
+            List<String> keywords, int minPrice, int maxPrice,
+            int targetSize, RecommendationRequestDto request, boolean babyContext,
+            VectorLookups vectorLookups, boolean concurrentMode, boolean allowNaver) {
+
+        boolean concurrent = concurrentMode && keywords.size() > 1;
+        long t0 = System.nanoTime();
+
+        try {
+            Map<String, KeywordHarvest> harvests = concurrent
+                    ? harvestConcurrently(keywords, minPrice, maxPrice, babyContext, vectorLookups)
+                    : Map.of();
+
+            return mergeCandidates(keywords, minPrice, maxPrice, targetSize, request, babyContext,
+                    harvests, vectorLookups, allowNaver);
+        } finally {
+            long tookNanos = System.nanoTime() - t0;
+            Timer.builder("recommendation.vector.collect")
+                    .description("키워드별 후보 수집 소요 시간")
+                    .tag("mode", concurrent ? "concurrent" : "sequential")
+                    .register(meterRegistry)
+                    .record(tookNanos, TimeUnit.NANOSECONDS);
+            log.debug("[VECTOR][COLLECT] mode={}, keywords={}, took={}ms",
+                    concurrent ? "concurrent" : "sequential", keywords.size(), tookNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * 키워드 순서대로 후보 적재
+     * - harvests에 미리 수집된 단계 결과가 있으면 사용하고, 없거나 부족하면 그 자리에서 조회
+     * - 중복 억제(seen/pickedIds)와 키워드별 할당량은 항상 이 단일 스레드 루프에서만 적용
+     * - allowNaver=false면 외부 단계를 건너뜀(수집 방식 비교용)
+     */
+    private List<CrawlingProduct> mergeCandidates(
+            List<String> keywords, int minPrice, int maxPrice,
+            int targetSize, RecommendationRequestDto request, boolean babyContext,
+            Map<String, KeywordHarvest> harvests, VectorLookups vectorLookups, boolean allowNaver) {
 
         int cap = Math.max(1, targetSize);
         List<CrawlingProduct> acc = new ArrayList<>(cap * 3);
-        Set<String> seenKeys = new HashSet<>(); // 제목+이미지 키로 중복 억제
+        TitleDedup seen = new TitleDedup(TITLE_SIMILARITY_CUTOFF); // 제목 SimHash로 유사 중복 억제
         Set<Long> pickedIds = new HashSet<>();  // DB PK 중복 억제
 
-        Pageable top20 = PageRequest.of(0, 20);
-
         for (String kw : keywords) {
             if (kw == null || kw.isBlank()) continue;
             if (acc.size() >= cap * 3) break;
 
             int needForKw = PER_KEYWORD_PRIMARY;
+            KeywordHarvest harvest = harvests.get(kw);
 
             // 1. DB: 이름/카테고리 LIKE + 가격 범위
-            List<CrawlingProduct> dbStrict = loadFromDbByNameOrCategory(kw, minPrice, maxPrice, top20);
-
-            dbStrict.removeIf(p -> isBabyDomain(p) && !babyContext);
-
-            List<CrawlingProduct> dbStrictMutable = new ArrayList<>(dbStrict);
-            dbStrictMutable.sort(Comparator
-                    .comparing((CrawlingProduct p) -> Optional.ofNullable(p.getScore()).orElse(0))
-                    .reversed()
-            );
+            List<Scored> dbStrict = (harvest != null)
+                    ? harvest.db()
+                    : loadDbStage(kw, minPrice, maxPrice, babyContext);
 
             int addedStrict = fillWithRulesLimitedForKeyword(
-                    acc, cap * 3, needForKw,
-                    dbStrictMutable.stream()
-                            .map(p -> new Scored(p, Optional.ofNullable(p.getScore()).orElse(0)))
-                            .toList(),
+                    acc, cap * 3, needForKw, dbStrict,
                     kw,
-                    TITLE_SIMILARITY_CUTOFF, seenKeys, pickedIds
+                    seen, pickedIds, vectorLookups
             );
             needForKw -= addedStrict;
 
             // 2. 벡터: DB에 존재하는 상품만 후보화(리콜 확대)
             if (needForKw > 0) {
-                List<Scored> scoredSim = vectorSimilarFromDB(
-                        kw, minPrice, maxPrice, needForKw, pickedIds, request, keywords
-                ).stream()
-                        .filter(sc -> !(isBabyDomain(sc.p()) && !babyContext))
-                        .toList();
+                // 선조회는 다른 키워드의 선택을 모른 채 로컬 필요 수만큼만 가져왔으므로 필요 수가 더 크면 다시 조회
+                boolean prefetched = harvest != null && harvest.vector() != null && harvest.vectorNeed() >= needForKw;
+                List<Scored> scoredSim = prefetched
+                        ? harvest.vector()
+                        : loadVectorStage(kw, needForKw, pickedIds, babyContext, vectorLookups);
 
                 int addedSim = fillWithRulesLimitedForKeyword(
                         acc, cap * 3, needForKw, scoredSim,
                         kw,
-                        TITLE_SIMILARITY_CUTOFF, seenKeys, pickedIds
+                        seen, pickedIds, vectorLookups
                 );
                 needForKw -= addedSim;
+
+                // 선조회분이 전역 중복 억제로 모자라면 현재 pickedIds를 제외하고 한 번 더 조회(순차 모드와 같은 결과)
+                if (prefetched && needForKw > 0) {
+                    needForKw -= fillWithRulesLimitedForKeyword(
+                            acc, cap * 3, needForKw,
+                            loadVectorStage(kw, needForKw, pickedIds, babyContext, vectorLookups),
+                            kw,
+                            seen, pickedIds, vectorLookups
+                    );
+                }
             }
 
             // 3. 외부(네이버) 페치
-            if (needForKw > 0) {
-                List<CrawlingProduct> fetched = loadFromNaverByKeyword(kw, needForKw, minPrice, maxPrice, request);
-                if (!fetched.isEmpty()) {
-                    fetched.removeIf(p -> isBabyDomain(p) && !babyContext);
-                    List<Scored> scoredFetched = fetched.stream().map(p -> new Scored(p, 1.0)).toList();
+            if (needForKw > 0 && allowNaver) {
+                List<Scored> scoredFetched = loadNaverStage(kw, needForKw, minPrice, maxPrice, request, babyContext);
+
+                if (!scoredFetched.isEmpty()) {
                     fillWithRulesLimitedForKeyword(
                             acc, cap * 3, needForKw, scoredFetched,
                             kw,
-                            TITLE_SIMILARITY_CUTOFF, seenKeys, pickedIds
+                            seen, pickedIds, vectorLookups
                     );
                 }
             }
@@ -200,26 +365,138 @@ public class RecommendationVectorService {
 
         // 4. 전역 풀 보충(후단 재분배에서 키워드 균형 처리)
         if (acc.size() < cap) {
-            List<CrawlingProduct> pool;
+            List<Scored> scoredAll = globalPool(minPrice, maxPrice, babyContext, keywords, pickedIds, vectorLookups);
+
+            fillWithRulesAnyKeyword(acc, cap * 3, scoredAll, seen, pickedIds, keywords, vectorLookups);
+        }
+
+        return acc;
+    }
+
+    /**
+     * 키워드별 DB/벡터 단계를 가상 스레드로 병렬 선조회
+     * - 각 키워드는 자기 몫만 보고 다음 단계 필요 여부를 판단(키워드 간 중복은 병합 단계에서 처리)
+     * - 동시 실행 수는 collectParallelism으로 제한(DB 커넥션 풀 보호)
+     * - 실패/타임아웃 키워드는 결과에서 빠지고 병합 단계에서 순차 조회로 대체
+     */
+    private Map<String, KeywordHarvest> harvestConcurrently(
+            List<String> keywords, int minPrice, int maxPrice, boolean babyContext,
+            VectorLookups vectorLookups) {
+
+        Semaphore permits = new Semaphore(Math.max(1, collectParallelism));
+        Map<String, Future<KeywordHarvest>> futures = new LinkedHashMap<>();
+
+        for (String kw : keywords) {
+            if (kw == null || kw.isBlank()) continue;
+            futures.put(kw, collectExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return readOnlyTx().execute(status ->
+                            harvestKeyword(kw, minPrice, maxPrice, babyContext, vectorLookups));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(collectTimeoutMs);
+        Map<String, KeywordHarvest> harvests = new HashMap<>();
+
+        for (Map.Entry<String, Future<KeywordHarvest>> e : futures.entrySet()) {
             try {
-                pool = crawlingProductRepository.findTop500ByPriceBetweenOrderByIdDesc(
-                        Math.max(minPrice, 0), maxOrMaxInt(maxPrice)
-                );
-            } catch (Exception e) {
-                pool = crawlingProductRepository.findAll();
+                long remain = Math.max(0L, deadline - System.nanoTime());
+                KeywordHarvest h = e.getValue().get(remain, TimeUnit.NANOSECONDS);
+                if (h != null) harvests.put(e.getKey(), h);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                e.getValue().cancel(true);
+            } catch (Exception ex) {
+                e.getValue().cancel(true);
+                log.warn("[VECTOR][COLLECT] concurrent harvest failed, fallback to sequential. kw={}, err={}",
+                        e.getKey(), ex.toString());
             }
-            if (pool.size() > CANDIDATE_POOL_LIMIT) pool = pool.subList(0, CANDIDATE_POOL_LIMIT);
-            pool.removeIf(p -> isBabyDomain(p) && !babyContext);
+        }
+        return harvests;
+    }
 
-            List<Scored> scoredAll = pool.stream()
-                    .filter(p -> withinPrice(p, minPrice, maxPrice))
-                    .map(p -> new Scored(p, 0.0))
-                    .toList();
+    /**
+     * 단일 키워드 선조회(워커 스레드, 읽기 전용 트랜잭션 안에서 실행)
+     * - 순차 모드와 같은 조건으로 다음 단계 필요 여부를 판단하되, 로컬 중복 세트만 사용
+     * - 반환 엔티티는 트랜잭션 종료 후에도 읽을 수 있도록 keywords 컬렉션을 미리 초기화
+     */
+    private KeywordHarvest harvestKeyword(String kw, int minPrice, int maxPrice,
+                                          boolean babyContext, VectorLookups vectorLookups) {
+        List<CrawlingProduct> localAcc = new ArrayList<>();
+        TitleDedup localSeen = new TitleDedup(TITLE_SIMILARITY_CUTOFF);
+        Set<Long> localPicked = new HashSet<>();
+        int needForKw = PER_KEYWORD_PRIMARY;
+
+        List<Scored> db = loadDbStage(kw, minPrice, maxPrice, babyContext);
+        initializeKeywords(db);
+        needForKw -= fillWithRulesLimitedForKeyword(
+                localAcc, Integer.MAX_VALUE, needForKw, db, kw,
+                localSeen, localPicked, vectorLookups
+        );
 
-            fillWithRulesAnyKeyword(acc, cap * 3, scoredAll, TITLE_SIMILARITY_CUTOFF, seenKeys, pickedIds, keywords);
+        List<Scored> vector = null;
+        int vectorNeed = 0;
+        if (needForKw > 0) {
+            vector = loadVectorStage(kw, needForKw, localPicked, babyContext, vectorLookups);
+            initializeKeywords(vector);
+            vectorNeed = needForKw;
         }
 
-        return acc;
+        return new KeywordHarvest(db, vector, vectorNeed);
+    }
+
+    /** DB 단계 후보(아기 도메인 가드 + 점수 내림차순) */
+    private List<Scored> loadDbStage(String kw, int minPrice, int maxPrice, boolean babyContext) {
+        List<CrawlingProduct> dbStrict = loadFromDbByNameOrCategory(kw, minPrice, maxPrice, PageRequest.of(0, 20));
+        dbStrict.removeIf(p -> isBabyDomain(p) && !babyContext);
+        dbStrict.sort(Comparator
+                .comparing((CrawlingProduct p) -> Optional.ofNullable(p.getScore()).orElse(0))
+                .reversed()
+        );
+        return dbStrict.stream()
+                .map(p -> new Scored(p, Optional.ofNullable(p.getScore()).orElse(0)))
+                .toList();
+    }
+
+    /** 벡터 단계 후보(아기 도메인 가드 적용) */
+    private List<Scored> loadVectorStage(String kw, int need, Set<Long> excludeIds,
+                                         boolean babyContext, VectorLookups vectorLookups) {
+        return vectorSimilarFromDB(kw, need, excludeIds, vectorLookups).stream()
+                .filter(sc -> !(isBabyDomain(sc.p()) && !babyContext))
+                .toList();
+    }
+
+    /** 외부(네이버) 단계 후보(아기 도메인 가드 적용) */
+    private List<Scored> loadNaverStage(String kw, int need, int minPrice, int maxPrice,
+                                        RecommendationRequestDto request, boolean babyContext) {
+        List<CrawlingProduct> fetched = loadFromNaverByKeyword(kw, need, minPrice, maxPrice, request);
+        if (fetched.isEmpty()) return List.of();
+        return fetched.stream()
+                .filter(p -> !(isBabyDomain(p) && !babyContext))
+                .map(p -> new Scored(p, 1.0))
+                .toList();
+    }
+
+    /** 워커 트랜잭션 밖에서 지연 로딩 예외가 나지 않도록 keywords 컬렉션 초기화 */
+    private static void initializeKeywords(List<Scored> scored) {
+        for (Scored sc : scored) {
+            if (sc.p() != null) Hibernate.initialize(sc.p().getKeywords());
+        }
+    }
+
+    private TransactionTemplate readOnlyTx() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        return tx;
+    }
+
+    @PreDestroy
+    void shutdownCollectExecutor() {
+        collectExecutor.shutdownNow();
     }
 
     /**
@@ -233,7 +510,7 @@ public class RecommendationVectorService {
             List<String> userKeywords,
             Gender gender, int limit,
             int perKeywordPrimary, int perKeywordBuffer,
-            boolean babyContext) {
+            boolean babyContext, VectorLookups vectorLookups) {
 
         Map<String, List<CrawlingProduct>> perKeyword = new LinkedHashMap<>();
         for (String kw : userKeywords) perKeyword.put(kw, new ArrayList<>());
@@ -246,7 +523,7 @@ public class RecommendationVectorService {
             if (RecommendationUtil.blockedByGender(gender, p)) continue;
             if (isBabyDomain(p) && !babyContext) continue;
 
-            List<String> matched = findMatchedKeywords(p, userKeywords);
+            List<String> matched = findMatchedKeywords(p, userKeywords, vectorLookups);
             if (matched.isEmpty()) continue;
 
             boolean stored = false;
@@ -366,39 +643,15 @@ public class RecommendationVectorService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        Set<String> seenKey = new HashSet<>();
-        for (CrawlingProduct p : acc) {
-            String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
-            String baseTitle = RecommendationUtil.extractBaseTitle(title);
-            String key = baseTitle + "::" + Optional.ofNullable(p.getImageUrl()).orElse("");
-            seenKey.add(key);
-        }
+        TitleDedup seen = new TitleDedup(TITLE_SIMILARITY_CUTOFF);
+        for (CrawlingProduct p : acc) seen.add(p);
 
         // DB 풀에서 근사 매칭
         if (acc.size() < TARGET_RESULT_SIZE) {
-            List<CrawlingProduct> pool;
-            try {
-                pool = crawlingProductRepository.findTop500ByPriceBetweenOrderByIdDesc(
-                        Math.max(minPrice, 0),
-                        maxOrMaxInt(maxPrice)
-                );
-            } catch (Exception e) {
-                pool = crawlingProductRepository.findAll();
-            }
-
-            List<Scored> sims = new ArrayList<>();
-            for (CrawlingProduct p : pool) {
-                if (!withinPrice(p, minPrice, maxPrice)) continue;
-                if (isBabyDomain(p) && !babyContext) continue;
-                double maxCos = 0.0;
-                for (String kw : keywords) {
-                    maxCos = Math.max(maxCos, cosineKeywordSimilarity(kw, p));
-                }
-                if (maxCos >= COSINE_SIM_THRESHOLD) sims.add(new Scored(p, maxCos));
-            }
+            List<Scored> sims = similarPool(minPrice, maxPrice, babyContext, keywords);
             sims.sort(Comparator.comparingDouble(Scored::s).reversed());
 
-            addUntil(acc, sims, TARGET_RESULT_SIZE, seenKey, haveIds, gender);
+            addUntil(acc, sims, TARGET_RESULT_SIZE, seen, haveIds, gender);
         }
 
         // 외부 보충(키워드별 소량 페치)
@@ -412,7 +665,7 @@ public class RecommendationVectorService {
                 if (!fetched.isEmpty()) {
                     fetched.removeIf(p -> isBabyDomain(p) && !babyContext);
                     List<Scored> scored = fetched.stream().map(p -> new Scored(p, 1.0)).toList();
-                    addUntil(acc, scored, TARGET_RESULT_SIZE, seenKey, haveIds, gender);
+                    addUntil(acc, scored, TARGET_RESULT_SIZE, seen, haveIds, gender);
                     remain = TARGET_RESULT_SIZE - acc.size();
                 }
             }
@@ -425,7 +678,7 @@ public class RecommendationVectorService {
 
     /** 중복/성별/제목유사 체크를 통과시키며 limit까지 acc에 추가 */
     private void addUntil(List<CrawlingProduct> acc, List<Scored> incoming, int limit,
-                          Set<String> seenKeys, Set<Long> haveIds, Gender gender) {
+                          TitleDedup seen, Set<Long> haveIds, Gender gender) {
         for (Scored sc : incoming) {
             if (acc.size() >= limit) break;
             CrawlingProduct p = sc.p();
@@ -434,19 +687,7 @@ public class RecommendationVectorService {
             Long id = p.getId();
             if (id != null && haveIds.contains(id)) continue;
 
-            String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
-            String baseTitle = RecommendationUtil.extractBaseTitle(title);
-            String key = baseTitle + "::" + Optional.ofNullable(p.getImageUrl()).orElse("");
-
-            boolean dupTitle = false;
-            for (String existing : seenKeys) {
-                String exTitle = existing.split("::", 2)[0];
-                double jac = RecommendationUtil.jaccardSimilarityByWords(exTitle, baseTitle);
-                if (jac >= TITLE_SIMILARITY_CUTOFF) { dupTitle = true; break; }
-            }
-            if (dupTitle) continue;
-
-            seenKeys.add(key);
+            if (!seen.add(p)) continue;
             if (id != null) haveIds.add(id);
             acc.add(p);
         }
@@ -454,30 +695,12 @@ public class RecommendationVectorService {
 
     /** 벡터 검색 결과 중 DB에 실제 존재하는 id만 남겨 내부 점수와 함께 정렬 */
     private List<Scored> vectorSimilarFromDB(String keyword,
-                                             int minPrice, int maxPrice,
                                              int need,
                                              Set<Long> excludeIds,
-                                             RecommendationRequestDto req,
-                                             List<String> allKws) {
-        String q = buildVectorQuery(
-                Optional.ofNullable(req.preference()).orElse(""),
-                keyword, req, allKws
-        );
-        if (q.isBlank()) return List.of();
-
-        String reqAge = Optional.ofNullable(req.age()).orElse(null);
-        int topK = Math.max(need * VECTOR_TOPK_MULTIPLIER, 20);
+                                             VectorLookups vectorLookups) {
+        int topK = Math.max(need * VECTOR_TOPK_MULTIPLIER, SIMILAR_TOPK);
 
-        List<VectorProductSearch.ScoredId> hits;
-        try {
-            hits = vectorProductSearch.searchWithScores(
-                    q, Math.max(minPrice, 0), maxOrMaxInt(maxPrice),
-                    reqAge, null, topK, VECTOR_THRESHOLD_DEFAULT
-            );
-        } catch (Exception e) {
-            log.warn("vector similar search failed: kw={}, err={}", keyword, e.toString());
-            return List.of();
-        }
+        List<VectorProductSearch.ScoredId> hits = vectorLookups.similarHits(keyword, topK);
         if (hits == null || hits.isEmpty()) return List.of();
 
         List<Long> ids = hits.stream()
@@ -503,11 +726,22 @@ public class RecommendationVectorService {
                 .toList();
     }
 
-    /** DB LIKE + 가격 범위 조회(레포지토리 커스텀 메서드 사용 가정) */
+    /**
+     * 제목/카테고리 부분 일치 + 가격 범위, 점수 내림차순 상위 20개
+     * - 스냅샷이 있으면 bigram 역색인으로 id를 정하고 PK 조회만(LIKE 전체 스캔 없음)
+     * - 스냅샷 적재 전이면 DB LIKE 조회
+     */
     private List<CrawlingProduct> loadFromDbByNameOrCategory(String keyword, int minPrice, int maxPrice, Pageable top20) {
         String kw = keyword.trim();
         int min = Math.max(minPrice, 0);
         int max = maxOrMaxInt(maxPrice);
+
+        Optional<CatalogSnapshot> snapshot = catalogSnapshot();
+        if (snapshot.isPresent()) {
+            long[] ids = snapshot.get().topByNameOrCategory(kw, min, max, top20.getPageSize());
+            return loadInOrder(Arrays.stream(ids).boxed().toList());
+        }
+
         List<CrawlingProduct> list = crawlingProductRepository
                 .findTopByNameOrCategoryLikeWithinPrice(kw, min, max, top20);
         return new ArrayList<>(list.subList(0, Math.min(20, list.size())));
@@ -540,7 +774,8 @@ public class RecommendationVectorService {
     private int fillWithRulesLimitedForKeyword(
             List<CrawlingProduct> acc, int cap, int quotaForThisKeyword, List<Scored> scored,
             String keywordForThisSlot,
-            double titleJacCutoff, Set<String> seenKeys, Set<Long> pickedIds) {
+            TitleDedup seen, Set<Long> pickedIds,
+            VectorLookups vectorLookups) {
 
         int added = 0;
         for (Scored sc : scored) {
@@ -552,21 +787,9 @@ public class RecommendationVectorService {
             Long id = p.getId();
             if (id != null && pickedIds.contains(id)) continue;
 
-            if (!keywordMatches(p, keywordForThisSlot)) continue;
+            if (!keywordMatches(p, keywordForThisSlot, vectorLookups)) continue;
 
-            String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
-            String baseTitle = RecommendationUtil.extractBaseTitle(title);
-            String key = baseTitle + "::" + Optional.ofNullable(p.getImageUrl()).orElse("");
-
-            boolean dupTitle = false;
-            for (String existing : seenKeys) {
-                String exTitle = existing.split("::", 2)[0];
-                double jac = RecommendationUtil.jaccardSimilarityByWords(exTitle, baseTitle);
-                if (jac >= titleJacCutoff) { dupTitle = true; break; }
-            }
-            if (dupTitle) continue;
-
-            seenKeys.add(key);
+            if (!seen.add(p)) continue;
             acc.add(p);
             if (id != null) pickedIds.add(id);
             added++;
@@ -577,8 +800,8 @@ public class RecommendationVectorService {
     /** 전역 보충 적재기(후단 재분배에서 키워드 균형 보정) */
     private void fillWithRulesAnyKeyword(
             List<CrawlingProduct> acc, int cap, List<Scored> scored,
-            double titleJacCutoff, Set<String> seenKeys, Set<Long> pickedIds,
-            List<String> userKws) {
+            TitleDedup seen, Set<Long> pickedIds,
+            List<String> userKws, VectorLookups vectorLookups) {
 
         for (Scored sc : scored) {
             if (acc.size() >= cap) break;
@@ -588,24 +811,135 @@ public class RecommendationVectorService {
             Long id = p.getId();
             if (id != null && pickedIds.contains(id)) continue;
 
-            if (!matchesAnyUserKeyword(p, userKws)) continue;
+            if (!matchesAnyUserKeyword(p, userKws, vectorLookups)) continue;
+
+            if (!seen.add(p)) continue;
+            acc.add(p);
+            if (id != null) pickedIds.add(id);
+        }
+    }
 
-            String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
-            String baseTitle = RecommendationUtil.extractBaseTitle(title);
-            String key = baseTitle + "::" + Optional.ofNullable(p.getImageUrl()).orElse("");
+    /**
+     * 전역 보충 풀: 가격 범위 최근 상품 CATALOG_POOL_SIZE개(id 내림차순)
+     * - 스냅샷이 있으면 가격 범위 이진 탐색 후 스냅샷 컬럼으로 유아 도메인/키워드 매칭을 먼저 걸러 통과한 상품만 로딩
+     * - 스냅샷 적재 전이면 DB 조회
+     */
+    private List<Scored> globalPool(int minPrice, int maxPrice, boolean babyContext, List<String> keywords,
+                                    Set<Long> pickedIds, VectorLookups vectorLookups) {
+        List<CrawlingProduct> pool;
+        Optional<CatalogSnapshot> snapshot = catalogSnapshot();
+        if (snapshot.isPresent()) {
+            CatalogSnapshot s = snapshot.get();
+            List<CatalogSnapshot.TokenQuery> queries = keywords.stream()
+                    .map(kw -> s.tokenQuery(kw.toLowerCase(Locale.ROOT).trim()))
+                    .toList();
 
-            boolean dupTitle = false;
-            for (String existing : seenKeys) {
-                String exTitle = existing.split("::", 2)[0];
-                double jac = RecommendationUtil.jaccardSimilarityByWords(exTitle, baseTitle);
-                if (jac >= titleJacCutoff) { dupTitle = true; break; }
+            List<Long> ids = new ArrayList<>();
+            for (int row : s.newestInRange(Math.max(minPrice, 0), maxOrMaxInt(maxPrice), CATALOG_POOL_SIZE)) {
+                long id = s.id(row);
+                if (pickedIds.contains(id)) continue;
+                if (isBabyDomain(s.title(row), s.category(row), s.keywords(row)) && !babyContext) continue;
+                if (!snapshotMatchesAnyKeyword(s, row, keywords, queries, vectorLookups)) continue;
+                ids.add(id);
             }
-            if (dupTitle) continue;
+            pool = loadInOrder(ids);
+        } else {
+            pool = findPoolFromDb(minPrice, maxPrice);
+            pool.removeIf(p -> isBabyDomain(p) && !babyContext);
+        }
 
-            seenKeys.add(key);
-            acc.add(p);
-            if (id != null) pickedIds.add(id);
+        return pool.stream()
+                .filter(p -> withinPrice(p, minPrice, maxPrice))
+                .map(p -> new Scored(p, 0.0))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * 전역 보충 풀 중 키워드 토큰 코사인이 임계값 이상인 상품(점수 = 키워드별 최대 코사인)
+     * - 스냅샷이 있으면 코사인을 스냅샷 토큰으로 계산해 통과한 상품만 로딩
+     */
+    private List<Scored> similarPool(int minPrice, int maxPrice, boolean babyContext, List<String> keywords) {
+        List<Scored> sims = new ArrayList<>();
+        Optional<CatalogSnapshot> snapshot = catalogSnapshot();
+        if (snapshot.isPresent()) {
+            CatalogSnapshot s = snapshot.get();
+            List<CatalogSnapshot.TokenQuery> queries = keywords.stream().map(s::tokenQuery).toList();
+
+            List<Long> ids = new ArrayList<>();
+            Map<Long, Double> cosById = new HashMap<>();
+            for (int row : s.newestInRange(Math.max(minPrice, 0), maxOrMaxInt(maxPrice), CATALOG_POOL_SIZE)) {
+                if (isBabyDomain(s.title(row), s.category(row), s.keywords(row)) && !babyContext) continue;
+                double maxCos = 0.0;
+                for (CatalogSnapshot.TokenQuery q : queries) maxCos = Math.max(maxCos, s.cosine(q, row));
+                if (maxCos < COSINE_SIM_THRESHOLD) continue;
+                ids.add(s.id(row));
+                cosById.put(s.id(row), maxCos);
+            }
+            for (CrawlingProduct p : loadInOrder(ids)) {
+                if (withinPrice(p, minPrice, maxPrice)) sims.add(new Scored(p, cosById.get(p.getId())));
+            }
+            return sims;
+        }
+
+        for (CrawlingProduct p : findPoolFromDb(minPrice, maxPrice)) {
+            if (!withinPrice(p, minPrice, maxPrice)) continue;
+            if (isBabyDomain(p) && !babyContext) continue;
+            double maxCos = 0.0;
+            for (String kw : keywords) {
+                maxCos = Math.max(maxCos, cosineKeywordSimilarity(kw, p));
+            }
+            if (maxCos >= COSINE_SIM_THRESHOLD) sims.add(new Scored(p, maxCos));
+        }
+        return sims;
+    }
+
+    /** 적재된 카탈로그 스냅샷(비활성/적재 전이면 empty) */
+    private Optional<CatalogSnapshot> catalogSnapshot() {
+        CatalogSnapshotService service = catalogSnapshotProvider.getIfAvailable();
+        return (service != null) ? service.current() : Optional.empty();
+    }
+
+    /** 스냅샷 적재 전 대체 풀(조회 실패 시 빈 풀) */
+    private List<CrawlingProduct> findPoolFromDb(int minPrice, int maxPrice) {
+        try {
+            return new ArrayList<>(crawlingProductRepository.findTop500ByPriceBetweenOrderByIdDesc(
+                    Math.max(minPrice, 0), maxOrMaxInt(maxPrice)));
+        } catch (Exception e) {
+            log.warn("candidate pool query failed: minPrice={}, maxPrice={}, err={}", minPrice, maxPrice, e.toString());
+            return new ArrayList<>();
+        }
+    }
+
+    /** id 순서대로 상품 로딩(스냅샷 이후 삭제된 상품은 제외) */
+    private List<CrawlingProduct> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return new ArrayList<>();
+        Map<Long, CrawlingProduct> byId = new HashMap<>();
+        for (CrawlingProduct p : crawlingProductRepository.findByIdIn(ids)) byId.put(p.getId(), p);
+        List<CrawlingProduct> out = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CrawlingProduct p = byId.get(id);
+            if (p != null) out.add(p);
+        }
+        return out;
+    }
+
+    /** keywordMatches와 같은 판정을 스냅샷 컬럼으로(엔티티 로딩 전 사전 필터) */
+    private boolean snapshotMatchesAnyKeyword(CatalogSnapshot s, int row, List<String> userKws,
+                                              List<CatalogSnapshot.TokenQuery> queries, VectorLookups vectorLookups) {
+        for (int i = 0; i < userKws.size(); i++) {
+            String kw = userKws.get(i);
+            if (kw == null || kw.isBlank()) continue;
+            String k = kw.toLowerCase(Locale.ROOT).trim();
+
+            if (s.title(row).contains(k)) return true;
+            for (String t : s.keywords(row)) if (t.contains(k)) return true;
+            String cat = s.category(row);
+            if (!cat.isBlank() && cat.contains(k)) return true;
+
+            if (vectorLookups.confirms(s.id(row), k)) return true;
+            if (s.cosine(queries.get(i), row) >= COSINE_SIM_THRESHOLD) return true;
         }
+        return false;
     }
 
     /** 요청 컨텍스트에 유아/아기 맥락이 포함되면 true */
@@ -623,7 +957,10 @@ public class RecommendationVectorService {
         String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
         String category = Optional.ofNullable(p.getCategory()).orElse("");
         List<String> tags = Optional.ofNullable(p.getKeywords()).orElse(List.of());
+        return isBabyDomain(title, category, tags);
+    }
 
+    private boolean isBabyDomain(String title, String category, List<String> tags) {
         if (containsAnyIgnoreCase(title, "아기", "유아", "영유아", "출산", "육아")) return true;
         if (containsAnyIgnoreCase(category, "유아", "아동", "유아동", "출산", "육아")) return true;
         for (String t : tags) {
@@ -636,7 +973,7 @@ public class RecommendationVectorService {
      * 키워드 매칭 판정:
      * 1) 제목/태그/카테고리 포함 → 2) 벡터 스토어로 강한 보조 → 3) 토큰 코사인으로 약한 보조
      */
-    private boolean keywordMatches(CrawlingProduct p, String kw) {
+    private boolean keywordMatches(CrawlingProduct p, String kw, VectorLookups vectorLookups) {
         if (p == null || kw == null || kw.isBlank()) return false;
 
         String k = kw.toLowerCase(Locale.ROOT).trim();
@@ -656,8 +993,8 @@ public class RecommendationVectorService {
                 .toLowerCase(Locale.ROOT);
         if (!catLower.isBlank() && catLower.contains(k)) return true;
 
-        // 벡터 스토어 확인(강)
-        if (p.getId() != null && vectorConfirmsMatch(p.getId(), k)) return true;
+        // 벡터 스토어 확인(강): 키워드별 확인 세트 O(1) 조회
+        if (p.getId() != null && vectorLookups.confirms(p.getId(), k)) return true;
 
         // 토큰 코사인 보조(약)
         double tokenCos = cosineKeywordSimilarity(k, p);
@@ -665,43 +1002,199 @@ public class RecommendationVectorService {
     }
 
     /** 사용자 키워드 중 하나라도 매칭되면 true */
-    private boolean matchesAnyUserKeyword(CrawlingProduct p, List<String> userKws) {
+    private boolean matchesAnyUserKeyword(CrawlingProduct p, List<String> userKws,
+                                          VectorLookups vectorLookups) {
         if (p == null || userKws == null || userKws.isEmpty()) return false;
         for (String kw : userKws) {
-            if (keywordMatches(p, kw)) return true;
+            if (keywordMatches(p, kw, vectorLookups)) return true;
         }
         return false;
     }
 
     /** 매칭된 사용자 키워드를 모두 수집(재분배 시 버킷 배치용) */
-    private List<String> findMatchedKeywords(CrawlingProduct p, List<String> userKws) {
+    private List<String> findMatchedKeywords(CrawlingProduct p, List<String> userKws,
+                                             VectorLookups vectorLookups) {
         List<String> matched = new ArrayList<>();
         if (p == null || userKws == null || userKws.isEmpty()) return matched;
         for (String kw : userKws) {
-            if (keywordMatches(p, kw)) matched.add(kw);
+            if (keywordMatches(p, kw, vectorLookups)) matched.add(kw);
         }
         return matched;
     }
 
-    /** 벡터 스토어가 특정 키워드-상품 매칭을 상위 점수로 확인해 주면 true */
-    private boolean vectorConfirmsMatch(Long productId, String keyword) {
-        try {
-            String q = "키워드:" + keyword;
-            int topK = 30;
-            List<VectorProductSearch.ScoredId> hits = vectorProductSearch.searchWithScores(
-                    q, 0, Integer.MAX_VALUE, null, null, topK, VECTOR_THRESHOLD_DEFAULT
-            );
-            if (hits == null || hits.isEmpty()) return false;
+    /** 키워드 확인용 벡터 검색 쿼리 */
+    private static VectorProductSearch.Query confirmQuery(String keywordLower) {
+        return new VectorProductSearch.Query(
+                "키워드:" + keywordLower, 0, Integer.MAX_VALUE, null, null,
+                CONFIRM_TOPK, VECTOR_THRESHOLD_DEFAULT
+        );
+    }
 
-            for (VectorProductSearch.ScoredId h : hits) {
-                if (Objects.equals(h.productId(), productId) && h.score() >= VECTOR_THRESHOLD_DEFAULT) {
-                    return true;
+    /** 키워드별 유사 상품 검색 쿼리 */
+    private VectorProductSearch.Query similarQuery(String keyword, RecommendationRequestDto req,
+                                                   List<String> allKws, int minPrice, int maxPrice, int topK) {
+        String q = buildVectorQuery(
+                Optional.ofNullable(req.preference()).orElse(""),
+                keyword, req, allKws
+        );
+        if (q.isBlank()) return null;
+
+        // 성별은 Qdrant 필터(반대 성별로 지정된 상품 제외), 자유 입력 연령("20대")은 필터로 쓰지 않음
+        String reqAge = Optional.ofNullable(req.age()).orElse(null);
+        String reqGender = (req.gender() != null) ? req.gender().name() : null;
+        return new VectorProductSearch.Query(
+                q, Math.max(minPrice, 0), maxOrMaxInt(maxPrice),
+                reqAge, reqGender, topK, VECTOR_THRESHOLD_DEFAULT
+        );
+    }
+
+    /** 임계값 이상 hit의 상품 id 세트 */
+    private static LongHashSet toConfirmedIds(List<VectorProductSearch.ScoredId> hits) {
+        LongHashSet ids = new LongHashSet(CONFIRM_TOPK);
+        if (hits == null) return ids;
+        for (VectorProductSearch.ScoredId h : hits) {
+            if (h.score() >= VECTOR_THRESHOLD_DEFAULT) ids.add(h.productId());
+        }
+        return ids;
+    }
+
+    /**
+     * 요청 범위 벡터 조회 묶음
+     * - 키워드 확인: 처음 필요해진 시점에 요청 키워드 전체를 searchBatch 1회로 조회, 이후 (상품, 키워드) 판정은 O(1)
+     * - 유사 검색: 처음 필요해진 시점에 요청 키워드 전체를 searchBatch 1회로 조회, 이후 키워드별로 재사용
+     * - concurrent 수집 워커와 공유되므로 일괄 로딩은 종류별 락으로 1회 보장
+     */
+    private final class VectorLookups {
+        private final List<String> keywords;
+        private final RecommendationRequestDto request;
+        private final int minPrice;
+        private final int maxPrice;
+
+        private final Map<String, LongHashSet> confirmedByKeyword = new ConcurrentHashMap<>();
+        private final Map<String, List<VectorProductSearch.ScoredId>> similarByKeyword = new ConcurrentHashMap<>();
+        private final Object confirmLock = new Object();
+        private final Object similarLock = new Object();
+
+        private final AtomicInteger remoteSearches = new AtomicInteger();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        VectorLookups(List<String> keywords, RecommendationRequestDto request, int minPrice, int maxPrice) {
+            this.keywords = keywords;
+            this.request = request;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+        }
+
+        boolean confirms(long productId, String keywordLower) {
+            lookups.incrementAndGet();
+            LongHashSet ids = confirmedByKeyword.get(keywordLower);
+            if (ids == null) ids = loadConfirmed(keywordLower);
+            return ids.contains(productId);
+        }
+
+        /** topK가 일괄 조회 크기를 넘으면 해당 키워드만 단건 검색 */
+        List<VectorProductSearch.ScoredId> similarHits(String keyword, int topK) {
+            if (topK > SIMILAR_TOPK) {
+                VectorProductSearch.Query q = similarQuery(keyword, request, keywords, minPrice, maxPrice, topK);
+                return (q == null) ? List.of() : search(List.of(q), "similar", keyword).get(0);
+            }
+            List<VectorProductSearch.ScoredId> hits = similarByKeyword.get(keyword);
+            return (hits != null) ? hits : loadSimilar(keyword);
+        }
+
+        private LongHashSet loadConfirmed(String keywordLower) {
+            synchronized (confirmLock) {
+                LongHashSet ids = confirmedByKeyword.get(keywordLower);
+                if (ids != null) return ids;
+
+                LinkedHashSet<String> pending = new LinkedHashSet<>();
+                pending.add(keywordLower);
+                for (String kw : keywords) {
+                    String k = kw.toLowerCase(Locale.ROOT).trim();
+                    if (!confirmedByKeyword.containsKey(k)) pending.add(k);
                 }
+
+                List<String> ks = new ArrayList<>(pending);
+                List<List<VectorProductSearch.ScoredId>> results = search(
+                        ks.stream().map(RecommendationVectorService::confirmQuery).toList(), "confirm", keywordLower);
+                for (int i = 0; i < ks.size(); i++) {
+                    confirmedByKeyword.put(ks.get(i), toConfirmedIds(results.get(i)));
+                }
+                remoteSearches.addAndGet(ks.size());
+                return confirmedByKeyword.get(keywordLower);
             }
-        } catch (Exception e) {
-            log.debug("vectorConfirmsMatch fail: kw={}, id={}, err={}", keyword, productId, e.toString());
         }
-        return false;
+
+        private List<VectorProductSearch.ScoredId> loadSimilar(String keyword) {
+            synchronized (similarLock) {
+                List<VectorProductSearch.ScoredId> hits = similarByKeyword.get(keyword);
+                if (hits != null) return hits;
+
+                LinkedHashSet<String> pending = new LinkedHashSet<>();
+                pending.add(keyword);
+                for (String kw : keywords) {
+                    if (!similarByKeyword.containsKey(kw)) pending.add(kw);
+                }
+
+                List<String> ks = new ArrayList<>();
+                List<VectorProductSearch.Query> queries = new ArrayList<>();
+                for (String kw : pending) {
+                    VectorProductSearch.Query q = similarQuery(kw, request, keywords, minPrice, maxPrice, SIMILAR_TOPK);
+                    if (q == null) {
+                        similarByKeyword.put(kw, List.of());
+                        continue;
+                    }
+                    ks.add(kw);
+                    queries.add(q);
+                }
+                if (!queries.isEmpty()) {
+                    List<List<VectorProductSearch.ScoredId>> results = search(queries, "similar", keyword);
+                    for (int i = 0; i < ks.size(); i++) {
+                        similarByKeyword.put(ks.get(i), Optional.ofNullable(results.get(i)).orElse(List.of()));
+                    }
+                }
+                return similarByKeyword.getOrDefault(keyword, List.of());
+            }
+        }
+
+        /** 실패 시 쿼리 수만큼 빈 결과 */
+        private List<List<VectorProductSearch.ScoredId>> search(List<VectorProductSearch.Query> queries,
+                                                                String kind, String keyword) {
+            roundTrips.incrementAndGet();
+            try {
+                List<List<VectorProductSearch.ScoredId>> results = vectorProductSearch.searchBatch(queries);
+                if (results != null && results.size() == queries.size()) return results;
+            } catch (Exception e) {
+                log.warn("vector {} search failed: kw={}, queries={}, err={}", kind, keyword, queries.size(), e.toString());
+            }
+            List<List<VectorProductSearch.ScoredId>> empty = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) empty.add(List.of());
+            return empty;
+        }
+
+        /**
+         * lookups = 기존 방식이었다면 발생했을 원격 검색 수, remote = 실제 확인 검색 수,
+         * round_trips = 확인/유사 검색을 합친 실제 왕복 수
+         */
+        void record() {
+            DistributionSummary.builder("recommendation.vector.confirm.searches")
+                    .description("요청당 키워드 확인용 벡터 검색 수")
+                    .tag("kind", "remote")
+                    .register(meterRegistry)
+                    .record(remoteSearches.get());
+            DistributionSummary.builder("recommendation.vector.confirm.searches")
+                    .description("요청당 키워드 확인용 벡터 검색 수")
+                    .tag("kind", "per_pair_equivalent")
+                    .register(meterRegistry)
+                    .record(lookups.get());
+            DistributionSummary.builder("recommendation.vector.search.round_trips")
+                    .description("요청당 벡터 검색 왕복 수")
+                    .register(meterRegistry)
+                    .record(roundTrips.get());
+            log.debug("[VECTOR][CONFIRM] remoteSearches={}, perPairEquivalent={}, roundTrips={}",
+                    remoteSearches.get(), lookups.get(), roundTrips.get());
+        }
     }
 
     /** 가격 범위 체크 */
@@ -729,16 +1222,6 @@ public class RecommendationVectorService {
         return set.stream().limit(MAX_KEYWORDS).collect(Collectors.toCollection(ArrayList::new));
     }
 
-    /** 간단 토크나이저(영/숫/한글 유지, 나머지 공백) */
-    private static List<String> tokenize(String s) {
-        if (s == null || s.isBlank()) return List.of();
-        String norm = s.toLowerCase(Locale.ROOT).replaceAll("[^0-9a-zA-Z가-힣]", " ");
-        String[] arr = norm.split("\\s+");
-        List<String> out = new ArrayList<>();
-        for (String w : arr) if (!w.isBlank()) out.add(w);
-        return out;
-    }
-
     /** 벡터 쿼리 빌더(핵심/보조 키워드 + 힌트) */
     private String buildVectorQuery(String preference, String baseKw,
                                     RecommendationRequestDto req, List<String> allKws) {
@@ -762,13 +1245,13 @@ public class RecommendationVectorService {
         String title = Optional.ofNullable(p.getDisplayName()).orElse(p.getOriginalName());
 
         List<String> tokens = new ArrayList<>();
-        if (title != null) tokens.addAll(tokenize(title));
+        if (title != null) tokens.addAll(RecommendationUtil.tokenize(title));
         List<String> tags = Optional.ofNullable(p.getKeywords()).orElse(List.of());
         for (String t : tags) {
-            if (t != null) tokens.addAll(tokenize(t));
+            if (t != null) tokens.addAll(RecommendationUtil.tokenize(t));
         }
 
-        Set<String> a = new HashSet<>(tokenize(keyword));
+        Set<String> a = new HashSet<>(RecommendationUtil.tokenize(keyword));
         Set<String> b = new HashSet<>(tokens);
         if (a.isEmpty() || b.isEmpty()) return 0.0;
 
@@ -0,0 +1,24 @@
+package com.example.giftrecommender.util;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL FULLTEXT(ngram parser, ngram_token_size=2) BOOLEAN MODE 검색식 생성
+ * - 검색어를 tokenize(영/숫/한글 외 제거)해 연산자(+-<>()~*"@)가 섞여 들어가지 않게 함
+ * - 모든 토큰 필수(+): 2글자 이상 토큰은 ngram 파서가 bigram 구문으로 바꿔 매칭, 1글자 토큰은 접두 검색(*)
+ */
+public final class FulltextQuery {
+
+    private FulltextQuery() {}
+
+    /** @return 검색할 토큰이 없으면 null */
+    public static String booleanMode(String keyword) {
+        List<String> tokens = RecommendationUtil.tokenize(keyword);
+        if (tokens.isEmpty()) return null;
+        return tokens.stream()
+                .distinct()
+                .map(t -> t.length() == 1 ? "+" + t + "*" : "+" + t)
+                .collect(Collectors.joining(" "));
+    }
+}
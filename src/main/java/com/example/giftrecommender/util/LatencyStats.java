@@ -0,0 +1,22 @@
+package com.example.giftrecommender.util;
+
+/**
+ * 벤치마크 지연 통계 공용 계산
+ * - 백분위는 nearest-rank(보간 없이 실제 측정값 중 하나), 결과 표시는 소수 셋째 자리 반올림
+ */
+public final class LatencyStats {
+
+    private LatencyStats() {}
+
+    /** nearest-rank 백분위(정렬된 배열, 비어 있으면 0) */
+    public static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    /** 소수 셋째 자리 반올림 */
+    public static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.giftrecommender.util;
+
+import java.util.Arrays;
+
+/**
+ * long 원시값 전용 해시 세트(오픈 어드레싱, 선형 탐사)
+ * - 박싱 없이 contains O(1)
+ * - 스레드 안전하지 않음: 한 스레드에서 채운 뒤 읽기 전용으로 공유하는 용도
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int cap = tableSizeFor(Math.max(4, (int) (expectedSize / LOAD_FACTOR) + 1));
+        this.table = new long[cap];
+        this.mask = cap - 1;
+    }
+
+    /** 새로 추가되면 true */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int idx = indexOf(value);
+        while (table[idx] != EMPTY) {
+            if (table[idx] == value) return false;
+            idx = (idx + 1) & mask;
+        }
+        table[idx] = value;
+        size++;
+        if (size > table.length * LOAD_FACTOR) rehash(table.length << 1);
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) return hasZero;
+        int idx = indexOf(value);
+        while (table[idx] != EMPTY) {
+            if (table[idx] == value) return true;
+            idx = (idx + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** 정렬된 배열로 복사 */
+    public long[] toSortedArray() {
+        long[] out = new long[size];
+        int n = 0;
+        if (hasZero) out[n++] = 0L;
+        for (long v : table) {
+            if (v != EMPTY) out[n++] = v;
+        }
+        Arrays.sort(out);
+        return out;
+    }
+
+    private int indexOf(long value) {
+        // murmur3 fmix64
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void rehash(int newCap) {
+        long[] old = table;
+        table = new long[newCap];
+        mask = newCap - 1;
+        for (long v : old) {
+            if (v == EMPTY) continue;
+            int idx = indexOf(v);
+            while (table[idx] != EMPTY) idx = (idx + 1) & mask;
+            table[idx] = v;
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int cap = Integer.highestOneBit(n - 1) << 1;
+        return Math.max(cap, 4);
+    }
+}
@@ -22,6 +22,7 @@ public final class RecommendationUtil {
     private static final Pattern SPLIT_DELIMS = Pattern.compile("[\\s/|,]+");
     private static final Pattern HANGUL_RUN = Pattern.compile("[\\p{IsHangul}]{2,}");
     private static final Pattern EN_NUM_RUN = Pattern.compile("[A-Za-z0-9]{2,}");
+    private static final Pattern NON_TOKEN = Pattern.compile("[^0-9a-zA-Z가-힣]");
 
     // 간단 불용어(필요 시 확장 권장)
     private static final Set<String> STOPWORDS = Set.of(
@@ -69,19 +70,11 @@ public final class RecommendationUtil {
     public static double jaccardSimilarityByWords(String title1, String title2) {
         if (title1 == null || title2 == null) return 0.0;
 
-        String a = WORD_KEEP.matcher(title1).replaceAll(" ");
-        String b = WORD_KEEP.matcher(title2).replaceAll(" ");
-
-        Set<String> s1 = Arrays.stream(WORD_SPLIT.split(a.trim()))
-                .map(x -> x.toLowerCase(Locale.ROOT))
-                .filter(x -> x.length() >= 2 && !STOPWORDS.contains(x))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        Set<String> s2 = Arrays.stream(WORD_SPLIT.split(b.trim()))
-                .map(x -> x.toLowerCase(Locale.ROOT))
-                .filter(x -> x.length() >= 2 && !STOPWORDS.contains(x))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return jaccardSimilarity(titleWords(title1), titleWords(title2));
+    }
 
+    // 2-2. 이미 만든 단어 집합끼리의 자카드 유사도
+    public static double jaccardSimilarity(Set<String> s1, Set<String> s2) {
         if (s1.isEmpty() && s2.isEmpty()) return 1.0;
         if (s1.isEmpty() || s2.isEmpty())  return 0.0;
 
@@ -94,6 +87,16 @@ public final class RecommendationUtil {
         return union.isEmpty() ? 0.0 : (double) inter.size() / (double) union.size();
     }
 
+    // 2-1. 유사도/지문 비교용 단어 집합(2글자 이상, 불용어 제외)
+    public static Set<String> titleWords(String title) {
+        if (title == null) return Collections.emptySet();
+        String s = WORD_KEEP.matcher(title).replaceAll(" ");
+        return Arrays.stream(WORD_SPLIT.split(s.trim()))
+                .map(x -> x.toLowerCase(Locale.ROOT))
+                .filter(x -> x.length() >= 2 && !STOPWORDS.contains(x))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     // 3. 브랜드 정규화
     public static String extractBrand(String brand) {
         if (brand == null) return "";
@@ -181,6 +184,15 @@ public final class RecommendationUtil {
                 .collect(Collectors.toList());
     }
 
+    // 6. 간단 토크나이저(영/숫/한글 유지, 나머지 공백) - 키워드 코사인 근사용
+    public static List<String> tokenize(String s) {
+        if (s == null || s.isBlank()) return List.of();
+        String norm = NON_TOKEN.matcher(s.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        List<String> out = new ArrayList<>();
+        for (String w : WORD_SPLIT.split(norm)) if (!w.isBlank()) out.add(w);
+        return out;
+    }
+
     public static int calculateScore(BigDecimal rating, Integer reviewCount) {
         int score = 0;
         if (rating != null && rating.compareTo(BigDecimal.valueOf(4.2)) >= 0) score += 1;
@@ -0,0 +1,83 @@
+package com.example.giftrecommender.util;
+
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 제목 유사 중복 억제(요청 단위, 스레드 안전하지 않음)
+ * - 판정 기준은 기존과 같은 base title 단어 자카드(≥ cutoff)
+ * - SimHash 해밍 거리는 사전 필터로만 사용: 거리가 상한을 넘는 쌍은 단어 집합 비교 없이 통과
+ *   SimHash는 집합 코사인(≥ 자카드)을 따르므로 상한은 cutoff 코사인의 기대 거리 + 3σ로 넉넉히 잡음(0.85 → 21, 0.9 → 18)
+ * - 트레이드오프: 상한은 확률적이라 자카드 ≥ cutoff인 쌍도 거리가 상한을 넘으면 중복으로 못 잡음(거짓 음성)
+ *   비트가 독립이라 보면 cutoff 경계 쌍 기준 약 0.1%, 단어가 몇 개 안 되는 짧은 제목은 비트가 함께 뒤집혀 더 높을 수 있음
+ *   놓친 쌍은 비슷한 상품이 하나 더 노출될 뿐이라 선형 자카드 비교를 줄이는 쪽을 택함(거짓 양성은 자카드 재확인으로 없음)
+ * - 단어 집합은 고른 제목마다 한 번, 후보는 필터를 통과한 경우에만 한 번 만듦
+ * - 고른 수가 결과 크기(수십~수백)로 제한되므로 LSH 버킷 없이 선형 비교
+ */
+public final class TitleDedup {
+
+    private final double jaccardCutoff;
+    private final int prefilterDistance;
+    private long[] fingerprints = new long[16];
+    private final List<Set<String>> words = new ArrayList<>();
+    private int size;
+
+    public TitleDedup(double jaccardCutoff) {
+        this.jaccardCutoff = jaccardCutoff;
+        this.prefilterDistance = prefilterDistanceFor(jaccardCutoff);
+    }
+
+    /** 코사인 = cutoff인 쌍의 기대 해밍 거리 64p에 3σ(√(64p(1-p)))를 더한 상한 */
+    static int prefilterDistanceFor(double jaccardCutoff) {
+        double cutoff = Math.max(0.0, Math.min(1.0, jaccardCutoff));
+        double p = Math.acos(cutoff) / Math.PI;
+        return (int) Math.ceil(64.0 * p + 3.0 * Math.sqrt(64.0 * p * (1.0 - p)));
+    }
+
+    /** 저장된 지문을 쓰고, 없으면(백필 전) 제목에서 계산 */
+    public static long fingerprintOf(CrawlingProduct p) {
+        if (p.getTitleSimhash() != null) return p.getTitleSimhash();
+        return TitleFingerprint.of(baseTitleOf(p));
+    }
+
+    /** 저장된 base title을 쓰고, 없으면(백필 전) 제목에서 계산 */
+    public static String baseTitleOf(CrawlingProduct p) {
+        if (p.getBaseTitle() != null) return p.getBaseTitle();
+        return CrawlingProduct.baseTitleOf(p.getOriginalName(), p.getDisplayName());
+    }
+
+    public boolean isDuplicate(long fingerprint, String baseTitle) {
+        return isDuplicate(fingerprint, baseTitle, null);
+    }
+
+    /** 유사한 제목이 없으면 기록하고 true */
+    public boolean add(long fingerprint, String baseTitle) {
+        Set<String> candidate = RecommendationUtil.titleWords(baseTitle);
+        if (isDuplicate(fingerprint, baseTitle, candidate)) return false;
+        if (size == fingerprints.length) fingerprints = Arrays.copyOf(fingerprints, size << 1);
+        fingerprints[size++] = fingerprint;
+        words.add(candidate);
+        return true;
+    }
+
+    public boolean add(CrawlingProduct p) {
+        return add(fingerprintOf(p), baseTitleOf(p));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean isDuplicate(long fingerprint, String baseTitle, Set<String> candidate) {
+        for (int i = 0; i < size; i++) {
+            if (TitleFingerprint.distance(fingerprints[i], fingerprint) > prefilterDistance) continue;
+            if (candidate == null) candidate = RecommendationUtil.titleWords(baseTitle);
+            if (RecommendationUtil.jaccardSimilarity(words.get(i), candidate) >= jaccardCutoff) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.giftrecommender.util;
+
+import java.util.Collection;
+
+/**
+ * 제목 64비트 SimHash
+ * - 특징은 jaccardSimilarityByWords와 같은 단어 집합(titleWords), 단어마다 가중치 1
+ * - 단어 집합이 비슷할수록 해밍 거리가 작음(기대 거리 ≈ 64·arccos(cos)/π, 집합 코사인 ≥ 자카드)
+ * - 자카드와 일대일 대응이 아니므로 중복 판정은 TitleDedup처럼 사전 필터로만 사용
+ * - 빈 단어 집합은 0(빈 제목끼리만 거리 0)
+ */
+public final class TitleFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private TitleFingerprint() {}
+
+    /** extractBaseTitle 결과(또는 원 제목)의 SimHash */
+    public static long of(String baseTitle) {
+        return simHash(RecommendationUtil.titleWords(baseTitle));
+    }
+
+    public static long simHash(Collection<String> words) {
+        if (words == null || words.isEmpty()) return 0L;
+        int[] votes = new int[64];
+        for (String word : words) {
+            long h = hash(word);
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((h >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+        long out = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) out |= 1L << bit;
+        }
+        return out;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /** FNV-1a 64 + murmur3 fmix64(짧은 한글 단어도 비트가 고르게 퍼지도록) */
+    private static long hash(String word) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            h ^= word.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
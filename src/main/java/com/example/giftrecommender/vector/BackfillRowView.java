@@ -0,0 +1,6 @@
+package com.example.giftrecommender.vector;
+
+public interface BackfillRowView extends BackfillIdView {
+    String getCategory();
+    String getShortDescription();
+}
@@ -0,0 +1,149 @@
+package com.example.giftrecommender.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 여러 스레드의 단건 임베딩 요청을 짧은 시간창 동안 모아 한 번의 다건 호출로 보내는 마이크로 배처
+ * - 첫 요청 도착 후 window 동안(또는 maxBatchSize/maxBatchTokens 도달 시까지) 대기 요청을 묶음
+ * - 동시에 나가는 배치 수는 maxInFlight로 제한(그동안 쌓인 요청은 다음 배치가 더 크게 가져감)
+ * - 배치 실패 시 그 배치의 모든 future를 같은 예외로 완료
+ */
+@Slf4j
+final class EmbeddingMicroBatcher implements AutoCloseable {
+
+    @FunctionalInterface
+    interface BatchLoader {
+        /** texts와 같은 순서/크기의 결과를 반환 */
+        List<float[]> load(List<String> texts) throws Exception;
+    }
+
+    private record Pending(String text, int tokens, CompletableFuture<float[]> future) {}
+
+    private static final long IDLE_POLL_MS = 100L;
+
+    private final BatchLoader loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int maxBatchTokens;
+    private final Semaphore inFlight;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    EmbeddingMicroBatcher(BatchLoader loader, Duration window,
+                          int maxBatchSize, int maxBatchTokens, int maxInFlight) {
+        this.loader = loader;
+        this.windowNanos = Math.max(0L, window.toNanos());
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchTokens = Math.max(1, maxBatchTokens);
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.dispatcher = Thread.ofPlatform()
+                .name("embed-batcher")
+                .daemon(true)
+                .start(this::dispatchLoop);
+    }
+
+    CompletableFuture<float[]> submit(String text) {
+        CompletableFuture<float[]> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("embedding batcher is closed"));
+            return future;
+        }
+        queue.add(new Pending(text, estimateTokens(text), future));
+        return future;
+    }
+
+    private void dispatchLoop() {
+        Pending carry = null;
+        while (running || carry != null || !queue.isEmpty()) {
+            try {
+                Pending first = (carry != null) ? carry : queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                carry = null;
+                if (first == null) continue;
+
+                List<Pending> batch = new ArrayList<>();
+                batch.add(first);
+                int tokens = first.tokens();
+                long deadline = System.nanoTime() + windowNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    long remain = deadline - System.nanoTime();
+                    Pending next = (remain > 0) ? queue.poll(remain, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    if (tokens + next.tokens() > maxBatchTokens) {
+                        carry = next;
+                        break;
+                    }
+                    batch.add(next);
+                    tokens += next.tokens();
+                }
+
+                inFlight.acquire();
+                send(batch);
+
+            } catch (InterruptedException ie) {
+                if (!running) break;
+            } catch (Throwable t) {
+                log.error("[EMBED][BATCH] dispatcher error: {}", t.toString(), t);
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            sender.execute(() -> {
+                try {
+                    List<String> texts = batch.stream().map(Pending::text).toList();
+                    List<float[]> vectors = loader.load(texts);
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).future().complete(vectors.get(i));
+                    }
+                } catch (Throwable t) {
+                    for (Pending p : batch) p.future().completeExceptionally(t);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            for (Pending p : batch) p.future().completeExceptionally(e);
+        }
+    }
+
+    /** 대기 중 요청은 처리 후 종료, 제한 시간 안에 못 끝낸 요청은 예외로 완료 */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join(Duration.ofSeconds(5));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher.interrupt();
+
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(30, TimeUnit.SECONDS)) sender.shutdownNow();
+        } catch (InterruptedException ie) {
+            sender.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        Pending p;
+        while ((p = queue.poll()) != null) {
+            p.future().completeExceptionally(new IllegalStateException("embedding batcher is closed"));
+        }
+    }
+
+    /** 토큰 수 보수적 추정(한글은 글자당 1토큰 이상이라 글자 수를 그대로 사용) */
+    static int estimateTokens(String text) {
+        return (text == null) ? 0 : Math.max(1, text.length());
+    }
+}
@@ -1,100 +1,485 @@
 package com.example.giftrecommender.vector;
 
+import com.example.giftrecommender.config.EmbeddingProps;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.openai.client.OpenAIClient;
 import com.openai.errors.RateLimitException;
+import com.openai.models.embeddings.Embedding;
 import com.openai.models.embeddings.EmbeddingCreateParams;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.net.SocketTimeoutException;
 import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
 public class EmbeddingService {
 
-    private static final String MODEL = "text-embedding-3-small"; // 1536 dim
-    private static final int EXPECTED_DIM = 1536;
+    private static final int MAX_INPUTS_PER_REQUEST = 256;
+    private static final Duration AWAIT_TIMEOUT = Duration.ofMinutes(2);
+    private static final int KEY_OVERHEAD_BYTES = 40;
 
     private final OpenAIClient client;
     private final boolean enabled;
 
-    private final Cache<String, List<Float>> cache = Caffeine.newBuilder()
-            .maximumSize(50_000)
-            .expireAfterWrite(Duration.ofHours(12))
-            .build();
+    /** 모델/차원(embedding.model, embedding.dimensions) */
+    private final String model;
+    private final int dimensions;
+    private final MeterRegistry meterRegistry;
+
+    /** 단건 embed 요청을 모아 보내는 마이크로 배처(embedding.batch.enabled=false면 null) */
+    private final EmbeddingMicroBatcher batcher;
+
+    /** 텍스트별 진행 중 로드(single-flight): 같은 텍스트는 동시에 한 번만 계산 */
+    private final ConcurrentHashMap<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+
+    /** 진행 중 로드에 합류한 횟수 / 실제 계산한 텍스트 수 */
+    private final Counter coalescedWaits;
+    private final Counter loads;
+
+    /** 계층별 hit/miss(L1=프로세스 캐시, L2=Redis) */
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    /** 캐시 저장 형식(float32 | float16 | int8) */
+    private final PackedVector.Encoding cacheEncoding;
+
+    /**
+     * L1: 텍스트 해시(sha256 hex) → 원시 배열
+     * - 상한은 엔트리 수가 아닌 바이트(weigher)로 제한
+     */
+    private final Cache<String, PackedVector> cache;
+
+    /** L2: Redis(비활성 또는 Redis 미구성 시 null) */
+    private final RedisEmbeddingStore l2;
+
+    private final EmbeddingProps.Snapshot snapshotProps;
 
     public EmbeddingService(
             OpenAIClient client,
+            MeterRegistry meterRegistry,
+            EmbeddingProps props,
+            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
             @Value("${openai.enabled:true}") boolean enabled
     ) {
         this.client = client;
+        this.meterRegistry = meterRegistry;
         this.enabled = enabled;
+        this.model = props.getModel();
+        this.dimensions = props.getDimensions();
+        this.coalescedWaits = Counter.builder("embedding.singleflight.coalesced")
+                .description("진행 중인 동일 텍스트 로드에 합류한 횟수")
+                .register(meterRegistry);
+        this.loads = Counter.builder("embedding.loads")
+                .description("실제로 임베딩을 계산한 텍스트 수")
+                .register(meterRegistry);
+        this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+
+        EmbeddingProps.Cache cacheProps = props.getCache();
+        this.cacheEncoding = parseEncoding(cacheProps.getEncoding());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheProps.getMaxBytes())
+                .weigher((String k, PackedVector v) -> v.weightBytes() + KEY_OVERHEAD_BYTES + k.length() * 2)
+                .expireAfterWrite(Duration.ofHours(12))
+                .build();
+
+        EmbeddingProps.Redis redisProps = props.getRedis();
+        StringRedisTemplate redisTemplate = (redisTemplateProvider == null) ? null : redisTemplateProvider.getIfAvailable();
+        this.l2 = (enabled && redisProps.isEnabled() && redisTemplate != null)
+                ? new RedisEmbeddingStore(redisTemplate, model, dimensions,
+                        parseEncoding(redisProps.getEncoding()), Duration.ofHours(redisProps.getTtlHours()))
+                : null;
+
+        this.snapshotProps = props.getSnapshot();
+
+        EmbeddingProps.Batch batchProps = props.getBatch();
+        this.batcher = (enabled && batchProps.isEnabled())
+                ? new EmbeddingMicroBatcher(this::loadMisses, Duration.ofMillis(batchProps.getWindowMs()),
+                        batchProps.getMaxSize(), batchProps.getMaxTokens(), batchProps.getMaxInFlight())
+                : null;
+    }
+
+    private static Counter tierCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("embedding.cache.requests")
+                .description("임베딩 캐시 계층별 조회 결과")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
     }
 
-    public List<Float> embed(String text) throws Exception {
+    private static PackedVector.Encoding parseEncoding(String raw) {
+        return PackedVector.Encoding.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** 이전 종료 시 저장한 스냅샷을 L1으로 적재(검증 실패/파일 없음이면 빈 캐시로 시작) */
+    @PostConstruct
+    void loadSnapshot() {
+        if (!snapshotProps.isEnabled()) return;
+        long t0 = System.nanoTime();
+        try {
+            int loaded = EmbeddingSnapshot.read(Path.of(snapshotProps.getPath()), model, dimensions,
+                    (hash, v) -> cache.put(hash, PackedVector.encode(v, cacheEncoding)));
+            log.info("[EMBED][SNAPSHOT] loaded={}, path={}, took={}ms", loaded, snapshotProps.getPath(), msSince(t0));
+        } catch (Exception e) {
+            log.warn("[EMBED][SNAPSHOT] load failed, start cold. path={}, err={}", snapshotProps.getPath(), e.toString());
+        }
+    }
+
+    /**
+     * graceful shutdown(요청 처리 종료) 이후 빈 소멸 시점 정리
+     * - 자주 쓰인 L1 항목 스냅샷 저장 → 마이크로 배처 종료 → Redis(L2) 연결 종료
+     */
+    @PreDestroy
+    void shutdown() {
+        saveSnapshot();
+        if (batcher != null) batcher.close();
+        if (l2 != null) l2.close();
+    }
+
+    private void saveSnapshot() {
+        if (!snapshotProps.isEnabled()) return;
+        long t0 = System.nanoTime();
+        try {
+            Map<String, PackedVector> hottest = cache.policy().eviction()
+                    .map(ev -> ev.hottest(snapshotProps.getMaxEntries()))
+                    .orElseGet(cache::asMap);
+
+            Map<String, float[]> entries = new LinkedHashMap<>(hottest.size() * 2);
+            hottest.forEach((hash, pv) -> entries.put(hash, pv.decode()));
+
+            int saved = EmbeddingSnapshot.write(Path.of(snapshotProps.getPath()), model, dimensions, entries);
+            log.info("[EMBED][SNAPSHOT] saved={}, path={}, took={}ms", saved, snapshotProps.getPath(), msSince(t0));
+        } catch (Exception e) {
+            log.warn("[EMBED][SNAPSHOT] save failed. path={}, err={}", snapshotProps.getPath(), e.toString());
+        }
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /** L1/L2 캐시 키: 모델/차원/텍스트의 sha256(hex). 긴 상품 텍스트도 키 크기가 일정 */
+    private String cacheKey(String text) {
+        return textHash(model + '\u0000' + dimensions + '\u0000' + text);
+    }
+
+    static String textHash(String text) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 진입점 L1 조회(계층 hit/miss 집계) */
+    private float[] l1Get(String text) {
+        PackedVector cached = cache.getIfPresent(cacheKey(text));
+        if (cached == null) {
+            l1Misses.increment();
+            return null;
+        }
+        l1Hits.increment();
+        return cached.decode();
+    }
+
+    /**
+     * 단건 임베딩
+     * - 반환 배열은 캐시와 공유될 수 있으므로 호출자는 수정하지 않는다
+     * - 같은 텍스트를 이미 로드 중인 호출이 있으면 새로 호출하지 않고 그 결과를 기다림(single-flight)
+     */
+    public float[] embed(String text) throws Exception {
         // 캐시 확인
-        List<Float> cached = cache.getIfPresent(text);
+        float[] cached = l1Get(text);
         if (cached != null) {
             log.debug("[EMBED][CACHE] hit textLen={}, firstChars='{}...'", text.length(), safeHead(text));
             return cached;
         }
 
-        long t0 = System.nanoTime();
-        List<Float> result;
+        CompletableFuture<float[]> mine = new CompletableFuture<>();
+        CompletableFuture<float[]> existing = inFlight.putIfAbsent(text, mine);
+        if (existing != null) {
+            coalescedWaits.increment();
+            log.debug("[EMBED][SINGLE_FLIGHT] join textLen={}, firstChars='{}...'", text.length(), safeHead(text));
+            return await(existing);
+        }
 
-        if (!enabled) {
-            result = dummyVector(EXPECTED_DIM, text);
-            cache.put(text, result);
-            log.info("[EMBED][DUMMY] enabled=false, textLen={}, took={}ms", text.length(), msSince(t0));
+        long t0 = System.nanoTime();
+        try {
+            float[] result = (batcher != null)
+                    ? await(batcher.submit(text))
+                    : loadMisses(List.of(text)).get(0);
+            mine.complete(result);
+            log.debug("[EMBED][OK] dim={}, batched={}, took={}ms", result.length, batcher != null, msSince(t0));
             return result;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(text, mine);
+        }
+    }
+
+    /**
+     * 호출 스레드를 막지 않는 단건 임베딩
+     * - 캐시 hit은 즉시 완료, 진행 중 로드가 있으면 그 future를 공유
+     * - 그 외에는 마이크로 배처에 합류(배처가 꺼져 있으면 호출 스레드에서 바로 계산)
+     */
+    public CompletableFuture<float[]> embedAsync(String text) {
+        float[] cached = l1Get(text);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<float[]> mine = new CompletableFuture<>();
+        CompletableFuture<float[]> existing = inFlight.putIfAbsent(text, mine);
+        if (existing != null) {
+            coalescedWaits.increment();
+            return existing;
+        }
+
+        CompletableFuture<float[]> source;
+        if (batcher != null) {
+            source = batcher.submit(text);
+        } else {
+            try {
+                source = CompletableFuture.completedFuture(loadMisses(List.of(text)).get(0));
+            } catch (Exception e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+        }
+
+        source.whenComplete((v, e) -> {
+            inFlight.remove(text, mine);
+            if (e == null) mine.complete(v);
+            else mine.completeExceptionally(e);
+        });
+        return mine;
+    }
+
+    /** 결과 대기: 원래 예외(RateLimitException 등)를 그대로 다시 던짐 */
+    private static float[] await(CompletableFuture<float[]> future) throws Exception {
+        try {
+            return future.get(AWAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            throw new IllegalStateException(cause);
         }
+    }
+
+    /**
+     * 여러 텍스트를 한 번에 임베딩(결과는 입력 순서와 동일)
+     * - 캐시 hit은 제외하고, 다른 호출이 로드 중인 텍스트는 그 결과를 기다림
+     * - 나머지(중복 제거)는 직접 로드: 자기 몫을 먼저 끝낸 뒤 남의 몫을 기다리므로 상호 대기가 생기지 않음
+     */
+    public List<float[]> embedAll(List<String> texts) throws Exception {
+        if (texts == null || texts.isEmpty()) return List.of();
+
+        Map<String, float[]> resolved = new HashMap<>();
+        Map<String, CompletableFuture<float[]>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<float[]>> waiting = new LinkedHashMap<>();
+
+        for (String text : texts) {
+            if (resolved.containsKey(text) || owned.containsKey(text) || waiting.containsKey(text)) continue;
+
+            float[] cached = l1Get(text);
+            if (cached != null) {
+                resolved.put(text, cached);
+                continue;
+            }
+
+            CompletableFuture<float[]> mine = new CompletableFuture<>();
+            CompletableFuture<float[]> existing = inFlight.putIfAbsent(text, mine);
+            if (existing != null) {
+                coalescedWaits.increment();
+                waiting.put(text, existing);
+            } else {
+                owned.put(text, mine);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            List<String> ownedTexts = new ArrayList<>(owned.keySet());
+            try {
+                List<float[]> vectors = loadMisses(ownedTexts);
+                for (int i = 0; i < ownedTexts.size(); i++) {
+                    resolved.put(ownedTexts.get(i), vectors.get(i));
+                    owned.get(ownedTexts.get(i)).complete(vectors.get(i));
+                }
+            } catch (Exception e) {
+                owned.values().forEach(f -> f.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<float[]>> e : waiting.entrySet()) {
+            resolved.put(e.getKey(), await(e.getValue()));
+        }
+
+        List<float[]> out = new ArrayList<>(texts.size());
+        for (String text : texts) out.add(resolved.get(text));
+        return out;
+    }
 
+    /**
+     * 실제 로드(single-flight 등록 없이): L1 재확인 → L2(Redis) MGET → OpenAI
+     * - 마이크로 배처의 로더이기도 하므로 inFlight를 건드리지 않음
+     * - 새로 계산한 벡터는 L1에 바로, L2에는 비동기로 저장
+     * - 입력 수가 많으면 MAX_INPUTS_PER_REQUEST 단위로 나눠 호출
+     */
+    private List<float[]> loadMisses(List<String> texts) throws Exception {
+        Map<String, float[]> resolved = new HashMap<>();
+        LinkedHashMap<String, String> misses = new LinkedHashMap<>(); // textHash → text
+        for (String text : texts) {
+            String key = cacheKey(text);
+            PackedVector cached = cache.getIfPresent(key);
+            if (cached != null) resolved.put(text, cached.decode());
+            else misses.putIfAbsent(key, text);
+        }
+
+        if (!misses.isEmpty() && l2 != null) {
+            Map<String, float[]> fromL2 = l2.getAll(misses.keySet());
+            l2Hits.increment(fromL2.size());
+            l2Misses.increment(misses.size() - fromL2.size());
+            for (Map.Entry<String, float[]> e : fromL2.entrySet()) {
+                cache.put(e.getKey(), PackedVector.encode(e.getValue(), cacheEncoding));
+                resolved.put(misses.remove(e.getKey()), e.getValue());
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long t0 = System.nanoTime();
+            List<Map.Entry<String, String>> missList = new ArrayList<>(misses.entrySet());
+            Map<String, float[]> computed = new HashMap<>();
+
+            for (int from = 0; from < missList.size(); from += MAX_INPUTS_PER_REQUEST) {
+                List<Map.Entry<String, String>> chunk =
+                        missList.subList(from, Math.min(from + MAX_INPUTS_PER_REQUEST, missList.size()));
+                List<String> chunkTexts = chunk.stream().map(Map.Entry::getValue).toList();
+                List<float[]> vectors = enabled
+                        ? requestEmbeddings(chunkTexts, dimensions)
+                        : chunkTexts.stream().map(t -> dummyVector(dimensions, t)).toList();
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    float[] v = vectors.get(i);
+                    cache.put(chunk.get(i).getKey(), PackedVector.encode(v, cacheEncoding));
+                    resolved.put(chunk.get(i).getValue(), v);
+                    computed.put(chunk.get(i).getKey(), v);
+                }
+                loads.increment(chunk.size());
+            }
+            if (l2 != null) l2.putAllAsync(computed);
+
+            log.debug("[EMBED][LOAD][OK] inputs={}, misses={}, dummy={}, took={}ms",
+                    texts.size(), misses.size(), !enabled, msSince(t0));
+        }
+
+        List<float[]> out = new ArrayList<>(texts.size());
+        for (String text : texts) out.add(resolved.get(text));
+        return out;
+    }
+
+    /**
+     * 지정 차원으로 일괄 임베딩(재색인/차원 비교용)
+     * - 서비스 차원과 같으면 embedAll(캐시 사용)과 동일
+     * - 다르면 캐시를 거치지 않고 직접 호출(서비스 캐시를 다른 차원 벡터로 채우지 않음)
+     */
+    public List<float[]> embedAll(List<String> texts, int dims) throws Exception {
+        if (dims == dimensions) return embedAll(texts);
+        if (texts == null || texts.isEmpty()) return List.of();
+
+        List<float[]> out = new ArrayList<>(texts.size());
+        for (int from = 0; from < texts.size(); from += MAX_INPUTS_PER_REQUEST) {
+            List<String> chunk = texts.subList(from, Math.min(from + MAX_INPUTS_PER_REQUEST, texts.size()));
+            if (enabled) out.addAll(requestEmbeddings(chunk, dims));
+            else chunk.forEach(t -> out.add(dummyVector(dims, t)));
+        }
+        return out;
+    }
+
+    /**
+     * OpenAI 임베딩 호출(재시도 포함)
+     * - inputs가 1개면 단일 input, 여러 개면 input 배열로 전송
+     * - 응답은 index 기준으로 입력 순서에 맞춰 정렬
+     */
+    private List<float[]> requestEmbeddings(List<String> inputs, int dims) throws Exception {
         int maxRetries = 3;
         int attempt = 0;
         Duration backoff = Duration.ofMillis(500);
+        String head = safeHead(inputs.get(0));
 
         while (true) {
             attempt++;
             try {
-                log.debug("[EMBED][CALL] model={}, textLen={}, attempt={}", MODEL, text.length(), attempt);
-
-                EmbeddingCreateParams params = EmbeddingCreateParams.builder()
-                        .model(MODEL)
-                        .input(text)
-                        .encodingFormat(EmbeddingCreateParams.EncodingFormat.FLOAT)
-                        .build();
-
-                result = client.embeddings()
-                        .create(params)
-                        .data()
-                        .get(0)
-                        .embedding();
-
-                if (result.size() != EXPECTED_DIM) {
-                    throw new IllegalStateException("Embedding size mismatch: expected=" +
-                            EXPECTED_DIM + ", actual=" + result.size());
+                log.debug("[EMBED][CALL] model={}, dims={}, inputs={}, attempt={}", model, dims, inputs.size(), attempt);
+
+                EmbeddingCreateParams.Builder builder = EmbeddingCreateParams.builder()
+                        .model(model)
+                        .dimensions(dims)
+                        .encodingFormat(EmbeddingCreateParams.EncodingFormat.FLOAT);
+                if (inputs.size() == 1) builder.input(inputs.get(0));
+                else builder.inputOfArrayOfStrings(inputs);
+
+                List<Embedding> data = client.embeddings()
+                        .create(builder.build())
+                        .data();
+                recordRequest(inputs.size());
+
+                if (data.size() != inputs.size()) {
+                    throw new IllegalStateException("Embedding count mismatch: expected=" +
+                            inputs.size() + ", actual=" + data.size());
                 }
 
-                cache.put(text, new ArrayList<>(result));
-                log.debug("[EMBED][OK] dim={}, took={}ms, attempt={}", result.size(), msSince(t0), attempt);
-                return result;
+                float[][] out = new float[inputs.size()][];
+                for (Embedding e : data) {
+                    List<Float> v = e.embedding();
+                    if (v.size() != dims) {
+                        throw new IllegalStateException("Embedding size mismatch: expected=" +
+                                dims + ", actual=" + v.size());
+                    }
+                    out[(int) e.index()] = toFloatArray(v);
+                }
+                return Arrays.asList(out);
 
             } catch (RateLimitException e) {
                 // 429 전용 처리
                 log.warn("[EMBED][RETRY] RateLimit attempt={}/{}, backoff={}ms, msg={}",
                         attempt, maxRetries, backoff.toMillis(), e.getMessage());
                 if (attempt >= maxRetries) {
-                    log.error("[EMBED][FAIL] permanently failed (rate limit) after {} attempts, head={}",
-                            attempt, safeHead(text));
+                    log.error("[EMBED][FAIL] permanently failed (rate limit) after {} attempts, inputs={}, head={}",
+                            attempt, inputs.size(), head);
                     throw e;
                 }
                 sleep(backoff);
@@ -108,8 +493,8 @@ public class EmbeddingService {
                         attempt, maxRetries, backoff.toMillis(), e.getMessage());
 
                 if (attempt >= maxRetries) {
-                    log.error("[EMBED][FAIL] permanently failed after {} attempts, head={}",
-                            attempt, safeHead(text));
+                    log.error("[EMBED][FAIL] permanently failed after {} attempts, inputs={}, head={}",
+                            attempt, inputs.size(), head);
                     throw e;
                 }
                 sleep(backoff);
@@ -118,6 +503,15 @@ public class EmbeddingService {
         }
     }
 
+    /** OpenAI 호출 수와 호출당 입력 수(배치 효과 확인용) */
+    private void recordRequest(int inputs) {
+        meterRegistry.counter("embedding.openai.requests").increment();
+        DistributionSummary.builder("embedding.openai.inputs_per_request")
+                .description("OpenAI 임베딩 호출당 입력 수")
+                .register(meterRegistry)
+                .record(inputs);
+    }
+
     /** e 혹은 cause 체인에 타임아웃성 예외가 있는지 판별 */
     private static boolean isTimeoutLike(Throwable e) {
         for (Throwable t = e; t != null; t = t.getCause()) {
@@ -145,13 +539,19 @@ public class EmbeddingService {
         return (System.nanoTime() - t0) / 1_000_000;
     }
 
-    private static List<Float> dummyVector(int dim, String seed) {
-        List<Float> v = new ArrayList<>(dim);
+    /** SDK 응답(List<Float>)은 여기서 한 번만 언박싱 */
+    private static float[] toFloatArray(List<Float> list) {
+        float[] arr = new float[list.size()];
+        for (int i = 0; i < arr.length; i++) arr[i] = list.get(i);
+        return arr;
+    }
+
+    private static float[] dummyVector(int dim, String seed) {
+        float[] v = new float[dim];
         int h = seed.hashCode();
         for (int i = 0; i < dim; i++) {
             h = 31 * h + i;
-            float val = (h % 1000) / 1000.0f;
-            v.add(val);
+            v[i] = (h % 1000) / 1000.0f;
         }
         return v;
     }
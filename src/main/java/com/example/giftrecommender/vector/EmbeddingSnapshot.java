@@ -0,0 +1,134 @@
+package com.example.giftrecommender.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 임베딩 캐시 스냅샷 파일(리틀엔디언)
+ * - 헤더: magic "EMBS" | version(4) | modelLen(2) + model(UTF-8) | dim(4) | count(4)
+ * - 엔트리: textHash(sha256 32B) | float32 × dim
+ * - 쓰기는 임시 파일에 기록 후 원자적 이동, 읽기는 mmap 후 헤더/길이 검증
+ */
+@Slf4j
+final class EmbeddingSnapshot {
+
+    private static final int MAGIC = 0x534D4245; // "EMBS" (LE)
+    private static final int VERSION = 1;
+    private static final int HASH_BYTES = 32;
+
+    private EmbeddingSnapshot() {}
+
+    /** entries: textHash(hex) → vector, 차원이 다른 항목은 건너뜀 */
+    static int write(Path path, String model, int dim, Map<String, float[]> entries) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+
+        int count = (int) entries.values().stream().filter(v -> v != null && v.length == dim).count();
+        byte[] modelBytes = model.getBytes(StandardCharsets.UTF_8);
+        HexFormat hex = HexFormat.of();
+
+        try (OutputStream os = Files.newOutputStream(tmp, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+
+            ByteBuffer header = ByteBuffer.allocate(4 + 4 + 2 + modelBytes.length + 4 + 4).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putShort((short) modelBytes.length).put(modelBytes)
+                    .putInt(dim).putInt(count);
+            out.write(header.array());
+
+            ByteBuffer entry = ByteBuffer.allocate(HASH_BYTES + dim * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int written = 0;
+            for (Map.Entry<String, float[]> e : entries.entrySet()) {
+                float[] v = e.getValue();
+                if (v == null || v.length != dim || written >= count) continue;
+                byte[] hash = hex.parseHex(e.getKey());
+                if (hash.length != HASH_BYTES) continue;
+
+                entry.clear();
+                entry.put(hash);
+                entry.asFloatBuffer().put(v);
+                out.write(entry.array());
+                written++;
+            }
+            // 해시 형식이 잘못된 항목이 있었다면 헤더 count와 맞지 않으므로 폐기
+            if (written != count) {
+                throw new IOException("snapshot entry count mismatch: header=" + count + ", written=" + written);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * 모델/차원/길이가 모두 맞을 때만 sink로 전달
+     * @return 읽은 항목 수(파일 없음/검증 실패 시 0)
+     */
+    static int read(Path path, String model, int dim, BiConsumer<String, float[]> sink) throws IOException {
+        if (!Files.isRegularFile(path)) return 0;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 16) {
+                log.warn("[EMBED][SNAPSHOT] too small, ignored. path={}, size={}", path, size);
+                return 0;
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                log.warn("[EMBED][SNAPSHOT] bad magic/version, ignored. path={}", path);
+                return 0;
+            }
+            int modelLen = Short.toUnsignedInt(buf.getShort());
+            if (modelLen > buf.remaining()) return 0;
+            byte[] modelBytes = new byte[modelLen];
+            buf.get(modelBytes);
+            String fileModel = new String(modelBytes, StandardCharsets.UTF_8);
+            int fileDim = buf.getInt();
+            int count = buf.getInt();
+
+            if (!model.equals(fileModel) || fileDim != dim) {
+                log.warn("[EMBED][SNAPSHOT] model/dim mismatch, ignored. file={}/{}, expected={}/{}",
+                        fileModel, fileDim, model, dim);
+                return 0;
+            }
+            long entryBytes = HASH_BYTES + (long) dim * Float.BYTES;
+            if (count < 0 || buf.remaining() != count * entryBytes) {
+                log.warn("[EMBED][SNAPSHOT] length mismatch, ignored. count={}, remaining={}", count, buf.remaining());
+                return 0;
+            }
+
+            HexFormat hex = HexFormat.of();
+            byte[] hash = new byte[HASH_BYTES];
+            for (int i = 0; i < count; i++) {
+                buf.get(hash);
+                float[] v = new float[dim];
+                buf.asFloatBuffer().get(v);
+                buf.position(buf.position() + dim * Float.BYTES);
+                sink.accept(hex.formatHex(hash), v);
+            }
+            return count;
+        }
+    }
+}
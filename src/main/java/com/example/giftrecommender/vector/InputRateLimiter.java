@@ -0,0 +1,31 @@
+package com.example.giftrecommender.vector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분당 입력 수 제한(임베딩 일괄 작업용)
+ * - 호출 전에 입력 수만큼 예약하고, 예약 시각까지 대기
+ * - 여러 워커가 공유해도 전체 속도가 permitsPerMinute를 넘지 않음
+ */
+final class InputRateLimiter {
+
+    private final double nanosPerPermit;
+    private long nextFreeNanos;
+
+    InputRateLimiter(int permitsPerMinute) {
+        this.nanosPerPermit = TimeUnit.MINUTES.toNanos(1) / (double) Math.max(1, permitsPerMinute);
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    void acquire(int permits) throws InterruptedException {
+        long wait = reserve(permits, System.nanoTime());
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /** permits를 예약하고 now 기준 대기해야 할 시간(ns) 반환 */
+    synchronized long reserve(int permits, long now) {
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + (long) (Math.max(0, permits) * nanosPerPermit);
+        return start - now;
+    }
+}
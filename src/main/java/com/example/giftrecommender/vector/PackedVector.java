@@ -0,0 +1,151 @@
+package com.example.giftrecommender.vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 임베딩 캐시 저장 형식(박싱 없는 원시 배열)
+ * - FLOAT32: float[] 그대로 보관(디코딩 시 복사 없음)
+ * - FLOAT16: 반정밀도 short[](Float.floatToFloat16), 메모리 1/2
+ * - INT8: 벡터별 대칭 스케일(max|x|/127) byte[], 메모리 1/4
+ */
+final class PackedVector {
+
+    enum Encoding { FLOAT32, FLOAT16, INT8 }
+
+    /** 배열 헤더 + 객체 헤더/필드 근사치 */
+    private static final int OVERHEAD_BYTES = 48;
+
+    /** toBytes 헤더: encoding(1) + dim(4) + scale(4) */
+    private static final int HEADER_BYTES = 9;
+
+    private final Encoding encoding;
+    private final float[] f32;
+    private final short[] f16;
+    private final byte[] i8;
+    private final float scale;
+
+    private PackedVector(Encoding encoding, float[] f32, short[] f16, byte[] i8, float scale) {
+        this.encoding = encoding;
+        this.f32 = f32;
+        this.f16 = f16;
+        this.i8 = i8;
+        this.scale = scale;
+    }
+
+    static PackedVector encode(float[] v, Encoding encoding) {
+        switch (encoding) {
+            case FLOAT16 -> {
+                short[] out = new short[v.length];
+                for (int i = 0; i < v.length; i++) out[i] = Float.floatToFloat16(v[i]);
+                return new PackedVector(encoding, null, out, null, 0f);
+            }
+            case INT8 -> {
+                float maxAbs = 0f;
+                for (float x : v) maxAbs = Math.max(maxAbs, Math.abs(x));
+                float scale = (maxAbs == 0f) ? 1f : maxAbs / 127f;
+                byte[] out = new byte[v.length];
+                for (int i = 0; i < v.length; i++) {
+                    out[i] = (byte) Math.max(-127, Math.min(127, Math.round(v[i] / scale)));
+                }
+                return new PackedVector(encoding, null, null, out, scale);
+            }
+            default -> {
+                return new PackedVector(Encoding.FLOAT32, v, null, null, 0f);
+            }
+        }
+    }
+
+    /** FLOAT32는 보관 배열을 그대로 반환하므로 호출자는 수정하지 않는다 */
+    float[] decode() {
+        switch (encoding) {
+            case FLOAT16 -> {
+                float[] out = new float[f16.length];
+                for (int i = 0; i < f16.length; i++) out[i] = Float.float16ToFloat(f16[i]);
+                return out;
+            }
+            case INT8 -> {
+                float[] out = new float[i8.length];
+                for (int i = 0; i < i8.length; i++) out[i] = i8[i] * scale;
+                return out;
+            }
+            default -> {
+                return f32;
+            }
+        }
+    }
+
+    int dimension() {
+        return switch (encoding) {
+            case FLOAT16 -> f16.length;
+            case INT8 -> i8.length;
+            default -> f32.length;
+        };
+    }
+
+    /**
+     * 외부 저장용 바이너리(리틀엔디언)
+     * [encoding 1B][dim 4B][scale 4B][payload]
+     */
+    byte[] toBytes() {
+        int dim = dimension();
+        int payload = switch (encoding) {
+            case FLOAT16 -> dim * Short.BYTES;
+            case INT8 -> dim;
+            default -> dim * Float.BYTES;
+        };
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + payload).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put((byte) encoding.ordinal()).putInt(dim).putFloat(scale);
+        switch (encoding) {
+            case FLOAT16 -> buf.asShortBuffer().put(f16);
+            case INT8 -> buf.put(i8);
+            default -> buf.asFloatBuffer().put(f32);
+        }
+        return buf.array();
+    }
+
+    /** 형식/길이가 맞지 않으면 null */
+    static PackedVector fromBytes(byte[] bytes, int expectedDim) {
+        if (bytes == null || bytes.length < HEADER_BYTES) return null;
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int ord = buf.get();
+        int dim = buf.getInt();
+        float scale = buf.getFloat();
+        if (ord < 0 || ord >= Encoding.values().length || dim != expectedDim) return null;
+
+        Encoding enc = Encoding.values()[ord];
+        int width = switch (enc) {
+            case FLOAT16 -> Short.BYTES;
+            case INT8 -> 1;
+            default -> Float.BYTES;
+        };
+        if (bytes.length != HEADER_BYTES + dim * width) return null;
+
+        return switch (enc) {
+            case FLOAT16 -> {
+                short[] out = new short[dim];
+                buf.asShortBuffer().get(out);
+                yield new PackedVector(enc, null, out, null, 0f);
+            }
+            case INT8 -> {
+                byte[] out = new byte[dim];
+                buf.get(out);
+                yield new PackedVector(enc, null, null, out, scale);
+            }
+            default -> {
+                float[] out = new float[dim];
+                buf.asFloatBuffer().get(out);
+                yield new PackedVector(enc, out, null, null, 0f);
+            }
+        };
+    }
+
+    /** Caffeine weigher용 근사 바이트 수(키 문자열 제외) */
+    int weightBytes() {
+        return OVERHEAD_BYTES + switch (encoding) {
+            case FLOAT16 -> f16.length * Short.BYTES;
+            case INT8 -> i8.length;
+            default -> f32.length * Float.BYTES;
+        };
+    }
+}
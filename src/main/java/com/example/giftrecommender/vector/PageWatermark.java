@@ -0,0 +1,51 @@
+package com.example.giftrecommender.vector;
+
+import java.util.TreeMap;
+
+/**
+ * 병렬 처리 페이지의 연속 완료 지점
+ * - 페이지는 읽은 순서(seq)대로 등록되고 완료 순서는 제각각
+ * - 앞선 페이지가 모두 끝난 마지막 id(와 그때까지의 건수)만 체크포인트로 인정(재시작 시 빈 구간이 없도록)
+ */
+final class PageWatermark {
+
+    /** 연속 완료 지점 */
+    record Mark(long lastId, long scanned, long upserted) {}
+
+    private record PageResult(long lastId, long scanned, long upserted) {}
+
+    private final TreeMap<Long, PageResult> pending = new TreeMap<>();
+    private final TreeMap<Long, PageResult> done = new TreeMap<>();
+    private long nextSeq;
+    private Mark mark;
+
+    PageWatermark(Mark start) {
+        this.mark = start;
+    }
+
+    /** 페이지 등록 후 seq 반환 */
+    synchronized long register(long pageLastId, long scanned) {
+        long seq = nextSeq++;
+        pending.put(seq, new PageResult(pageLastId, scanned, 0));
+        return seq;
+    }
+
+    /** 페이지 완료, 연속 완료 지점이 앞으로 가면 true */
+    synchronized boolean complete(long seq, long upserted) {
+        PageResult page = pending.remove(seq);
+        if (page == null) return false;
+        done.put(seq, new PageResult(page.lastId(), page.scanned(), upserted));
+
+        boolean advanced = false;
+        while (!done.isEmpty() && (pending.isEmpty() || done.firstKey() < pending.firstKey())) {
+            PageResult r = done.pollFirstEntry().getValue();
+            mark = new Mark(r.lastId(), mark.scanned() + r.scanned(), mark.upserted() + r.upserted());
+            advanced = true;
+        }
+        return advanced;
+    }
+
+    synchronized Mark mark() {
+        return mark;
+    }
+}
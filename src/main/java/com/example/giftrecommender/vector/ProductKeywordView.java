@@ -0,0 +1,6 @@
+package com.example.giftrecommender.vector;
+
+public interface ProductKeywordView {
+    Long getId();
+    String getKeyword();
+}
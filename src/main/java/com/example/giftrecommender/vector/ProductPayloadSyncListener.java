@@ -0,0 +1,33 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.vector.event.ProductAttributesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class ProductPayloadSyncListener {
+
+    private final QdrantPayloadSyncService payloadSyncService;
+
+    /**
+     * 성별/연령/컨펌 변경을 커밋 후 Qdrant payload에 반영
+     * - 청크 호출은 전용 풀에서 실행되므로 요청 스레드는 제출만 하고 반환
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttributesChanged(ProductAttributesChangedEvent event) {
+        try {
+            payloadSyncService.setPayloadAsync(event.productIds(),
+                    QdrantPayloadSyncService.attributePayload(event.gender(), event.age(), event.isConfirmed()));
+        } catch (Exception e) {
+            log.error("[VECTOR][AFTER_COMMIT] payload sync submit failed - ids={}",
+                    event.productIds() == null ? 0 : event.productIds().size(), e);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.giftrecommender.vector;
 
 import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.enums.Age;
+import com.example.giftrecommender.domain.enums.Gender;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.grpc.JsonWithInt;
 import io.qdrant.client.grpc.Points;
@@ -9,10 +13,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -23,9 +26,19 @@ public class ProductVectorService {
     private final QdrantClient qdrant;
     private final EmbeddingService embeddingService;
     private final QdrantProps qdrantProps;
+    private final VectorCollectionVersions collectionVersions;
+    private final MeterRegistry meterRegistry;
 
-    private static List<Float> toFloatList(List<Float> src) {
-        return new ArrayList<>(src);
+    /** 일괄 업서트 1회 요청당 포인트 수 */
+    private static final int UPSERT_CHUNK = 256;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** 원시 float[]를 그대로 proto 벡터로(박싱 리스트 생성 없음) */
+    private static Points.Vector toVector(float[] src) {
+        Points.Vector.Builder b = Points.Vector.newBuilder();
+        for (float f : src) b.addData(f);
+        return b.build();
     }
 
     /** 문자열 리스트 → JsonWithInt.ListValue 변환 (payload 배열용) */
@@ -42,18 +55,248 @@ public class ProductVectorService {
         return JsonWithInt.Value.newBuilder().setListValue(list.build()).build();
     }
 
+    /** 벡터 스토어 업서트 단위(임베딩 텍스트와 payload의 원본, gender/age/isConfirmed는 검색 필터용) */
+    public record VectorDocument(Long productId,
+                                 String title,
+                                 long price,
+                                 String category,
+                                 String shortDescription,
+                                 List<String> keywords,
+                                 Gender gender,
+                                 Age age,
+                                 Boolean isConfirmed) {
+
+        /** 표시명(없으면 원본명)을 제목으로 사용, 제목이 없으면 null(동기화 대상 아님) */
+        public static VectorDocument from(CrawlingProduct product) {
+            if (product == null) return null;
+            return from(product, product.getKeywords());
+        }
+
+        /** 키워드를 따로 조회한 경우(트랜잭션 밖에서 지연 로딩 컬렉션을 건드리지 않도록) */
+        public static VectorDocument from(CrawlingProduct product, List<String> productKeywords) {
+            if (product == null || product.getId() == null) return null;
+
+            String title = product.getDisplayName();
+            if (title == null || title.isBlank()) title = product.getOriginalName();
+            if (title == null || title.isBlank()) return null;
+
+            long price = (product.getPrice() != null) ? product.getPrice().longValue() : 0L;
+            List<String> keywords = (productKeywords == null) ? null : new ArrayList<>(productKeywords);
+
+            return new VectorDocument(product.getId(), title, price,
+                    product.getCategory(), product.getShortDescription(), keywords,
+                    product.getGender(), product.getAge(), product.getIsConfirmed());
+        }
+    }
+
     public void upsertProduct(Long productId,
                               String title,
                               long price,
                               String category,
                               String shortDescription,
                               List<String> keywords) throws Exception {
+        upsertProduct(new VectorDocument(productId, title, price, category, shortDescription, keywords,
+                null, null, null));
+    }
+
+    public void upsertProduct(VectorDocument doc) throws Exception {
+        Long productId = doc.productId();
+        String textForEmbedding = embeddingText(doc);
+        if (textForEmbedding.isEmpty()) {
+            log.warn("[VECTOR] upsert skip - no text to embed. productId={}", productId);
+            return;
+        }
+
+        float[] vec = embeddingService.embed(textForEmbedding);
+
+        List<Points.PointStruct> points = List.of(toPoint(doc, vec));
+        upsertPoints(points);
+        dualWrite(points);
+    }
+
+    /**
+     * 여러 상품 일괄 업서트
+     * - 임베딩: embedAll 1회(캐시 miss만 OpenAI 호출)
+     * - 업서트: UPSERT_CHUNK 단위로 UpsertPoints 요청
+     * @return 실제 업서트된 문서 수(임베딩할 텍스트가 없는 문서는 제외)
+     */
+    public int upsertProducts(List<VectorDocument> docs) throws Exception {
+        List<Points.PointStruct> points = toPoints(docs, embeddingService.dimensions());
+        upsertChunks(qdrantProps.getCollection(), points);
+        dualWrite(points);
+        return points.size();
+    }
+
+    /** 임베딩 입력 텍스트와 payload의 sha256(hex), 저장된 값과 비교해 재임베딩 여부 결정 */
+    public record ContentHash(String text, String payload) {
+
+        /** 임베딩할 텍스트가 없으면 null */
+        public static ContentHash of(VectorDocument doc) {
+            String text = embeddingText(doc);
+            if (text.isEmpty()) return null;
+
+            StringBuilder canonical = new StringBuilder();
+            new TreeMap<>(ProductVectorService.payload(doc)).forEach((k, v) -> canonical.append(k).append('=').append(v).append('\n'));
+            return new ContentHash(EmbeddingService.textHash(text), EmbeddingService.textHash(canonical.toString()));
+        }
+    }
+
+    public enum SyncAction { SKIPPED, PAYLOAD_ONLY, EMBEDDED }
+
+    /** 텍스트가 바뀌었으면(또는 기록이 없으면) 재임베딩, payload만 바뀌었으면 payload 교체, 둘 다 같으면 스킵 */
+    static SyncAction decide(ContentHash current, ContentHash stored) {
+        if (stored == null || !Objects.equals(current.text(), stored.text())) return SyncAction.EMBEDDED;
+        if (!Objects.equals(current.payload(), stored.payload())) return SyncAction.PAYLOAD_ONLY;
+        return SyncAction.SKIPPED;
+    }
+
+    /**
+     * 저장된 해시와 비교해 바뀐 부분만 반영하는 일괄 업서트
+     * - 텍스트가 같으면 OpenAI를 호출하지 않고 payload만 교체(포인트가 없어 실패하면 재임베딩으로 전환)
+     * @param stored 상품 id → 현재 포인트에 반영된 해시(임베딩된 적 없으면 없음)
+     * @return 이번에 반영한 상품의 새 해시(스킵한 상품 제외)
+     */
+    public Map<Long, ContentHash> upsertChanged(List<VectorDocument> docs, Map<Long, ContentHash> stored) throws Exception {
+        Map<Long, ContentHash> written = new LinkedHashMap<>();
+        if (docs == null || docs.isEmpty()) return written;
+
+        Map<Long, ContentHash> hashes = new HashMap<>();
+        List<VectorDocument> embed = new ArrayList<>();
+        List<VectorDocument> payloadOnly = new ArrayList<>();
+        int skipped = 0;
+        for (VectorDocument doc : docs) {
+            ContentHash current = ContentHash.of(doc);
+            if (current == null) {
+                log.warn("[VECTOR] upsert skip - no text to embed. productId={}", doc.productId());
+                continue;
+            }
+            hashes.put(doc.productId(), current);
+            switch (decide(current, stored.get(doc.productId()))) {
+                case EMBEDDED -> embed.add(doc);
+                case PAYLOAD_ONLY -> payloadOnly.add(doc);
+                case SKIPPED -> skipped++;
+            }
+        }
+
+        if (!payloadOnly.isEmpty()) {
+            try {
+                overwritePayloads(qdrantProps.getCollection(), payloadOnly);
+                dualWritePayloads(payloadOnly);
+                payloadOnly.forEach(doc -> written.put(doc.productId(), hashes.get(doc.productId())));
+            } catch (Exception e) {
+                log.warn("[VECTOR] payload-only update failed, re-embedding instead. count={}, err={}",
+                        payloadOnly.size(), e.toString());
+                embed.addAll(payloadOnly);
+                payloadOnly.clear();
+            }
+        }
+
+        if (!embed.isEmpty()) {
+            upsertProducts(embed);
+            embed.forEach(doc -> written.put(doc.productId(), hashes.get(doc.productId())));
+        }
+
+        meterRegistry.counter("vector.upsert.products", "result", "skipped").increment(skipped);
+        meterRegistry.counter("vector.upsert.products", "result", "payload_only").increment(payloadOnly.size());
+        meterRegistry.counter("vector.upsert.products", "result", "embedded").increment(embed.size());
+        log.info("[VECTOR] hash upsert - embedded={}, payloadOnly={}, skipped={}", embed.size(), payloadOnly.size(), skipped);
+        return written;
+    }
+
+    /** 벡터는 그대로 두고 payload 전체를 교체(UpdateBatch 1회에 포인트별 OverwritePayload) */
+    private void overwritePayloads(String collection, List<VectorDocument> docs) throws Exception {
+        for (int from = 0; from < docs.size(); from += UPSERT_CHUNK) {
+            List<Points.PointsUpdateOperation> ops = new ArrayList<>();
+            for (VectorDocument doc : docs.subList(from, Math.min(from + UPSERT_CHUNK, docs.size()))) {
+                ops.add(Points.PointsUpdateOperation.newBuilder()
+                        .setOverwritePayload(Points.PointsUpdateOperation.OverwritePayload.newBuilder()
+                                .putAllPayload(payload(doc))
+                                .setPointsSelector(Points.PointsSelector.newBuilder()
+                                        .setPoints(Points.PointsIdsList.newBuilder()
+                                                .addIds(Points.PointId.newBuilder().setNum(doc.productId())))))
+                        .build());
+            }
+            qdrant.batchUpdateAsync(collection, ops).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void dualWritePayloads(List<VectorDocument> docs) {
+        String shadow = collectionVersions.dualWriteCollection();
+        if (shadow == null) return;
+        try {
+            overwritePayloads(shadow, docs);
+        } catch (Exception e) {
+            log.warn("[VECTOR] dual-write payload failed - collection={}, count={}, err={}", shadow, docs.size(), e.toString());
+        }
+    }
+
+    /**
+     * 지정 컬렉션/차원으로 일괄 업서트(재색인용)
+     * - dims가 서비스 차원과 다르면 임베딩 캐시를 거치지 않음
+     */
+    public int upsertProducts(String collection, List<VectorDocument> docs, int dims) throws Exception {
+        List<Points.PointStruct> points = toPoints(docs, dims);
+        upsertChunks(collection, points);
+        return points.size();
+    }
+
+    /** 임베딩할 텍스트가 있는 문서만 embedAll 1회로 벡터화해 포인트로 */
+    private List<Points.PointStruct> toPoints(List<VectorDocument> docs, int dims) throws Exception {
+        if (docs == null || docs.isEmpty()) return List.of();
+
+        List<VectorDocument> targets = new ArrayList<>(docs.size());
+        List<String> texts = new ArrayList<>(docs.size());
+        for (VectorDocument doc : docs) {
+            String text = embeddingText(doc);
+            if (text.isEmpty()) {
+                log.warn("[VECTOR] upsert skip - no text to embed. productId={}", doc.productId());
+                continue;
+            }
+            targets.add(doc);
+            texts.add(text);
+        }
+        if (targets.isEmpty()) return List.of();
+
+        List<float[]> vectors = embeddingService.embedAll(texts, dims);
+
+        List<Points.PointStruct> points = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            points.add(toPoint(targets.get(i), vectors.get(i)));
+        }
+        return points;
+    }
+
+    private void upsertChunks(String collection, List<Points.PointStruct> points) throws Exception {
+        if (points.isEmpty()) return;
+        for (int from = 0; from < points.size(); from += UPSERT_CHUNK) {
+            upsertPoints(collection, points.subList(from, Math.min(from + UPSERT_CHUNK, points.size())));
+        }
+        log.info("[VECTOR] bulk upsert ok - collection={}, count={}", collection, points.size());
+    }
+
+    /**
+     * 재색인 중이면 새 버전 컬렉션에도 같은 포인트 업서트(같은 차원이므로 벡터 재사용)
+     * - 실패해도 원래 쓰기는 성공으로 두고 경고만 남김(재색인 스캔이 뒤에서 다시 채움)
+     */
+    private void dualWrite(List<Points.PointStruct> points) {
+        String shadow = collectionVersions.dualWriteCollection();
+        if (shadow == null || points.isEmpty()) return;
+        try {
+            upsertChunks(shadow, points);
+        } catch (Exception e) {
+            log.warn("[VECTOR] dual-write failed - collection={}, count={}, err={}", shadow, points.size(), e.toString());
+        }
+    }
+
+    /** 제목 + 키워드 + 카테고리 + 짧은 설명 */
+    private static String embeddingText(VectorDocument doc) {
         StringBuilder sb = new StringBuilder();
 
-        if (title != null && !title.isBlank()) {
-            sb.append(title.trim());
+        if (doc.title() != null && !doc.title().isBlank()) {
+            sb.append(doc.title().trim());
         }
 
+        List<String> keywords = doc.keywords();
         if (keywords != null && !keywords.isEmpty()) {
             sb.append(" ");
             sb.append(
@@ -67,48 +310,53 @@ public class ProductVectorService {
             );
         }
 
-        if (category != null && !category.isBlank()) {
-            sb.append(" ").append(category.trim());
+        if (doc.category() != null && !doc.category().isBlank()) {
+            sb.append(" ").append(doc.category().trim());
         }
 
-        if (shortDescription != null && !shortDescription.isBlank()) {
-            sb.append(" ").append(shortDescription.trim());
-        }
-
-        String textForEmbedding = sb.toString().trim();
-        if (textForEmbedding.isEmpty()) {
-            log.warn("[VECTOR] upsert skip - no text to embed. productId={}", productId);
-            return;
+        if (doc.shortDescription() != null && !doc.shortDescription().isBlank()) {
+            sb.append(" ").append(doc.shortDescription().trim());
         }
 
-        List<Float> vec = embeddingService.embed(textForEmbedding);
+        // 공백만 다른 텍스트는 같은 입력으로(임베딩 캐시/해시 공유)
+        return WHITESPACE.matcher(sb.toString().trim()).replaceAll(" ");
+    }
 
-        Points.PointStruct.Builder point = Points.PointStruct.newBuilder()
-                .setId(Points.PointId.newBuilder().setNum(productId))
+    private static Points.PointStruct toPoint(VectorDocument doc, float[] vec) {
+        return Points.PointStruct.newBuilder()
+                .setId(Points.PointId.newBuilder().setNum(doc.productId()))
                 .setVectors(
                         Points.Vectors.newBuilder()
-                                .setVector(
-                                        Points.Vector.newBuilder()
-                                                .addAllData(toFloatList(vec))
-                                                .build()
-                                )
+                                .setVector(toVector(vec))
                                 .build()
                 )
-                .putPayload("productId", JsonWithInt.Value.newBuilder().setIntegerValue(productId).build())
-                .putPayload("title", JsonWithInt.Value.newBuilder().setStringValue(title).build())
-                .putPayload("price", JsonWithInt.Value.newBuilder().setIntegerValue(price).build());
+                .putAllPayload(payload(doc))
+                .build();
+    }
+
+    /** 포인트 payload(업서트/payload 교체/해시 공용) */
+    private static Map<String, JsonWithInt.Value> payload(VectorDocument doc) {
+        Long productId = doc.productId();
+        String category = doc.category();
+        String shortDescription = doc.shortDescription();
+
+        Map<String, JsonWithInt.Value> payload = new LinkedHashMap<>();
+        payload.put("productId", JsonWithInt.Value.newBuilder().setIntegerValue(productId).build());
+        payload.put("title", JsonWithInt.Value.newBuilder().setStringValue(doc.title()).build());
+        payload.put("price", JsonWithInt.Value.newBuilder().setIntegerValue(doc.price()).build());
 
         if (category != null && !category.isBlank()) {
-            point.putPayload("category", JsonWithInt.Value.newBuilder().setStringValue(category).build());
+            payload.put("category", JsonWithInt.Value.newBuilder().setStringValue(category).build());
         }
 
         if (shortDescription != null && !shortDescription.isBlank()) {
-            point.putPayload(
+            payload.put(
                     "shortDescription",
                     JsonWithInt.Value.newBuilder().setStringValue(shortDescription.trim()).build()
             );
         }
 
+        List<String> keywords = doc.keywords();
         List<String> normalized = (keywords == null) ? List.of()
                 : keywords.stream()
                 .filter(Objects::nonNull)
@@ -118,15 +366,36 @@ public class ProductVectorService {
                 .toList();
 
         if (!normalized.isEmpty()) {
-            point.putPayload("keywords", toStringArrayValue(normalized));
+            payload.put("keywords", toStringArrayValue(normalized));
         }
 
-        Points.UpsertPoints upsert = Points.UpsertPoints.newBuilder()
-                .setCollectionName(qdrantProps.getCollection())
-                .addPoints(point.build())
+        // 검색 필터용(payload 인덱스 대상)
+        if (doc.gender() != null) {
+            payload.put("gender", JsonWithInt.Value.newBuilder().setStringValue(doc.gender().name()).build());
+        }
+        if (doc.age() != null) {
+            payload.put("age", JsonWithInt.Value.newBuilder().setStringValue(doc.age().name()).build());
+        }
+        if (doc.isConfirmed() != null) {
+            payload.put("isConfirmed", JsonWithInt.Value.newBuilder().setBoolValue(doc.isConfirmed()).build());
+        }
+
+        return payload;
+    }
+
+    private static Points.UpsertPoints upsertRequest(String collection, List<Points.PointStruct> points) {
+        return Points.UpsertPoints.newBuilder()
+                .setCollectionName(collection)
+                .addAllPoints(points)
                 .build();
+    }
 
-        qdrant.upsertAsync(upsert).get(10, TimeUnit.SECONDS);
+    private void upsertPoints(List<Points.PointStruct> points) throws Exception {
+        upsertPoints(qdrantProps.getCollection(), points);
+    }
+
+    private void upsertPoints(String collection, List<Points.PointStruct> points) throws Exception {
+        qdrant.upsertAsync(upsertRequest(collection, points)).get(10, TimeUnit.SECONDS);
     }
 
     /*
@@ -137,26 +406,39 @@ public class ProductVectorService {
             log.warn("[VECTOR] delete skip - productId is null");
             return;
         }
+        deleteProducts(List.of(productId));
+    }
 
-        Points.PointId pid = Points.PointId.newBuilder()
-                .setNum(productId)
-                .build();
-
-        Points.PointsIdsList idsList = Points.PointsIdsList.newBuilder()
-                .addIds(pid)
-                .build();
+    /**
+     * 여러 상품 벡터를 DeletePoints 1회로 삭제
+     * - 재색인 중인 새 버전에서도 삭제(이미 스캔이 지나간 상품이 남지 않도록)
+     */
+    public void deleteProducts(Collection<Long> productIds) throws Exception {
+        if (productIds == null || productIds.isEmpty()) return;
 
-        Points.PointsSelector selector = Points.PointsSelector.newBuilder()
-                .setPoints(idsList)
-                .build();
+        Points.PointsIdsList.Builder idsList = Points.PointsIdsList.newBuilder();
+        for (Long id : productIds) {
+            if (id != null) idsList.addIds(Points.PointId.newBuilder().setNum(id));
+        }
+        if (idsList.getIdsCount() == 0) return;
 
         Points.DeletePoints delete = Points.DeletePoints.newBuilder()
                 .setCollectionName(qdrantProps.getCollection())
-                .setPoints(selector)
+                .setPoints(Points.PointsSelector.newBuilder().setPoints(idsList))
                 .build();
 
         qdrant.deleteAsync(delete).get(10, TimeUnit.SECONDS);
-        log.info("[VECTOR] delete ok - productId={}", productId);
+        log.info("[VECTOR] delete ok - count={}", idsList.getIdsCount());
+
+        String shadow = collectionVersions.dualWriteCollection();
+        if (shadow != null) {
+            try {
+                qdrant.deleteAsync(delete.toBuilder().setCollectionName(shadow).build()).get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("[VECTOR] dual-write delete failed - collection={}, count={}, err={}",
+                        shadow, idsList.getIdsCount(), e.toString());
+            }
+        }
     }
 
 
@@ -6,6 +6,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class ProductVectorStatusService {
@@ -19,4 +21,14 @@ public class ProductVectorStatusService {
             throw new IllegalStateException("Vector flag update failed. id=" + productId);
         }
     }
+
+    /** 포인트에 반영한 해시와 함께 일괄 마킹(그 사이 삭제된 상품은 건너뜀) */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int markEmbedded(Map<Long, ProductVectorService.ContentHash> hashes) {
+        int updated = 0;
+        for (Map.Entry<Long, ProductVectorService.ContentHash> e : hashes.entrySet()) {
+            updated += crawlingProductRepository.markEmbedded(e.getKey(), e.getValue().text(), e.getValue().payload());
+        }
+        return updated;
+    }
 }
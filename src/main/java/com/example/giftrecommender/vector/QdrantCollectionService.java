@@ -0,0 +1,224 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Collections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Qdrant 컬렉션 생성/조회(gRPC)
+ * - 기동 시 기본 컬렉션 생성과 재색인 대상 컬렉션 생성에 공통으로 사용
+ * - HNSW/양자화/payload 저장 설정은 생성 시에만 적용(기존 컬렉션을 바꾸려면 새 컬렉션으로 재색인)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class QdrantCollectionService {
+
+    private static final long TIMEOUT_SECONDS = 20L;
+
+    /** 검색 필터에 쓰는 payload 필드와 인덱스 타입 */
+    private static final Map<String, Collections.PayloadSchemaType> PAYLOAD_INDEXES = new LinkedHashMap<>();
+    static {
+        PAYLOAD_INDEXES.put("price", Collections.PayloadSchemaType.Integer);
+        PAYLOAD_INDEXES.put("gender", Collections.PayloadSchemaType.Keyword);
+        PAYLOAD_INDEXES.put("age", Collections.PayloadSchemaType.Keyword);
+        PAYLOAD_INDEXES.put("category", Collections.PayloadSchemaType.Keyword);
+        PAYLOAD_INDEXES.put("isConfirmed", Collections.PayloadSchemaType.Bool);
+    }
+
+    private final QdrantClient qdrant;
+    private final QdrantProps qdrantProps;
+
+    /**
+     * 컬렉션 인덱스/저장 설정(null이면 서버 기본값)
+     * @param quantization none | int8
+     */
+    public record IndexSettings(Integer m,
+                                Integer efConstruct,
+                                Boolean onDiskPayload,
+                                String quantization,
+                                Float quantile,
+                                Boolean quantizationAlwaysRam) {
+
+        public static IndexSettings from(QdrantProps.Index index) {
+            return new IndexSettings(index.getM(), index.getEfConstruct(), index.getOnDiskPayload(),
+                    index.getQuantization(), index.getQuantile(), index.getQuantizationAlwaysRam());
+        }
+
+        /** 요청 값이 있으면 덮어쓴 설정 */
+        public IndexSettings override(Integer m, Integer efConstruct, Boolean onDiskPayload, String quantization) {
+            return new IndexSettings(
+                    m != null ? m : this.m,
+                    efConstruct != null ? efConstruct : this.efConstruct,
+                    onDiskPayload != null ? onDiskPayload : this.onDiskPayload,
+                    quantization != null ? quantization : this.quantization,
+                    quantile, quantizationAlwaysRam);
+        }
+
+        public boolean int8() {
+            return "int8".equalsIgnoreCase(quantization);
+        }
+    }
+
+    /** qdrant.index 설정값 */
+    public IndexSettings configuredSettings() {
+        return IndexSettings.from(qdrantProps.getIndex());
+    }
+
+    /** qdrant.index 설정으로 컬렉션 보장 */
+    public boolean ensureCollection(String name, int dims) throws Exception {
+        return ensureCollection(name, dims, configuredSettings());
+    }
+
+    /**
+     * 컬렉션이 없으면 Cosine/dims/settings로 생성하고 payload 인덱스 보장
+     * - 이미 있으면 생성하지 않고, 벡터 차원이 다르면 경고만 남김(데이터 보존)
+     * @return 새로 만들었으면 true
+     */
+    public boolean ensureCollection(String name, int dims, IndexSettings settings) throws Exception {
+        boolean created = createIfAbsent(name, dims, settings);
+        ensurePayloadIndexes(name);
+        return created;
+    }
+
+    /**
+     * 필터 필드 payload 인덱스 생성(이미 같은 타입이면 Qdrant가 그대로 둠)
+     * - 필터 조건이 HNSW 탐색 중에 적용되도록 함
+     */
+    public void ensurePayloadIndexes(String name) throws Exception {
+        for (Map.Entry<String, Collections.PayloadSchemaType> e : PAYLOAD_INDEXES.entrySet()) {
+            qdrant.createPayloadIndexAsync(name, e.getKey(), e.getValue(), null, true, null, null)
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        log.info("[QDRANT][COLLECTION] payload indexes ready. name={}, fields={}", name, PAYLOAD_INDEXES.keySet());
+    }
+
+    private boolean createIfAbsent(String name, int dims, IndexSettings settings) throws Exception {
+        Collections.VectorParams vectorParams = Collections.VectorParams.newBuilder()
+                .setSize(dims)
+                .setDistance(Collections.Distance.Cosine)
+                .build();
+
+        Collections.CreateCollection.Builder createReq = Collections.CreateCollection.newBuilder()
+                .setCollectionName(name)
+                .setVectorsConfig(Collections.VectorsConfig.newBuilder().setParams(vectorParams).build());
+
+        Collections.HnswConfigDiff.Builder hnsw = Collections.HnswConfigDiff.newBuilder();
+        if (settings.m() != null) hnsw.setM(settings.m());
+        if (settings.efConstruct() != null) hnsw.setEfConstruct(settings.efConstruct());
+        if (hnsw.hasM() || hnsw.hasEfConstruct()) createReq.setHnswConfig(hnsw);
+
+        if (settings.onDiskPayload() != null) createReq.setOnDiskPayload(settings.onDiskPayload());
+
+        if (settings.int8()) {
+            Collections.ScalarQuantization.Builder scalar = Collections.ScalarQuantization.newBuilder()
+                    .setType(Collections.QuantizationType.Int8);
+            if (settings.quantile() != null) scalar.setQuantile(settings.quantile());
+            if (settings.quantizationAlwaysRam() != null) scalar.setAlwaysRam(settings.quantizationAlwaysRam());
+            createReq.setQuantizationConfig(Collections.QuantizationConfig.newBuilder().setScalar(scalar));
+        }
+
+        try {
+            qdrant.createCollectionAsync(createReq.build()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.info("[QDRANT][COLLECTION] created. name={}, dims={}, settings={}", name, dims, settings);
+            return true;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof StatusRuntimeException sre
+                    && sre.getStatus().getCode() == Status.Code.ALREADY_EXISTS) {
+                long existing = vectorSize(name);
+                if (existing != dims) {
+                    log.warn("[QDRANT][COLLECTION] dimension mismatch. name={}, existing={}, configured={} " +
+                            "(reindex into a new collection to switch)", name, existing, dims);
+                } else {
+                    log.info("[QDRANT][COLLECTION] already exists. name={}, dims={}", name, dims);
+                }
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    /** 단일(이름 없는) 벡터 설정의 차원, 확인할 수 없으면 -1 */
+    public long vectorSize(String name) throws Exception {
+        Collections.CollectionInfo info = qdrant.getCollectionInfoAsync(name).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Collections.VectorsConfig config = info.getConfig().getParams().getVectorsConfig();
+        return config.hasParams() ? config.getParams().getSize() : -1L;
+    }
+
+    /** 컬렉션에 실제 적용된 인덱스/저장 설정(서버 기본값 포함) */
+    public IndexSettings indexSettings(String name) throws Exception {
+        Collections.CollectionConfig config = qdrant.getCollectionInfoAsync(name)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .getConfig();
+        Collections.HnswConfigDiff hnsw = config.getHnswConfig();
+        Collections.QuantizationConfig quantization = config.getQuantizationConfig();
+        boolean scalar = config.hasQuantizationConfig() && quantization.hasScalar();
+
+        return new IndexSettings(
+                hnsw.hasM() ? (int) hnsw.getM() : null,
+                hnsw.hasEfConstruct() ? (int) hnsw.getEfConstruct() : null,
+                config.getParams().getOnDiskPayload(),
+                scalar ? "int8" : "none",
+                scalar && quantization.getScalar().hasQuantile() ? quantization.getScalar().getQuantile() : null,
+                scalar && quantization.getScalar().hasAlwaysRam() ? quantization.getScalar().getAlwaysRam() : null);
+    }
+
+    /** 컬렉션의 포인트 수(근사치) */
+    public long pointCount(String name) throws Exception {
+        Collections.CollectionInfo info = qdrant.getCollectionInfoAsync(name).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return info.getPointsCount();
+    }
+
+    /** 전체 컬렉션 이름(alias 제외) */
+    public List<String> collectionNames() throws Exception {
+        return qdrant.listCollectionsAsync().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** alias가 가리키는 컬렉션, alias가 없으면 empty */
+    public Optional<String> aliasTarget(String alias) throws Exception {
+        return qdrant.listAliasesAsync().get(TIMEOUT_SECONDS, TimeUnit.SECONDS).stream()
+                .filter(a -> a.getAliasName().equals(alias))
+                .map(Collections.AliasDescription::getCollectionName)
+                .findFirst();
+    }
+
+    /**
+     * alias를 collection으로 전환
+     * - 기존 alias 삭제와 새 alias 생성을 한 번의 update_aliases로 보내 원자적으로 바뀜
+     */
+    public void switchAlias(String alias, String collection) throws Exception {
+        List<Collections.AliasOperations> ops = new ArrayList<>(2);
+        if (aliasTarget(alias).isPresent()) {
+            ops.add(Collections.AliasOperations.newBuilder()
+                    .setDeleteAlias(Collections.DeleteAlias.newBuilder().setAliasName(alias))
+                    .build());
+        }
+        ops.add(Collections.AliasOperations.newBuilder()
+                .setCreateAlias(Collections.CreateAlias.newBuilder()
+                        .setAliasName(alias)
+                        .setCollectionName(collection))
+                .build());
+        qdrant.updateAliasesAsync(ops).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        log.info("[QDRANT][ALIAS] switched. alias={}, collection={}", alias, collection);
+    }
+
+    public void deleteCollection(String name) throws Exception {
+        qdrant.deleteCollectionAsync(name).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        log.info("[QDRANT][COLLECTION] deleted. name={}", name);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import io.qdrant.client.ConditionFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Points;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC(protobuf) 검색 구현
+ * - REST 구현과 같은 필터/threshold/limit/검색 파라미터 의미(가격 범위, score_threshold, limit=topK, id만 반환)
+ * - 쿼리 벡터를 텍스트 JSON 대신 packed float로 전송
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class QdrantGrpcVectorProductSearch implements VectorProductSearch {
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private final QdrantClient qdrant;
+    private final EmbeddingService embeddingService;
+    private final QdrantProps qdrantProps;
+
+    @Override
+    public List<ScoredId> searchWithScores(String query,
+                                           int minPrice, int maxPrice,
+                                           String age, String gender,
+                                           int topK, double threshold) {
+        return searchOne(new Query(query, minPrice, maxPrice, age, gender, topK, threshold));
+    }
+
+    private List<ScoredId> searchOne(Query q) {
+        String query = q.text();
+        float[] embedded;
+        try {
+            embedded = embeddingService.embed(query);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        try {
+            log.debug("[QDRANT][GRPC][SEARCH][CALL] q='{}', limit={}, threshold={}", query, q.topK(), q.threshold());
+
+            List<Points.ScoredPoint> points = qdrant
+                    .searchAsync(buildRequest(embedded, q))
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            return toScoredIds(query, points, q.topK(), q.threshold());
+
+        } catch (Exception e) {
+            log.error("[QDRANT][GRPC][SEARCH][FAIL] q='{}' err={}", query, e.toString(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /** 여러 쿼리를 SearchBatch 한 번으로 검색(실패 시 전체 빈 결과) */
+    @Override
+    public List<List<ScoredId>> searchBatch(List<Query> queries) {
+        if (queries == null || queries.isEmpty()) return List.of();
+        if (queries.size() == 1) {
+            return List.of(searchOne(queries.get(0)));
+        }
+
+        List<float[]> embedded;
+        try {
+            embedded = embeddingService.embedAll(queries.stream().map(Query::text).toList());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        List<Points.SearchPoints> searches = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            Query q = queries.get(i);
+            searches.add(buildRequest(embedded.get(i), q));
+        }
+
+        try {
+            log.debug("[QDRANT][GRPC][SEARCH][BATCH][CALL] queries={}", queries.size());
+
+            List<Points.BatchResult> results = qdrant
+                    .searchBatchAsync(qdrantProps.getCollection(), searches, null)
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            List<List<ScoredId>> out = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                Query q = queries.get(i);
+                List<Points.ScoredPoint> points = i < results.size() ? results.get(i).getResultList() : List.of();
+                out.add(toScoredIds(q.text(), points, q.topK(), q.threshold()));
+            }
+            return out;
+
+        } catch (Exception e) {
+            log.error("[QDRANT][GRPC][SEARCH][BATCH][FAIL] queries={} err={}", queries.size(), e.toString(), e);
+            return queries.stream().map(q -> Collections.<ScoredId>emptyList()).collect(Collectors.toList());
+        }
+    }
+
+    private Points.SearchPoints buildRequest(float[] vector, Query q) {
+        Points.SearchPoints.Builder req = Points.SearchPoints.newBuilder()
+                .setCollectionName(qdrantProps.getCollection())
+                .setLimit(Math.max(1, q.topK()))
+                .setWithPayload(Points.WithPayloadSelector.newBuilder().setEnable(false))
+                .setWithVectors(Points.WithVectorsSelector.newBuilder().setEnable(false));
+        for (float f : vector) req.addVector(f);
+
+        Points.Filter.Builder filter = Points.Filter.newBuilder();
+
+        // 가격 필터 구성
+        if (q.minPrice() > 0 || q.maxPrice() > 0) {
+            Points.Range.Builder range = Points.Range.newBuilder();
+            if (q.minPrice() > 0) range.setGte(q.minPrice());
+            if (q.maxPrice() > 0) range.setLte(q.maxPrice());
+            filter.addMust(ConditionFactory.range("price", range.build()));
+        }
+
+        // 성별/연령: 다른 값으로 지정된 상품만 제외
+        List<String> genders = SearchFilters.excludedGenders(q.gender());
+        if (!genders.isEmpty()) filter.addMustNot(ConditionFactory.matchKeywords("gender", genders));
+        List<String> ages = SearchFilters.excludedAges(q.age());
+        if (!ages.isEmpty()) filter.addMustNot(ConditionFactory.matchKeywords("age", ages));
+
+        // 컨펌 여부: true는 컨펌 상품만, false는 컨펌 상품 제외
+        if (Boolean.TRUE.equals(q.isConfirmed())) {
+            filter.addMust(ConditionFactory.match("isConfirmed", true));
+        } else if (Boolean.FALSE.equals(q.isConfirmed())) {
+            filter.addMustNot(ConditionFactory.match("isConfirmed", true));
+        }
+
+        if (filter.getMustCount() > 0 || filter.getMustNotCount() > 0) req.setFilter(filter);
+        if (q.threshold() > 0) req.setScoreThreshold((float) q.threshold());
+
+        Points.SearchParams params = SearchTuning.from(qdrantProps.getSearch()).toGrpcParams();
+        if (params != null) req.setParams(params);
+        return req.build();
+    }
+
+    private List<ScoredId> toScoredIds(String query, List<Points.ScoredPoint> points, int topK, double threshold) {
+        LinkedHashMap<Long, Double> ordered = new LinkedHashMap<>();
+        for (Points.ScoredPoint p : points) {
+            // 포인트 id = 상품 id
+            if (!p.getId().hasNum()) continue;
+            long pid = p.getId().getNum();
+
+            // Cosine score = 유사도(float 경계값 보정용으로 한 번 더 확인)
+            double similarity = p.getScore();
+            if (similarity < threshold - 1e-6 || ordered.containsKey(pid)) continue;
+            ordered.put(pid, similarity);
+        }
+
+        log.debug("[QDRANT][GRPC][SEARCH][OK] q='{}', hits={} (after threshold={})", query, ordered.size(), threshold);
+
+        return ordered.entrySet().stream()
+                .limit(topK)
+                .map(e -> new ScoredId(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,60 +1,234 @@
 package com.example.giftrecommender.vector;
 
+import com.example.giftrecommender.config.QdrantProps;
 import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.ValueFactory;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * keywords/category/shortDescription payload 일괄 반영
+ * - id 기준 keyset 청크마다 payload 컬럼 1회 + 키워드 1회 조회
+ * - payload가 같은 포인트끼리 묶어 set_payload 1회(최대 SET_PAYLOAD_IDS개씩)
+ * - gRPC 비동기 호출을 MAX_IN_FLIGHT개까지 동시에 보내고, 청크가 모두 성공하면 Redis에 체크포인트 기록
+ * - 실패가 있는 청크에서 멈추고 체크포인트는 그 직전 청크에 남겨 resume 시 실패 청크부터 다시 보냄(set_payload는 멱등)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
 public class QdrantKeywordBackfillService {
 
+    private static final int CHUNK_SIZE = 1000;
+    private static final int SET_PAYLOAD_IDS = 500;
+    private static final int MAX_IN_FLIGHT = 8;
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(30);
+    private static final String CHECKPOINT_KEY = "vector:backfill:keywords:checkpoint";
+
     private final CrawlingProductRepository crawlingProductRepository;
-    private final QdrantAdminClient qdrantAdminClient;
+    private final QdrantClient qdrant;
+    private final QdrantProps qdrantProps;
+    private final VectorCollectionVersions collectionVersions;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
 
-    public void backfillKeywordsToQdrant() {
-        List<BackfillIdView> rows = crawlingProductRepository.findAllIdsForQdrantKeywordBackfill();
-        log.info("[BACKFILL] candidates={}", rows.size());
+    /**
+     * @param scanned 읽은 상품 수
+     * @param groups  보낸 set_payload 요청 수
+     * @param ok      반영한 포인트 수
+     * @param fail    실패한 포인트 수(0보다 크면 실패 청크에서 중단된 것)
+     * @param lastId  마지막으로 모두 성공한 청크의 상품 id(체크포인트)
+     */
+    public record Result(long scanned, long groups, long ok, long fail, long lastId) {}
 
-        int ok = 0;
-        int fail = 0;
-        int skip = 0;
+    /** payload가 같은 포인트 묶음의 키 */
+    record Payload(List<String> keywords, String category, String shortDescription) {}
 
-        for (BackfillIdView v : rows) {
-            Long pointId = toQdrantPointId(v.getVectorPointId(), v.getId());
+    /** 처음부터 실행 */
+    public Result backfillKeywordsToQdrant() {
+        return backfillKeywordsToQdrant(false);
+    }
+
+    /**
+     * @param resume true면 마지막 체크포인트 다음 id부터 실행
+     */
+    public Result backfillKeywordsToQdrant(boolean resume) {
+        long lastId = resume ? loadCheckpoint() : 0L;
+        log.info("[BACKFILL] start. fromId={}, resume={}", lastId, resume);
+
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        AtomicLong ok = new AtomicLong();
+        AtomicLong fail = new AtomicLong();
+        long scanned = 0;
+        long groups = 0;
+
+        while (true) {
+            List<BackfillRowView> rows =
+                    crawlingProductRepository.findKeywordBackfillChunk(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (rows.isEmpty()) break;
+
+            Map<Payload, List<Long>> grouped = groupByPayload(rows, keywordsOf(rows));
+
+            long failBefore = fail.get();
+            List<CompletableFuture<Void>> calls = new ArrayList<>();
+            for (Map.Entry<Payload, List<Long>> e : grouped.entrySet()) {
+                Map<String, JsonWithInt.Value> payload = toPayload(e.getKey());
+                List<Long> pointIds = e.getValue();
+                for (int from = 0; from < pointIds.size(); from += SET_PAYLOAD_IDS) {
+                    List<Long> ids = pointIds.subList(from, Math.min(from + SET_PAYLOAD_IDS, pointIds.size()));
+                    calls.add(setPayload(payload, ids, inFlight, ok, fail));
+                    groups++;
+                }
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+            scanned += rows.size();
+            if (fail.get() > failBefore) {
+                log.warn("[BACKFILL][STOP] chunk failed, checkpoint kept. checkpointId={}, chunkLastId={}, fail={}",
+                        lastId, rows.get(rows.size() - 1).getId(), fail.get() - failBefore);
+                saveCheckpoint(lastId);
+                break;
+            }
+            lastId = rows.get(rows.size() - 1).getId();
+            saveCheckpoint(lastId);
+            log.info("[BACKFILL][CHUNK] rows={}, payloadGroups={}, lastId={}", rows.size(), grouped.size(), lastId);
+        }
+
+        if (fail.get() == 0) clearCheckpoint();
+        Result result = new Result(scanned, groups, ok.get(), fail.get(), lastId);
+        log.info("[BACKFILL][DONE] scanned={}, requests={}, success={}, fail={}",
+                result.scanned(), result.groups(), result.ok(), result.fail());
+        return result;
+    }
 
+    /** 청크 상품들의 키워드(조회 순서 유지) */
+    private Map<Long, List<String>> keywordsOf(List<BackfillRowView> rows) {
+        List<Long> ids = rows.stream().map(BackfillIdView::getId).toList();
+        Map<Long, List<String>> keywords = new HashMap<>();
+        for (ProductKeywordView v : crawlingProductRepository.findKeywordsByIdIn(ids)) {
+            keywords.computeIfAbsent(v.getId(), k -> new ArrayList<>()).add(v.getKeyword());
+        }
+        return keywords;
+    }
+
+    /** 같은 payload(정규화 키워드/카테고리/짧은 설명)인 포인트 id끼리 묶음 */
+    static Map<Payload, List<Long>> groupByPayload(List<BackfillRowView> rows, Map<Long, List<String>> keywords) {
+        Map<Payload, List<Long>> grouped = new LinkedHashMap<>();
+        for (BackfillRowView v : rows) {
+            Long pointId = toQdrantPointId(v.getVectorPointId(), v.getId());
             if (pointId == null) {
-                skip++;
                 log.warn("[BACKFILL][SKIP] id={}, pointId=null", v.getId());
                 continue;
             }
 
-            // 키워드 조회 & 정규화
-            List<String> keywords = crawlingProductRepository.findKeywordsById(v.getId());
-            List<String> normalized = normalizeKeywords(keywords);
+            String shortDescription = v.getShortDescription();
+            Payload payload = new Payload(
+                    normalizeKeywords(keywords.get(v.getId())),
+                    v.getCategory(),
+                    (shortDescription == null || shortDescription.isBlank()) ? null : shortDescription);
+            grouped.computeIfAbsent(payload, k -> new ArrayList<>()).add(pointId);
+        }
+        return grouped;
+    }
+
+    /** keywords/category는 항상, shortDescription은 있을 때만(기존 REST set_payload와 같은 형식) */
+    private static Map<String, JsonWithInt.Value> toPayload(Payload p) {
+        Map<String, JsonWithInt.Value> payload = new LinkedHashMap<>();
+        payload.put("keywords", ValueFactory.list(p.keywords().stream().map(ValueFactory::value).toList()));
+        payload.put("category", p.category() == null ? ValueFactory.nullValue() : ValueFactory.value(p.category()));
+        if (p.shortDescription() != null) payload.put("shortDescription", ValueFactory.value(p.shortDescription()));
+        return payload;
+    }
 
-            // 카테고리 조회
-            String category = crawlingProductRepository.findCategoryById(v.getId());
+    /** 동시 호출 수를 넘으면 대기 후 비동기 set_payload(재색인 중이면 새 버전 컬렉션에도) */
+    private CompletableFuture<Void> setPayload(Map<String, JsonWithInt.Value> payload, List<Long> ids,
+                                               Semaphore inFlight, AtomicLong ok, AtomicLong fail) {
+        List<Points.PointId> pointIds = ids.stream().map(PointIdFactory::id).toList();
+        List<String> collections = new ArrayList<>(2);
+        collections.add(qdrantProps.getCollection());
+        String shadow = collectionVersions.dualWriteCollection();
+        if (shadow != null) collections.add(shadow);
 
-            // 짧은 설명 조회
-            String shortDescription = crawlingProductRepository.findShortDescriptionById(v.getId());
+        List<CompletableFuture<Void>> calls = new ArrayList<>(collections.size());
+        for (String collection : collections) {
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<Void> call = new CompletableFuture<>();
+            var future = qdrant.setPayloadAsync(collection, payload, pointIds, true, null, CALL_TIMEOUT);
+            future.addListener(() -> {
+                try {
+                    future.get();
+                    call.complete(null);
+                } catch (Exception e) {
+                    call.completeExceptionally(e);
+                } finally {
+                    inFlight.release();
+                }
+            }, Runnable::run);
+            calls.add(call);
+        }
 
-            try {
-                qdrantAdminClient.setPayloadForPoint(pointId, normalized, category, shortDescription);
-                ok++;
-            } catch (Exception e) {
-                fail++;
-                log.error("[BACKFILL][FAIL] id={}, pointId={}, err={}", v.getId(), pointId, e.toString(), e);
+        // 기본 컬렉션 결과로 성공/실패 집계(새 버전 실패는 경고만), 청크 판정 전에 집계가 끝나도록 집계 future를 기다림
+        calls.set(0, calls.get(0).whenComplete((r, e) -> {
+            if (e == null) {
+                ok.addAndGet(ids.size());
+            } else {
+                fail.addAndGet(ids.size());
+                log.error("[BACKFILL][FAIL] pointIds={}..{}, size={}, err={}",
+                        ids.get(0), ids.get(ids.size() - 1), ids.size(), e.toString());
             }
+        }));
+        for (int i = 1; i < calls.size(); i++) {
+            calls.get(i).whenComplete((r, e) -> {
+                if (e != null) log.warn("[BACKFILL][DUAL-WRITE][FAIL] collection={}, size={}, err={}",
+                        shadow, ids.size(), e.toString());
+            });
         }
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .handle((r, e) -> null);
+    }
+
+    /* ===================== 체크포인트(Redis) ===================== */
+
+    private long loadCheckpoint() {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return 0L;
+        String value = redis.opsForValue().get(CHECKPOINT_KEY);
+        return value == null ? 0L : Long.parseLong(value);
+    }
 
-        log.info("[BACKFILL][DONE] success={}, fail={}, skip={}", ok, fail, skip);
+    private void saveCheckpoint(long lastId) {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForValue().set(CHECKPOINT_KEY, String.valueOf(lastId));
+        } catch (Exception e) {
+            log.warn("[BACKFILL] checkpoint save failed. lastId={}, err={}", lastId, e.toString());
+        }
+    }
+
+    private void clearCheckpoint() {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.delete(CHECKPOINT_KEY);
+        } catch (Exception e) {
+            log.warn("[BACKFILL] checkpoint clear failed. err={}", e.toString());
+        }
     }
 
     /**
@@ -62,14 +236,14 @@ public class QdrantKeywordBackfillService {
      * - vectorPointId가 존재하면 Long 그대로 사용
      * - 없으면 DB id(Long) 사용 (초기 업서트가 DB id를 포인트로 쓴 경우)
      */
-    private Long toQdrantPointId(Long vectorPointId, Long dbId) {
+    private static Long toQdrantPointId(Long vectorPointId, Long dbId) {
         if (vectorPointId != null) {
             return vectorPointId;
         }
         return (dbId != null) ? dbId : null;
     }
 
-    private List<String> normalizeKeywords(List<String> keywords) {
+    private static List<String> normalizeKeywords(List<String> keywords) {
         if (keywords == null || keywords.isEmpty()) {
             return List.of();
         }
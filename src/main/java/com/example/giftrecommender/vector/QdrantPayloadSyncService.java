@@ -0,0 +1,187 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.ValueFactory;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * 여러 포인트 payload 일괄 갱신(set_payload)
+ * - id를 id % LANES로 레인에 나누고 레인 안에서 PAYLOAD_CHUNK 단위로 청크당 1회 호출(포인트 id = 상품 id)
+ * - 레인은 단일 스레드 FIFO라 같은 id에 대한 연속 변경은 제출 순서대로 반영, 레인끼리는 병렬
+ * - 실패했거나 레인 큐가 가득 차 버린 청크는 vector_outbox에 UPSERT로 기록
+ *   (배출기가 현재 DB 상태로 payload만 교체하므로 순서와 무관하게 최종 값으로 수렴)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class QdrantPayloadSyncService {
+
+    private static final int PAYLOAD_CHUNK = 500;
+    private static final int LANES = 4;
+    private static final int MAX_QUEUED_PER_LANE = 250;
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(10);
+
+    private final QdrantClient qdrant;
+    private final QdrantProps qdrantProps;
+    private final VectorCollectionVersions collectionVersions;
+    private final VectorOutboxWriter outboxWriter;
+    private final TransactionTemplate tx;
+
+    private final Counter okChunks;
+    private final Counter failedChunks;
+    private final Counter rejectedChunks;
+    private final Counter requeuedProducts;
+
+    private final List<ThreadPoolExecutor> lanes = new ArrayList<>(LANES);
+
+    public QdrantPayloadSyncService(QdrantClient qdrant, QdrantProps qdrantProps,
+                                    VectorCollectionVersions collectionVersions,
+                                    VectorOutboxWriter outboxWriter, TransactionTemplate tx,
+                                    MeterRegistry meterRegistry) {
+        this.qdrant = qdrant;
+        this.qdrantProps = qdrantProps;
+        this.collectionVersions = collectionVersions;
+        this.outboxWriter = outboxWriter;
+        this.tx = tx;
+        this.okChunks = meterRegistry.counter("vector.payload_sync.chunks", "result", "ok");
+        this.failedChunks = meterRegistry.counter("vector.payload_sync.chunks", "result", "fail");
+        this.rejectedChunks = meterRegistry.counter("vector.payload_sync.chunks", "result", "rejected");
+        this.requeuedProducts = meterRegistry.counter("vector.payload_sync.requeued_products");
+
+        for (int i = 0; i < LANES; i++) {
+            String name = "qdrant-payload-sync-" + i;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(
+                    1, 1, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_PER_LANE),
+                    r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            lane.allowCoreThreadTimeOut(true);
+            lanes.add(lane);
+        }
+    }
+
+    /** 같은 id는 항상 같은 레인 */
+    static int laneOf(long id) {
+        return (int) Math.floorMod(id, (long) LANES);
+    }
+
+    /**
+     * ids 전체에 같은 payload 값을 비동기로 반영
+     * @return 모든 청크가 끝나면 완료되는 future(실패 청크가 있어도 정상 완료, 실패분은 outbox로 재시도)
+     */
+    public CompletableFuture<Void> setPayloadAsync(List<Long> ids, Map<String, JsonWithInt.Value> payload) {
+        if (ids == null || ids.isEmpty() || payload == null || payload.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<List<Long>> byLane = new ArrayList<>(LANES);
+        for (int i = 0; i < LANES; i++) byLane.add(new ArrayList<>());
+        ids.stream().filter(Objects::nonNull).distinct().forEach(id -> byLane.get(laneOf(id)).add(id));
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        int total = 0;
+        for (int lane = 0; lane < LANES; lane++) {
+            List<Long> laneIds = byLane.get(lane);
+            total += laneIds.size();
+            for (int from = 0; from < laneIds.size(); from += PAYLOAD_CHUNK) {
+                List<Long> chunk = laneIds.subList(from, Math.min(from + PAYLOAD_CHUNK, laneIds.size()));
+                try {
+                    chunks.add(CompletableFuture.runAsync(() -> setPayload(chunk, payload), lanes.get(lane)));
+                } catch (RejectedExecutionException e) {
+                    rejectedChunks.increment();
+                    log.warn("[QDRANT][SET-PAYLOAD][REJECTED] lane queue full, requeue via outbox. lane={}, size={}",
+                            lane, chunk.size());
+                    requeue(chunk);
+                }
+            }
+        }
+        log.info("[QDRANT][SET-PAYLOAD] submitted. ids={}, chunks={}, fields={}",
+                total, chunks.size(), payload.keySet());
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new));
+    }
+
+    /** enum/boolean 속성 → payload 값(검색 필터와 같은 형식) */
+    public static Map<String, JsonWithInt.Value> attributePayload(Enum<?> gender, Enum<?> age, Boolean isConfirmed) {
+        Map<String, JsonWithInt.Value> payload = new LinkedHashMap<>();
+        if (gender != null) payload.put("gender", ValueFactory.value(gender.name()));
+        if (age != null) payload.put("age", ValueFactory.value(age.name()));
+        if (isConfirmed != null) payload.put("isConfirmed", ValueFactory.value(isConfirmed));
+        return payload;
+    }
+
+    private void setPayload(List<Long> chunk, Map<String, JsonWithInt.Value> payload) {
+        List<Points.PointId> pointIds = new ArrayList<>(chunk.size());
+        for (Long id : chunk) pointIds.add(PointIdFactory.id(id));
+
+        try {
+            qdrant.setPayloadAsync(qdrantProps.getCollection(), payload, pointIds, true, null, CALL_TIMEOUT)
+                    .get(CALL_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+            okChunks.increment();
+            log.debug("[QDRANT][SET-PAYLOAD] ok. ids={}..{}, size={}", chunk.get(0), chunk.get(chunk.size() - 1), chunk.size());
+        } catch (Exception e) {
+            failedChunks.increment();
+            log.error("[QDRANT][SET-PAYLOAD][FAIL] requeue via outbox. ids={}..{}, size={}, err={}",
+                    chunk.get(0), chunk.get(chunk.size() - 1), chunk.size(), e.toString());
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            requeue(chunk);
+            return;
+        }
+
+        // 재색인 중인 새 버전에도 반영(이미 스캔이 지나간 상품이 옛 값으로 남지 않도록)
+        String shadow = collectionVersions.dualWriteCollection();
+        if (shadow == null) return;
+        try {
+            qdrant.setPayloadAsync(shadow, payload, pointIds, true, null, CALL_TIMEOUT)
+                    .get(CALL_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("[QDRANT][SET-PAYLOAD][DUAL-WRITE][FAIL] collection={}, size={}, err={}",
+                    shadow, chunk.size(), e.toString());
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 반영하지 못한 상품을 outbox UPSERT로 기록(배출기가 현재 DB 상태로 payload 교체) */
+    private void requeue(List<Long> chunk) {
+        try {
+            tx.executeWithoutResult(s -> outboxWriter.enqueueUpserts(chunk));
+            requeuedProducts.increment(chunk.size());
+        } catch (Exception e) {
+            log.error("[QDRANT][SET-PAYLOAD][REQUEUE-FAIL] size={}, err={}", chunk.size(), e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) lane.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            lanes.forEach(ThreadPoolExecutor::shutdownNow);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.giftrecommender.vector;
 
 import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.vector.dto.QdrantSearchBatchRequest;
+import com.example.giftrecommender.vector.dto.QdrantSearchBatchResponse;
 import com.example.giftrecommender.vector.dto.QdrantSearchRequest;
 import com.example.giftrecommender.vector.dto.QdrantSearchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -11,7 +17,9 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,25 +31,135 @@ public class QdrantVectorProductSearch implements VectorProductSearch {
     private final WebClient qdrantWebClient;
     private final EmbeddingService embeddingService;
     private final QdrantProps qdrantProps;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public List<ScoredId> searchWithScores(String query,
                                            int minPrice, int maxPrice,
                                            String age, String gender,
                                            int topK, double threshold) {
-        List<Float> embedded;
+        return searchOne(new Query(query, minPrice, maxPrice, age, gender, topK, threshold));
+    }
+
+    private List<ScoredId> searchOne(Query q) {
+        String query = q.text();
+        float[] embedded;
         try {
             embedded = embeddingService.embed(query);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        float[] vector = toFloatArray(embedded);
+
+        QdrantSearchRequest requestBody = buildRequest(embedded, q);
+
+        try {
+            log.debug("[QDRANT][SEARCH][CALL] q='{}', limit={}, threshold={}",
+                    query, q.topK(), q.threshold());
+
+            byte[] raw = qdrantWebClient.post()
+                    .uri("/collections/{c}/points/search", qdrantProps.getCollection())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class).map(msg ->
+                            new RuntimeException("Qdrant search error " + r.statusCode() + ": " + msg)))
+                    .bodyToMono(byte[].class)
+                    .block();
+            QdrantSearchResponse response = parse(raw, QdrantSearchResponse.class, "single");
+
+            if (response == null || response.getResult() == null || response.getResult().isEmpty()) {
+                log.debug("[QDRANT][SEARCH][OK] q='{}', rawHits=0", query);
+                return Collections.emptyList();
+            }
+
+            return toScoredIds(query, response.getResult(), q.topK(), q.threshold());
+
+        } catch (Exception e) {
+            log.error("[QDRANT][SEARCH][FAIL] q='{}' err={}", query, e.toString(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 여러 쿼리를 한 번의 왕복으로 검색
+     * - 임베딩: embedAll로 캐시 miss만 모아 1회 호출
+     * - 검색: /points/search/batch 1회 호출
+     * - 실패 시 전체를 빈 결과로 반환(단건 검색과 동일한 실패 정책)
+     */
+    @Override
+    public List<List<ScoredId>> searchBatch(List<Query> queries) {
+        if (queries == null || queries.isEmpty()) return List.of();
+        if (queries.size() == 1) {
+            return List.of(searchOne(queries.get(0)));
+        }
+
+        List<float[]> embedded;
+        try {
+            embedded = embeddingService.embedAll(queries.stream().map(Query::text).toList());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        List<QdrantSearchRequest> searches = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            Query q = queries.get(i);
+            searches.add(buildRequest(embedded.get(i), q));
+        }
+
+        List<List<ScoredId>> out = new ArrayList<>(queries.size());
+        try {
+            log.debug("[QDRANT][SEARCH][BATCH][CALL] queries={}", queries.size());
+
+            byte[] raw = qdrantWebClient.post()
+                    .uri("/collections/{c}/points/search/batch", qdrantProps.getCollection())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new QdrantSearchBatchRequest(searches))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class).map(msg ->
+                            new RuntimeException("Qdrant batch search error " + r.statusCode() + ": " + msg)))
+                    .bodyToMono(byte[].class)
+                    .block();
+            QdrantSearchBatchResponse response = parse(raw, QdrantSearchBatchResponse.class, "batch");
+
+            List<List<QdrantSearchResponse.Item>> results =
+                    (response == null || response.getResult() == null) ? List.of() : response.getResult();
+
+            for (int i = 0; i < queries.size(); i++) {
+                Query q = queries.get(i);
+                List<QdrantSearchResponse.Item> items = i < results.size() ? results.get(i) : null;
+                out.add(items == null || items.isEmpty()
+                        ? Collections.emptyList()
+                        : toScoredIds(q.text(), items, q.topK(), q.threshold()));
+            }
+
+            log.debug("[QDRANT][SEARCH][BATCH][OK] queries={}", queries.size());
+            return out;
+
+        } catch (Exception e) {
+            log.error("[QDRANT][SEARCH][BATCH][FAIL] queries={} err={}", queries.size(), e.toString(), e);
+            return queries.stream().map(q -> Collections.<ScoredId>emptyList()).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 검색 요청 본문
+     * - 벡터/페이로드를 받지 않음(포인트 id = 상품 id)
+     * - threshold는 score_threshold로 서버에서 적용(Cosine score = 유사도), limit은 topK 그대로
+     * - 가격/성별/연령/컨펌 조건은 payload 인덱스를 타는 필터로 보내 ANN 탐색 중에 적용
+     * - hnsw_ef/양자화 재채점은 qdrant.search 설정값(없으면 서버 기본값)
+     */
+    private QdrantSearchRequest buildRequest(float[] vector, Query q) {
+        int minPrice = q.minPrice();
+        int maxPrice = q.maxPrice();
+        int topK = q.topK();
+        double threshold = q.threshold();
+
+        List<Map<String, Object>> must = new ArrayList<>();
+        List<Map<String, Object>> mustNot = new ArrayList<>();
 
         // 가격 필터 구성
-        Map<String, Object> filter = null;
         if (minPrice > 0 || maxPrice > 0) {
-            List<Map<String, Object>> must = new ArrayList<>();
-
             Map<String, Object> range = new HashMap<>();
             if (minPrice > 0) {
                 range.put("gte", minPrice);
@@ -55,95 +173,91 @@ public class QdrantVectorProductSearch implements VectorProductSearch {
             priceClause.put("range", range);
 
             must.add(priceClause);
-            filter = Collections.singletonMap("must", must);
         }
 
-        int limit = Math.max(topK, 50);
+        // 성별/연령: 다른 값으로 지정된 상품만 제외
+        List<String> genders = SearchFilters.excludedGenders(q.gender());
+        if (!genders.isEmpty()) mustNot.add(Map.of("key", "gender", "match", Map.of("any", genders)));
+        List<String> ages = SearchFilters.excludedAges(q.age());
+        if (!ages.isEmpty()) mustNot.add(Map.of("key", "age", "match", Map.of("any", ages)));
+
+        // 컨펌 여부: true는 컨펌 상품만, false는 컨펌 상품 제외
+        if (Boolean.TRUE.equals(q.isConfirmed())) {
+            must.add(Map.of("key", "isConfirmed", "match", Map.of("value", true)));
+        } else if (Boolean.FALSE.equals(q.isConfirmed())) {
+            mustNot.add(Map.of("key", "isConfirmed", "match", Map.of("value", true)));
+        }
+
+        Map<String, Object> filter = null;
+        if (!must.isEmpty() || !mustNot.isEmpty()) {
+            filter = new HashMap<>();
+            if (!must.isEmpty()) filter.put("must", must);
+            if (!mustNot.isEmpty()) filter.put("must_not", mustNot);
+        }
 
-        QdrantSearchRequest requestBody = new QdrantSearchRequest(
+        return new QdrantSearchRequest(
                 vector,
-                limit,
-                true,          // with_vector
+                Math.max(1, topK),
                 false,         // with_payload
+                false,         // with_vectors
                 filter,
-                null
+                threshold > 0 ? threshold : null,
+                SearchTuning.from(qdrantProps.getSearch()).toRestParams()
         );
+    }
 
-        try {
-            log.debug("[QDRANT][SEARCH][CALL] q='{}', limit={}, threshold={}",
-                    query, topK, threshold);
+    /** 응답 크기(bytes)와 역직렬화 시간을 기록하며 파싱 */
+    private <T> T parse(byte[] raw, Class<T> type, String kind) throws IOException {
+        if (raw == null) return null;
+        DistributionSummary.builder("qdrant.search.response.bytes")
+                .tag("kind", kind)
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(raw.length);
 
-            QdrantSearchResponse response = qdrantWebClient.post()
-                    .uri("/collections/{c}/points/search", qdrantProps.getCollection())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class).map(msg ->
-                            new RuntimeException("Qdrant search error " + r.statusCode() + ": " + msg)))
-                    .bodyToMono(QdrantSearchResponse.class)
-                    .block();
+        long start = System.nanoTime();
+        T parsed = objectMapper.readValue(raw, type);
+        Timer.builder("qdrant.search.response.parse")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return parsed;
+    }
 
-            if (response == null || response.getResult() == null || response.getResult().isEmpty()) {
-                log.debug("[QDRANT][SEARCH][OK] q='{}', rawHits=0", query);
-                return Collections.emptyList();
-            }
+    private List<ScoredId> toScoredIds(String query, List<QdrantSearchResponse.Item> items,
+                                       int topK, double threshold) {
+        LinkedHashMap<Long, Double> ordered = new LinkedHashMap<>();
 
-            LinkedHashMap<Long, Double> ordered = new LinkedHashMap<>();
-
-            for (QdrantSearchResponse.Item item : response.getResult()) {
-                Map<String, Object> payload = item.getPayload();
-                if (payload == null) {
-                    continue;
-                }
-
-                Object pidObj = payload.get("productId");
-                Long pid = null;
-                if (pidObj instanceof Number) {
-                    pid = ((Number) pidObj).longValue();
-                } else if (pidObj instanceof String s && s.matches("\\d+")) {
-                    pid = Long.parseLong(s);
-                }
-                if (pid == null || ordered.containsKey(pid)) {
-                    continue;
-                }
-
-                // Qdrant score는 distance (Cosine metric 가정)
-                double distance = item.getScore();
-                double similarity = 1.0 - distance;  // 1 - distance = cosine similarity
-
-                log.debug("[QDRANT][RAW] q='{}', productId={}, distance={}, similarity={}",
-                        query, pid, distance, similarity);
-
-                // similarity 기준으로 threshold 적용
-                if (similarity < threshold) {
-                    continue;
-                }
-
-                ordered.put(pid, similarity);
+        for (QdrantSearchResponse.Item item : items) {
+            // 포인트 id = 상품 id(정수 id로 업서트)
+            if (!(item.getId() instanceof Number n)) {
+                continue;
+            }
+            long pid = n.longValue();
+            if (ordered.containsKey(pid)) {
+                continue;
             }
 
-            log.debug("[QDRANT][SEARCH][OK] q='{}', hits={} (after threshold={})",
-                    query, ordered.size(), threshold);
+            // Cosine metric의 score는 유사도 그 자체(높을수록 가까움)
+            double similarity = item.getScore();
 
-            return ordered.entrySet().stream()
-                    .limit(topK)
-                    .map(e -> new ScoredId(e.getKey(), e.getValue()))
-                    .collect(Collectors.toList());
+            log.debug("[QDRANT][RAW] q='{}', productId={}, similarity={}", query, pid, similarity);
 
-        } catch (Exception e) {
-            log.error("[QDRANT][SEARCH][FAIL] q='{}' err={}", query, e.toString(), e);
-            return Collections.emptyList();
-        }
-    }
+            // 서버 score_threshold와 같은 기준(경계값 보정용)
+            if (similarity < threshold) {
+                continue;
+            }
 
+            ordered.put(pid, similarity);
+        }
 
+        log.debug("[QDRANT][SEARCH][OK] q='{}', hits={} (after threshold={})",
+                query, ordered.size(), threshold);
 
-    private static float[] toFloatArray(List<Float> list) {
-        float[] arr = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            arr[i] = list.get(i);
-        }
-        return arr;
+        return ordered.entrySet().stream()
+                .limit(topK)
+                .map(e -> new ScoredId(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,110 @@
+package com.example.giftrecommender.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베딩 L2 캐시(Redis, 노드 간 공유)
+ * - 키: emb:{model}:{dim}:{textHash} → 모델/차원이 바뀌면 자연히 분리
+ * - 값: PackedVector 바이너리(float32 또는 int8)
+ * - 읽기는 MGET 1회, 쓰기는 가상 스레드에서 파이프라인으로 비동기 수행
+ * - Redis 오류는 miss로 취급(임베딩 경로를 막지 않음)
+ */
+@Slf4j
+final class RedisEmbeddingStore implements AutoCloseable {
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final int dimension;
+    private final PackedVector.Encoding encoding;
+    private final Duration ttl;
+    private final ExecutorService writer = Executors.newVirtualThreadPerTaskExecutor();
+
+    RedisEmbeddingStore(StringRedisTemplate redis, String model, int dimension,
+                        PackedVector.Encoding encoding, Duration ttl) {
+        this.redis = redis;
+        this.keyPrefix = "emb:" + model + ":" + dimension + ":";
+        this.dimension = dimension;
+        this.encoding = encoding;
+        this.ttl = ttl;
+    }
+
+    /** 찾은 항목만 반환(textHash → vector) */
+    Map<String, float[]> getAll(Collection<String> textHashes) {
+        if (textHashes.isEmpty()) return Map.of();
+        List<String> hashes = new ArrayList<>(textHashes);
+        byte[][] keys = new byte[hashes.size()][];
+        for (int i = 0; i < hashes.size(); i++) keys[i] = key(hashes.get(i));
+
+        try {
+            List<byte[]> values = redis.execute((RedisCallback<List<byte[]>>) c -> c.stringCommands().mGet(keys));
+            if (values == null) return Map.of();
+
+            Map<String, float[]> found = new HashMap<>();
+            for (int i = 0; i < hashes.size() && i < values.size(); i++) {
+                PackedVector pv = PackedVector.fromBytes(values.get(i), dimension);
+                if (pv != null) found.put(hashes.get(i), pv.decode());
+            }
+            return found;
+        } catch (Exception e) {
+            log.warn("[EMBED][L2] get failed, treat as miss. keys={}, err={}", hashes.size(), e.toString());
+            return Map.of();
+        }
+    }
+
+    /** 호출 스레드를 막지 않고 저장 */
+    void putAllAsync(Map<String, float[]> entries) {
+        if (entries.isEmpty()) return;
+        Map<String, float[]> snapshot = new HashMap<>(entries);
+        try {
+            writer.execute(() -> putAll(snapshot));
+        } catch (RejectedExecutionException e) {
+            log.debug("[EMBED][L2] writer closed, skip put. count={}", snapshot.size());
+        }
+    }
+
+    private void putAll(Map<String, float[]> entries) {
+        try {
+            Expiration expiration = Expiration.from(ttl.toSeconds(), TimeUnit.SECONDS);
+            redis.executePipelined((RedisCallback<Object>) c -> {
+                for (Map.Entry<String, float[]> e : entries.entrySet()) {
+                    c.stringCommands().set(
+                            key(e.getKey()),
+                            PackedVector.encode(e.getValue(), encoding).toBytes(),
+                            expiration,
+                            RedisStringCommands.SetOption.upsert()
+                    );
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[EMBED][L2] put failed. count={}, err={}", entries.size(), e.toString());
+        }
+    }
+
+    private byte[] key(String textHash) {
+        return (keyPrefix + textHash).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) writer.shutdownNow();
+        } catch (InterruptedException ie) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * qdrant.search.transport(rest | grpc)에 따라 검색 구현 선택
+ * - 두 구현은 모두 빈으로 남겨 전송 방식 비교 벤치마크에서 직접 사용
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class RoutingVectorProductSearch implements VectorProductSearch {
+
+    private final VectorProductSearch delegate;
+
+    public RoutingVectorProductSearch(QdrantProps qdrantProps,
+                                      QdrantVectorProductSearch restSearch,
+                                      QdrantGrpcVectorProductSearch grpcSearch) {
+        String transport = qdrantProps.getSearch().getTransport();
+        this.delegate = "grpc".equalsIgnoreCase(transport) ? grpcSearch : restSearch;
+        log.info("[QDRANT][SEARCH] transport={}", delegate == grpcSearch ? "grpc" : "rest");
+    }
+
+    @Override
+    public List<ScoredId> searchWithScores(String query, int minPrice, int maxPrice,
+                                           String age, String gender, int topK, double threshold) {
+        return delegate.searchWithScores(query, minPrice, maxPrice, age, gender, topK, threshold);
+    }
+
+    @Override
+    public List<List<ScoredId>> searchBatch(List<Query> queries) {
+        return delegate.searchBatch(queries);
+    }
+}
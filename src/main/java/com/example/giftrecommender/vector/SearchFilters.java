@@ -0,0 +1,46 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.domain.enums.Age;
+import com.example.giftrecommender.domain.enums.Gender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 필터 의미(REST/gRPC 공통)
+ * - gender/age는 "반대 값 제외"(must_not)로 보냄: ANY/NONE 상품과 payload가 없는 기존 포인트는 남김
+ * - 요청 값이 enum으로 해석되지 않으면(예: "20대") 필터 없음
+ */
+final class SearchFilters {
+
+    private SearchFilters() {}
+
+    /** 제외할 gender payload 값 */
+    static List<String> excludedGenders(String gender) {
+        Gender g = parse(Gender.class, gender);
+        if (g == Gender.MALE) return List.of(Gender.FEMALE.name());
+        if (g == Gender.FEMALE) return List.of(Gender.MALE.name());
+        return List.of();
+    }
+
+    /** 제외할 age payload 값(요청 연령대와 NONE 이외 전부) */
+    static List<String> excludedAges(String age) {
+        Age a = parse(Age.class, age);
+        if (a == null || a == Age.NONE) return List.of();
+
+        List<String> out = new ArrayList<>();
+        for (Age other : Age.values()) {
+            if (other != a && other != Age.NONE) out.add(other.name());
+        }
+        return out;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import io.qdrant.client.grpc.Points;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검색 시점 파라미터(REST/gRPC 공통)
+ * - hnsw_ef: 탐색 폭(클수록 재현율↑, 지연↑)
+ * - rescore/oversampling: 양자화 컬렉션에서 후보를 넉넉히 뽑아 원본 벡터로 재채점
+ * - 값이 없으면 보내지 않음(서버 기본값)
+ */
+record SearchTuning(Integer hnswEf, Boolean rescore, Double oversampling) {
+
+    static final SearchTuning DEFAULT = new SearchTuning(null, null, null);
+
+    static SearchTuning from(QdrantProps.Search search) {
+        return new SearchTuning(search.getHnswEf(), search.getRescore(), search.getOversampling());
+    }
+
+    boolean isDefault() {
+        return hnswEf == null && rescore == null && oversampling == null;
+    }
+
+    /** REST params 본문, 기본값이면 null */
+    Map<String, Object> toRestParams() {
+        if (isDefault()) return null;
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (hnswEf != null) params.put("hnsw_ef", hnswEf);
+        if (rescore != null || oversampling != null) {
+            Map<String, Object> quantization = new LinkedHashMap<>();
+            if (rescore != null) quantization.put("rescore", rescore);
+            if (oversampling != null) quantization.put("oversampling", oversampling);
+            params.put("quantization", quantization);
+        }
+        return params;
+    }
+
+    /** gRPC SearchParams, 기본값이면 null */
+    Points.SearchParams toGrpcParams() {
+        if (isDefault()) return null;
+        Points.SearchParams.Builder params = Points.SearchParams.newBuilder();
+        if (hnswEf != null) params.setHnswEf(hnswEf);
+        if (rescore != null || oversampling != null) {
+            Points.QuantizationSearchParams.Builder quantization = Points.QuantizationSearchParams.newBuilder();
+            if (rescore != null) quantization.setRescore(rescore);
+            if (oversampling != null) quantization.setOversampling(oversampling);
+            params.setQuantization(quantization);
+        }
+        return params.build();
+    }
+}
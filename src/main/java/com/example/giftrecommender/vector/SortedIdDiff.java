@@ -0,0 +1,134 @@
+package com.example.giftrecommender.vector;
+
+import java.util.Arrays;
+
+/**
+ * 오름차순 id 페이지 스트림 두 개를 병합하며 차집합 계산
+ * - 페이지(long[])와 출력 배치만 메모리에 두므로 전체 건수와 무관하게 메모리 일정
+ * - 입력이 오름차순이 아니면 잘못된 삭제를 막기 위해 즉시 예외
+ */
+final class SortedIdDiff {
+
+    private static final long[] EMPTY = new long[0];
+
+    /** 다음 페이지, 끝이면 빈 배열 */
+    @FunctionalInterface
+    interface PageSource {
+        long[] next() throws Exception;
+    }
+
+    @FunctionalInterface
+    interface BatchSink {
+        void accept(long[] ids) throws Exception;
+    }
+
+    /** @param left 왼쪽 전체 건수, right 오른쪽 전체 건수, onlyLeft/onlyRight 한쪽에만 있는 건수 */
+    record Counts(long left, long right, long onlyLeft, long onlyRight) {}
+
+    private SortedIdDiff() {}
+
+    /**
+     * @param onlyLeft  왼쪽에만 있는 id를 batchSize 단위로 받음
+     * @param onlyRight 오른쪽에만 있는 id를 batchSize 단위로 받음
+     */
+    static Counts diff(PageSource left, PageSource right, int batchSize,
+                       BatchSink onlyLeft, BatchSink onlyRight) throws Exception {
+        Cursor a = new Cursor(left, "left");
+        Cursor b = new Cursor(right, "right");
+        Batch missing = new Batch(batchSize, onlyLeft);
+        Batch extra = new Batch(batchSize, onlyRight);
+
+        while (a.has() && b.has()) {
+            long x = a.peek();
+            long y = b.peek();
+            if (x == y) {
+                a.advance();
+                b.advance();
+            } else if (x < y) {
+                missing.add(x);
+                a.advance();
+            } else {
+                extra.add(y);
+                b.advance();
+            }
+        }
+        while (a.has()) {
+            missing.add(a.peek());
+            a.advance();
+        }
+        while (b.has()) {
+            extra.add(b.peek());
+            b.advance();
+        }
+        missing.flush();
+        extra.flush();
+
+        return new Counts(a.consumed, b.consumed, missing.total, extra.total);
+    }
+
+    private static final class Cursor {
+        private final PageSource source;
+        private final String name;
+        private long[] page = EMPTY;
+        private int pos;
+        private boolean done;
+        private long last = Long.MIN_VALUE;
+        private long consumed;
+
+        Cursor(PageSource source, String name) {
+            this.source = source;
+            this.name = name;
+        }
+
+        boolean has() throws Exception {
+            while (!done && pos >= page.length) {
+                page = source.next();
+                pos = 0;
+                if (page == null || page.length == 0) {
+                    page = EMPTY;
+                    done = true;
+                }
+            }
+            return !done;
+        }
+
+        long peek() {
+            long v = page[pos];
+            if (v <= last) {
+                throw new IllegalStateException("ids are not strictly ascending. source=" + name
+                        + ", previous=" + last + ", current=" + v);
+            }
+            return v;
+        }
+
+        void advance() {
+            last = page[pos++];
+            consumed++;
+        }
+    }
+
+    private static final class Batch {
+        private final long[] buf;
+        private final BatchSink sink;
+        private int size;
+        private long total;
+
+        Batch(int capacity, BatchSink sink) {
+            this.buf = new long[Math.max(1, capacity)];
+            this.sink = sink;
+        }
+
+        void add(long id) throws Exception {
+            buf[size++] = id;
+            total++;
+            if (size == buf.length) flush();
+        }
+
+        void flush() throws Exception {
+            if (size == 0) return;
+            long[] out = Arrays.copyOf(buf, size);
+            size = 0;
+            sink.accept(out);
+        }
+    }
+}
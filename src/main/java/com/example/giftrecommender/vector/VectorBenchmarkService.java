@@ -0,0 +1,335 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.common.exception.ErrorException;
+import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.common.exception.ExceptionEnum;
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.dto.request.vector.VectorBenchmarkRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorTransportBenchmarkRequestDto;
+import com.example.giftrecommender.dto.request.vector.VectorTuningBenchmarkRequestDto;
+import com.example.giftrecommender.dto.response.vector.VectorBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorTransportBenchmarkResponseDto;
+import com.example.giftrecommender.dto.response.vector.VectorTuningBenchmarkResponseDto;
+import com.example.giftrecommender.vector.dto.QdrantSearchRequest;
+import com.example.giftrecommender.vector.dto.QdrantSearchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.giftrecommender.util.LatencyStats.percentile;
+import static com.example.giftrecommender.util.LatencyStats.round;
+
+/**
+ * 벡터 검색 벤치마크
+ * - 차원 비교: 기준 컬렉션(보통 1536차원)의 정확 검색(params.exact=true) top-k를 정답으로
+ *   각 컬렉션의 기본(HNSW) 검색 재현율과 지연 분포 측정
+ * - 전송 방식 비교: 같은 쿼리를 REST/gRPC 구현으로 동시 부하를 걸어 지연/처리량/CPU 측정
+ * - 인덱스 설정 비교: 기준 컬렉션의 정확 검색(양자화 무시)을 정답으로 컬렉션(m/ef_construct/양자화)과
+ *   검색 파라미터(hnsw_ef/rescore/oversampling) 조합별 재현율과 지연 분포 측정
+ * - 쿼리 임베딩 시간은 제외(검색 왕복만 측정), 워밍업 결과는 버림
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorBenchmarkService {
+
+    private static final int DEFAULT_TOP_K = 20;
+    private static final int DEFAULT_SAMPLE_SIZE = 50;
+    private static final int MAX_QUERIES = 500;
+    private static final int DEFAULT_CONCURRENCY = 16;
+    private static final int MAX_CONCURRENCY = 128;
+    private static final int DEFAULT_REQUESTS = 1000;
+    private static final int MAX_REQUESTS = 20_000;
+    private static final int DEFAULT_TRANSPORT_TOP_K = 30;
+    private static final int DEFAULT_REPEATS = 3;
+    private static final int MAX_REPEATS = 20;
+
+    /** 정답용 정확 검색(양자화 벡터 대신 원본 벡터) */
+    private static final Map<String, Object> EXACT_PARAMS =
+            Map.of("exact", true, "quantization", Map.of("ignore", true));
+
+    private final WebClient qdrantWebClient;
+    private final EmbeddingService embeddingService;
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final ObjectMapper objectMapper;
+    private final QdrantVectorProductSearch restSearch;
+    private final QdrantGrpcVectorProductSearch grpcSearch;
+    private final QdrantCollectionService collectionService;
+    private final QdrantProps qdrantProps;
+
+    private record Measured(List<Long> ids, long nanos, long requestBytes) {}
+
+    public VectorBenchmarkResponseDto compareDimensions(VectorBenchmarkRequestDto req) throws Exception {
+        int topK = (req.topK() == null || req.topK() <= 0) ? DEFAULT_TOP_K : req.topK();
+        List<String> queries = sampleQueries(req.queries(), req.sampleSize());
+        if (queries.isEmpty()) throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+
+        List<float[]> baseVectors = embeddingService.embedAll(queries, req.baselineDimensions());
+        List<float[]> candVectors = embeddingService.embedAll(queries, req.candidateDimensions());
+
+        List<Set<Long>> truth = new ArrayList<>(queries.size());
+        List<Measured> base = new ArrayList<>(queries.size());
+        List<Measured> cand = new ArrayList<>(queries.size());
+
+        // 워밍업(연결/캐시)
+        search(req.baselineCollection(), baseVectors.get(0), topK, false);
+        search(req.candidateCollection(), candVectors.get(0), topK, false);
+
+        for (int i = 0; i < queries.size(); i++) {
+            truth.add(new HashSet<>(search(req.baselineCollection(), baseVectors.get(i), topK, true).ids()));
+            base.add(search(req.baselineCollection(), baseVectors.get(i), topK, false));
+            cand.add(search(req.candidateCollection(), candVectors.get(i), topK, false));
+        }
+
+        VectorBenchmarkResponseDto result = new VectorBenchmarkResponseDto(
+                queries.size(), topK,
+                summarize(req.baselineCollection(), req.baselineDimensions(), base, truth),
+                summarize(req.candidateCollection(), req.candidateDimensions(), cand, truth));
+
+        log.info("[VECTOR][BENCH] queries={}, k={}, baseline={}, candidate={}",
+                result.queries(), topK, result.baseline(), result.candidate());
+        return result;
+    }
+
+    /**
+     * 인덱스/검색 설정 조합 비교
+     * - 쿼리 임베딩은 한 번만 만들어 모든 설정에 같은 벡터로 재생
+     * - 설정마다 첫 쿼리로 워밍업 후 쿼리 × repeats 순차 측정, 재현율은 첫 회 결과로 계산
+     */
+    public VectorTuningBenchmarkResponseDto compareIndexSettings(VectorTuningBenchmarkRequestDto req) throws Exception {
+        int topK = (req.topK() == null || req.topK() <= 0) ? DEFAULT_TOP_K : req.topK();
+        int repeats = clamp(req.repeats(), DEFAULT_REPEATS, MAX_REPEATS);
+        List<String> queries = sampleQueries(req.queries(), req.sampleSize());
+        if (queries.isEmpty()) throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+
+        List<VectorTuningBenchmarkRequestDto.Config> configs = req.configs();
+        if (configs == null || configs.isEmpty()) {
+            QdrantProps.Search s = qdrantProps.getSearch();
+            configs = List.of(new VectorTuningBenchmarkRequestDto.Config(
+                    req.baselineCollection(), s.getHnswEf(), s.getRescore(), s.getOversampling()));
+        }
+
+        List<float[]> vectors = embeddingService.embedAll(queries, req.dimensions());
+
+        List<Set<Long>> truth = new ArrayList<>(queries.size());
+        for (float[] v : vectors) {
+            truth.add(new HashSet<>(search(req.baselineCollection(), v, topK, EXACT_PARAMS).ids()));
+        }
+
+        List<VectorTuningBenchmarkResponseDto.Result> results = new ArrayList<>(configs.size());
+        for (VectorTuningBenchmarkRequestDto.Config config : configs) {
+            SearchTuning tuning = new SearchTuning(config.hnswEf(), config.rescore(), config.oversampling());
+            Map<String, Object> params = tuning.toRestParams();
+
+            search(config.collection(), vectors.get(0), topK, params);
+
+            long[] nanos = new long[vectors.size() * repeats];
+            double recallSum = 0;
+            int recallCount = 0;
+            for (int i = 0; i < vectors.size(); i++) {
+                for (int r = 0; r < repeats; r++) {
+                    Measured m = search(config.collection(), vectors.get(i), topK, params);
+                    nanos[i * repeats + r] = m.nanos();
+                    if (r > 0 || truth.get(i).isEmpty()) continue;
+                    Set<Long> expected = truth.get(i);
+                    recallSum += (double) m.ids().stream().filter(expected::contains).count() / expected.size();
+                    recallCount++;
+                }
+            }
+            Arrays.sort(nanos);
+
+            QdrantCollectionService.IndexSettings index = collectionService.indexSettings(config.collection());
+            results.add(new VectorTuningBenchmarkResponseDto.Result(
+                    config.collection(),
+                    index.m(), index.efConstruct(), index.quantization(), index.onDiskPayload(),
+                    config.hnswEf(), config.rescore(), config.oversampling(),
+                    recallCount == 0 ? 0.0 : round(recallSum / recallCount),
+                    round(Arrays.stream(nanos).average().orElse(0) / 1_000_000.0),
+                    round(percentile(nanos, 0.50) / 1_000_000.0),
+                    round(percentile(nanos, 0.95) / 1_000_000.0),
+                    round(percentile(nanos, 0.99) / 1_000_000.0)));
+        }
+
+        log.info("[VECTOR][BENCH][TUNING] queries={}, k={}, repeats={}, results={}",
+                queries.size(), topK, repeats, results);
+        return new VectorTuningBenchmarkResponseDto(queries.size(), topK, repeats, results);
+    }
+
+    /**
+     * REST/gRPC 검색 구현에 같은 동시 부하를 걸어 비교
+     * - 각 구현마다 쿼리 전체를 한 번씩 워밍업(임베딩 캐시 적재 포함) 후 측정
+     * - CPU는 측정 구간의 프로세스 CPU 시간 증가분(직렬화/파싱/네트워크 스레드 포함)
+     */
+    public VectorTransportBenchmarkResponseDto compareTransports(VectorTransportBenchmarkRequestDto req) throws Exception {
+        int concurrency = clamp(req.concurrency(), DEFAULT_CONCURRENCY, MAX_CONCURRENCY);
+        int requests = clamp(req.requests(), DEFAULT_REQUESTS, MAX_REQUESTS);
+        int topK = (req.topK() == null || req.topK() <= 0) ? DEFAULT_TRANSPORT_TOP_K : req.topK();
+        List<String> queries = sampleQueries(req.queries(), req.sampleSize());
+        if (queries.isEmpty()) throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+
+        Map<String, VectorProductSearch> targets = new LinkedHashMap<>();
+        targets.put("rest", restSearch);
+        targets.put("grpc", grpcSearch);
+
+        for (VectorProductSearch search : targets.values()) {
+            for (String q : queries) search.searchWithScores(q, 0, 0, null, null, topK, 0.0);
+        }
+
+        List<VectorTransportBenchmarkResponseDto.Result> results = new ArrayList<>();
+        for (Map.Entry<String, VectorProductSearch> e : targets.entrySet()) {
+            results.add(runLoad(e.getKey(), e.getValue(), queries, concurrency, requests, topK));
+        }
+
+        log.info("[VECTOR][BENCH][TRANSPORT] queries={}, concurrency={}, requests={}, results={}",
+                queries.size(), concurrency, requests, results);
+        return new VectorTransportBenchmarkResponseDto(queries.size(), concurrency, requests, results);
+    }
+
+    private VectorTransportBenchmarkResponseDto.Result runLoad(String transport, VectorProductSearch search,
+                                                               List<String> queries, int concurrency,
+                                                               int requests, int topK) throws Exception {
+        long[] nanos = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger empty = new AtomicInteger();
+
+        long cpuStart = processCpuNanos();
+        long wallStart = System.nanoTime();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(concurrency)) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                workers.add(pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        String q = queries.get(i % queries.size());
+                        long start = System.nanoTime();
+                        List<VectorProductSearch.ScoredId> hits =
+                                search.searchWithScores(q, 0, 0, null, null, topK, 0.0);
+                        nanos[i] = System.nanoTime() - start;
+                        if (hits.isEmpty()) empty.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> f : workers) f.get();
+        }
+
+        long wall = System.nanoTime() - wallStart;
+        long cpu = processCpuNanos() - cpuStart;
+        Arrays.sort(nanos);
+
+        return new VectorTransportBenchmarkResponseDto.Result(
+                transport,
+                round(requests / (wall / 1_000_000_000.0)),
+                round(Arrays.stream(nanos).average().orElse(0) / 1_000_000.0),
+                round(percentile(nanos, 0.50) / 1_000_000.0),
+                round(percentile(nanos, 0.95) / 1_000_000.0),
+                round(percentile(nanos, 0.99) / 1_000_000.0),
+                cpuStart < 0 ? -1.0 : round(cpu / 1_000_000.0 / requests),
+                empty.get());
+    }
+
+    /** 프로세스 CPU 시간(ns), 지원하지 않는 JVM이면 -1 */
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1L;
+    }
+
+    private static int clamp(Integer value, int defaultValue, int max) {
+        return (value == null || value <= 0) ? defaultValue : Math.min(value, max);
+    }
+
+    private List<String> sampleQueries(List<String> given, Integer sampleSize) {
+        if (given != null && !given.isEmpty()) {
+            return given.stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .limit(MAX_QUERIES)
+                    .toList();
+        }
+
+        int size = clamp(sampleSize, DEFAULT_SAMPLE_SIZE, MAX_QUERIES);
+        List<String> titles = new ArrayList<>();
+        for (CrawlingProduct p : crawlingProductRepository.findTop200ByOrderByIdDesc()) {
+            String title = (p.getDisplayName() != null && !p.getDisplayName().isBlank())
+                    ? p.getDisplayName() : p.getOriginalName();
+            if (title != null && !title.isBlank()) titles.add(title.trim());
+        }
+        Collections.shuffle(titles, new Random(42L));
+        return titles.subList(0, Math.min(size, titles.size()));
+    }
+
+    private Measured search(String collection, float[] vector, int topK, boolean exact) throws Exception {
+        return search(collection, vector, topK, exact ? EXACT_PARAMS : null);
+    }
+
+    private Measured search(String collection, float[] vector, int topK, Map<String, Object> params) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(
+                new QdrantSearchRequest(vector, topK, false, false, null, null, params));
+
+        long start = System.nanoTime();
+        QdrantSearchResponse response = qdrantWebClient.post()
+                .uri("/collections/{c}/points/search", collection)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class).map(msg ->
+                        new RuntimeException("Qdrant search error " + r.statusCode() + ": " + msg)))
+                .bodyToMono(QdrantSearchResponse.class)
+                .block();
+        long nanos = System.nanoTime() - start;
+
+        List<Long> ids = new ArrayList<>(topK);
+        if (response != null && response.getResult() != null) {
+            for (QdrantSearchResponse.Item item : response.getResult()) {
+                if (item.getId() instanceof Number n) ids.add(n.longValue());
+            }
+        }
+        return new Measured(ids, nanos, body.length);
+    }
+
+    private static VectorBenchmarkResponseDto.Setting summarize(String collection, int dims,
+                                                                List<Measured> runs, List<Set<Long>> truth) {
+        long[] nanos = new long[runs.size()];
+        double recallSum = 0;
+        int recallCount = 0;
+        long bytes = 0;
+
+        for (int i = 0; i < runs.size(); i++) {
+            Measured m = runs.get(i);
+            nanos[i] = m.nanos();
+            bytes += m.requestBytes();
+
+            Set<Long> expected = truth.get(i);
+            if (expected.isEmpty()) continue;
+            long hit = m.ids().stream().filter(expected::contains).count();
+            recallSum += (double) hit / expected.size();
+            recallCount++;
+        }
+        Arrays.sort(nanos);
+
+        return new VectorBenchmarkResponseDto.Setting(
+                collection, dims,
+                recallCount == 0 ? 0.0 : round(recallSum / recallCount),
+                round(Arrays.stream(nanos).average().orElse(0) / 1_000_000.0),
+                round(percentile(nanos, 0.50) / 1_000_000.0),
+                round(percentile(nanos, 0.95) / 1_000_000.0),
+                runs.isEmpty() ? 0 : bytes / runs.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.common.exception.ErrorException;
+import com.example.giftrecommender.common.exception.ExceptionEnum;
+import com.example.giftrecommender.config.QdrantProps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 버전 컬렉션(blue/green) 관리
+ * - qdrant.collection은 alias 이름, 실제 포인트는 {alias}_v{n} 컬렉션에 있음
+ * - 재색인은 새 버전 컬렉션을 채우는 동안 실시간 쓰기를 양쪽에 보내고(dual-write), 끝나면 alias를 원자적으로 전환
+ * - alias 도입 전의 같은 이름 컬렉션(legacy)은 그대로 사용하다가 첫 전환 때 명시적으로 삭제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorCollectionVersions {
+
+    /** embedding_model 컬럼 길이 */
+    private static final int LABEL_MAX_LENGTH = 50;
+    private static final int DEFAULT_DIMENSIONS = 1536;
+
+    private final QdrantCollectionService collectionService;
+    private final QdrantProps qdrantProps;
+    private final EmbeddingService embeddingService;
+
+    /** alias가 가리키는 실제 컬렉션(legacy면 alias 이름 그대로) */
+    private volatile String activeCollection;
+
+    /** 재색인 중인 새 버전 컬렉션(실시간 쓰기를 함께 보냄), 없으면 null */
+    private volatile String dualWriteCollection;
+
+    /**
+     * 기동 시 alias 확인
+     * - alias가 있으면 대상 컬렉션 사용
+     * - 같은 이름의 컬렉션(legacy)이 있으면 그대로 사용
+     * - 둘 다 없으면 {alias}_v1을 만들고 alias 연결
+     */
+    public void initialize() throws Exception {
+        String alias = alias();
+        int dims = embeddingService.dimensions();
+
+        Optional<String> target = collectionService.aliasTarget(alias);
+        if (target.isPresent()) {
+            activeCollection = target.get();
+            collectionService.ensureCollection(activeCollection, dims);
+            log.info("[VECTOR][VERSION] alias ready. alias={}, collection={}", alias, activeCollection);
+            return;
+        }
+
+        if (collectionService.collectionNames().contains(alias)) {
+            activeCollection = alias;
+            collectionService.ensureCollection(alias, dims);
+            log.warn("[VECTOR][VERSION] legacy collection in use (no alias). name={} " +
+                    "(first reindex swap with dropLegacyCollection=true switches to versioned collections)", alias);
+            return;
+        }
+
+        String first = versionName(alias, 1);
+        collectionService.ensureCollection(first, dims);
+        collectionService.switchAlias(alias, first);
+        activeCollection = first;
+        log.info("[VECTOR][VERSION] created first version. alias={}, collection={}", alias, first);
+    }
+
+    public String alias() {
+        return qdrantProps.getCollection();
+    }
+
+    public String activeCollection() {
+        return activeCollection != null ? activeCollection : alias();
+    }
+
+    /** 실시간 쓰기를 함께 보낼 컬렉션, 없으면 null */
+    public String dualWriteCollection() {
+        return dualWriteCollection;
+    }
+
+    /** 다음 버전 컬렉션 이름({alias}_v{최대+1}) */
+    public String nextVersion() throws Exception {
+        return nextVersionName(alias(), collectionService.collectionNames());
+    }
+
+    public void beginDualWrite(String collection) {
+        dualWriteCollection = collection;
+        log.info("[VECTOR][VERSION] dual-write on. active={}, shadow={}", activeCollection(), collection);
+    }
+
+    public void endDualWrite(String collection) {
+        if (collection != null && collection.equals(dualWriteCollection)) {
+            dualWriteCollection = null;
+            log.info("[VECTOR][VERSION] dual-write off. shadow={}", collection);
+        }
+    }
+
+    /**
+     * alias를 collection으로 전환(이전 버전 컬렉션은 롤백용으로 남김)
+     * @param dropLegacyCollection alias와 같은 이름의 legacy 컬렉션을 삭제하고 전환할지(삭제~alias 생성 사이 잠깐 검색 불가)
+     * @throws ErrorException 차원이 검색 임베딩과 다르면 VECTOR_DIMENSION_MISMATCH, legacy 컬렉션이 있는데 삭제를 허용하지 않으면 VECTOR_ALIAS_CONFLICT
+     */
+    public synchronized void swap(String collection, boolean dropLegacyCollection) throws Exception {
+        String alias = alias();
+        if (collection == null || collection.isBlank() || collection.equals(alias)) {
+            throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+        }
+        if (collectionService.vectorSize(collection) != embeddingService.dimensions()) {
+            throw new ErrorException(ExceptionEnum.VECTOR_DIMENSION_MISMATCH);
+        }
+
+        if (collectionService.aliasTarget(alias).isEmpty() && collectionService.collectionNames().contains(alias)) {
+            if (!dropLegacyCollection) throw new ErrorException(ExceptionEnum.VECTOR_ALIAS_CONFLICT);
+            collectionService.deleteCollection(alias);
+        }
+
+        String previous = activeCollection();
+        collectionService.switchAlias(alias, collection);
+        activeCollection = collection;
+        log.info("[VECTOR][VERSION] swapped. alias={}, {} -> {}", alias, previous, collection);
+    }
+
+    /** 현재 alias 대상 버전의 embedding_model 값 */
+    public String activeVersionLabel() {
+        return versionLabel(activeCollection(), embeddingService.dimensions());
+    }
+
+    /** collection/dims 버전의 embedding_model 값 */
+    public String versionLabel(String collection, int dims) {
+        return versionLabel(embeddingService.model(), dims, alias(), collection);
+    }
+
+    /**
+     * embedding_model 값: 모델[@차원(기본 1536이 아니면)][#버전]
+     * - 예: text-embedding-3-small#v3, text-embedding-3-small@512#v4
+     * - legacy 컬렉션이면 버전 없이 모델[@차원]
+     */
+    static String versionLabel(String model, int dims, String alias, String collection) {
+        StringBuilder sb = new StringBuilder(model);
+        if (dims != DEFAULT_DIMENSIONS) sb.append('@').append(dims);
+        if (collection != null && !collection.equals(alias)) {
+            String prefix = alias + "_";
+            sb.append('#').append(collection.startsWith(prefix) ? collection.substring(prefix.length()) : collection);
+        }
+        return sb.length() <= LABEL_MAX_LENGTH ? sb.toString() : sb.substring(0, LABEL_MAX_LENGTH);
+    }
+
+    static String nextVersionName(String alias, Collection<String> names) {
+        Pattern pattern = Pattern.compile(Pattern.quote(alias) + "_v(\\d+)");
+        int max = 0;
+        for (String name : names) {
+            Matcher m = pattern.matcher(name);
+            if (m.matches()) max = Math.max(max, Integer.parseInt(m.group(1)));
+        }
+        return versionName(alias, max + 1);
+    }
+
+    private static String versionName(String alias, int version) {
+        return alias + "_v" + version;
+    }
+}
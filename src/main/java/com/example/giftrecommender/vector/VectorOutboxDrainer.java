@@ -0,0 +1,348 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.entity.VectorOutbox;
+import com.example.giftrecommender.domain.enums.VectorOutboxOp;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.domain.repository.VectorOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * vector_outbox 배출기
+ * - 처리 시각이 된 행을 기록 순서대로 읽어 상품 id별로 마지막 작업 하나로 합침(같은 상품의 연속 변경은 임베딩 1회)
+ * - UPSERT: 현재 DB 상태로 문서를 만들어 해시 비교 후 바뀐 것만 embedAll 1회 + 청크 업서트(payload만 바뀌면 payload 교체)
+ * - DELETE: DeletePoints 1회
+ * - 업서트 배치가 실패하면 반으로 나눠 다시 시도해 실패한 상품만 골라냄(호출 수는 isolate-max-calls로 제한)
+ * - 실패하면 행을 남기고 지수 backoff 후 재시도, 한도를 넘긴 행은 보류(vector.outbox.rows{state=exhausted} 게이지)
+ *   보류 행은 requeue-exhausted-cron마다(또는 관리 API로) 시도 횟수를 초기화해 다시 배출
+ * - 단일 인스턴스 배출을 전제로 함(여러 인스턴스가 돌아도 업서트/삭제는 멱등이라 결과는 같고 임베딩 비용만 중복)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorOutboxDrainer {
+
+    private final VectorOutboxRepository outboxRepository;
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final ProductVectorService productVectorService;
+    private final ProductVectorStatusService statusService;
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final int isolateMaxCalls;
+
+    private final Counter upserted;
+    private final Counter deleted;
+    private final Counter coalesced;
+    private final Counter failed;
+    private final Counter isolated;
+
+    private final AtomicLong pendingRows = new AtomicLong();
+    private final AtomicLong exhaustedRows = new AtomicLong();
+
+    public VectorOutboxDrainer(VectorOutboxRepository outboxRepository,
+                               CrawlingProductRepository crawlingProductRepository,
+                               ProductVectorService productVectorService,
+                               ProductVectorStatusService statusService,
+                               TransactionTemplate tx,
+                               MeterRegistry meterRegistry,
+                               @Value("${vector.outbox.batch-size:256}") int batchSize,
+                               @Value("${vector.outbox.max-attempts:8}") int maxAttempts,
+                               @Value("${vector.outbox.backoff-base-ms:2000}") long backoffBaseMs,
+                               @Value("${vector.outbox.backoff-max-ms:600000}") long backoffMaxMs,
+                               @Value("${vector.outbox.isolate-max-calls:32}") int isolateMaxCalls) {
+        this.outboxRepository = outboxRepository;
+        this.crawlingProductRepository = crawlingProductRepository;
+        this.productVectorService = productVectorService;
+        this.statusService = statusService;
+        this.tx = tx;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMs = Math.max(1L, backoffBaseMs);
+        this.backoffMaxMs = Math.max(this.backoffBaseMs, backoffMaxMs);
+        this.isolateMaxCalls = Math.max(0, isolateMaxCalls);
+        this.upserted = meterRegistry.counter("vector.outbox.products", "op", "upsert");
+        this.deleted = meterRegistry.counter("vector.outbox.products", "op", "delete");
+        this.coalesced = meterRegistry.counter("vector.outbox.coalesced_rows");
+        this.failed = meterRegistry.counter("vector.outbox.failed_rows");
+        this.isolated = meterRegistry.counter("vector.outbox.isolate_calls");
+
+        Gauge.builder("vector.outbox.rows", pendingRows, AtomicLong::get)
+                .description("배출 대기 중인 outbox 행 수")
+                .tag("state", "pending")
+                .register(meterRegistry);
+        Gauge.builder("vector.outbox.rows", exhaustedRows, AtomicLong::get)
+                .description("재시도 한도를 넘겨 보류된 outbox 행 수")
+                .tag("state", "exhausted")
+                .register(meterRegistry);
+    }
+
+    /** 업서트 분할 재시도 결과: 완료/DB에서 사라짐/실패(원인별) 상품 id */
+    static final class UpsertOutcome {
+        final List<Long> done = new ArrayList<>();
+        final List<Long> gone = new ArrayList<>();
+        final Map<Exception, List<Long>> failed = new LinkedHashMap<>();
+        int calls;
+
+        void fail(List<Long> productIds, Exception cause) {
+            failed.computeIfAbsent(cause, k -> new ArrayList<>()).addAll(productIds);
+        }
+    }
+
+    /** 업서트 호출 단위, 실패하면 예외 */
+    interface UpsertCall {
+        List<Long> upsert(List<Long> productIds) throws Exception;
+    }
+
+    /**
+     * 배치 업서트, 실패하면 반으로 나눠 재시도해 실패 상품만 남김
+     * - 한 상품 때문에 배치 전체가 backoff/보류되지 않도록 함(단일 실패 상품이면 호출 약 2·log2(n)회)
+     * - 분할 호출은 maxCalls까지만: 전체 장애(임베딩 API 다운 등)면 남은 묶음을 그대로 실패 처리
+     */
+    static UpsertOutcome upsertIsolating(List<Long> productIds, UpsertCall call, int maxCalls) {
+        UpsertOutcome out = new UpsertOutcome();
+        try {
+            out.calls++;
+            accept(productIds, call.upsert(productIds), out);
+        } catch (Exception e) {
+            isolate(productIds, e, call, maxCalls, out);
+        }
+        return out;
+    }
+
+    private static void isolate(List<Long> productIds, Exception cause, UpsertCall call, int maxCalls, UpsertOutcome out) {
+        if (productIds.size() == 1 || out.calls >= maxCalls) {
+            out.fail(productIds, cause);
+            return;
+        }
+        int mid = productIds.size() / 2;
+        for (List<Long> half : List.of(productIds.subList(0, mid), productIds.subList(mid, productIds.size()))) {
+            if (out.calls >= maxCalls) {
+                out.fail(half, cause);
+                continue;
+            }
+            try {
+                out.calls++;
+                accept(half, call.upsert(half), out);
+            } catch (Exception e) {
+                isolate(half, e, call, maxCalls, out);
+            }
+        }
+    }
+
+    private static void accept(List<Long> productIds, List<Long> gone, UpsertOutcome out) {
+        Set<Long> goneSet = new HashSet<>(gone);
+        for (Long id : productIds) {
+            if (goneSet.contains(id)) out.gone.add(id);
+            else out.done.add(id);
+        }
+    }
+
+    /** 상품 id별 최종 작업과 그 작업으로 처리되는 outbox 행 id */
+    record Plan(Map<Long, VectorOutboxOp> ops, Map<Long, List<Long>> rowIds) {
+
+        List<Long> productIds(VectorOutboxOp op) {
+            List<Long> out = new ArrayList<>();
+            ops.forEach((productId, o) -> { if (o == op) out.add(productId); });
+            return out;
+        }
+
+        List<Long> rowIdsOf(Collection<Long> productIds) {
+            List<Long> out = new ArrayList<>();
+            for (Long productId : productIds) out.addAll(rowIds.getOrDefault(productId, List.of()));
+            return out;
+        }
+    }
+
+    /** 기록 순서(id 오름차순) 행을 상품별로 합침: 나중 작업이 앞선 작업을 덮어씀 */
+    static Plan coalesce(List<VectorOutbox> rows) {
+        Map<Long, VectorOutboxOp> ops = new LinkedHashMap<>();
+        Map<Long, List<Long>> rowIds = new HashMap<>();
+        for (VectorOutbox row : rows) {
+            ops.put(row.getProductId(), row.getOp());
+            rowIds.computeIfAbsent(row.getProductId(), k -> new ArrayList<>()).add(row.getId());
+        }
+        return new Plan(ops, rowIds);
+    }
+
+    /** attempts번 실패한 행의 다음 재시도까지 대기 시간: base * 2^attempts, 상한 max */
+    static long backoffMs(int attempts, long baseMs, long maxMs) {
+        int shift = Math.min(Math.max(attempts, 0), 30);
+        long delay = baseMs << shift;
+        return (delay <= 0 || delay > maxMs) ? maxMs : delay;
+    }
+
+    @Scheduled(fixedDelayString = "${vector.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${vector.outbox.initial-delay-ms:10000}")
+    public void drain() {
+        try {
+            // 밀린 행이 있으면 한 주기 안에서 계속 비움
+            while (drainOnce() >= batchSize) {
+                if (Thread.currentThread().isInterrupted()) return;
+            }
+        } catch (Exception e) {
+            log.error("[VECTOR][OUTBOX] drain failed. cause={}", e.toString(), e);
+        }
+    }
+
+    /** 한 배치 처리, 읽은 행 수 반환 */
+    int drainOnce() {
+        List<VectorOutbox> rows = outboxRepository.findDue(LocalDateTime.now(), maxAttempts,
+                PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) return 0;
+
+        Plan plan = coalesce(rows);
+        coalesced.increment(rows.size() - plan.ops().size());
+
+        Map<Long, Integer> attemptsByRow = new HashMap<>();
+        for (VectorOutbox row : rows) attemptsByRow.put(row.getId(), row.getAttempts());
+
+        List<Long> deletes = new ArrayList<>(plan.productIds(VectorOutboxOp.DELETE));
+        List<Long> upserts = plan.productIds(VectorOutboxOp.UPSERT);
+
+        if (!upserts.isEmpty()) {
+            UpsertOutcome outcome = upsertIsolating(upserts, this::upsert, isolateMaxCalls);
+            if (outcome.calls > 1) isolated.increment(outcome.calls - 1);
+            complete(plan.rowIdsOf(outcome.done));
+            // 그 사이 삭제된 상품은 삭제로 처리
+            deletes.addAll(outcome.gone);
+            outcome.failed.forEach((cause, ids) -> fail(plan.rowIdsOf(ids), attemptsByRow, cause));
+        }
+
+        if (!deletes.isEmpty()) {
+            try {
+                productVectorService.deleteProducts(deletes);
+                deleted.increment(deletes.size());
+                complete(plan.rowIdsOf(deletes));
+            } catch (Exception e) {
+                fail(plan.rowIdsOf(deletes), attemptsByRow, e);
+            }
+        }
+
+        log.info("[VECTOR][OUTBOX] drained. rows={}, products={}, upsert={}, delete={}",
+                rows.size(), plan.ops().size(), upserts.size(), deletes.size());
+        return rows.size();
+    }
+
+    /**
+     * 현재 DB 상태로 일괄 업서트 후 embedding_ready/해시 기록
+     * @return DB에 없는(삭제된) 상품 id
+     */
+    private List<Long> upsert(List<Long> productIds) throws Exception {
+        List<CrawlingProduct> products = crawlingProductRepository.findByIdIn(productIds);
+
+        Map<Long, List<String>> keywords = new HashMap<>();
+        for (ProductKeywordView row : crawlingProductRepository.findKeywordsByIdIn(productIds)) {
+            keywords.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getKeyword());
+        }
+
+        Set<Long> found = new HashSet<>();
+        List<ProductVectorService.VectorDocument> docs = new ArrayList<>(products.size());
+        Map<Long, ProductVectorService.ContentHash> stored = new HashMap<>();
+        for (CrawlingProduct product : products) {
+            found.add(product.getId());
+            if (Boolean.TRUE.equals(product.getEmbeddingReady())
+                    && product.getEmbeddingHash() != null && product.getPayloadHash() != null) {
+                stored.put(product.getId(),
+                        new ProductVectorService.ContentHash(product.getEmbeddingHash(), product.getPayloadHash()));
+            }
+            ProductVectorService.VectorDocument doc = ProductVectorService.VectorDocument.from(
+                    product, keywords.getOrDefault(product.getId(), List.of()));
+            if (doc == null) {
+                log.warn("[VECTOR][OUTBOX] skip - no title. productId={}", product.getId());
+                continue;
+            }
+            docs.add(doc);
+        }
+
+        // 입력 텍스트가 그대로면 임베딩 없이 payload만 교체하거나 건너뜀
+        Map<Long, ProductVectorService.ContentHash> written = productVectorService.upsertChanged(docs, stored);
+        upserted.increment(written.size());
+        statusService.markEmbedded(written);
+
+        return productIds.stream().filter(id -> !found.contains(id)).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${vector.outbox.gauge-refresh-ms:60000}",
+            initialDelayString = "${vector.outbox.initial-delay-ms:10000}")
+    public void refreshGauges() {
+        try {
+            pendingRows.set(outboxRepository.countPending(maxAttempts));
+            exhaustedRows.set(outboxRepository.countExhausted(maxAttempts));
+        } catch (Exception e) {
+            log.warn("[VECTOR][OUTBOX] gauge refresh failed. cause={}", e.toString());
+        }
+    }
+
+    @Scheduled(cron = "${vector.outbox.requeue-exhausted-cron:0 0 4 * * *}", zone = "Asia/Seoul")
+    public void scheduledRequeue() {
+        requeueExhausted();
+    }
+
+    /**
+     * 보류된 행을 다시 배출 대상으로 돌림(일시 장애가 끝났거나 원인을 고친 뒤)
+     * @return 다시 대기열에 넣은 행 수
+     */
+    public int requeueExhausted() {
+        Integer requeued = tx.execute(s -> outboxRepository.requeueExhausted(maxAttempts, LocalDateTime.now()));
+        int count = (requeued == null) ? 0 : requeued;
+        if (count > 0) log.info("[VECTOR][OUTBOX] requeued exhausted rows. rows={}", count);
+        refreshGauges();
+        return count;
+    }
+
+    public long pendingRows() {
+        return pendingRows.get();
+    }
+
+    public long exhaustedRows() {
+        return exhaustedRows.get();
+    }
+
+    private void complete(List<Long> rowIds) {
+        if (rowIds.isEmpty()) return;
+        tx.executeWithoutResult(s -> outboxRepository.deleteByIdIn(rowIds));
+    }
+
+    /** 행별 시도 횟수에 맞춰 다음 재시도 시각 기록 */
+    private void fail(List<Long> rowIds, Map<Long, Integer> attemptsByRow, Exception cause) {
+        if (rowIds.isEmpty()) return;
+        failed.increment(rowIds.size());
+
+        String error = String.valueOf(cause);
+        if (error.length() > 255) error = error.substring(0, 255);
+
+        Map<Integer, List<Long>> byAttempts = new TreeMap<>();
+        for (Long rowId : rowIds) {
+            byAttempts.computeIfAbsent(attemptsByRow.getOrDefault(rowId, 0), k -> new ArrayList<>()).add(rowId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String lastError = error;
+        tx.executeWithoutResult(s -> byAttempts.forEach((attempts, ids) -> {
+            LocalDateTime next = now.plusNanos(backoffMs(attempts, backoffBaseMs, backoffMaxMs) * 1_000_000L);
+            outboxRepository.markFailed(ids, next, lastError);
+            if (attempts + 1 >= maxAttempts) {
+                log.error("[VECTOR][OUTBOX] giving up after {} attempts. rows={}", attempts + 1, ids);
+            }
+        }));
+
+        log.warn("[VECTOR][OUTBOX] rows failed, will retry. rows={}, cause={}", rowIds.size(), error);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.domain.entity.VectorOutbox;
+import com.example.giftrecommender.domain.enums.VectorOutboxOp;
+import com.example.giftrecommender.domain.repository.VectorOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 상품 변경 트랜잭션 안에서 벡터 인덱스 반영 작업을 outbox에 기록
+ * - 호출 측 트랜잭션에 참여(없으면 예외), 상품 변경이 롤백되면 기록도 함께 롤백
+ * - OpenAI/Qdrant 호출은 VectorOutboxDrainer가 커밋 이후에 수행
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorOutboxWriter {
+
+    private final VectorOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpsert(Long productId) {
+        enqueue(List.of(productId), VectorOutboxOp.UPSERT);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpserts(Collection<Long> productIds) {
+        enqueue(productIds, VectorOutboxOp.UPSERT);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Long productId) {
+        enqueue(List.of(productId), VectorOutboxOp.DELETE);
+    }
+
+    private void enqueue(Collection<Long> productIds, VectorOutboxOp op) {
+        if (productIds == null || productIds.isEmpty()) return;
+
+        List<VectorOutbox> rows = new ArrayList<>(productIds.size());
+        for (Long id : new LinkedHashSet<>(productIds)) {
+            if (Objects.nonNull(id)) rows.add(new VectorOutbox(id, op));
+        }
+        outboxRepository.saveAll(rows);
+    }
+}
@@ -5,13 +5,25 @@ import java.util.List;
 public interface VectorProductSearch {
     record ScoredId(long productId, double score) {}
 
+    /** searchBatch 입력 단위(searchWithScores 인자 + 컨펌 여부 필터) */
+    record Query(String text,
+                 int minPrice, int maxPrice,
+                 String age, String gender,
+                 int topK, double threshold,
+                 Boolean isConfirmed) {
+
+        public Query(String text, int minPrice, int maxPrice, String age, String gender, int topK, double threshold) {
+            this(text, minPrice, maxPrice, age, gender, topK, threshold, null);
+        }
+    }
+
     /**
      * 키워드/문장 쿼리를 벡터화하여 Qdrant에서 유사 상품을 점수와 함께 검색
      * @param query         자연어 쿼리 (예: "운동화")
      * @param minPrice      최소 가격
      * @param maxPrice      최대 가격
-     * @param age           예: "TEEN" (없으면 null)
-     * @param gender        예: "MALE" (없으면 null)
+     * @param age           예: "TEEN" (없으면 null, 다른 연령대로 지정된 상품 제외)
+     * @param gender        예: "MALE" (없으면 null, 반대 성별로 지정된 상품 제외)
      * @param topK          최대 반환 개수 (여유있게 50~100 추천)
      * @param threshold     유사도 임계값 (예: 0.78)
      */
@@ -19,4 +31,11 @@ public interface VectorProductSearch {
                                     int minPrice, int maxPrice,
                                     String age, String gender,
                                     int topK, double threshold);
+
+    /**
+     * 여러 쿼리를 한 번에 검색
+     * - 결과 리스트는 queries와 같은 순서/크기
+     * - Query의 모든 필터(isConfirmed 포함)를 적용해야 하므로 단건 호출로 대신하는 기본 구현을 두지 않음
+     */
+    List<List<ScoredId>> searchBatch(List<Query> queries);
 }
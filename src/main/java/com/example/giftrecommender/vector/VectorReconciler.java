@@ -0,0 +1,290 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.common.exception.ErrorException;
+import com.example.giftrecommender.common.exception.ExceptionEnum;
+import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.example.giftrecommender.domain.repository.VectorOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Points;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Qdrant 포인트와 DB 상품의 정합성 점검/복구
+ * - Qdrant scroll(id 오름차순, payload/벡터 제외)과 DB id keyset 페이지를 병합해 차집합만 배치로 처리(메모리는 페이지 크기만큼)
+ * - 포인트가 없는 상품: 해시/embedding_ready를 초기화하고 outbox에 UPSERT 기록(배출기가 재임베딩, 이미 대기 중이면 제외)
+ * - 상품이 없는 포인트(고아): DeletePoints 배치 삭제, 한 번에 max-deletes까지만(대량 삭제 사고 방지)
+ * - 시작 시점 최대 상품 id 이후는 비교하지 않음(실행 중 새로 저장된 상품을 고아로 오인하지 않도록)
+ * - 드리프트 건수는 vector.reconcile.* 게이지로 노출, 한 번에 하나만 실행
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorReconciler {
+
+    private static final long[] EMPTY = new long[0];
+    private static final long TIMEOUT_SECONDS = 30L;
+
+    private final QdrantClient qdrant;
+    private final QdrantProps qdrantProps;
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final VectorOutboxRepository outboxRepository;
+    private final VectorOutboxWriter outboxWriter;
+    private final ProductVectorService productVectorService;
+    private final TransactionTemplate tx;
+    private final MeterRegistry meterRegistry;
+
+    private final int pageSize;
+    private final int batchSize;
+    private final long maxDeletes;
+    private final int outboxMaxAttempts;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("vector-reconcile").daemon(true).factory());
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.idle());
+
+    // 마지막 실행 결과(게이지)
+    private final AtomicLong lastProducts = new AtomicLong();
+    private final AtomicLong lastPoints = new AtomicLong();
+    private final AtomicLong lastMissing = new AtomicLong();
+    private final AtomicLong lastOrphans = new AtomicLong();
+
+    public VectorReconciler(QdrantClient qdrant,
+                            QdrantProps qdrantProps,
+                            CrawlingProductRepository crawlingProductRepository,
+                            VectorOutboxRepository outboxRepository,
+                            VectorOutboxWriter outboxWriter,
+                            ProductVectorService productVectorService,
+                            TransactionTemplate tx,
+                            MeterRegistry meterRegistry,
+                            @Value("${vector.reconcile.page-size:1000}") int pageSize,
+                            @Value("${vector.reconcile.batch-size:500}") int batchSize,
+                            @Value("${vector.reconcile.max-deletes:10000}") long maxDeletes,
+                            @Value("${vector.outbox.max-attempts:8}") int outboxMaxAttempts) {
+        this.qdrant = qdrant;
+        this.qdrantProps = qdrantProps;
+        this.crawlingProductRepository = crawlingProductRepository;
+        this.outboxRepository = outboxRepository;
+        this.outboxWriter = outboxWriter;
+        this.productVectorService = productVectorService;
+        this.tx = tx;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = Math.max(1, pageSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxDeletes = Math.max(0L, maxDeletes);
+        this.outboxMaxAttempts = outboxMaxAttempts;
+
+        meterRegistry.gauge("vector.reconcile.products", lastProducts);
+        meterRegistry.gauge("vector.reconcile.points", lastPoints);
+        meterRegistry.gauge("vector.reconcile.missing", lastMissing);
+        meterRegistry.gauge("vector.reconcile.orphans", lastOrphans);
+    }
+
+    /**
+     * @param missing  포인트가 없는 상품 수
+     * @param orphans  상품이 없는 포인트 수
+     * @param requeued outbox에 다시 기록한 상품 수(이미 대기 중인 상품 제외)
+     * @param deleted  삭제한 고아 포인트 수
+     */
+    public record Status(String state,
+                         boolean dryRun,
+                         long products,
+                         long points,
+                         long missing,
+                         long orphans,
+                         long requeued,
+                         long deleted,
+                         Instant startedAt,
+                         Instant finishedAt,
+                         String error) {
+
+        static Status idle() {
+            return new Status("IDLE", false, 0, 0, 0, 0, 0, 0, null, null, null);
+        }
+
+        boolean running() {
+            return "RUNNING".equals(state);
+        }
+
+        Status progress(long missingDelta, long orphansDelta, long requeuedDelta, long deletedDelta) {
+            return new Status(state, dryRun, products, points, missing + missingDelta, orphans + orphansDelta,
+                    requeued + requeuedDelta, deleted + deletedDelta, startedAt, finishedAt, error);
+        }
+
+        Status finish(String state, long products, long points, String error) {
+            return new Status(state, dryRun, products, points, missing, orphans, requeued, deleted,
+                    startedAt, Instant.now(), error);
+        }
+    }
+
+    public Status status() {
+        return status.get();
+    }
+
+    @Scheduled(cron = "${vector.reconcile.cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void scheduledRun() {
+        try {
+            start(false);
+        } catch (ErrorException e) {
+            log.info("[VECTOR][RECONCILE] skip scheduled run - already running");
+        }
+    }
+
+    /**
+     * 비동기로 점검 시작
+     * @param dryRun true면 드리프트 집계만 하고 복구하지 않음
+     * @throws ErrorException 이미 실행 중이면 VECTOR_RECONCILE_RUNNING
+     */
+    public Status start(boolean dryRun) {
+        Status current = status.get();
+        Status started = new Status("RUNNING", dryRun, 0, 0, 0, 0, 0, 0, Instant.now(), null, null);
+        if (current.running() || !status.compareAndSet(current, started)) {
+            throw new ErrorException(ExceptionEnum.VECTOR_RECONCILE_RUNNING);
+        }
+        worker.execute(() -> run(dryRun));
+        return started;
+    }
+
+    private void run(boolean dryRun) {
+        String collection = qdrantProps.getCollection();
+        try {
+            Long max = crawlingProductRepository.findMaxId();
+            long maxId = (max == null) ? 0L : max;
+            log.info("[VECTOR][RECONCILE] start. collection={}, maxId={}, dryRun={}", collection, maxId, dryRun);
+
+            SortedIdDiff.Counts counts = SortedIdDiff.diff(
+                    productIdPages(maxId), pointIdPages(collection, maxId), batchSize,
+                    ids -> repairMissing(ids, dryRun),
+                    ids -> deleteOrphans(ids, dryRun));
+
+            lastProducts.set(counts.left());
+            lastPoints.set(counts.right());
+            lastMissing.set(counts.onlyLeft());
+            lastOrphans.set(counts.onlyRight());
+
+            Status done = status.updateAndGet(s -> s.finish("COMPLETED", counts.left(), counts.right(), null));
+            log.info("[VECTOR][RECONCILE] done. products={}, points={}, missing={}, orphans={}, requeued={}, deleted={}",
+                    done.products(), done.points(), done.missing(), done.orphans(), done.requeued(), done.deleted());
+        } catch (Exception e) {
+            status.updateAndGet(s -> s.finish("FAILED", s.products(), s.points(), e.toString()));
+            log.error("[VECTOR][RECONCILE] failed. cause={}", e.toString(), e);
+        }
+    }
+
+    /** DB 상품 id (0, maxId] keyset 페이지 */
+    private SortedIdDiff.PageSource productIdPages(long maxId) {
+        long[] lastId = {0L};
+        return () -> {
+            List<Long> ids = crawlingProductRepository.findIdsInRange(lastId[0], maxId, PageRequest.of(0, pageSize));
+            if (ids.isEmpty()) return EMPTY;
+            lastId[0] = ids.get(ids.size() - 1);
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        };
+    }
+
+    /** Qdrant 포인트 id scroll 페이지(id 오름차순), maxId를 넘는 id가 나오면 종료 */
+    private SortedIdDiff.PageSource pointIdPages(String collection, long maxId) {
+        Points.PointId[] offset = {null};
+        boolean[] end = {false};
+        return () -> {
+            // 빈 배열은 스트림 끝이므로 정수 id가 하나도 없는 페이지는 건너뛰고 계속 읽음
+            while (!end[0]) {
+                Points.ScrollPoints.Builder req = Points.ScrollPoints.newBuilder()
+                        .setCollectionName(collection)
+                        .setLimit(pageSize)
+                        .setWithPayload(Points.WithPayloadSelector.newBuilder().setEnable(false))
+                        .setWithVectors(Points.WithVectorsSelector.newBuilder().setEnable(false));
+                if (offset[0] != null) req.setOffset(offset[0]);
+
+                Points.ScrollResponse res = qdrant.scrollAsync(req.build()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (res.hasNextPageOffset()) offset[0] = res.getNextPageOffset();
+                else end[0] = true;
+
+                long[] ids = new long[res.getResultCount()];
+                int n = 0;
+                for (Points.RetrievedPoint p : res.getResultList()) {
+                    if (!p.getId().hasNum()) continue;
+                    long id = p.getId().getNum();
+                    if (id > maxId) {
+                        end[0] = true;
+                        break;
+                    }
+                    ids[n++] = id;
+                }
+                if (n > 0) return (n == ids.length) ? ids : Arrays.copyOf(ids, n);
+            }
+            return EMPTY;
+        };
+    }
+
+    /** 포인트가 없는 상품: 이미 outbox 대기 중인 상품을 빼고 해시 초기화 + UPSERT 기록 */
+    private void repairMissing(long[] ids, boolean dryRun) {
+        long requeued = 0;
+        if (!dryRun) {
+            List<Long> candidates = Arrays.stream(ids).boxed().toList();
+            Set<Long> pending = new HashSet<>(outboxRepository.findPendingProductIds(candidates, outboxMaxAttempts));
+            List<Long> targets = new ArrayList<>(candidates.size());
+            for (Long id : candidates) {
+                if (!pending.contains(id)) targets.add(id);
+            }
+            if (!targets.isEmpty()) {
+                tx.executeWithoutResult(s -> {
+                    crawlingProductRepository.resetEmbedding(targets);
+                    outboxWriter.enqueueUpserts(targets);
+                });
+            }
+            requeued = targets.size();
+            meterRegistry.counter("vector.reconcile.repaired", "type", "missing").increment(requeued);
+        }
+        long delta = requeued;
+        status.updateAndGet(s -> s.progress(ids.length, 0, delta, 0));
+        log.info("[VECTOR][RECONCILE] missing points. count={}, requeued={}, first={}", ids.length, requeued, ids[0]);
+    }
+
+    /** 상품이 없는 포인트 삭제(실행당 max-deletes 상한) */
+    private void deleteOrphans(long[] ids, boolean dryRun) throws Exception {
+        long deleted = 0;
+        if (!dryRun) {
+            long allowed = maxDeletes - status.get().deleted();
+            if (allowed < ids.length) {
+                log.error("[VECTOR][RECONCILE] orphan delete limit reached. limit={}, pending={} (check DB/collection)",
+                        maxDeletes, ids.length);
+            }
+            int n = (int) Math.max(0L, Math.min(allowed, ids.length));
+            if (n > 0) {
+                productVectorService.deleteProducts(Arrays.stream(ids, 0, n).boxed().toList());
+                deleted = n;
+                meterRegistry.counter("vector.reconcile.repaired", "type", "orphan").increment(n);
+            }
+        }
+        long delta = deleted;
+        status.updateAndGet(s -> s.progress(0, ids.length, 0, delta));
+        log.info("[VECTOR][RECONCILE] orphan points. count={}, deleted={}, first={}", ids.length, deleted, ids[0]);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.common.exception.ErrorException;
+import com.example.giftrecommender.common.exception.ExceptionEnum;
+import com.example.giftrecommender.config.EmbeddingProps;
+import com.example.giftrecommender.domain.entity.CrawlingProduct;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 전체 상품 재색인(재임베딩)
+ * - 읽기 스레드가 id 기준 keyset 페이지를 읽고(페이지마다 짧은 읽기 트랜잭션), 페이지 워커 parallelism개가
+ *   embedAll(다중 input 호출) + 일괄 업서트, 임베딩 입력 수는 분당 상한으로 제한
+ * - 앞선 페이지가 모두 끝난 지점(lastId/건수)을 Redis에 체크포인트로 남겨 장애/재기동 후 resume으로 이어서 실행
+ * - blue/green(swap=true): 새 버전 컬렉션({alias}_v{n})을 채우는 동안 실시간 쓰기를 양쪽에 보내고,
+ *   페이지마다 embedding_model에 새 버전을 기록, 끝나면 alias를 원자적으로 전환(이전 버전은 롤백용으로 남김)
+ * - swap=false: 지정 컬렉션/차원만 채움(차원/인덱스 설정 비교용)
+ * - 한 번에 하나의 작업만 실행, 진행 상황(처리량/ETA 포함)은 status()로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "vector", name = "enabled", havingValue = "true")
+public class VectorReindexService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_PARALLELISM = 16;
+    private static final String CHECKPOINT_KEY = "vector:reindex:checkpoint";
+
+    private final CrawlingProductRepository crawlingProductRepository;
+    private final ProductVectorService productVectorService;
+    private final QdrantCollectionService collectionService;
+    private final VectorCollectionVersions collectionVersions;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingProps embeddingProps;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("vector-reindex").daemon(true).factory());
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.idle());
+
+    /** 실행 중인 페이지 워커 풀(종료 시 함께 중단) */
+    private volatile ExecutorService pageWorkers;
+
+    /**
+     * @param swap           완료 후 alias 전환 여부
+     * @param label          embedding_model에 기록하는 버전(swap일 때만)
+     * @param total          시작 시점 전체 상품 수(추정)
+     * @param scanned        읽고 처리를 마친 상품 수(재개 전 건수 포함)
+     * @param lastId         체크포인트 id(앞선 페이지가 모두 끝난 지점)
+     * @param resumedScanned 이번 실행 시작 시점의 scanned(처리량 계산용)
+     * @param swapped        alias 전환 완료 여부
+     */
+    public record Status(String state,
+                         String collection,
+                         int dimensions,
+                         boolean swap,
+                         String label,
+                         long total,
+                         long scanned,
+                         long upserted,
+                         long lastId,
+                         long resumedScanned,
+                         boolean swapped,
+                         Instant startedAt,
+                         Instant finishedAt,
+                         String error) {
+
+        static Status idle() {
+            return new Status("IDLE", null, 0, false, null, 0, 0, 0, 0, 0, false, null, null, null);
+        }
+
+        boolean running() {
+            return "RUNNING".equals(state);
+        }
+
+        Status progress(long scannedDelta, long upsertedDelta, long checkpointId) {
+            return new Status(state, collection, dimensions, swap, label, total, scanned + scannedDelta,
+                    upserted + upsertedDelta, checkpointId, resumedScanned, swapped, startedAt, finishedAt, error);
+        }
+
+        Status markSwapped() {
+            return new Status(state, collection, dimensions, swap, label, total, scanned, upserted, lastId,
+                    resumedScanned, true, startedAt, finishedAt, error);
+        }
+
+        Status finish(String state, String error) {
+            return new Status(state, collection, dimensions, swap, label, total, scanned, upserted, lastId,
+                    resumedScanned, swapped, startedAt, Instant.now(), error);
+        }
+
+        /** 이번 실행의 초당 처리 상품 수 */
+        public double throughputPerSecond() {
+            if (startedAt == null) return 0.0;
+            Instant end = (finishedAt != null) ? finishedAt : Instant.now();
+            double seconds = Duration.between(startedAt, end).toMillis() / 1000.0;
+            return seconds <= 0 ? 0.0 : (scanned - resumedScanned) / seconds;
+        }
+
+        /** 남은 예상 시간(초), 실행 중이 아니거나 아직 측정 전이면 null */
+        public Long etaSeconds() {
+            double rate = throughputPerSecond();
+            if (!running() || rate <= 0) return null;
+            return (long) Math.ceil(Math.max(0, total - scanned) / rate);
+        }
+    }
+
+    /** 재색인 시작 옵션(null이면 embedding.reindex 기본값) */
+    public record Options(String collection,
+                         Integer dimensions,
+                         Integer pageSize,
+                         Integer parallelism,
+                         Integer maxInputsPerMinute,
+                         QdrantCollectionService.IndexSettings indexOverrides,
+                         boolean swap,
+                         boolean dropLegacyCollection,
+                         boolean resume) {}
+
+    /** Redis 체크포인트(작업 정의 + 연속 완료 지점) */
+    private record Checkpoint(String collection, int dimensions, boolean swap, String label,
+                              boolean dropLegacyCollection, long lastId, long scanned, long upserted) {}
+
+    private record Plan(String collection, int dimensions, boolean swap, String label, boolean dropLegacyCollection,
+                        int pageSize, int parallelism, int maxInputsPerMinute, PageWatermark.Mark start) {}
+
+    public Status status() {
+        return status.get();
+    }
+
+    /** 지정 컬렉션/차원만 채우는 재색인(alias 전환 없음) */
+    public Status start(String collection, int dimensions, Integer pageSize) throws Exception {
+        return start(new Options(collection, dimensions, pageSize, null, null, null, false, false, false));
+    }
+
+    /**
+     * 대상 컬렉션을 만들고(있으면 유지) 비동기로 재색인 시작
+     * - resume이면 체크포인트의 컬렉션/차원/버전으로 마지막 연속 완료 지점부터 이어서 실행(다른 대상 옵션은 무시)
+     * - swap이면 컬렉션을 비워 두면 다음 버전 이름, 차원은 검색 임베딩 차원과 같아야 함
+     * - indexOverrides: 값이 있는 항목만 qdrant.index 설정을 덮어씀(새로 만드는 컬렉션에만 적용)
+     * @throws ErrorException 이미 실행 중이면 VECTOR_REINDEX_RUNNING, swap인데 차원이 다르면 VECTOR_DIMENSION_MISMATCH,
+     *                        resume인데 체크포인트가 없으면 VECTOR_REINDEX_CHECKPOINT_NOT_FOUND
+     */
+    public Status start(Options options) throws Exception {
+        if (status.get().running()) throw new ErrorException(ExceptionEnum.VECTOR_REINDEX_RUNNING);
+
+        EmbeddingProps.Reindex defaults = embeddingProps.getReindex();
+        int pageSize = clamp(options.pageSize(), defaults.getPageSize(), MAX_PAGE_SIZE);
+        int parallelism = clamp(options.parallelism(), defaults.getParallelism(), MAX_PARALLELISM);
+        int maxInputsPerMinute = (options.maxInputsPerMinute() == null || options.maxInputsPerMinute() <= 0)
+                ? defaults.getMaxInputsPerMinute() : options.maxInputsPerMinute();
+
+        Plan plan = options.resume()
+                ? resumePlan(pageSize, parallelism, maxInputsPerMinute)
+                : newPlan(options, pageSize, parallelism, maxInputsPerMinute);
+
+        if (plan.swap() && plan.dimensions() != embeddingService.dimensions()) {
+            throw new ErrorException(ExceptionEnum.VECTOR_DIMENSION_MISMATCH);
+        }
+
+        long total = plan.start().scanned() + crawlingProductRepository.countByIdGreaterThan(plan.start().lastId());
+
+        Status current = status.get();
+        Status started = new Status("RUNNING", plan.collection(), plan.dimensions(), plan.swap(), plan.label(),
+                total, plan.start().scanned(), plan.start().upserted(), plan.start().lastId(),
+                plan.start().scanned(), false, Instant.now(), null, null);
+        if (current.running() || !status.compareAndSet(current, started)) {
+            throw new ErrorException(ExceptionEnum.VECTOR_REINDEX_RUNNING);
+        }
+
+        try {
+            if (!options.resume()) {
+                QdrantCollectionService.IndexSettings settings = collectionService.configuredSettings();
+                QdrantCollectionService.IndexSettings o = options.indexOverrides();
+                if (o != null) settings = settings.override(o.m(), o.efConstruct(), o.onDiskPayload(), o.quantization());
+                collectionService.ensureCollection(plan.collection(), plan.dimensions(), settings);
+            }
+            if (!options.resume()) clearCheckpoint();
+            saveCheckpoint(plan, plan.start());
+            worker.execute(() -> run(plan));
+        } catch (Exception e) {
+            status.updateAndGet(s -> s.finish("FAILED", e.toString()));
+            throw e;
+        }
+        return status.get();
+    }
+
+    private Plan newPlan(Options options, int pageSize, int parallelism, int maxInputsPerMinute) throws Exception {
+        int dimensions = options.dimensions() != null ? options.dimensions() : embeddingService.dimensions();
+        String collection = options.collection();
+        if (options.swap() && (collection == null || collection.isBlank())) {
+            collection = collectionVersions.nextVersion();
+        }
+
+        if (collection == null || collection.isBlank() || dimensions <= 0) {
+            throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+        }
+        if (options.swap() && (collection.equals(collectionVersions.alias())
+                || collection.equals(collectionVersions.activeCollection()))) {
+            throw new ErrorException(ExceptionEnum.INVALID_REQUEST);
+        }
+
+        String label = options.swap() ? collectionVersions.versionLabel(collection, dimensions) : null;
+        return new Plan(collection, dimensions, options.swap(), label, options.dropLegacyCollection(),
+                pageSize, parallelism, maxInputsPerMinute, new PageWatermark.Mark(0L, 0L, 0L));
+    }
+
+    private Plan resumePlan(int pageSize, int parallelism, int maxInputsPerMinute) {
+        Checkpoint cp = loadCheckpoint()
+                .orElseThrow(() -> new ErrorException(ExceptionEnum.VECTOR_REINDEX_CHECKPOINT_NOT_FOUND));
+        log.info("[VECTOR][REINDEX] resume from checkpoint. collection={}, lastId={}, scanned={}",
+                cp.collection(), cp.lastId(), cp.scanned());
+        return new Plan(cp.collection(), cp.dimensions(), cp.swap(), cp.label(), cp.dropLegacyCollection(),
+                pageSize, parallelism, maxInputsPerMinute,
+                new PageWatermark.Mark(cp.lastId(), cp.scanned(), cp.upserted()));
+    }
+
+    private void run(Plan plan) {
+        String collection = plan.collection();
+        log.info("[VECTOR][REINDEX] start. collection={}, dims={}, pageSize={}, parallelism={}, maxInputsPerMinute={}, " +
+                        "swap={}, label={}, fromId={}", collection, plan.dimensions(), plan.pageSize(),
+                plan.parallelism(), plan.maxInputsPerMinute(), plan.swap(), plan.label(), plan.start().lastId());
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        TransactionTemplate writeTx = new TransactionTemplate(transactionManager);
+
+        InputRateLimiter limiter = new InputRateLimiter(plan.maxInputsPerMinute());
+        PageWatermark watermark = new PageWatermark(plan.start());
+        Semaphore window = new Semaphore(plan.parallelism() * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(plan.parallelism(),
+                r -> Thread.ofPlatform().name("vector-reindex-page-" + seq.incrementAndGet()).daemon(true).unstarted(r));
+        pageWorkers = workers;
+
+        // 스캔 전에 켜서, 스캔이 지나간 뒤 바뀐 상품도 새 버전에 반영
+        if (plan.swap()) collectionVersions.beginDualWrite(collection);
+
+        long cursor = plan.start().lastId();
+        try {
+            while (!Thread.currentThread().isInterrupted() && failure.get() == null) {
+                final long from = cursor;
+                Page page = tx.execute(s -> readPage(from, plan.pageSize()));
+                if (page == null || page.scanned() == 0) break;
+                cursor = page.lastId();
+
+                window.acquire();
+                long pageSeq = watermark.register(page.lastId(), page.scanned());
+                workers.execute(() -> {
+                    try {
+                        int upserted = processPage(plan, page, limiter, writeTx);
+                        boolean advanced = watermark.complete(pageSeq, upserted);
+                        PageWatermark.Mark mark = watermark.mark();
+                        if (advanced) saveCheckpoint(plan, mark);
+                        status.updateAndGet(st -> st.progress(page.scanned(), upserted, mark.lastId()));
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        window.release();
+                    }
+                });
+            }
+
+            workers.shutdown();
+            while (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.debug("[VECTOR][REINDEX] waiting page workers. collection={}", collection);
+            }
+            if (failure.get() != null) throw failure.get();
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException("reindex interrupted");
+
+            if (plan.swap()) {
+                collectionVersions.swap(collection, plan.dropLegacyCollection());
+                status.updateAndGet(Status::markSwapped);
+            }
+            clearCheckpoint();
+
+            Status done = status.updateAndGet(s -> s.finish("COMPLETED", null));
+            log.info("[VECTOR][REINDEX] done. collection={}, scanned={}, upserted={}, swapped={}, throughput={}/s",
+                    collection, done.scanned(), done.upserted(), done.swapped(),
+                    Math.round(done.throughputPerSecond()));
+        } catch (Throwable e) {
+            workers.shutdownNow();
+            status.updateAndGet(s -> s.finish("FAILED", e.toString()));
+            log.error("[VECTOR][REINDEX] failed. collection={}, checkpoint={}, err={} (resume to continue)",
+                    collection, watermark.mark().lastId(), e.toString(), e);
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+        } finally {
+            pageWorkers = null;
+            if (plan.swap()) collectionVersions.endDualWrite(collection);
+        }
+    }
+
+    /** 입력 수만큼 속도 제한 후 임베딩/업서트, swap이면 embedding_model에 새 버전 기록 */
+    private int processPage(Plan plan, Page page, InputRateLimiter limiter, TransactionTemplate writeTx) throws Exception {
+        if (page.docs().isEmpty()) return 0;
+
+        limiter.acquire(page.docs().size());
+        int upserted = productVectorService.upsertProducts(plan.collection(), page.docs(), plan.dimensions());
+
+        if (plan.label() != null) {
+            List<Long> ids = page.docs().stream().map(ProductVectorService.VectorDocument::productId).toList();
+            writeTx.executeWithoutResult(s -> crawlingProductRepository.bulkUpdateEmbeddingModel(ids, plan.label()));
+        }
+        return upserted;
+    }
+
+    private record Page(int scanned, long lastId, List<ProductVectorService.VectorDocument> docs) {}
+
+    private Page readPage(long lastId, int pageSize) {
+        List<CrawlingProduct> products =
+                crawlingProductRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+        if (products.isEmpty()) return new Page(0, lastId, List.of());
+
+        // 키워드는 페이지 단위 한 번에 조회(상품별 지연 로딩 N+1 방지)
+        List<Long> ids = products.stream().map(CrawlingProduct::getId).toList();
+        Map<Long, List<String>> keywords = new HashMap<>();
+        for (ProductKeywordView row : crawlingProductRepository.findKeywordsByIdIn(ids)) {
+            keywords.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getKeyword());
+        }
+
+        List<ProductVectorService.VectorDocument> docs = new ArrayList<>(products.size());
+        for (CrawlingProduct p : products) {
+            ProductVectorService.VectorDocument doc =
+                    ProductVectorService.VectorDocument.from(p, keywords.getOrDefault(p.getId(), List.of()));
+            if (doc != null) docs.add(doc);
+        }
+        return new Page(products.size(), products.get(products.size() - 1).getId(), docs);
+    }
+
+    /* ===================== 체크포인트(Redis) ===================== */
+
+    private void saveCheckpoint(Plan plan, PageWatermark.Mark mark) {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return;
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("collection", plan.collection());
+        fields.put("dimensions", String.valueOf(plan.dimensions()));
+        fields.put("swap", String.valueOf(plan.swap()));
+        if (plan.label() != null) fields.put("label", plan.label());
+        fields.put("dropLegacyCollection", String.valueOf(plan.dropLegacyCollection()));
+        fields.put("lastId", String.valueOf(mark.lastId()));
+        fields.put("scanned", String.valueOf(mark.scanned()));
+        fields.put("upserted", String.valueOf(mark.upserted()));
+        try {
+            redis.opsForHash().putAll(CHECKPOINT_KEY, fields);
+        } catch (Exception e) {
+            log.warn("[VECTOR][REINDEX] checkpoint save failed. lastId={}, err={}", mark.lastId(), e.toString());
+        }
+    }
+
+    private Optional<Checkpoint> loadCheckpoint() {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return Optional.empty();
+
+        Map<Object, Object> f = redis.opsForHash().entries(CHECKPOINT_KEY);
+        if (f == null || f.get("collection") == null || f.get("lastId") == null) return Optional.empty();
+        return Optional.of(new Checkpoint(
+                (String) f.get("collection"),
+                Integer.parseInt((String) f.get("dimensions")),
+                Boolean.parseBoolean((String) f.get("swap")),
+                (String) f.get("label"),
+                Boolean.parseBoolean((String) f.get("dropLegacyCollection")),
+                Long.parseLong((String) f.get("lastId")),
+                Long.parseLong((String) f.getOrDefault("scanned", "0")),
+                Long.parseLong((String) f.getOrDefault("upserted", "0"))));
+    }
+
+    private void clearCheckpoint() {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.delete(CHECKPOINT_KEY);
+        } catch (Exception e) {
+            log.warn("[VECTOR][REINDEX] checkpoint clear failed. err={}", e.toString());
+        }
+    }
+
+    private static int clamp(Integer value, int defaultValue, int max) {
+        return (value == null || value <= 0) ? Math.min(defaultValue, max) : Math.min(value, max);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ExecutorService workers = pageWorkers;
+        if (workers != null) workers.shutdownNow();
+        worker.shutdownNow();
+    }
+}
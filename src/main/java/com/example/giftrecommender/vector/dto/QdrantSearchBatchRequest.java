@@ -0,0 +1,17 @@
+package com.example.giftrecommender.vector.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.util.List;
+
+/** POST /collections/{c}/points/search/batch 요청 본문 */
+@Getter
+public class QdrantSearchBatchRequest {
+    @JsonProperty("searches")
+    private List<QdrantSearchRequest> searches;
+
+    public QdrantSearchBatchRequest(List<QdrantSearchRequest> searches) {
+        this.searches = searches;
+    }
+}
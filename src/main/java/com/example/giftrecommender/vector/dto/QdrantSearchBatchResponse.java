@@ -0,0 +1,16 @@
+package com.example.giftrecommender.vector.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+/** search/batch 응답: result[i]는 searches[i]의 결과 */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QdrantSearchBatchResponse {
+
+    private List<List<QdrantSearchResponse.Item>> result;
+
+    public void setResult(List<List<QdrantSearchResponse.Item>> result) { this.result = result; }
+}
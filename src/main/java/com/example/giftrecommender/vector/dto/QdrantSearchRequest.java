@@ -27,12 +27,27 @@ public class QdrantSearchRequest {
     @JsonProperty("score_threshold")
     private Double scoreThreshold;
 
+    /** 검색 파라미터(hnsw_ef, exact 등) */
+    @JsonProperty("params")
+    private Map<String, Object> params;
+
     public QdrantSearchRequest(float[] vector,
                                int limit,
                                boolean withPayload,
                                boolean withVectors,
                                Map<String, Object> filter,
                                Double scoreThreshold) {
+        this(vector, limit, withPayload, withVectors, filter, scoreThreshold, null);
+    }
+
+    public QdrantSearchRequest(float[] vector,
+                               int limit,
+                               boolean withPayload,
+                               boolean withVectors,
+                               Map<String, Object> filter,
+                               Double scoreThreshold,
+                               Map<String, Object> params) {
+        this.params = params;
         this.vector = vector;
         this.limit = limit;
         this.withPayload = withPayload;
@@ -17,9 +17,13 @@ public class QdrantSearchResponse {
     @Getter
     @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Item {
+        /** 포인트 id(정수 또는 UUID 문자열) */
+        private Object id;
         private double score;
         private Map<String, Object> payload;
 
+        public void setId(Object id) { this.id = id; }
+
         public void setScore(double score) { this.score = score; }
 
         public void setPayload(Map<String, Object> payload) { this.payload = payload; }
@@ -0,0 +1,18 @@
+package com.example.giftrecommender.vector.event;
+
+import com.example.giftrecommender.domain.enums.Age;
+import com.example.giftrecommender.domain.enums.Gender;
+
+import java.util.List;
+
+/**
+ * 상품 필터 속성(성별/연령/컨펌) 변경 이벤트
+ * - null이 아닌 필드만 변경된 값
+ * - ProductPayloadSyncListener가 커밋 후 Qdrant payload에 반영
+ */
+public record ProductAttributesChangedEvent(
+        List<Long> productIds,
+        Gender gender,
+        Age age,
+        Boolean isConfirmed
+) { }
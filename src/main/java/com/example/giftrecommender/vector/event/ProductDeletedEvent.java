@@ -1,3 +0,0 @@
-package com.example.giftrecommender.vector.event;
-
-public record ProductDeletedEvent(Long productId) {}
@@ -0,0 +1,119 @@
+package com.example.giftrecommender.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@ActiveProfiles("test")
+class CatalogSnapshotTest {
+
+    private static CatalogSnapshot.Row row(long id, int price, String title, String... keywords) {
+        return new CatalogSnapshot.Row(id, price, 0, title, "리빙", List.of(keywords));
+    }
+
+    private static List<Long> ids(CatalogSnapshot snapshot, int[] rows) {
+        List<Long> out = new ArrayList<>();
+        for (int row : rows) out.add(snapshot.id(row));
+        return out;
+    }
+
+    @DisplayName("가격 범위 안에서 id가 큰 순으로 limit개를 고른다.")
+    @Test
+    void newestInPriceRange() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.build(List.of(
+                row(1, 10_000, "머그컵"), row(7, 30_000, "텀블러"), row(3, 20_000, "향초"),
+                row(9, 50_000, "무드등"), row(5, 20_000, "디퓨저"), row(8, 20_000, "손수건")));
+
+        // when
+        int[] rows = snapshot.newestInRange(20_000, 30_000, 3);
+
+        // then
+        assertThat(ids(snapshot, rows)).containsExactly(8L, 7L, 5L);
+        assertThat(snapshot.lowerBound(20_000)).isEqualTo(1);
+        assertThat(snapshot.upperBound(20_000)).isEqualTo(4);
+        assertThat(snapshot.newestInRange(60_000, Integer.MAX_VALUE, 3)).isEmpty();
+    }
+
+    @DisplayName("변경분 반영 시 삭제/수정된 상품을 빼고 새 가격 위치에 병합한다.")
+    @Test
+    void appliesChanges() {
+        // given
+        CatalogSnapshot base = CatalogSnapshot.build(List.of(
+                row(1, 10_000, "머그컵"), row(2, 20_000, "향초"), row(3, 30_000, "텀블러")));
+
+        // when
+        CatalogSnapshot next = base.withChanges(List.of(1L), List.of(
+                row(3, 5_000, "텀블러 할인"), row(4, 25_000, "무드등")));
+
+        // then
+        assertThat(ids(next, next.newestInRange(0, Integer.MAX_VALUE, 10))).containsExactly(4L, 3L, 2L);
+        assertThat(next.price(0)).isEqualTo(5_000);
+        assertThat(next.title(0)).isEqualTo("텀블러 할인");
+        assertThat(base.size()).isEqualTo(3);
+    }
+
+    @DisplayName("제목과 키워드 토큰으로 키워드 코사인을 계산한다.")
+    @Test
+    void tokenCosine() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.build(List.of(row(1, 10_000, "Coffee 머그컵", "홈카페", "머그컵")));
+
+        // when
+        double matched = snapshot.cosine(snapshot.tokenQuery("머그컵 선물"), 0);
+        double unknown = snapshot.cosine(snapshot.tokenQuery("향수"), 0);
+
+        // then
+        // A = {머그컵, 선물}, B = {coffee, 머그컵, 홈카페} → 1 / sqrt(2 * 3)
+        assertThat(matched).isCloseTo(1 / Math.sqrt(6), within(1e-9));
+        assertThat(unknown).isZero();
+        assertThat(snapshot.keywords(0)).containsExactly("홈카페", "머그컵");
+    }
+
+    @DisplayName("제목/카테고리 부분 일치 상품을 가격 범위 안에서 점수 내림차순(같으면 id 내림차순)으로 고른다.")
+    @Test
+    void topByNameOrCategory() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.build(List.of(
+                new CatalogSnapshot.Row(1, 10_000, 3, "도자기 머그컵", "주방", List.of()),
+                new CatalogSnapshot.Row(2, 20_000, 5, "캠핑 머그컵 세트", "캠핑", List.of()),
+                new CatalogSnapshot.Row(3, 20_000, 3, "MUG 컵받침", "주방용품", List.of()),
+                new CatalogSnapshot.Row(4, 90_000, 9, "스테인리스 머그컵", "주방", List.of()),
+                new CatalogSnapshot.Row(5, 15_000, 1, "텀블러", "머그컵/텀블러", List.of())));
+
+        // when
+        long[] mug = snapshot.topByNameOrCategory("머그컵", 0, 50_000, 20);
+        long[] kitchen = snapshot.topByNameOrCategory("주방", 0, 50_000, 1);
+        long[] english = snapshot.topByNameOrCategory("mug", 0, 50_000, 20);
+        long[] single = snapshot.topByNameOrCategory("컵", 0, 15_000, 20);
+
+        // then
+        assertThat(mug).containsExactly(2L, 1L, 5L);
+        assertThat(kitchen).containsExactly(3L);
+        assertThat(english).containsExactly(3L);
+        assertThat(single).containsExactly(1L, 5L);
+    }
+
+    @DisplayName("변경분 반영 후 역색인도 새 제목 기준으로 검색된다.")
+    @Test
+    void ngramIndexFollowsChanges() {
+        // given
+        CatalogSnapshot base = CatalogSnapshot.build(List.of(
+                row(1, 10_000, "머그컵"), row(2, 20_000, "향초")));
+
+        // when
+        CatalogSnapshot next = base.withChanges(List.of(2L), List.of(row(1, 10_000, "텀블러")));
+
+        // then
+        assertThat(next.topByNameOrCategory("머그", 0, Integer.MAX_VALUE, 20)).isEmpty();
+        assertThat(next.topByNameOrCategory("텀블", 0, Integer.MAX_VALUE, 20)).containsExactly(1L);
+        assertThat(next.topByNameOrCategory("향초", 0, Integer.MAX_VALUE, 20)).isEmpty();
+        assertThat(base.topByNameOrCategory("향초", 0, Integer.MAX_VALUE, 20)).containsExactly(2L);
+    }
+}
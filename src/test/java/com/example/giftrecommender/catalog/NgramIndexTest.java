@@ -0,0 +1,74 @@
+package com.example.giftrecommender.catalog;
+
+import com.example.giftrecommender.util.LongHashSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class NgramIndexTest {
+
+    @DisplayName("포스팅은 delta+varint로 압축되고 그대로 복원된다.")
+    @Test
+    void encodesPostings() {
+        // given
+        long[] ids = {3L, 4L, 130L, 70_000L, 5_000_000_000L};
+
+        // when
+        byte[] encoded = NgramIndex.encode(ids);
+
+        // then
+        assertThat(NgramIndex.decode(encoded)).containsExactly(ids);
+        assertThat(encoded.length).isLessThan(ids.length * Long.BYTES);
+    }
+
+    @DisplayName("질의 bigram 포스팅의 교집합을 후보로 돌려주고, bigram이 없으면 null을 돌려준다.")
+    @Test
+    void intersectsPostings() {
+        // given
+        NgramIndex.Builder builder = NgramIndex.builder();
+        builder.add(1L, NgramIndex.terms("머그컵", "주방"));
+        builder.add(2L, NgramIndex.terms("머그잔", "주방"));
+        builder.add(3L, NgramIndex.terms("컵받침", "주방"));
+        NgramIndex index = builder.build();
+
+        // when
+        long[] mugCup = index.candidates(NgramIndex.queryTerms("머그컵"));
+        long[] mug = index.candidates(NgramIndex.queryTerms("머그"));
+        long[] none = index.candidates(NgramIndex.queryTerms("텀블러"));
+        long[] single = index.candidates(NgramIndex.queryTerms("컵"));
+
+        // then
+        assertThat(mugCup).containsExactly(1L);
+        assertThat(mug).containsExactly(1L, 2L);
+        assertThat(none).isEmpty();
+        assertThat(single).isNull();
+    }
+
+    @DisplayName("변경분은 바뀐 키의 포스팅만 다시 만들고 비면 키를 지운다.")
+    @Test
+    void appliesChanges() {
+        // given
+        NgramIndex.Builder builder = NgramIndex.builder();
+        builder.add(1L, Set.of("머그"));
+        builder.add(2L, Set.of("머그", "향초"));
+        NgramIndex base = builder.build();
+        LongHashSet removed = new LongHashSet();
+        removed.add(2L);
+
+        // when
+        NgramIndex next = base.withChanges(Map.of("머그", removed, "향초", removed), Map.of("머그", List.of(5L)));
+
+        // then
+        assertThat(next.candidates(List.of("머그"))).containsExactly(1L, 5L);
+        assertThat(next.candidates(List.of("향초"))).isEmpty();
+        assertThat(next.termCount()).isEqualTo(1);
+        assertThat(base.candidates(List.of("향초"))).containsExactly(2L);
+    }
+}
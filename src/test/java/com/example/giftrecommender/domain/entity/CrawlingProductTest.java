@@ -0,0 +1,102 @@
+package com.example.giftrecommender.domain.entity;
+
+import com.example.giftrecommender.util.RecommendationUtil;
+import com.example.giftrecommender.util.TitleFingerprint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class CrawlingProductTest {
+
+    @DisplayName("생성 시 상품명/카테고리/키워드의 검색용 정규화 사본(소문자 + 공백 제거)을 함께 계산한다.")
+    @Test
+    void computesSearchCopiesOnBuild() {
+        // when
+        CrawlingProduct product = CrawlingProduct.builder()
+                .originalName("Stanley 전기 포트  1.7L")
+                .displayName(null)
+                .price(30000)
+                .category("주방 가전 > 포트")
+                .keywords(List.of("전기 포트", "전기포트", " ", "Kettle"))
+                .build();
+
+        // then
+        assertThat(product.getOriginalNameNorm()).isEqualTo("stanley전기포트1.7l");
+        assertThat(product.getDisplayNameNorm()).isNull();
+        assertThat(product.getCategoryNorm()).isEqualTo("주방가전>포트");
+        assertThat(product.getKeywordNorms()).containsExactly("전기포트", "kettle");
+        assertThat(product.getKeywordsText()).isEqualTo("전기 포트 전기포트 Kettle");
+        assertThat(product.getSearchCopyVersion()).isEqualTo(CrawlingProduct.SEARCH_COPY_VERSION);
+    }
+
+    @DisplayName("이름/카테고리/키워드를 바꾸면 정규화 사본도 갱신된다.")
+    @Test
+    void refreshesSearchCopiesOnChange() {
+        // given
+        CrawlingProduct product = CrawlingProduct.builder()
+                .originalName("머그컵")
+                .price(10000)
+                .keywords(List.of("머그"))
+                .build();
+
+        // when
+        product.changeDisplayName("Blue Mug 세트");
+        product.changeCategory("주방 용품");
+        product.changeKeywords(List.of("커피 잔"));
+
+        // then
+        assertThat(product.getDisplayNameNorm()).isEqualTo("bluemug세트");
+        assertThat(product.getCategoryNorm()).isEqualTo("주방용품");
+        assertThat(product.getKeywordNorms()).containsExactly("커피잔");
+        assertThat(product.getKeywordsText()).isEqualTo("커피 잔");
+    }
+
+    @DisplayName("중복 억제용 base title과 SimHash를 노출명 우선으로 계산하고, 이름을 바꾸면 갱신한다.")
+    @Test
+    void computesTitleFingerprint() {
+        // given
+        CrawlingProduct product = CrawlingProduct.builder()
+                .originalName("[무료배송] 스탠리 퀜처 텀블러 887ml")
+                .price(45000)
+                .keywords(List.of("텀블러"))
+                .build();
+        String before = product.getBaseTitle();
+        Long beforeHash = product.getTitleSimhash();
+
+        // when
+        product.changeDisplayName("Logitech 무선 마우스");
+
+        // then
+        assertThat(before).isEqualTo(RecommendationUtil.extractBaseTitle("[무료배송] 스탠리 퀜처 텀블러 887ml"));
+        assertThat(beforeHash).isEqualTo(TitleFingerprint.of(before));
+        assertThat(product.getBaseTitle()).isEqualTo("logitech 무선 마우스");
+        assertThat(product.getTitleSimhash()).isEqualTo(TitleFingerprint.of("logitech 무선 마우스"));
+    }
+
+    @DisplayName("호출자가 계산한 base title/SimHash를 넘기면 다시 추출하지 않고 그대로 저장한다.")
+    @Test
+    void keepsPrecomputedTitleFingerprint() {
+        // given
+        String baseTitle = RecommendationUtil.extractBaseTitle("[무료배송] 스탠리 퀜처 텀블러 887ml");
+        long fingerprint = TitleFingerprint.of(baseTitle);
+
+        // when
+        CrawlingProduct product = CrawlingProduct.builder()
+                .originalName("[무료배송] 스탠리 퀜처 텀블러 887ml")
+                .displayName(baseTitle)
+                .price(45000)
+                .baseTitle(baseTitle)
+                .titleSimhash(fingerprint)
+                .build();
+
+        // then
+        assertThat(product.getBaseTitle()).isEqualTo(baseTitle);
+        assertThat(product.getTitleSimhash()).isEqualTo(fingerprint);
+        assertThat(product.getSearchCopyVersion()).isEqualTo(CrawlingProduct.SEARCH_COPY_VERSION);
+    }
+}
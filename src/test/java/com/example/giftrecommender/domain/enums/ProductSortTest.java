@@ -0,0 +1,35 @@
+package com.example.giftrecommender.domain.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class ProductSortTest {
+
+    @DisplayName("엔티티 정렬을 native 쿼리용 컬럼명 정렬로 바꾸고 방향은 유지한다.")
+    @Test
+    void toColumnSortKeepsDirection() {
+        // given
+        Sort sort = Sort.by(Sort.Order.asc("reviewCount"), Sort.Order.desc("createdAt"));
+
+        // when
+        Sort columns = ProductSort.toColumnSort(sort);
+
+        // then
+        assertThat(columns).containsExactly(Sort.Order.asc("review_count"), Sort.Order.desc("created_at"));
+    }
+
+    @DisplayName("허용되지 않은 정렬 속성은 버린다.")
+    @Test
+    void toColumnSortDropsUnknownProperty() {
+        // when
+        Sort columns = ProductSort.toColumnSort(Sort.by("sellerName"));
+
+        // then
+        assertThat(columns.isUnsorted()).isTrue();
+    }
+}
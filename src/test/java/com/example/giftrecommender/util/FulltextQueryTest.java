@@ -0,0 +1,39 @@
+package com.example.giftrecommender.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class FulltextQueryTest {
+
+    @DisplayName("검색어의 모든 토큰을 필수 조건으로 만들고, 1글자 토큰은 접두 검색으로 바꾼다.")
+    @Test
+    void requiresAllTokens() {
+        // when
+        String query = FulltextQuery.booleanMode("캠핑 의자 S 캠핑");
+
+        // then
+        assertThat(query).isEqualTo("+캠핑 +의자 +s*");
+    }
+
+    @DisplayName("BOOLEAN MODE 연산자는 검색식에 들어가지 않는다.")
+    @Test
+    void stripsOperators() {
+        // when
+        String query = FulltextQuery.booleanMode("-향수 +\"디퓨저\" (선물)* ~@3");
+
+        // then
+        assertThat(query).isEqualTo("+향수 +디퓨저 +선물 +3*");
+    }
+
+    @DisplayName("토큰이 없으면 null을 반환한다.")
+    @Test
+    void emptyKeyword() {
+        assertThat(FulltextQuery.booleanMode("  ")).isNull();
+        assertThat(FulltextQuery.booleanMode("+-()")).isNull();
+        assertThat(FulltextQuery.booleanMode(null)).isNull();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.giftrecommender.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class LatencyStatsTest {
+
+    @DisplayName("백분위는 보간 없이 nearest-rank로 실제 측정값을 고른다.")
+    @Test
+    void percentileUsesNearestRank() {
+        // given
+        long[] sorted = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+
+        // when & then
+        assertThat(LatencyStats.percentile(sorted, 0.50)).isEqualTo(50);
+        assertThat(LatencyStats.percentile(sorted, 0.95)).isEqualTo(100);
+        assertThat(LatencyStats.percentile(sorted, 0.0)).isEqualTo(10);
+        assertThat(LatencyStats.percentile(new long[0], 0.99)).isZero();
+    }
+
+    @DisplayName("소수 셋째 자리에서 반올림한다.")
+    @Test
+    void roundsToThreeDecimals() {
+        assertThat(LatencyStats.round(1.23456)).isEqualTo(1.235);
+        assertThat(LatencyStats.round(2.0)).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.giftrecommender.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class LongHashSetTest {
+
+    @DisplayName("추가한 값은 포함되고, 중복 추가는 무시된다.")
+    @Test
+    void addAndContains() {
+        // given
+        LongHashSet set = new LongHashSet(2);
+
+        // when
+        boolean first = set.add(42L);
+        boolean dup = set.add(42L);
+        set.add(0L);
+        set.add(-7L);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(dup).isFalse();
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.contains(42L)).isTrue();
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.contains(-7L)).isTrue();
+        assertThat(set.contains(43L)).isFalse();
+    }
+
+    @DisplayName("리해시 이후에도 모든 값을 찾을 수 있고 정렬 배열로 꺼낼 수 있다.")
+    @Test
+    void growAndSortedArray() {
+        // given
+        Random random = new Random(1L);
+        Set<Long> expected = new HashSet<>();
+        LongHashSet set = new LongHashSet();
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextInt(50_000);
+            set.add(v);
+            expected.add(v);
+        }
+
+        // then
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long v : expected) {
+            assertThat(set.contains(v)).isTrue();
+        }
+        assertThat(set.toSortedArray()).isSorted().hasSize(expected.size());
+    }
+}
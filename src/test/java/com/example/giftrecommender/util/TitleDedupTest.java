@@ -0,0 +1,77 @@
+package com.example.giftrecommender.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class TitleDedupTest {
+
+    @DisplayName("괄호/용량 표기만 다른 제목은 같은 지문을 가져 중복으로 판정한다.")
+    @Test
+    void sameBaseTitleIsDuplicate() {
+        // given
+        TitleDedup seen = new TitleDedup(0.85);
+        long first = TitleFingerprint.of(RecommendationUtil.extractBaseTitle("스탠리 퀜처 텀블러 크림 887ml"));
+        long second = TitleFingerprint.of(RecommendationUtil.extractBaseTitle("[스탠리] 퀜처 텀블러 크림 (887ml)"));
+
+        // when
+        boolean addedFirst = seen.add(first, RecommendationUtil.extractBaseTitle("스탠리 퀜처 텀블러 크림 887ml"));
+        boolean addedSecond = seen.add(second, RecommendationUtil.extractBaseTitle("[스탠리] 퀜처 텀블러 크림 (887ml)"));
+
+        // then
+        assertThat(first).isEqualTo(second);
+        assertThat(addedFirst).isTrue();
+        assertThat(addedSecond).isFalse();
+        assertThat(seen.size()).isEqualTo(1);
+    }
+
+    @DisplayName("단어가 겹치지 않는 제목은 중복이 아니다.")
+    @Test
+    void unrelatedTitleIsNotDuplicate() {
+        // given
+        TitleDedup seen = new TitleDedup(0.85);
+        seen.add(TitleFingerprint.of("스탠리 퀜처 텀블러 크림"), "스탠리 퀜처 텀블러 크림");
+
+        // when
+        boolean added = seen.add(TitleFingerprint.of("로지텍 무선 마우스 블랙"), "로지텍 무선 마우스 블랙");
+
+        // then
+        assertThat(added).isTrue();
+        assertThat(seen.size()).isEqualTo(2);
+    }
+
+    @DisplayName("색상/사이즈만 다른 변형(자카드 < 컷오프)은 해밍 거리가 가까워도 남긴다.")
+    @Test
+    void keepsNearMissVariants() {
+        // given
+        String[] titles = {
+                "스탠리 퀜처 텀블러 크림",
+                "스탠리 퀜처 텀블러 블랙",
+                "스탠리 퀜처 텀블러 크림 대용량",
+                "나이키 에어포스 스니커즈 화이트 남성",
+                "나이키 에어포스 스니커즈 블랙 남성",
+                "나이키 에어포스 스니커즈 화이트 키즈"
+        };
+        TitleDedup seen = new TitleDedup(0.85);
+
+        // when
+        for (String title : titles) {
+            String base = RecommendationUtil.extractBaseTitle(title);
+            seen.add(TitleFingerprint.of(base), base);
+        }
+
+        // then
+        assertThat(seen.size()).isEqualTo(titles.length);
+    }
+
+    @DisplayName("사전 필터 상한은 컷오프 코사인 기대 거리보다 넉넉하다.")
+    @Test
+    void prefilterIsLooserThanExpectedDistance() {
+        assertThat(TitleDedup.prefilterDistanceFor(0.85)).isEqualTo(21);
+        assertThat(TitleDedup.prefilterDistanceFor(0.9)).isEqualTo(18);
+        assertThat(TitleDedup.prefilterDistanceFor(1.0)).isZero();
+    }
+}
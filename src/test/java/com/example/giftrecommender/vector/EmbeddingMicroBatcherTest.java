@@ -0,0 +1,69 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+class EmbeddingMicroBatcherTest {
+
+    @DisplayName("시간창 안에 들어온 요청은 한 번의 호출로 묶이고 각자 자기 결과를 받는다.")
+    @Test
+    void coalescesWithinWindow() throws Exception {
+        // given
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        EmbeddingMicroBatcher batcher = new EmbeddingMicroBatcher(texts -> {
+            calls.add(texts);
+            return texts.stream().map(t -> new float[]{t.length()}).toList();
+        }, Duration.ofMillis(200), 64, 10_000, 1);
+
+        // when
+        List<CompletableFuture<float[]>> futures = new ArrayList<>();
+        for (String t : List.of("a", "bb", "ccc")) futures.add(batcher.submit(t));
+
+        // then
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).containsExactly(1f);
+        assertThat(futures.get(1).get(5, TimeUnit.SECONDS)).containsExactly(2f);
+        assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).containsExactly(3f);
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).containsExactly("a", "bb", "ccc");
+        batcher.close();
+    }
+
+    @DisplayName("최대 건수를 넘으면 배치를 나누고, 호출 실패는 해당 배치의 모든 요청에 전달된다.")
+    @Test
+    void splitsBySizeAndPropagatesFailure() {
+        // given
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        EmbeddingMicroBatcher batcher = new EmbeddingMicroBatcher(texts -> {
+            calls.add(texts);
+            throw new IllegalStateException("boom");
+        }, Duration.ofMillis(200), 2, 10_000, 1);
+
+        // when
+        CompletableFuture<float[]> f1 = batcher.submit("a");
+        CompletableFuture<float[]> f2 = batcher.submit("b");
+        CompletableFuture<float[]> f3 = batcher.submit("c");
+
+        // then
+        for (CompletableFuture<float[]> f : List.of(f1, f2, f3)) {
+            assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(0)).containsExactly("a", "b");
+        batcher.close();
+    }
+}
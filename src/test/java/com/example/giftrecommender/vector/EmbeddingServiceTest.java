@@ -0,0 +1,60 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.EmbeddingProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class EmbeddingServiceTest {
+
+    @DisplayName("같은 텍스트는 한 번만 계산되고, 이후 단건/다건 요청은 캐시에서 같은 값을 돌려준다.")
+    @Test
+    void loadsEachDistinctTextOnce() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmbeddingProps props = new EmbeddingProps();
+        props.getBatch().setEnabled(false);
+        EmbeddingService service = new EmbeddingService(null, registry, props, null, false);
+
+        // when
+        List<float[]> batch = service.embedAll(List.of("운동화", "머그컵", "운동화"));
+        float[] single = service.embed("운동화");
+        float[] async = service.embedAsync("머그컵").join();
+
+        // then
+        assertThat(registry.counter("embedding.loads").count()).isEqualTo(2.0);
+        assertThat(registry.counter("embedding.cache.requests", "tier", "l1", "result", "hit").count())
+                .isEqualTo(2.0);
+        assertThat(batch.get(0)).isEqualTo(batch.get(2)).isEqualTo(single);
+        assertThat(async).isEqualTo(batch.get(1));
+        assertThat(single).hasSize(1536);
+    }
+
+    @DisplayName("설정 차원으로 임베딩하고, 다른 차원 요청은 캐시를 거치지 않는다.")
+    @Test
+    void embedsWithConfiguredAndRequestedDimensions() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmbeddingProps props = new EmbeddingProps();
+        props.setDimensions(512);
+        props.getBatch().setEnabled(false);
+        EmbeddingService service = new EmbeddingService(null, registry, props, null, false);
+
+        // when
+        float[] configured = service.embed("운동화");
+        List<float[]> reduced = service.embedAll(List.of("운동화", "머그컵"), 256);
+        List<float[]> same = service.embedAll(List.of("운동화"), 512);
+
+        // then
+        assertThat(configured).hasSize(512);
+        assertThat(reduced).allSatisfy(v -> assertThat(v).hasSize(256));
+        assertThat(same.get(0)).isEqualTo(configured);
+        assertThat(registry.counter("embedding.loads").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class EmbeddingSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @DisplayName("저장한 스냅샷은 같은 모델/차원으로 읽으면 그대로 복원되고, 모델이나 차원이 다르면 무시된다.")
+    @Test
+    void writeAndReadWithValidation() throws Exception {
+        // given
+        Path file = dir.resolve("emb.bin");
+        Map<String, float[]> entries = new LinkedHashMap<>();
+        entries.put(EmbeddingService.textHash("운동화"), new float[]{0.1f, 0.2f, 0.3f});
+        entries.put(EmbeddingService.textHash("머그컵"), new float[]{-1f, 0f, 1f});
+        entries.put(EmbeddingService.textHash("잘못된 차원"), new float[]{1f});
+
+        // when
+        int saved = EmbeddingSnapshot.write(file, "model-a", 3, entries);
+        Map<String, float[]> restored = new HashMap<>();
+        int loaded = EmbeddingSnapshot.read(file, "model-a", 3, restored::put);
+        int otherModel = EmbeddingSnapshot.read(file, "model-b", 3, (h, v) -> {});
+        int otherDim = EmbeddingSnapshot.read(file, "model-a", 4, (h, v) -> {});
+
+        // then
+        assertThat(saved).isEqualTo(2);
+        assertThat(loaded).isEqualTo(2);
+        assertThat(restored.get(EmbeddingService.textHash("머그컵"))).containsExactly(-1f, 0f, 1f);
+        assertThat(otherModel).isZero();
+        assertThat(otherDim).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@ActiveProfiles("test")
+class PackedVectorTest {
+
+    @DisplayName("float16/int8로 보관해도 원본과의 코사인 유사도가 거의 1이고, 무게는 형식별로 줄어든다.")
+    @Test
+    void encodeDecodeKeepsDirection() {
+        // given
+        Random rnd = new Random(7);
+        float[] v = new float[1536];
+        for (int i = 0; i < v.length; i++) v[i] = (float) rnd.nextGaussian() * 0.03f;
+
+        // when
+        PackedVector f32 = PackedVector.encode(v, PackedVector.Encoding.FLOAT32);
+        PackedVector f16 = PackedVector.encode(v, PackedVector.Encoding.FLOAT16);
+        PackedVector i8 = PackedVector.encode(v, PackedVector.Encoding.INT8);
+
+        // then
+        assertThat(f32.decode()).isSameAs(v);
+        assertThat(cosine(v, f16.decode())).isCloseTo(1.0, within(1e-5));
+        assertThat(cosine(v, i8.decode())).isCloseTo(1.0, within(1e-3));
+        assertThat(f16.dimension()).isEqualTo(1536);
+        assertThat(f16.weightBytes()).isLessThan(f32.weightBytes());
+        assertThat(i8.weightBytes()).isLessThan(f16.weightBytes());
+    }
+
+    @DisplayName("바이너리로 직렬화한 벡터는 같은 값으로 복원되고, 차원이 다르면 거부된다.")
+    @Test
+    void bytesRoundTrip() {
+        // given
+        float[] v = {0.5f, -0.25f, 0.125f, 0f};
+
+        // when
+        byte[] f32 = PackedVector.encode(v, PackedVector.Encoding.FLOAT32).toBytes();
+        byte[] i8 = PackedVector.encode(v, PackedVector.Encoding.INT8).toBytes();
+
+        // then
+        assertThat(PackedVector.fromBytes(f32, 4).decode()).containsExactly(v);
+        assertThat(PackedVector.fromBytes(i8, 4).decode()[0]).isCloseTo(0.5f, within(0.01f));
+        assertThat(PackedVector.fromBytes(f32, 8)).isNull();
+        assertThat(PackedVector.fromBytes(new byte[3], 4)).isNull();
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(na) * Math.sqrt(nb));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class PageWatermarkTest {
+
+    @DisplayName("앞선 페이지가 끝나기 전에는 뒤 페이지가 끝나도 체크포인트가 움직이지 않는다.")
+    @Test
+    void advancesOnlyOverContiguousPages() {
+        // given
+        PageWatermark watermark = new PageWatermark(new PageWatermark.Mark(0L, 0L, 0L));
+        long first = watermark.register(100L, 100);
+        long second = watermark.register(200L, 100);
+        long third = watermark.register(300L, 100);
+
+        // when & then
+        assertThat(watermark.complete(second, 90)).isFalse();
+        assertThat(watermark.mark().lastId()).isZero();
+
+        assertThat(watermark.complete(first, 95)).isTrue();
+        assertThat(watermark.mark()).isEqualTo(new PageWatermark.Mark(200L, 200L, 185L));
+
+        assertThat(watermark.complete(third, 100)).isTrue();
+        assertThat(watermark.mark()).isEqualTo(new PageWatermark.Mark(300L, 300L, 285L));
+    }
+
+    @DisplayName("분당 상한을 넘는 입력은 다음 예약 시각까지 기다린다.")
+    @Test
+    void rateLimiterSpacesReservations() {
+        // given: 분당 60,000개 = 입력 1개당 1ms
+        InputRateLimiter limiter = new InputRateLimiter(60_000);
+        long now = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        // when
+        long firstWait = limiter.reserve(100, now);
+        long secondWait = limiter.reserve(100, now);
+
+        // then
+        assertThat(firstWait).isZero();
+        assertThat(secondWait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
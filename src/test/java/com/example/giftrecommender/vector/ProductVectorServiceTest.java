@@ -0,0 +1,58 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.domain.enums.Age;
+import com.example.giftrecommender.domain.enums.Gender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class ProductVectorServiceTest {
+
+    private static ProductVectorService.VectorDocument doc(String title, long price, List<String> keywords) {
+        return new ProductVectorService.VectorDocument(1L, title, price, "뷰티", "향이 좋은 향수",
+                keywords, Gender.ANY, Age.NONE, false);
+    }
+
+    @DisplayName("공백만 다른 텍스트는 같은 해시라 재임베딩하지 않는다.")
+    @Test
+    void whitespaceOnlyChangeKeepsTextHash() {
+        // given
+        ProductVectorService.ContentHash stored = ProductVectorService.ContentHash.of(
+                doc("향수 선물 세트", 30000, List.of("향수", "선물")));
+
+        // when
+        ProductVectorService.ContentHash current = ProductVectorService.ContentHash.of(
+                doc("  향수   선물 세트 ", 30000, List.of(" 향수", "선물", "향수")));
+
+        // then
+        assertThat(current.text()).isEqualTo(stored.text());
+        assertThat(ProductVectorService.decide(current, stored)).isNotEqualTo(ProductVectorService.SyncAction.EMBEDDED);
+    }
+
+    @DisplayName("가격만 바뀌면 payload만 교체하고, 아무것도 바뀌지 않으면 건너뛴다.")
+    @Test
+    void priceChangeIsPayloadOnly() {
+        // given
+        ProductVectorService.ContentHash stored = ProductVectorService.ContentHash.of(
+                doc("향수 선물 세트", 30000, List.of("향수")));
+
+        // when & then
+        assertThat(ProductVectorService.decide(
+                ProductVectorService.ContentHash.of(doc("향수 선물 세트", 25000, List.of("향수"))), stored))
+                .isEqualTo(ProductVectorService.SyncAction.PAYLOAD_ONLY);
+        assertThat(ProductVectorService.decide(
+                ProductVectorService.ContentHash.of(doc("향수 선물 세트", 30000, List.of("향수"))), stored))
+                .isEqualTo(ProductVectorService.SyncAction.SKIPPED);
+        assertThat(ProductVectorService.decide(
+                ProductVectorService.ContentHash.of(doc("향수 선물 세트", 30000, List.of("디퓨저"))), stored))
+                .isEqualTo(ProductVectorService.SyncAction.EMBEDDED);
+        assertThat(ProductVectorService.decide(
+                ProductVectorService.ContentHash.of(doc("향수 선물 세트", 30000, List.of("향수"))), null))
+                .isEqualTo(ProductVectorService.SyncAction.EMBEDDED);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.domain.repository.CrawlingProductRepository;
+import com.google.common.util.concurrent.Futures;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Points;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+class QdrantKeywordBackfillServiceTest {
+
+    record Row(Long getId, Long getVectorPointId, String getCategory, String getShortDescription)
+            implements BackfillRowView {}
+
+    @DisplayName("정규화한 키워드/카테고리/짧은 설명이 같은 포인트는 한 묶음으로 보낸다.")
+    @Test
+    void groupsPointsWithIdenticalPayload() {
+        // given
+        List<BackfillRowView> rows = List.of(
+                new Row(1L, 1L, "뷰티", null),
+                new Row(2L, 2L, "뷰티", " "),
+                new Row(3L, 30L, "뷰티", "향이 좋은 향수"),
+                new Row(4L, 4L, "리빙", null));
+        Map<Long, List<String>> keywords = Map.of(
+                1L, List.of("향수", " 선물"),
+                2L, List.of("향수", "선물", "향수"),
+                3L, List.of("향수", "선물"),
+                4L, List.of("향수", "선물"));
+
+        // when
+        Map<QdrantKeywordBackfillService.Payload, List<Long>> grouped =
+                QdrantKeywordBackfillService.groupByPayload(rows, keywords);
+
+        // then
+        assertThat(grouped).hasSize(3);
+        assertThat(grouped.get(new QdrantKeywordBackfillService.Payload(List.of("향수", "선물"), "뷰티", null)))
+                .containsExactly(1L, 2L);
+        assertThat(grouped.get(new QdrantKeywordBackfillService.Payload(List.of("향수", "선물"), "뷰티", "향이 좋은 향수")))
+                .containsExactly(30L);
+    }
+
+    @DisplayName("실패가 있는 청크에서 멈추고 체크포인트를 직전 청크에 남겨 resume 때 다시 보낸다.")
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsCheckpointBeforeFailedChunk() {
+        // given
+        CrawlingProductRepository repository = mock(CrawlingProductRepository.class);
+        when(repository.findKeywordBackfillChunk(eq(0L), any()))
+                .thenReturn(List.of(new Row(1L, 1L, "뷰티", null), new Row(2L, 2L, "뷰티", null)));
+        when(repository.findKeywordBackfillChunk(eq(2L), any()))
+                .thenReturn(List.of(new Row(3L, 3L, "리빙", null)));
+        when(repository.findKeywordsByIdIn(anyList())).thenReturn(List.of());
+
+        QdrantClient qdrant = mock(QdrantClient.class);
+        when(qdrant.setPayloadAsync(anyString(), anyMap(), anyList(), any(), any(), any())).thenAnswer(inv ->
+                inv.<List<Points.PointId>>getArgument(2).get(0).getNum() == 3L
+                        ? Futures.immediateFailedFuture(new IllegalStateException("qdrant down"))
+                        : Futures.immediateFuture(Points.UpdateResult.getDefaultInstance()));
+
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        ObjectProvider<StringRedisTemplate> redisProvider = mock(ObjectProvider.class);
+        when(redisProvider.getIfAvailable()).thenReturn(redis);
+
+        QdrantProps props = new QdrantProps();
+        props.setCollection("products");
+        QdrantKeywordBackfillService service = new QdrantKeywordBackfillService(
+                repository, qdrant, props, mock(VectorCollectionVersions.class), redisProvider);
+
+        // when
+        QdrantKeywordBackfillService.Result result = service.backfillKeywordsToQdrant();
+
+        // then
+        assertThat(result.ok()).isEqualTo(2);
+        assertThat(result.fail()).isEqualTo(1);
+        assertThat(result.lastId()).isEqualTo(2L);
+        verify(values, atLeastOnce()).set(anyString(), eq("2"));
+        verify(values, never()).set(anyString(), eq("3"));
+        verify(redis, never()).delete(anyString());
+        verify(repository, never()).findKeywordBackfillChunk(eq(3L), any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.config.QdrantProps;
+import com.example.giftrecommender.domain.enums.Gender;
+import com.google.common.util.concurrent.Futures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+class QdrantPayloadSyncServiceTest {
+
+    private static QdrantPayloadSyncService service(QdrantClient qdrant, VectorOutboxWriter outboxWriter,
+                                                    SimpleMeterRegistry registry) {
+        QdrantProps props = new QdrantProps();
+        props.setCollection("products");
+        TransactionTemplate tx = mock(TransactionTemplate.class);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(tx).executeWithoutResult(any());
+        return new QdrantPayloadSyncService(qdrant, props, mock(VectorCollectionVersions.class), outboxWriter, tx, registry);
+    }
+
+    @DisplayName("id를 레인별로 나누고 레인 안에서 청크당 한 번만 set_payload를 호출한다.")
+    @Test
+    @SuppressWarnings("unchecked")
+    void setsPayloadOncePerChunk() throws Exception {
+        // given
+        QdrantClient qdrant = mock(QdrantClient.class);
+        when(qdrant.setPayloadAsync(anyString(), anyMap(), anyList(), any(), any(), any()))
+                .thenReturn(Futures.immediateFuture(Points.UpdateResult.getDefaultInstance()));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QdrantPayloadSyncService service = service(qdrant, mock(VectorOutboxWriter.class), registry);
+        List<Long> ids = LongStream.rangeClosed(1, 2400).boxed().toList();
+
+        // when
+        service.setPayloadAsync(ids, QdrantPayloadSyncService.attributePayload(Gender.MALE, null, null))
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        ArgumentCaptor<List<Points.PointId>> captor = ArgumentCaptor.forClass(List.class);
+        verify(qdrant, times(8)).setPayloadAsync(eq("products"), anyMap(), captor.capture(), any(), any(), any());
+        assertThat(captor.getAllValues()).extracting(List::size)
+                .containsExactlyInAnyOrder(500, 100, 500, 100, 500, 100, 500, 100);
+        assertThat(registry.counter("vector.payload_sync.chunks", "result", "ok").count()).isEqualTo(8.0);
+        service.shutdown();
+    }
+
+    @DisplayName("같은 id에 대한 연속 변경은 제출 순서대로 반영한다.")
+    @Test
+    void keepsOrderPerId() throws Exception {
+        // given
+        QdrantClient qdrant = mock(QdrantClient.class);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        when(qdrant.setPayloadAsync(anyString(), anyMap(), anyList(), any(), any(), any())).thenAnswer(inv -> {
+            Map<String, JsonWithInt.Value> payload = inv.getArgument(1);
+            List<Points.PointId> pointIds = inv.getArgument(2);
+            for (Points.PointId id : pointIds) applied.add(id.getNum() + ":" + payload.get("gender").getStringValue());
+            return Futures.immediateFuture(Points.UpdateResult.getDefaultInstance());
+        });
+        QdrantPayloadSyncService service = service(qdrant, mock(VectorOutboxWriter.class), new SimpleMeterRegistry());
+        List<Long> ids = LongStream.rangeClosed(1, 40).boxed().toList();
+
+        // when
+        CompletableFuture<Void> first = service.setPayloadAsync(ids, QdrantPayloadSyncService.attributePayload(Gender.MALE, null, null));
+        CompletableFuture<Void> second = service.setPayloadAsync(ids, QdrantPayloadSyncService.attributePayload(Gender.FEMALE, null, null));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // then
+        for (long id : ids) {
+            assertThat(applied.indexOf(id + ":MALE")).isLessThan(applied.indexOf(id + ":FEMALE"));
+        }
+        service.shutdown();
+    }
+
+    @DisplayName("set_payload가 실패한 청크는 outbox에 UPSERT로 기록한다.")
+    @Test
+    @SuppressWarnings("unchecked")
+    void requeuesFailedChunkViaOutbox() throws Exception {
+        // given
+        QdrantClient qdrant = mock(QdrantClient.class);
+        when(qdrant.setPayloadAsync(anyString(), anyMap(), anyList(), any(), any(), any()))
+                .thenReturn(Futures.immediateFailedFuture(new IllegalStateException("qdrant down")));
+        VectorOutboxWriter outboxWriter = mock(VectorOutboxWriter.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QdrantPayloadSyncService service = service(qdrant, outboxWriter, registry);
+
+        // when
+        service.setPayloadAsync(List.of(4L, 8L, 5L), QdrantPayloadSyncService.attributePayload(Gender.MALE, null, null))
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxWriter, times(2)).enqueueUpserts(captor.capture());
+        assertThat(captor.getAllValues()).flatExtracting(c -> List.copyOf(c)).containsExactlyInAnyOrder(4L, 8L, 5L);
+        assertThat(registry.counter("vector.payload_sync.requeued_products").count()).isEqualTo(3.0);
+        service.shutdown();
+    }
+}
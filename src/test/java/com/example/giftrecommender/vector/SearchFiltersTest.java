@@ -0,0 +1,30 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class SearchFiltersTest {
+
+    @DisplayName("성별은 반대 성별만 제외하고, ANY/미지정은 필터가 없다.")
+    @Test
+    void excludesOppositeGenderOnly() {
+        // when & then
+        assertThat(SearchFilters.excludedGenders("MALE")).containsExactly("FEMALE");
+        assertThat(SearchFilters.excludedGenders("female")).containsExactly("MALE");
+        assertThat(SearchFilters.excludedGenders("ANY")).isEmpty();
+        assertThat(SearchFilters.excludedGenders(null)).isEmpty();
+    }
+
+    @DisplayName("연령은 다른 연령대만 제외하고(NONE 유지), enum이 아닌 자유 입력은 필터가 없다.")
+    @Test
+    void excludesOtherAgesAndIgnoresFreeText() {
+        // when & then
+        assertThat(SearchFilters.excludedAges("TEEN")).containsExactly("KID", "YOUNG_ADULT", "SENIOR");
+        assertThat(SearchFilters.excludedAges("NONE")).isEmpty();
+        assertThat(SearchFilters.excludedAges("20대")).isEmpty();
+    }
+}
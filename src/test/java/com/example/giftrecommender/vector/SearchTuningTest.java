@@ -0,0 +1,41 @@
+package com.example.giftrecommender.vector;
+
+import io.qdrant.client.grpc.Points;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class SearchTuningTest {
+
+    @DisplayName("설정하지 않은 검색 파라미터는 보내지 않는다.")
+    @Test
+    void omitsDefaults() {
+        // when & then
+        assertThat(SearchTuning.DEFAULT.toRestParams()).isNull();
+        assertThat(SearchTuning.DEFAULT.toGrpcParams()).isNull();
+        assertThat(new SearchTuning(64, null, null).toRestParams()).isEqualTo(Map.of("hnsw_ef", 64));
+    }
+
+    @DisplayName("hnsw_ef와 양자화 재채점 파라미터를 REST/gRPC에 같은 의미로 만든다.")
+    @Test
+    void buildsSameParamsForRestAndGrpc() {
+        // given
+        SearchTuning tuning = new SearchTuning(128, true, 2.0);
+
+        // when
+        Map<String, Object> rest = tuning.toRestParams();
+        Points.SearchParams grpc = tuning.toGrpcParams();
+
+        // then
+        assertThat(rest).containsEntry("hnsw_ef", 128)
+                .containsEntry("quantization", Map.of("rescore", true, "oversampling", 2.0));
+        assertThat(grpc.getHnswEf()).isEqualTo(128);
+        assertThat(grpc.getQuantization().getRescore()).isTrue();
+        assertThat(grpc.getQuantization().getOversampling()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+class SortedIdDiffTest {
+
+    private static SortedIdDiff.PageSource pages(long[]... pages) {
+        Iterator<long[]> it = List.of(pages).iterator();
+        return () -> it.hasNext() ? it.next() : new long[0];
+    }
+
+    @DisplayName("페이지 경계와 무관하게 한쪽에만 있는 id를 배치 크기 단위로 넘긴다.")
+    @Test
+    void diffsAcrossPages() throws Exception {
+        // given
+        SortedIdDiff.PageSource db = pages(new long[]{1, 2, 3}, new long[]{5, 8}, new long[]{9, 10});
+        SortedIdDiff.PageSource points = pages(new long[]{2, 3, 4}, new long[]{8, 11});
+        List<long[]> missing = new ArrayList<>();
+        List<long[]> orphans = new ArrayList<>();
+
+        // when
+        SortedIdDiff.Counts counts = SortedIdDiff.diff(db, points, 2, missing::add, orphans::add);
+
+        // then
+        assertThat(counts).isEqualTo(new SortedIdDiff.Counts(7, 5, 4, 2));
+        assertThat(missing).containsExactly(new long[]{1, 5}, new long[]{9, 10});
+        assertThat(orphans).containsExactly(new long[]{4, 11});
+    }
+
+    @DisplayName("id가 오름차순이 아니면 삭제하지 않고 예외로 중단한다.")
+    @Test
+    void rejectsUnsortedInput() {
+        // given
+        SortedIdDiff.PageSource db = pages(new long[]{1, 2, 3});
+        SortedIdDiff.PageSource points = pages(new long[]{1, 3}, new long[]{2});
+        List<long[]> orphans = new ArrayList<>();
+
+        // when & then
+        assertThatThrownBy(() -> SortedIdDiff.diff(db, points, 10, ids -> {}, orphans::add))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(orphans).isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.giftrecommender.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class VectorCollectionVersionsTest {
+
+    @DisplayName("다음 버전은 alias의 기존 버전 컬렉션 중 가장 큰 번호 + 1이다.")
+    @Test
+    void nextVersionName() {
+        // given
+        List<String> names = List.of("products", "products_v1", "products_v3", "products_d512", "other_v9");
+
+        // when & then
+        assertThat(VectorCollectionVersions.nextVersionName("products", names)).isEqualTo("products_v4");
+        assertThat(VectorCollectionVersions.nextVersionName("products", List.of("products"))).isEqualTo("products_v1");
+    }
+
+    @DisplayName("embedding_model 값은 모델, 기본이 아닌 차원, 버전 순으로 기록한다.")
+    @Test
+    void versionLabel() {
+        // when & then
+        assertThat(VectorCollectionVersions.versionLabel("text-embedding-3-small", 1536, "products", "products_v3"))
+                .isEqualTo("text-embedding-3-small#v3");
+        assertThat(VectorCollectionVersions.versionLabel("text-embedding-3-small", 512, "products", "products_v4"))
+                .isEqualTo("text-embedding-3-small@512#v4");
+        assertThat(VectorCollectionVersions.versionLabel("text-embedding-3-small", 1536, "products", "products"))
+                .isEqualTo("text-embedding-3-small");
+    }
+}
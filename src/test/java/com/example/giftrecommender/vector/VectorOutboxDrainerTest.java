@@ -0,0 +1,89 @@
+package com.example.giftrecommender.vector;
+
+import com.example.giftrecommender.domain.entity.VectorOutbox;
+import com.example.giftrecommender.domain.enums.VectorOutboxOp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class VectorOutboxDrainerTest {
+
+    private static VectorOutbox row(long id, long productId, VectorOutboxOp op) {
+        VectorOutbox row = new VectorOutbox(productId, op);
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+
+    @DisplayName("같은 상품의 여러 변경은 마지막 작업 하나로 합치고, 합쳐진 행을 모두 처리 대상으로 묶는다.")
+    @Test
+    void coalescesRowsPerProduct() {
+        // given
+        List<VectorOutbox> rows = List.of(
+                row(1, 10, VectorOutboxOp.UPSERT),
+                row(2, 20, VectorOutboxOp.UPSERT),
+                row(3, 10, VectorOutboxOp.UPSERT),
+                row(4, 20, VectorOutboxOp.DELETE),
+                row(5, 30, VectorOutboxOp.UPSERT));
+
+        // when
+        VectorOutboxDrainer.Plan plan = VectorOutboxDrainer.coalesce(rows);
+
+        // then
+        assertThat(plan.productIds(VectorOutboxOp.UPSERT)).containsExactly(10L, 30L);
+        assertThat(plan.productIds(VectorOutboxOp.DELETE)).containsExactly(20L);
+        assertThat(plan.rowIdsOf(List.of(10L, 30L))).containsExactly(1L, 3L, 5L);
+        assertThat(plan.rowIdsOf(List.of(20L))).containsExactly(2L, 4L);
+    }
+
+    @DisplayName("재시도 대기 시간은 시도 횟수마다 두 배로 늘고 상한을 넘지 않는다.")
+    @Test
+    void backoffDoublesUntilCap() {
+        assertThat(VectorOutboxDrainer.backoffMs(0, 2_000, 600_000)).isEqualTo(2_000);
+        assertThat(VectorOutboxDrainer.backoffMs(3, 2_000, 600_000)).isEqualTo(16_000);
+        assertThat(VectorOutboxDrainer.backoffMs(9, 2_000, 600_000)).isEqualTo(600_000);
+        assertThat(VectorOutboxDrainer.backoffMs(64, 2_000, 600_000)).isEqualTo(600_000);
+    }
+
+    @DisplayName("업서트 배치가 실패하면 반으로 나눠 재시도해 실패한 상품만 남긴다.")
+    @Test
+    void isolatesPoisonedProduct() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 16).boxed().toList();
+        VectorOutboxDrainer.UpsertCall call = batch -> {
+            if (batch.contains(7L)) throw new IllegalStateException("rejected input");
+            return batch.contains(3L) ? List.of(3L) : List.of();
+        };
+
+        // when
+        VectorOutboxDrainer.UpsertOutcome outcome = VectorOutboxDrainer.upsertIsolating(ids, call, 32);
+
+        // then
+        assertThat(outcome.failed.values()).containsExactly(List.of(7L));
+        assertThat(outcome.gone).containsExactly(3L);
+        assertThat(outcome.done).hasSize(14).doesNotContain(3L, 7L);
+        assertThat(outcome.calls).isLessThanOrEqualTo(1 + 2 * 4);
+    }
+
+    @DisplayName("전체 장애로 모든 호출이 실패하면 호출 상한에서 멈추고 남은 상품을 모두 실패로 둔다.")
+    @Test
+    void stopsSplittingAtCallLimit() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 256).boxed().toList();
+        VectorOutboxDrainer.UpsertCall call = batch -> { throw new IllegalStateException("embedding api down"); };
+
+        // when
+        VectorOutboxDrainer.UpsertOutcome outcome = VectorOutboxDrainer.upsertIsolating(ids, call, 8);
+
+        // then
+        assertThat(outcome.calls).isEqualTo(8);
+        assertThat(outcome.done).isEmpty();
+        assertThat(outcome.failed.values().stream().mapToInt(List::size).sum()).isEqualTo(256);
+    }
+}